@@ -0,0 +1,143 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.service.DataRestoredEvent;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ölçümler için gömülü H2 üzerinde çalışan uygulama bağlamı.
+ * Her parametre kombinasyonu için yeni bir veritabanı açılır ve verilen sayıda restoran ve
+ * değerlendirmeyle doldurulur. Restoran toplamları değerlendirmelerle tutarlı yazılır;
+ * yükleme sonrası geri yüklemedeki gibi DataRestoredEvent yayımlanarak önbellek ve sıralama indeksi yenilenir.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    private static final int LOCATION_COUNT = 50;
+    private static final int BATCH_SIZE = 10_000;
+    private static final long SEED = 42L;
+
+    @Param({"1000"})
+    public int restaurants;
+
+    @Param({"10000", "100000"})
+    public int reviews;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "app.aggregates.reconcile-cron=-",
+                        "app.statistics.refresh-interval-ms=3600000")
+                .run();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Rastgele bir restoran ID'si (1..restaurants)
+     */
+    public long randomRestaurantId(SplittableRandom random) {
+        return 1L + random.nextInt(restaurants);
+    }
+
+    public String restaurantName(long id) {
+        return "Restoran " + id;
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] restaurantIds = new int[reviews];
+        int[] ratings = new int[reviews];
+        long[] counts = new long[restaurants + 1];
+        long[] sums = new long[restaurants + 1];
+        long[] sumSquares = new long[restaurants + 1];
+        for (int i = 0; i < reviews; i++) {
+            int restaurantId = 1 + random.nextInt(restaurants);
+            int rating = 1 + random.nextInt(5);
+            restaurantIds[i] = restaurantId;
+            ratings[i] = rating;
+            counts[restaurantId]++;
+            sums[restaurantId] += rating;
+            sumSquares[restaurantId] += (long) rating * rating;
+        }
+
+        List<Object[]> restaurantRows = new ArrayList<>(restaurants);
+        for (int id = 1; id <= restaurants; id++) {
+            double rating = counts[id] > 0 ? (double) sums[id] / counts[id] : 0.0;
+            restaurantRows.add(new Object[] {(long) id, restaurantName(id), "Şehir " + (id % LOCATION_COUNT),
+                    rating, counts[id], sums[id], sumSquares[id]});
+        }
+        jdbc.batchUpdate("INSERT INTO restaurants (id, name, location, rating, review_count, "
+                + "rating_sum, rating_sum_squares) VALUES (?, ?, ?, ?, ?, ?, ?)", restaurantRows);
+
+        LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < reviews; i++) {
+            long id = i + 1L;
+            Timestamp date = Timestamp.valueOf(baseDate.plusMinutes(id));
+            batch.add(new Object[] {id, (long) restaurantIds[i], restaurantName(restaurantIds[i]),
+                    ratings[i], "Ölçüm yorumu " + id, date, date});
+            if (batch.size() == BATCH_SIZE) {
+                insertReviews(jdbc, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertReviews(jdbc, batch);
+        }
+
+        // ID'ler açıkça yazıldığından yeni kayıtların çakışmaması için sayaçlar ileri alınır
+        jdbc.execute("ALTER TABLE restaurants ALTER COLUMN id RESTART WITH " + (restaurants + 1));
+        jdbc.execute("ALTER TABLE reviews ALTER COLUMN id RESTART WITH " + (reviews + 1));
+        context.publishEvent(new DataRestoredEvent("benchmark", (long) restaurants + reviews));
+    }
+
+    private static void insertReviews(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("INSERT INTO reviews (id, restaurant_id, restaurant_name, rating, comment, "
+                + "date, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Restaurant;
+import com.example.demo.model.Review;
+import com.example.demo.service.RestaurantService;
+import com.example.demo.service.ReviewService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restaurant ve Review nesnelerinin REST yanıtlarındaki JSON dönüşümünü ölçer.
+ * Uygulamanın yapılandırdığı ObjectMapper kullanılır; nesneler veritabanından bir kez yüklenir.
+ *
+ * Çalıştırmak için:
+ * ./gradlew jmh -PjmhIncludes=JsonSerializationBenchmark -PjmhReviews=10000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<Restaurant> restaurants;
+    private List<Review> reviews;
+
+    @Setup(Level.Trial)
+    public void load(BenchmarkDatabase database) {
+        objectMapper = database.bean(ObjectMapper.class);
+        restaurants = database.bean(RestaurantService.class).getRestaurantPage("rating", null, pageSize).getItems();
+        reviews = database.bean(ReviewService.class).getReviewPage("date", null, pageSize).getItems();
+    }
+
+    @Benchmark
+    public String serializeRestaurant() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(restaurants.get(0));
+    }
+
+    @Benchmark
+    public String serializeRestaurantPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(restaurants);
+    }
+
+    @Benchmark
+    public String serializeReview() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(reviews.get(0));
+    }
+
+    @Benchmark
+    public String serializeReviewPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(reviews);
+    }
+}
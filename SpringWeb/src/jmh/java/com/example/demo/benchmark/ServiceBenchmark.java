@@ -0,0 +1,82 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Restaurant;
+import com.example.demo.model.Review;
+import com.example.demo.service.RestaurantService;
+import com.example.demo.service.ReviewService;
+import com.example.demo.service.StatisticsService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servis ve depo katmanının sık kullanılan yollarını ölçer.
+ * saveReview her çağrıda yeni değerlendirme eklediğinden tablo ölçüm boyunca büyür;
+ * eklenen satır sayısı başlangıç verisine göre küçük kalır.
+ *
+ * Çalıştırmak için:
+ * ./gradlew jmh -PjmhIncludes=ServiceBenchmark [-PjmhReviews=10000,1000000]
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    /**
+     * İş parçacığına özel rastgele girdi üreteci ve servis referansları
+     */
+    @State(Scope.Thread)
+    public static class Services {
+        private final SplittableRandom random = new SplittableRandom(7);
+        ReviewService reviewService;
+        RestaurantService restaurantService;
+        StatisticsService statisticsService;
+
+        @Setup(Level.Trial)
+        public void resolve(BenchmarkDatabase database) {
+            reviewService = database.bean(ReviewService.class);
+            restaurantService = database.bean(RestaurantService.class);
+            statisticsService = database.bean(StatisticsService.class);
+        }
+    }
+
+    @Benchmark
+    public Review saveReview(BenchmarkDatabase database, Services services) {
+        long restaurantId = database.randomRestaurantId(services.random);
+        Review review = new Review(database.restaurantName(restaurantId), 1 + services.random.nextInt(5),
+                "JMH ölçüm yorumu");
+        review.setRestaurantId(restaurantId);
+        return services.reviewService.saveReview(review);
+    }
+
+    @Benchmark
+    public void updateRestaurantRating(BenchmarkDatabase database, Services services) {
+        services.reviewService.updateRestaurantRating(database.randomRestaurantId(services.random));
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateStatistics(Services services) {
+        return services.statisticsService.calculateStatistics();
+    }
+
+    @Benchmark
+    public List<Restaurant> getMostReviewedRestaurants(Services services) {
+        return services.restaurantService.getMostReviewedRestaurants(10);
+    }
+}
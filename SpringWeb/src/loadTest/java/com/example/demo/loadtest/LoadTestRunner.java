@@ -0,0 +1,224 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.service.backup.SyntheticDataGenerator;
+import com.example.demo.service.backup.SyntheticDataService;
+import com.example.demo.service.job.Job;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST API ve Thymeleaf sayfaları için yük testi.
+ * Uygulamayı gömülü H2 üzerinde rastgele bir portta başlatır, sentetik veriyle doldurur ve
+ * {@link RequestMix} karışımını {@link OpenLoopDriver} ile hedef hızda gönderir. Sonuçta işlem başına
+ * p50/p99/p999 gecikmeleri, verim ve hata oranı raporlanır. Sınır parametreleri verildiyse aşıldığında
+ * çıkış kodu 1 olur; böylece performans değişikliklerinde gerileme kapısı olarak kullanılabilir.
+ *
+ * Parametreler (--ad=değer): rps, duration, warmup (saniye), restaurants, locations, reviews, seed, mix,
+ * max-outstanding, max-p99-ms, max-p999-ms, max-error-rate, report
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        double rps = Double.parseDouble(options.getOrDefault("rps", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        int restaurants = Integer.parseInt(options.getOrDefault("restaurants", "1000"));
+        int locations = Integer.parseInt(options.getOrDefault("locations", "81"));
+        long reviews = Long.parseLong(options.getOrDefault("reviews", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxOutstanding = Integer.parseInt(options.getOrDefault("max-outstanding", "2000"));
+        RequestMix mix = RequestMix.parse(options.get("mix"));
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = start()) {
+            seed(context, new SyntheticDataGenerator(seed, restaurants, locations, reviews, 1.0));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RequestMix.Target target = target(context, "http://localhost:" + port, reviews);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build();
+            OpenLoopDriver.Result result;
+            try (OpenLoopDriver driver = new OpenLoopDriver(client, mix, target, seed, maxOutstanding)) {
+                if (!warmup.isZero()) {
+                    System.out.println("Isınma: " + warmup.toSeconds() + " sn, " + rps + " istek/sn");
+                    driver.run(rps, warmup);
+                }
+                System.out.println("Ölçüm: " + duration.toSeconds() + " sn, " + rps + " istek/sn");
+                result = driver.run(rps, duration);
+            }
+
+            String header = String.format("=== Yük testi (%s, hedef %.0f istek/sn, %d sn, %d restoran, %d değerlendirme, Java %d) ===",
+                    LocalDateTime.now().withNano(0), rps, duration.toSeconds(), restaurants, reviews,
+                    Runtime.version().feature());
+            report(System.out, header, rps, result);
+            if (options.containsKey("report")) {
+                Path file = Paths.get(options.get("report")).toAbsolutePath();
+                writeReport(file, header, rps, result);
+                System.out.println("Rapor yazıldı: " + file);
+            }
+            exitCode = checkLimits(options, result) ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Parametreler --ad=değer biçiminde olmalı: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "app.aggregates.reconcile-cron=-",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=2000")
+                .run();
+    }
+
+    /**
+     * Veritabanını sentetik veriyle doldurur ve yükleme işinin bitmesini bekler
+     */
+    private static void seed(ConfigurableApplicationContext context, SyntheticDataGenerator generator)
+            throws InterruptedException {
+        System.out.println("Veri yükleniyor: " + generator.getRestaurantCount() + " restoran, "
+                + generator.getReviewCount() + " değerlendirme");
+        Job job = context.getBean(SyntheticDataService.class).startLoad(generator);
+        while (!job.isFinished()) {
+            Thread.sleep(200);
+        }
+        if (job.getStatus() != Job.Status.COMPLETED) {
+            throw new IllegalStateException("Sentetik veri yüklenemedi: " + job.getMessage());
+        }
+        System.out.println(job.getMessage());
+    }
+
+    private static RequestMix.Target target(ConfigurableApplicationContext context, String baseUrl, long reviews) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<String> names = jdbc.queryForList("SELECT name FROM restaurants ORDER BY id", String.class);
+        List<String> locations = jdbc.queryForList("SELECT DISTINCT location FROM restaurants ORDER BY location",
+                String.class);
+        return new RequestMix.Target(baseUrl, names, locations, reviews);
+    }
+
+    private static void report(PrintStream out, String header, double rps, OpenLoopDriver.Result result) {
+        out.println();
+        out.println(header);
+        out.printf("Gönderilen: %d (%.1f istek/sn), başarılı: %d (%.1f istek/sn), hata: %d (%% %.2f), süre: %.1f sn%n",
+                result.getSent(), result.getAchievedRate(), result.getOverall().getTotalCount(),
+                result.getThroughput(), result.getErrors(), result.getErrorRate() * 100,
+                result.getElapsedMillis() / 1000.0);
+        if (result.getAchievedRate() < rps * 0.95) {
+            out.println("Uyarı: gönderim hızı hedefin altında kaldı; istemci makinesi yetişemiyor olabilir");
+        }
+        out.println();
+        out.printf("%-22s | %8s | %6s | %9s | %9s | %9s | %9s%n",
+                "İşlem", "Başarılı", "Hata", "p50 ms", "p99 ms", "p999 ms", "En çok ms");
+        for (OpenLoopDriver.OperationStats stats : result.getOperations()) {
+            out.println(row(stats.getName(), stats.getLatency(), stats.getErrors()));
+        }
+        out.println(row("TOPLAM", result.getOverall(), result.getErrors()));
+        if (!result.getErrorsByReason().isEmpty()) {
+            out.println();
+            out.println("Hatalar: " + result.getErrorsByReason());
+        }
+        out.println();
+    }
+
+    private static String row(String name, Histogram latency, long errors) {
+        return String.format("%-22s | %8d | %6d | %9.2f | %9.2f | %9.2f | %9.2f", name, latency.getTotalCount(), errors,
+                millis(latency, 50), millis(latency, 99), millis(latency, 99.9), latency.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Özet tabloyu ve tüm yüzdelik dağılımını (HdrHistogram .hgrm biçimi) dosyaya yazar
+     */
+    private static void writeReport(Path file, String header, double rps, OpenLoopDriver.Result result)
+            throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            report(out, header, rps, result);
+            out.println("Gecikme dağılımı (ms):");
+            result.getOverall().outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    /**
+     * Verilen sınırları kontrol eder; aşılan her sınırı yazar
+     *
+     * @return Tüm sınırlar sağlanıyorsa true
+     */
+    private static boolean checkLimits(Map<String, String> options, OpenLoopDriver.Result result) {
+        boolean passed = true;
+        if (options.containsKey("max-p99-ms")) {
+            passed &= within("p99", millis(result.getOverall(), 99), Double.parseDouble(options.get("max-p99-ms")));
+        }
+        if (options.containsKey("max-p999-ms")) {
+            passed &= within("p999", millis(result.getOverall(), 99.9), Double.parseDouble(options.get("max-p999-ms")));
+        }
+        if (options.containsKey("max-error-rate")) {
+            passed &= within("Hata oranı", result.getErrorRate(), Double.parseDouble(options.get("max-error-rate")));
+        }
+        System.out.println(passed ? "Yük testi sınırları sağlandı" : "Yük testi BAŞARISIZ");
+        return passed;
+    }
+
+    private static boolean within(String metric, double value, double limit) {
+        if (value <= limit) {
+            return true;
+        }
+        System.out.printf("Sınır aşıldı: %s = %.3f > %.3f%n", metric, value, limit);
+        return false;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Açık döngü yük sürücüsü: istekler yanıtlar beklenmeden sabit hızla, önceden belirlenmiş zamanlarda gönderilir.
+ * Gecikme isteğin gönderilmesi gereken andan yanıtın geldiği ana kadar ölçülür; böylece sunucu yavaşladığında
+ * gönderimin gecikmesi de gecikmeye yansır (coordinated omission düzeltmesi). Aynı anda bekleyen istek sayısı
+ * sınırı aşarsa yeni istekler gönderilmeden "dropped" hatası olarak sayılır.
+ * HttpClient.sendAsync bağlantı kurarken çağıranı bir süre bekletebildiğinden istekler zamanlayıcı thread'den
+ * ayrı bir gönderici havuzuna verilir; zamanlayıcı hiçbir zaman ağ işlemi beklemez.
+ */
+class OpenLoopDriver implements AutoCloseable {
+
+    // Histogramın kaydedebileceği en büyük gecikme (mikrosaniye); üstündekiler bu değere kırpılır
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final RequestMix mix;
+    private final RequestMix.Target target;
+    private final SplittableRandom random;
+    private final int maxOutstanding;
+    private final ExecutorService senders;
+
+    OpenLoopDriver(HttpClient client, RequestMix mix, RequestMix.Target target, long seed, int maxOutstanding) {
+        this.client = client;
+        this.mix = mix;
+        this.target = target;
+        this.random = new SplittableRandom(seed);
+        this.maxOutstanding = maxOutstanding;
+        this.senders = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "LoadTest-Sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Verilen hızda süre boyunca istek gönderir ve tüm yanıtları (en fazla bir dakika) bekler
+     *
+     * @param rps Saniyedeki hedef istek sayısı
+     * @param duration Gönderim süresi
+     * @return Ölçüm sonuçları
+     */
+    Result run(double rps, Duration duration) throws InterruptedException {
+        Result result = new Result(mix);
+        Semaphore outstanding = new Semaphore(maxOutstanding);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestMix.Operation operation = mix.next(random);
+            OperationStats stats = result.operations.get(operation.getName());
+            result.sent.increment();
+            if (!outstanding.tryAcquire()) {
+                result.error(stats, "dropped");
+                continue;
+            }
+            HttpRequest request = operation.newRequest(target, random);
+            senders.execute(() -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latencyMicros = (System.nanoTime() - intended) / 1000;
+                        outstanding.release();
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            result.error(stats, cause.getClass().getSimpleName());
+                        } else if (!isSuccess(response)) {
+                            result.error(stats, "HTTP " + response.statusCode());
+                        } else {
+                            result.success(stats, latencyMicros);
+                        }
+                    }));
+        }
+        result.sendingNanos = System.nanoTime() - start;
+
+        if (!outstanding.tryAcquire(maxOutstanding, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.println("Uyarı: " + (maxOutstanding - outstanding.availablePermits())
+                    + " istek zamanında yanıtlanmadı");
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * 2xx yanıtlar ve form gönderiminden sonraki yönlendirmeler başarılı sayılır.
+     * Form hata verirse tekrar forma yönlendirdiğinden o yönlendirme hata sayılır.
+     */
+    private static boolean isSuccess(HttpResponse<?> response) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return true;
+        }
+        if (status >= 300 && status < 400) {
+            return !response.headers().firstValue("Location").orElse("").endsWith("/new");
+        }
+        return false;
+    }
+
+    /**
+     * Bir işlem türünün sayaçları ve gecikme histogramı
+     */
+    static final class OperationStats {
+        private final String name;
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Histogram getLatency() {
+            return latency;
+        }
+
+        long getSuccesses() {
+            return latency.getTotalCount();
+        }
+
+        long getErrors() {
+            return errors.sum();
+        }
+    }
+
+    /**
+     * Bir çalıştırmanın sonuçları
+     */
+    static final class Result {
+        private final Map<String, OperationStats> operations = new LinkedHashMap<>();
+        private final Histogram overall = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<String, LongAdder> errorsByReason = new ConcurrentHashMap<>();
+        private final LongAdder sent = new LongAdder();
+        private volatile long sendingNanos;
+        private volatile long elapsedNanos;
+
+        Result(RequestMix mix) {
+            for (RequestMix.Operation operation : mix.getOperations()) {
+                operations.put(operation.getName(), new OperationStats(operation.getName()));
+            }
+        }
+
+        private void success(OperationStats stats, long latencyMicros) {
+            long value = Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS);
+            stats.latency.recordValue(value);
+            overall.recordValue(value);
+        }
+
+        private void error(OperationStats stats, String reason) {
+            stats.errors.increment();
+            errorsByReason.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        }
+
+        Iterable<OperationStats> getOperations() {
+            return operations.values();
+        }
+
+        Histogram getOverall() {
+            return overall;
+        }
+
+        Map<String, Long> getErrorsByReason() {
+            Map<String, Long> errors = new LinkedHashMap<>();
+            errorsByReason.forEach((reason, count) -> errors.put(reason, count.sum()));
+            return errors;
+        }
+
+        long getSent() {
+            return sent.sum();
+        }
+
+        long getErrors() {
+            return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+        }
+
+        double getErrorRate() {
+            long sent = getSent();
+            return sent > 0 ? (double) getErrors() / sent : 0;
+        }
+
+        /**
+         * Gönderim süresince saniyede başarıyla tamamlanan istek sayısı
+         */
+        double getThroughput() {
+            return sendingNanos > 0 ? overall.getTotalCount() / (sendingNanos / 1e9) : 0;
+        }
+
+        /**
+         * Gerçekleşen gönderim hızı; hedefin altındaysa sürücü (istemci makinesi) yetişememiştir
+         */
+        double getAchievedRate() {
+            return sendingNanos > 0 ? getSent() / (sendingNanos / 1e9) : 0;
+        }
+
+        long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Yük testinde gönderilen isteklerin ağırlıklı karışımı.
+ * Okuma, arama, değerlendirme yazma, istatistik ve Thymeleaf sayfası istekleri varsayılan ağırlıklarla tanımlıdır;
+ * ağırlıklar "ad:ağırlık,ad:ağırlık" biçimindeki tanımla değiştirilebilir (ağırlığı 0 olan işlem gönderilmez).
+ */
+class RequestMix {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] COMMENTS = {
+            "Yemekler lezzetliydi, servis hızlıydı.",
+            "Fiyatlar biraz yüksek ama porsiyonlar doyurucu.",
+            "Garsonlar ilgisizdi, siparişimiz geç geldi.",
+            "Tatlıları mutlaka deneyin.",
+            "Ortalama bir deneyimdi."
+    };
+    private static final String[] SEARCH_QUERIES = {
+            "lezzetli", "servis hızlı", "garsonlar ilgisiz", "tatlı", "fiyatlar yüksek", "porsiyon", "kebap"
+    };
+
+    /**
+     * Karışımdaki tek bir istek türü
+     */
+    static final class Operation {
+        private final String name;
+        private final int weight;
+        private final BiFunction<Target, SplittableRandom, HttpRequest> factory;
+
+        private Operation(String name, int weight, BiFunction<Target, SplittableRandom, HttpRequest> factory) {
+            this.name = name;
+            this.weight = weight;
+            this.factory = factory;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        HttpRequest newRequest(Target target, SplittableRandom random) {
+            return factory.apply(target, random);
+        }
+    }
+
+    /**
+     * İsteklerin gönderildiği sunucu ve isteklerde kullanılan mevcut kayıtlar
+     */
+    static final class Target {
+        private final String baseUrl;
+        private final List<String> restaurantNames;
+        private final List<String> locations;
+        private final long reviewCount;
+
+        Target(String baseUrl, List<String> restaurantNames, List<String> locations, long reviewCount) {
+            this.baseUrl = baseUrl;
+            this.restaurantNames = restaurantNames;
+            this.locations = locations;
+            this.reviewCount = reviewCount;
+        }
+
+        long randomRestaurantId(SplittableRandom random) {
+            return 1L + random.nextInt(restaurantNames.size());
+        }
+
+        long randomReviewId(SplittableRandom random) {
+            return 1L + random.nextLong(Math.max(1, reviewCount));
+        }
+
+        String randomName(SplittableRandom random) {
+            return restaurantNames.get(random.nextInt(restaurantNames.size()));
+        }
+
+        String randomLocation(SplittableRandom random) {
+            return locations.get(random.nextInt(locations.size()));
+        }
+    }
+
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+
+    private RequestMix(List<Operation> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+        this.cumulativeWeights = new int[operations.size()];
+        int sum = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            sum += operations.get(i).weight;
+            cumulativeWeights[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Karışımda ağırlığı sıfırdan büyük en az bir işlem olmalı");
+        }
+    }
+
+    /**
+     * Varsayılan karışımı verilen ağırlıklarla değiştirerek oluşturur
+     *
+     * @param spec "ad:ağırlık" çiftlerinin virgülle ayrılmış listesi; null veya boşsa varsayılanlar kullanılır
+     * @throws IllegalArgumentException bilinmeyen işlem adı veya geçersiz ağırlık verilirse
+     */
+    static RequestMix parse(String spec) {
+        Map<String, Operation> defaults = defaults();
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        defaults.forEach((name, operation) -> weights.put(name, operation.weight));
+        if (spec != null && !spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split(":");
+                if (pair.length != 2 || !defaults.containsKey(pair[0])) {
+                    throw new IllegalArgumentException("Geçersiz karışım öğesi: " + part
+                            + " (işlemler: " + String.join(", ", defaults.keySet()) + ")");
+                }
+                int weight = Integer.parseInt(pair[1]);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Ağırlık negatif olamaz: " + part);
+                }
+                weights.put(pair[0], weight);
+            }
+        }
+        List<Operation> operations = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            if (weight > 0) {
+                operations.add(new Operation(name, weight, defaults.get(name).factory));
+            }
+        });
+        return new RequestMix(operations);
+    }
+
+    List<Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Ağırlıklara göre rastgele bir işlem seçer
+     */
+    Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static Map<String, Operation> defaults() {
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        // Okumalar
+        add(operations, "restaurant-page", 15, (t, r) -> get(t, "/api/restaurants?sort="
+                + (r.nextBoolean() ? "rating" : "bayesian") + "&limit=50"));
+        add(operations, "restaurant-by-id", 15, (t, r) -> get(t, "/api/restaurants/" + t.randomRestaurantId(r)));
+        add(operations, "review-page", 10, (t, r) -> get(t, "/api/reviews?sort=date&limit=50"));
+        add(operations, "review-by-id", 10, (t, r) -> get(t, "/api/reviews/" + t.randomReviewId(r)));
+        add(operations, "reviews-of-restaurant", 5, (t, r) -> get(t, "/api/reviews/restaurant/"
+                + encode(t.randomName(r))));
+        // Aramalar
+        add(operations, "search-location", 8, (t, r) -> get(t, "/api/restaurants/search/location/"
+                + encode(t.randomLocation(r))));
+        add(operations, "search-name", 5, (t, r) -> get(t, "/api/restaurants/search/name/" + encode(t.randomName(r))));
+        add(operations, "search-comments", 4, (t, r) -> get(t, "/api/reviews/search?q="
+                + URLEncoder.encode(SEARCH_QUERIES[r.nextInt(SEARCH_QUERIES.length)], StandardCharsets.UTF_8)));
+        add(operations, "search-rating", 4, (t, r) -> get(t, "/api/restaurants/search/rating/" + (1 + r.nextInt(4))));
+        // İstatistikler
+        add(operations, "restaurant-stats", 3, (t, r) -> get(t, "/api/restaurants/stats"));
+        add(operations, "review-stats", 3, (t, r) -> get(t, "/api/reviews/stats"));
+        // Yazmalar
+        add(operations, "review-write-api", 6, RequestMix::reviewBatch);
+        add(operations, "review-write-form", 2, RequestMix::reviewForm);
+        // Sayfalar
+        add(operations, "page-restaurants", 6, (t, r) -> get(t, "/restaurants"));
+        add(operations, "page-restaurant", 5, (t, r) -> get(t, "/restaurants/" + t.randomRestaurantId(r)));
+        add(operations, "page-reviews", 3, (t, r) -> get(t, "/reviews"));
+        return operations;
+    }
+
+    private static void add(Map<String, Operation> operations, String name, int weight,
+                            BiFunction<Target, SplittableRandom, HttpRequest> factory) {
+        operations.put(name, new Operation(name, weight, factory));
+    }
+
+    private static HttpRequest get(Target target, String path) {
+        return HttpRequest.newBuilder(URI.create(target.baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest reviewBatch(Target target, SplittableRandom random) {
+        String body = "[{\"restaurantId\":" + target.randomRestaurantId(random)
+                + ",\"rating\":" + (1 + random.nextInt(5))
+                + ",\"comment\":\"" + COMMENTS[random.nextInt(COMMENTS.length)] + "\"}]";
+        return HttpRequest.newBuilder(URI.create(target.baseUrl + "/api/reviews/batch"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static HttpRequest reviewForm(Target target, SplittableRandom random) {
+        String body = "restaurantName=" + URLEncoder.encode(target.randomName(random), StandardCharsets.UTF_8)
+                + "&rating=" + (1 + random.nextInt(5))
+                + "&comment=" + URLEncoder.encode(COMMENTS[random.nextInt(COMMENTS.length)], StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(target.baseUrl + "/reviews"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Yol parçası olarak kodlar (URLEncoder boşluğu '+' yaptığından düzeltilir)
+     */
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
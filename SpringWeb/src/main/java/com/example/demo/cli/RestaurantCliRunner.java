@@ -534,9 +534,7 @@ public class RestaurantCliRunner implements CommandLineRunner {
         System.out.println("Toplam Değerlendirme Sayısı: " + reviewCount);
         
         if (restaurantCount > 0) {
-            List<Restaurant> topRatedRestaurants = restaurantService.getAllRestaurantsByRating().stream()
-                    .limit(3)
-                    .toList();
+            List<Restaurant> topRatedRestaurants = restaurantService.getTopRatedRestaurants(3);
             
             System.out.println("\nEn Yüksek Puanlı Restoranlar:");
             System.out.println("AD\t\tLOKASYON\t\tORTALAMA PUAN");
@@ -549,28 +547,18 @@ public class RestaurantCliRunner implements CommandLineRunner {
                     restaurant.getAverageRating());
             }
             
-            // En çok değerlendirilen restoranları bulmak için manuel hesaplama
-            List<Restaurant> allRestaurants = restaurantService.getAllRestaurants();
-            allRestaurants.sort((r1, r2) -> {
-                int r1ReviewCount = reviewService.getReviewsByRestaurantId(r1.getId()).size();
-                int r2ReviewCount = reviewService.getReviewsByRestaurantId(r2.getId()).size();
-                return Integer.compare(r2ReviewCount, r1ReviewCount); // Azalan sıralama
-            });
-            
-            List<Restaurant> mostReviewedRestaurants = allRestaurants.stream()
-                    .limit(3)
-                    .toList();
+            // Değerlendirme sayıları restoran satırındaki toplamlardan gelir
+            List<Restaurant> mostReviewedRestaurants = restaurantService.getMostReviewedRestaurants(3);
             
             System.out.println("\nEn Çok Değerlendirilen Restoranlar:");
             System.out.println("AD\t\tLOKASYON\t\tDEĞERLENDİRME SAYISI");
             System.out.println(LINE_SEPARATOR);
             
             for (Restaurant restaurant : mostReviewedRestaurants) {
-                int reviewCountForRestaurant = reviewService.getReviewsByRestaurantId(restaurant.getId()).size();
                 System.out.printf("%-15s\t%-15s\t%d\n", 
                     restaurant.getName(),
                     restaurant.getLocation(),
-                    reviewCountForRestaurant);
+                    restaurant.getReviewCount());
             }
         }
         
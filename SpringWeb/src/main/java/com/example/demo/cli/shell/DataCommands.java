@@ -0,0 +1,83 @@
+package com.example.demo.cli.shell;
+
+import com.example.demo.service.backup.SyntheticDataGenerator;
+import com.example.demo.service.backup.SyntheticDataService;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobRejectedException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.IOException;
+
+/**
+ * Test ve ölçüm verisi üretmek için komut satırı komutları.
+ * Not: Sadece CLI profilinde aktiftir.
+ */
+@ShellComponent
+@Profile("cli")
+public class DataCommands {
+
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    private final SyntheticDataService syntheticDataService;
+    private final ShellHelper shellHelper;
+
+    @Autowired
+    public DataCommands(SyntheticDataService syntheticDataService, ShellHelper shellHelper) {
+        this.syntheticDataService = syntheticDataService;
+        this.shellHelper = shellHelper;
+    }
+
+    /**
+     * Aynı tohumla her seferinde aynı sonucu veren sentetik veri üretir.
+     * Dosya adı verilmezse mevcut restoran ve değerlendirmeler silinip veri doğrudan veritabanına yüklenir.
+     */
+    @ShellMethod(key = "generate-data", value = "Sentetik restoran ve değerlendirme verisi üretir")
+    public String generateData(
+            @ShellOption(value = "--restaurants", help = "Restoran sayısı", defaultValue = "1000") int restaurants,
+            @ShellOption(value = "--locations", help = "Konum sayısı", defaultValue = "81") int locations,
+            @ShellOption(value = "--reviews", help = "Değerlendirme sayısı", defaultValue = "100000") long reviews,
+            @ShellOption(value = "--seed", help = "Rastgele sayı tohumu", defaultValue = "42") long seed,
+            @ShellOption(value = "--zipf", help = "Değerlendirmelerin restoranlara dağılımındaki Zipf üssü",
+                    defaultValue = "1.0") double zipf,
+            @ShellOption(value = "--output", help = "Veritabanı yerine veri klasöründe bu app.data dosyasına yaz",
+                    defaultValue = ShellOption.NULL) String output) {
+        Job job;
+        try {
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, restaurants, locations, reviews, zipf);
+            job = output == null
+                    ? syntheticDataService.startLoad(generator)
+                    : syntheticDataService.startExport(generator, output);
+        } catch (IllegalArgumentException | IOException e) {
+            return shellHelper.getErrorMessage("Geçersiz parametre: " + e.getMessage());
+        } catch (JobRejectedException e) {
+            return shellHelper.getErrorMessage(e.getMessage());
+        }
+
+        System.out.println(shellHelper.getInfoMessage("İş #" + job.getId() + " başlatıldı: " + job.getLabel()));
+        try {
+            String lastPhase = null;
+            while (!job.isFinished()) {
+                Thread.sleep(POLL_INTERVAL_MS);
+                String phase = job.getPhase();
+                if (phase != null && !phase.equals(lastPhase)) {
+                    System.out.println(phase);
+                    lastPhase = phase;
+                }
+                System.out.printf("  %%%d (%d satır, %d satır/sn)%n",
+                        job.getPercent(), job.getProcessed(), job.getThroughput());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return shellHelper.getWarningMessage("Bekleme kesildi; iş #" + job.getId() + " arka planda sürüyor");
+        }
+
+        return job.getStatus() == Job.Status.COMPLETED
+                ? shellHelper.getSuccessMessage(job.getMessage())
+                : shellHelper.getErrorMessage("İş tamamlanamadı: " + job.getMessage());
+    }
+}
@@ -120,7 +120,7 @@ public class MainMenuCommand {
                         break;
                     case "9":
                         clearScreen();
-                        displayStatistics(statisticsCommands.showStatistics());
+                        displayStatistics(statisticsCommands.showStatistics(false));
                         break;
                     case "0":
                         exitMenu = true;
@@ -1,20 +1,16 @@
 package com.example.demo.cli.shell;
 
 import com.example.demo.model.Restaurant;
-import com.example.demo.model.Review;
-import com.example.demo.service.RestaurantService;
-import com.example.demo.service.ReviewService;
+import com.example.demo.service.StatisticsSnapshot;
+import com.example.demo.service.StatisticsSnapshotService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 
-import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Sistem istatistikleri için komut satırı komutları.
@@ -25,86 +21,78 @@ import java.util.stream.Collectors;
 @Profile("cli")
 public class StatisticsCommands {
 
-    private final RestaurantService restaurantService;
-    private final ReviewService reviewService;
+    private final StatisticsSnapshotService statisticsSnapshotService;
     private final ShellHelper shellHelper;
 
     @Autowired
-    public StatisticsCommands(RestaurantService restaurantService, ReviewService reviewService, ShellHelper shellHelper) {
-        this.restaurantService = restaurantService;
-        this.reviewService = reviewService;
+    public StatisticsCommands(StatisticsSnapshotService statisticsSnapshotService, ShellHelper shellHelper) {
+        this.statisticsSnapshotService = statisticsSnapshotService;
         this.shellHelper = shellHelper;
     }
 
     /**
-     * Sistem istatistiklerini gösterir
+     * Sistem istatistiklerini son hesaplanan anlık görüntüden gösterir
      */
     @ShellMethod(key = "stats", value = "Sistem istatistiklerini gösterir")
-    public String showStatistics() {
-        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
-        List<Review> reviews = reviewService.getAllReviews();
+    public String showStatistics(
+            @ShellOption(value = "--fresh", help = "İstatistikleri yeniden hesapla", defaultValue = "false") boolean fresh) {
+        StatisticsSnapshot snapshot = statisticsSnapshotService.getSnapshot(fresh);
         
-        if (restaurants.isEmpty()) {
+        if (snapshot.getRestaurantCount() == 0) {
             return shellHelper.getWarningMessage("Henüz hiç restoran kaydedilmemiş.");
         }
         
+        long reviewCount = snapshot.getReviewCount();
         StringBuilder sb = new StringBuilder();
-        sb.append(shellHelper.getInfoMessage("=== SİSTEM İSTATİSTİKLERİ ===")).append("\n\n");
+        sb.append(shellHelper.getInfoMessage("=== SİSTEM İSTATİSTİKLERİ ===")).append("\n");
+        sb.append("Hesaplanma: ").append(snapshot.getComputedAt())
+          .append(" (").append(snapshot.getAgeMillis() / 1000).append(" sn önce")
+          .append(statisticsSnapshotService.isDirty() ? ", yenilenmeyi bekleyen değişiklikler var" : "")
+          .append(")\n\n");
         
         // Temel istatistikler
         sb.append(shellHelper.getSuccessMessage("Genel İstatistikler:")).append("\n");
-        sb.append("Toplam Restoran Sayısı: ").append(restaurants.size()).append("\n");
-        sb.append("Toplam Değerlendirme Sayısı: ").append(reviews.size()).append("\n");
+        sb.append("Toplam Restoran Sayısı: ").append(snapshot.getRestaurantCount()).append("\n");
+        sb.append("Toplam Değerlendirme Sayısı: ").append(reviewCount).append("\n");
         
-        if (!reviews.isEmpty()) {
+        if (reviewCount > 0) {
             // Puan istatistikleri
-            DoubleSummaryStatistics ratingStats = reviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .summaryStatistics();
-            
             sb.append("\n").append(shellHelper.getSuccessMessage("Puan İstatistikleri:")).append("\n");
-            sb.append("Ortalama Puan: ").append(String.format("%.2f", ratingStats.getAverage())).append("\n");
-            sb.append("En Düşük Puan: ").append(ratingStats.getMin()).append("\n");
-            sb.append("En Yüksek Puan: ").append(ratingStats.getMax()).append("\n");
+            sb.append("Ortalama Puan: ").append(String.format("%.2f", snapshot.getAverageRating())).append("\n");
+            sb.append("En Düşük Puan: ").append(snapshot.getMinRating()).append("\n");
+            sb.append("En Yüksek Puan: ").append(snapshot.getMaxRating()).append("\n");
             
             // Puan dağılımı
-            Map<Integer, Long> ratingDistribution = reviews.stream()
-                    .collect(Collectors.groupingBy(Review::getRating, Collectors.counting()));
+            Map<Integer, Long> ratingDistribution = snapshot.getReviewsByRating();
             
             sb.append("\n").append(shellHelper.getSuccessMessage("Puan Dağılımı:")).append("\n");
             for (int i = 5; i >= 1; i--) {
                 long count = ratingDistribution.getOrDefault(i, 0L);
-                double percentage = (double) count / reviews.size() * 100;
+                double percentage = (double) count / reviewCount * 100;
                 sb.append(i).append(" Yıldız: ").append(count)
                   .append(" (% ").append(String.format("%.1f", percentage)).append(")")
                   .append("\n");
             }
             
             // En çok değerlendirilen restoranlar
-            Map<Restaurant, Long> reviewCountByRestaurant = reviews.stream()
-                    .collect(Collectors.groupingBy(Review::getRestaurant, Collectors.counting()));
-            
             sb.append("\n").append(shellHelper.getSuccessMessage("En Çok Değerlendirilen Restoranlar:")).append("\n");
-            reviewCountByRestaurant.entrySet().stream()
-                    .sorted(Map.Entry.<Restaurant, Long>comparingByValue().reversed())
-                    .limit(5)
-                    .forEach(entry -> sb.append(entry.getKey().getName())
-                            .append(": ")
-                            .append(entry.getValue())
-                            .append(" değerlendirme")
-                            .append("\n"));
+            for (Restaurant restaurant : snapshot.getMostReviewedRestaurants()) {
+                sb.append(restaurant.getName())
+                  .append(": ")
+                  .append(restaurant.getReviewCount())
+                  .append(" değerlendirme")
+                  .append("\n");
+            }
             
             // En yüksek puanlı restoranlar
             sb.append("\n").append(shellHelper.getSuccessMessage("En Yüksek Puanlı Restoranlar:")).append("\n");
-            restaurants.stream()
-                    .filter(r -> r.getAverageRating() > 0)
-                    .sorted(Comparator.comparing(Restaurant::getAverageRating).reversed())
-                    .limit(5)
-                    .forEach(r -> sb.append(r.getName())
-                            .append(": ")
-                            .append(String.format("%.1f", r.getAverageRating()))
-                            .append(" / 5.0")
-                            .append("\n"));
+            for (Restaurant restaurant : snapshot.getTopRatedRestaurants()) {
+                sb.append(restaurant.getName())
+                  .append(": ")
+                  .append(String.format("%.1f", restaurant.getAverageRating()))
+                  .append(" / 5.0")
+                  .append("\n");
+            }
         } else {
             sb.append("\n").append(shellHelper.getWarningMessage("Henüz hiç değerlendirme yapılmamış."));
         }
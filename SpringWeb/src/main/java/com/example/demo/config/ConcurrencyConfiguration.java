@@ -0,0 +1,100 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AppLogger;
+import com.example.demo.util.ConcurrencyManager;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Sanal thread modu için yapılandırma.
+ * spring.threads.virtual.enabled=true iken (JDK 21+) Spring Boot Tomcat isteklerini sanal thread'lerde çalıştırır;
+ * bu sınıf aynı ayarla {@link ConcurrencyManager} görevlerini de Spring'in yönettiği bir sanal thread
+ * havuzuna ({@link VirtualTaskExecutor}) taşır.
+ * Sanal thread'ler thread havuzu sınırını kaldırdığından sınır istek başına değil veritabanı bağlantısı
+ * alınırken uygulanır ({@link ConnectionLimitingDataSource}); bağlantıyı süresinde alamayan istek
+ * {@link ConnectionTimeoutAdvice} ile 503 yanıtı alır. Statik dosyalar, actuator ve önbellek/indeks
+ * okumaları gibi veritabanına gitmeyen istekler sınırdan etkilenmez. Arka plan görevleri ayrıca
+ * {@link ConcurrencyManager} içinde aynı boyutta bir semaforla sınırlanır.
+ */
+@Configuration
+public class ConcurrencyConfiguration {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ConcurrencyConfiguration.class);
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final DataSource dataSource;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+
+    @Autowired
+    public ConcurrencyConfiguration(DataSource dataSource,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested,
+                                    @Value("${app.concurrency.max-concurrent:0}") int maxConcurrent,
+                                    @Value("${app.concurrency.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.dataSource = dataSource;
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : connectionPoolSize(dataSource);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        if (virtualThreadsRequested && !ConcurrencyManager.isVirtualThreadSupported()) {
+            LOGGER.warn("Sanal thread modu istendi ancak Java {} üzerinde çalışılıyor; istekler ve görevler "
+                    + "platform thread havuzlarında çalışacak", Runtime.version().feature());
+        }
+    }
+
+    /**
+     * Sanal thread modunda (ayar açık ve JDK 21+) görev havuzunu oluşturur ve veritabanı
+     * bağlantı sınırını etkinleştirir. Havuz bağlam kapanırken kapatılır.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualTaskExecutor virtualTaskExecutor() {
+        ExecutorService executor = ConcurrencyManager.newVirtualThreadExecutor();
+        if (executor == null) {
+            throw new IllegalStateException("Sanal thread havuzu oluşturulamadı");
+        }
+        if (dataSource instanceof ConnectionLimitingDataSource limiting) {
+            limiting.enableLimit(maxConcurrent, acquireTimeoutMs);
+        }
+        LOGGER.info("Sanal thread modu etkin: en fazla {} eşzamanlı görev ve veritabanı bağlantısı", maxConcurrent);
+        return new VirtualTaskExecutor(executor, maxConcurrent, acquireTimeoutMs);
+    }
+
+    /**
+     * Uygulamanın veri kaynağını bağlantı sınırlayıcıyla sarar; sınır yalnızca sanal thread
+     * modunda etkinleştirilir, platform modunda bağlantılar doğrudan havuzdan alınır.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Bağlantı havuzu boyutu okunamadı: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
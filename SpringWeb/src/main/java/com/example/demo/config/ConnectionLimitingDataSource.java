@@ -0,0 +1,136 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aynı anda açık veritabanı bağlantısı sayısını sınırlayan veri kaynağı sarmalayıcısı.
+ * Sınır etkin değilken bağlantılar doğrudan havuzdan alınır. Sınır doluyken bağlantı isteyen
+ * iş parçacığı belirli bir süre sırasını bekler; süre dolarsa havuzun uzun zaman aşımı yerine
+ * hemen {@link SQLTransientConnectionException} alır. İzin bağlantı kapatıldığında bırakılır,
+ * böylece asenkron ve akış yanıtlarındaki veritabanı işleri de sınıra dahildir.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ConnectionLimitingDataSource.class);
+
+    private volatile Semaphore permits;
+    private volatile long acquireTimeoutMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Bağlantı sınırını etkinleştirir
+     *
+     * @param maxConnections Aynı anda açık olabilecek bağlantı sayısı
+     * @param acquireTimeoutMs Sınır doluyken beklenecek en uzun süre (milisaniye)
+     */
+    public void enableLimit(int maxConnections, long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(maxConnections, true);
+        LOGGER.info("Veritabanı bağlantı sınırı etkin: en fazla {} bağlantı, bekleme süresi {} ms",
+                maxConnections, acquireTimeoutMs);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore current = permits;
+        if (current == null) {
+            return super.getConnection();
+        }
+        acquire(current);
+        try {
+            return releasing(super.getConnection(), current);
+        } catch (SQLException | RuntimeException e) {
+            current.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Semaphore current = permits;
+        if (current == null) {
+            return super.getConnection(username, password);
+        }
+        acquire(current);
+        try {
+            return releasing(super.getConnection(username, password), current);
+        } catch (SQLException | RuntimeException e) {
+            current.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Sınır nedeniyle reddedilen bağlantı isteği sayısı
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private void acquire(Semaphore current) throws SQLException {
+        boolean acquired;
+        try {
+            acquired = current.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Bağlantı beklenirken kesildi", e);
+        }
+        if (!acquired) {
+            long count = rejected.incrementAndGet();
+            if (count % 1000 == 1) {
+                LOGGER.warn("Veritabanı bağlantı sınırı dolu, bağlantı isteği reddedildi (toplam {} ret)", count);
+            }
+            throw new SQLTransientConnectionException(
+                    "Veritabanı bağlantısı " + acquireTimeoutMs + " ms içinde alınamadı");
+        }
+    }
+
+    /**
+     * Kapatıldığında izni bir kez bırakan bağlantı vekili oluşturur
+     */
+    private static Connection releasing(Connection target, Semaphore current) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                target.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    current.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
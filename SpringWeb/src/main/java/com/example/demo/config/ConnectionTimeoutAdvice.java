@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AppLogger;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Veritabanı bağlantısı süresinde alınamadığında isteği 500 yerine 503 ile yanıtlar.
+ * İstemci Retry-After başlığıyla kısa süre sonra yeniden denemeye yönlendirilir.
+ * Bağlantı zaman aşımı dışındaki veritabanı hataları olduğu gibi yeniden fırlatılır.
+ */
+@ControllerAdvice
+public class ConnectionTimeoutAdvice {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ConnectionTimeoutAdvice.class);
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public void handleConnectionFailure(RuntimeException ex, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        if (!(NestedExceptionUtils.getRootCause(ex) instanceof SQLTransientConnectionException)) {
+            throw ex;
+        }
+        LOGGER.debug("Veritabanı bağlantısı alınamadı, 503 döndürülüyor: {}", request.getRequestURI());
+        response.setHeader("Retry-After", "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Sunucu yoğun, lütfen tekrar deneyin");
+    }
+}
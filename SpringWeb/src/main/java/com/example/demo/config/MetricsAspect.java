@@ -0,0 +1,140 @@
+package com.example.demo.config;
+
+import com.example.demo.service.CursorPage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Servis ve depo çağrılarını Micrometer ile ölçen aspect.
+ * <ul>
+ *   <li>RestaurantService ve ReviewService'in public metotları app.service.invocations zamanlayıcısıyla ölçülür</li>
+ *   <li>Servis ve depo metotlarının döndürdüğü satır sayısı app.result.size dağılımına yazılır</li>
+ * </ul>
+ * Depo sorgularının süresi Spring Boot tarafından spring.data.repository.invocations adıyla zaten ölçüldüğünden
+ * burada yalnızca sonuç boyutu kaydedilir. Asenkron metotlarda süre ve boyut, sonuç tamamlandığında kaydedilir.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    private static final String SERVICE_TIMER = "app.service.invocations";
+    private static final String RESULT_SIZE = "app.result.size";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.demo.service.RestaurantService.*(..))"
+            + " || execution(public * com.example.demo.service.ReviewService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable error) {
+            stop(sample, service, method, error);
+            throw error;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((value, error) -> {
+                stop(sample, service, method, error);
+                recordSize("service", service, method, value);
+            });
+        }
+        stop(sample, service, method, null);
+        recordSize("service", service, method, result);
+        return result;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measureRepositoryResult(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        recordSize("repository", repositoryName(joinPoint), joinPoint.getSignature().getName(), result);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String service, String method, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        sample.stop(Timer.builder(SERVICE_TIMER)
+                .description("Servis metodu süresi")
+                .tags("service", service, "method", method,
+                        "exception", cause == null ? "none" : cause.getClass().getSimpleName())
+                .register(registry));
+    }
+
+    private void recordSize(String layer, String owner, String method, Object result) {
+        long size = sizeOf(result);
+        if (size < 0) {
+            return;
+        }
+        DistributionSummary.builder(RESULT_SIZE)
+                .description("Döndürülen satır sayısı")
+                .baseUnit("rows")
+                .tags("layer", layer, "class", owner, "method", method)
+                .register(registry)
+                .record(size);
+    }
+
+    /**
+     * Sonucun satır sayısı; tekil veya sayısal sonuçlar için -1 (kaydedilmez)
+     */
+    private static long sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    /**
+     * Kalıtılan metotlarda (findAll gibi) bildiren tür CrudRepository olduğundan etiket için
+     * uygulamanın depo arayüzü kullanılır
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        if (target == null) {
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        }
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate) && candidate.getName().startsWith("com.example.demo.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+}
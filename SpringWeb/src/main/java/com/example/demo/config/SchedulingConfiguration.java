@@ -0,0 +1,14 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Zamanlanmış görevler için yapılandırma.
+ * Puan toplamı uzlaştırması gibi periyodik bakım işlerini etkinleştirir.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+    // Zamanlanmış görevler ilgili servislerde @Scheduled ile tanımlanır
+}
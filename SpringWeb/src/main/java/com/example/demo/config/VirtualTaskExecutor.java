@@ -0,0 +1,39 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AppLogger;
+import com.example.demo.util.ConcurrencyManager;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Sanal thread modunda {@link ConcurrencyManager} görevlerinin çalıştığı havuz.
+ * Havuzun yaşam döngüsü Spring'e aittir: bağlam kapanırken görevler önce platform havuzuna
+ * yönlendirilir, ardından çalışan görevler beklenerek havuz kapatılır.
+ */
+public class VirtualTaskExecutor implements DisposableBean {
+
+    private static final Logger LOGGER = AppLogger.getLogger(VirtualTaskExecutor.class);
+
+    private final ExecutorService executor;
+
+    public VirtualTaskExecutor(ExecutorService executor, int maxConcurrent, long acquireTimeoutMs) {
+        this.executor = executor;
+        ConcurrencyManager.enableVirtualThreads(executor, maxConcurrent, acquireTimeoutMs);
+    }
+
+    /**
+     * Görevlerin çalıştığı sanal thread havuzu
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        LOGGER.info("Sanal thread görev havuzu kapatılıyor");
+        ConcurrencyManager.disableVirtualThreads(executor);
+    }
+}
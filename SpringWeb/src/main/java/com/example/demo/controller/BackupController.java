@@ -1,5 +1,18 @@
 package com.example.demo.controller;
 
+import com.example.demo.service.DataRestoredEvent;
+import com.example.demo.service.backup.BackupArchiveInfo;
+import com.example.demo.service.backup.BackupManifest;
+import com.example.demo.service.backup.BackupService;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobContext;
+import com.example.demo.service.job.JobRejectedException;
+import com.example.demo.service.job.JobService;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -14,12 +27,28 @@ import java.util.*;
 @RequestMapping("/backup")
 public class BackupController {
 
-    private static final String BACKUP_DIR = "yedekler";
+    private static final Logger LOGGER = AppLogger.getLogger(BackupController.class);
     private static final String DB_NAME = "restaurant_db";
     private static final String DB_USER = "postgres";
     private static final String DB_PASSWORD = "123456789";
     private static final String SAMPLE_DATA_FILE = "src/main/resources/sample_data.sql";
 
+    private static final String JOB_TYPE_SAMPLE_DATA = "SAMPLE_DATA";
+
+    private final BackupService backupService;
+    private final JobService jobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String backupDirName;
+
+    @Autowired
+    public BackupController(BackupService backupService, JobService jobService,
+                            ApplicationEventPublisher eventPublisher) {
+        this.backupService = backupService;
+        this.jobService = jobService;
+        this.eventPublisher = eventPublisher;
+        this.backupDirName = backupService.getBackupDir().toString();
+    }
+
     /**
      * Yedekleme işlemlerini yönetecek sayfa
      */
@@ -28,9 +57,10 @@ public class BackupController {
         // Yedekleme işlemi hakkında bilgi ekle
         String backupInfo = "Veritabanı yedekleme, tüm restoran ve değerlendirme verilerini bir dosyaya kaydetmenizi sağlar. Bu dosyayı daha sonra geri yükleyerek verilerinizi kurtarabilirsiniz.\n\n" +
                             "Yedek Al: Mevcut veritabanının tam bir kopyasını oluşturur.\n" +
+                            "Artımlı yedek son yedekten, fark yedeği son tam yedekten bu yana değişen kayıtları alır; geri yüklemede bağlı olduğu yedek zinciri sırayla uygulanır.\n" +
                             "Geri Yükle: Önceden alınan yedeği mevcut veritabanına geri yükler. Bu işlem mevcut verileri sileceği için dikkatli olunmalıdır.\n" +
                             "Sil: Seçilen yedek dosyasını kalıcı olarak siler.\n" +
-                            "Yedek dosyaları yedekler/ klasöründe saklanır ve PostgreSQL'in pg_dump ve pg_restore komutları kullanılarak işlenir.";
+                            "Yedek dosyaları yedekler/ klasöründe sıkıştırılmış .rbak arşivleri olarak saklanır; yedekleme ve geri yükleme arka planda çalışır.";
         model.addAttribute("backupInfo", backupInfo);
 
         // Örnek veri seti hakkında bilgi ekle
@@ -39,7 +69,7 @@ public class BackupController {
         model.addAttribute("sampleDataInfo", sampleDataInfo);
 
         // Yedekler klasörünü kontrol et ve oluştur
-        File backupDir = new File(BACKUP_DIR);
+        File backupDir = new File(backupDirName);
         if (!backupDir.exists()) {
             backupDir.mkdir();
         }
@@ -48,16 +78,20 @@ public class BackupController {
         List<Map<String, Object>> backups = listBackups();
         model.addAttribute("backups", backups);
         
+        // Son yedekleme/geri yükleme işleri; sayfa açıkken /api/jobs/stream üzerinden güncellenir
+        model.addAttribute("jobs", jobService.getJobs());
+        
         return "backup/index";
     }
 
     /**
-     * Yeni bir yedek oluştur
+     * Yeni bir yedek oluştur.
+     * Yedek arka planda alınır; ilerleme /api/jobs/{id} üzerinden izlenebilir.
      */
     @PostMapping("/create")
-    public String createBackup(@RequestParam("backupName") String backupName, 
+    public String createBackup(@RequestParam("backupName") String backupName,
+                              @RequestParam(value = "backupType", defaultValue = "full") String backupType,
                               RedirectAttributes redirectAttributes) {
-        String originalBackupName = backupName;
         try {
             // Yedek ismi boş kontrolü
             if (backupName == null || backupName.trim().isEmpty()) {
@@ -65,100 +99,26 @@ public class BackupController {
                 return "redirect:/backup";
             }
 
-            // Dosya adı güvenliği için geçersiz karakterleri temizle
-            backupName = backupName.replaceAll("[^a-zA-Z0-9_\\-\\.]", "_");
-            
-            // Tarih ve saat formatı
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
-            String timestamp = LocalDateTime.now().format(formatter);
-            
-            // Yedek klasörünü kontrol et ve oluştur
-            File backupDir = new File(BACKUP_DIR);
-            if (!backupDir.exists()) {
-                boolean dirCreated = backupDir.mkdir();
-                if (!dirCreated) {
-                    throw new IOException("Yedek klasörü oluşturulamadı: " + BACKUP_DIR);
-                }
-            }
-            
-            String fileName = BACKUP_DIR + "/" + backupName + "_" + timestamp + ".backup";
-            File backupFile = new File(fileName);
-            
-            // Dosya zaten varsa benzersiz isim oluştur
-            int counter = 1;
-            while (backupFile.exists()) {
-                fileName = BACKUP_DIR + "/" + backupName + "_" + timestamp + "_" + counter + ".backup";
-                backupFile = new File(fileName);
-                counter++;
-            }
-            
-            // pg_dump komutunun varlığını kontrol et
-            try {
-                Process checkPgDump = Runtime.getRuntime().exec("pg_dump --version");
-                int exitCode = checkPgDump.waitFor();
-                if (exitCode != 0) {
-                    throw new IOException("pg_dump komutu çalıştırılamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.");
-                }
-            } catch (IOException e) {
-                throw new IOException("pg_dump bulunamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.", e);
-            }
-            
-            // pg_dump komutu ile yedekleme
-            ProcessBuilder pb = new ProcessBuilder(
-                "pg_dump",
-                "-U", DB_USER,
-                "-d", DB_NAME,
-                "--format=c",  // Custom format
-                "--blobs",     // Blob verilerini dahil et
-                "--encoding=UTF8", // Karakter kodlaması
-                "--verbose",   // Verbose mode
-                "--file=" + backupFile.getAbsolutePath()
-            );
-            
-            pb.environment().put("PGPASSWORD", DB_PASSWORD);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            
-            // İşlem çıktısını oku
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            StringBuilder output = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                // Yedek dosyasının boyutunu kontrol et
-                long fileSize = backupFile.length();
-                if (fileSize < 100) { // 100 byte'dan küçük dosyalar muhtemelen boştur
-                    redirectAttributes.addFlashAttribute("warning", "Yedek dosyası çok küçük, yedekleme başarısız olmuş olabilir!");
-                } else {
-                    redirectAttributes.addFlashAttribute("success", 
-                        "Veritabanı yedeği başarıyla alındı! Yedek dosyası: " + backupFile.getName() + " (" + (fileSize / 1024) + " KB)");
-                }
-            } else {
-                redirectAttributes.addFlashAttribute("error", "Yedekleme işlemi başarısız oldu! Çıkış kodu: " + exitCode + "\nÇıktı: " + output.toString());
-            }
+            Job job = backupService.startBackup(backupName.trim(), BackupService.Mode.fromString(backupType));
+            redirectAttributes.addFlashAttribute("success", 
+                "Yedekleme arka planda başlatıldı (iş #" + job.getId() + "). Yedek dosyası: " + job.getLabel());
             
+        } catch (JobRejectedException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (IOException e) {
             redirectAttributes.addFlashAttribute("error", "Yedek alınırken I/O hatası oluştu: " + e.getMessage());
-            e.printStackTrace();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            redirectAttributes.addFlashAttribute("error", "Yedekleme işlemi kesintiye uğradı: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Yedekleme başlatılamadı", e);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Yedek alınırken beklenmeyen hata oluştu: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Yedekleme başlatılamadı", e);
         }
         
         return "redirect:/backup";
     }
 
     /**
-     * Seçilen yedeği geri yükle
+     * Seçilen yedeği geri yükle.
+     * Geri yükleme arka planda bir iş olarak çalışır; veriyi silen işlerden aynı anda yalnızca biri kabul edilir.
      */
     @PostMapping("/restore")
     public String restoreBackup(@RequestParam("backupFile") String backupFileName,
@@ -171,82 +131,78 @@ public class BackupController {
             }
             
             // Dosya kontrolü
-            File backupFile = new File(BACKUP_DIR + "/" + backupFileName);
+            File backupFile = new File(backupDirName + "/" + backupFileName);
             if (!backupFile.exists() || !backupFile.canRead()) {
                 redirectAttributes.addFlashAttribute("error", "Seçilen yedek dosyası bulunamadı veya okunamıyor!");
                 return "redirect:/backup";
             }
             
-            // Dosya uzantı kontrolü
+            // Uygulamanın kendi arşivleri harici araç olmadan geri yüklenir
+            if (BackupService.isArchive(backupFileName)) {
+                Job job = backupService.startRestore(backupFileName);
+                redirectAttributes.addFlashAttribute("success", 
+                    "Geri yükleme arka planda başlatıldı (iş #" + job.getId() + ").");
+                return "redirect:/backup";
+            }
+            
+            // Eski pg_dump yedekleri için pg_restore kullanılır
             String lowerCaseFileName = backupFileName.toLowerCase();
             if (!lowerCaseFileName.endsWith(".backup") && !lowerCaseFileName.endsWith(".sql") && !lowerCaseFileName.endsWith(".dump")) {
                 redirectAttributes.addFlashAttribute("error", "Geçersiz yedek dosyası formatı!");
                 return "redirect:/backup";
             }
             
-            // pg_restore komutunun varlığını kontrol et
-            try {
-                Process checkPgRestore = Runtime.getRuntime().exec("pg_restore --version");
-                int exitCode = checkPgRestore.waitFor();
-                if (exitCode != 0) {
-                    throw new IOException("pg_restore komutu çalıştırılamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.");
-                }
-            } catch (IOException e) {
-                throw new IOException("pg_restore bulunamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.", e);
-            }
-            
-            // pg_restore komutu ile geri yükleme
-            ProcessBuilder pb = new ProcessBuilder(
-                "pg_restore",
-                "--clean",       // Mevcut verileri temizle
-                "--if-exists",   // Varsa sil
-                "-U", DB_USER,
-                "-d", DB_NAME,
-                backupFile.getAbsolutePath()
-            );
-            
-            pb.environment().put("PGPASSWORD", DB_PASSWORD);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            
-            // İşlem çıktısını oku
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            StringBuilder output = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                redirectAttributes.addFlashAttribute("success", "Veritabanı başarıyla geri yüklendi!");
-            } else {
-                // Bazı durumlarda pg_restore hata dönse bile işlem kısmen başarılı olabilir
-                if (output.toString().contains("error")) {
-                    redirectAttributes.addFlashAttribute("warning", 
-                        "Geri yükleme işlemi tamamlandı ancak bazı hatalar oluştu. Veritabanınız kısmen güncellenmiş olabilir.");
-                } else {
-                    redirectAttributes.addFlashAttribute("error", 
-                        "Geri yükleme işlemi başarısız oldu! Çıkış kodu: " + exitCode + "\nDetaylar: " + output.toString());
-                }
-            }
+            Job job = jobService.submit(BackupService.JOB_TYPE_RESTORE, backupFileName, true,
+                    context -> runPgRestore(context, backupFile));
+            redirectAttributes.addFlashAttribute("success", 
+                "pg_restore ile geri yükleme arka planda başlatıldı (iş #" + job.getId() + ").");
             
+        } catch (JobRejectedException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (IOException e) {
             redirectAttributes.addFlashAttribute("error", "Geri yükleme sırasında I/O hatası: " + e.getMessage());
-            e.printStackTrace();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            redirectAttributes.addFlashAttribute("error", "Geri yükleme işlemi kesintiye uğradı: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Geri yükleme başlatılamadı", e);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Geri yükleme işlemi sırasında beklenmeyen hata: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Geri yükleme başlatılamadı", e);
         }
         
         return "redirect:/backup";
     }
 
+    /**
+     * Eski pg_dump yedeğini pg_restore ile geri yükler (iş içinde çalışır)
+     */
+    private String runPgRestore(JobContext context, File backupFile) throws IOException, InterruptedException {
+        requireTool(context, "pg_restore");
+        
+        // pg_restore komutu ile geri yükleme
+        ProcessBuilder pb = new ProcessBuilder(
+            "pg_restore",
+            "--clean",       // Mevcut verileri temizle
+            "--if-exists",   // Varsa sil
+            "-U", DB_USER,
+            "-d", DB_NAME,
+            backupFile.getAbsolutePath()
+        );
+        
+        context.setPhase("pg_restore çalışıyor");
+        // pg_restore başladıktan sonra durdurmak veritabanını yarım bırakır
+        context.setCancellable(false);
+        StringBuilder output = new StringBuilder();
+        int exitCode = runProcess(context, pb, output);
+        publishRestored(context, backupFile.getName());
+        
+        if (exitCode == 0) {
+            return "Veritabanı başarıyla geri yüklendi!";
+        }
+        // Bazı durumlarda pg_restore hata dönse bile işlem kısmen başarılı olabilir
+        if (output.toString().contains("error")) {
+            return "Geri yükleme işlemi tamamlandı ancak bazı hatalar oluştu. Veritabanınız kısmen güncellenmiş olabilir.";
+        }
+        throw new IOException("Geri yükleme işlemi başarısız oldu! Çıkış kodu: " + exitCode);
+    }
+
     /**
      * Seçilen yedeği sil
      */
@@ -261,14 +217,13 @@ public class BackupController {
             }
             
             // Dosya uzantı kontrolü
-            String lowerCaseFileName = backupFileName.toLowerCase();
-            if (!lowerCaseFileName.endsWith(".backup") && !lowerCaseFileName.endsWith(".sql") && !lowerCaseFileName.endsWith(".dump")) {
+            if (!isBackupFile(backupFileName)) {
                 redirectAttributes.addFlashAttribute("error", "Geçersiz yedek dosyası formatı!");
                 return "redirect:/backup";
             }
             
             // Dosya kontrolü ve silme işlemi
-            File backupFile = new File(BACKUP_DIR + "/" + backupFileName);
+            File backupFile = new File(backupDirName + "/" + backupFileName);
             if (!backupFile.exists()) {
                 redirectAttributes.addFlashAttribute("error", "Yedek dosyası bulunamadı: " + backupFileName);
                 return "redirect:/backup";
@@ -279,6 +234,16 @@ public class BackupController {
                 return "redirect:/backup";
             }
             
+            // Artımlı/fark yedeklerinin üst yedeği silinirse o yedekler geri yüklenemez
+            if (BackupService.isArchive(backupFileName)) {
+                List<String> dependents = backupService.findDependents(backupFileName);
+                if (!dependents.isEmpty()) {
+                    redirectAttributes.addFlashAttribute("error", "Bu yedek başka yedeklerin üst yedeği olduğu için silinemez: "
+                            + String.join(", ", dependents));
+                    return "redirect:/backup";
+                }
+            }
+            
             boolean deleted = backupFile.delete();
             if (deleted) {
                 redirectAttributes.addFlashAttribute("success", "Yedek dosyası başarıyla silindi: " + backupFileName);
@@ -299,7 +264,9 @@ public class BackupController {
     }
 
     /**
-     * Örnek veri setini yükle
+     * Örnek veri setini yükle.
+     * Yükleme arka planda bir iş olarak çalışır ve mevcut verileri sildiği için
+     * başka bir geri yükleme sürerken kabul edilmez.
      */
     @PostMapping("/load-sample-data")
     public String loadSampleData(RedirectAttributes redirectAttributes) {
@@ -311,68 +278,106 @@ public class BackupController {
                 return "redirect:/backup";
             }
             
-            // psql komutunun varlığını kontrol et
-            try {
-                Process checkPsql = Runtime.getRuntime().exec("psql --version");
-                int exitCode = checkPsql.waitFor();
-                if (exitCode != 0) {
-                    throw new IOException("psql komutu çalıştırılamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.");
-                }
-            } catch (IOException e) {
-                throw new IOException("psql bulunamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.", e);
-            }
-            
-            // psql komutu ile örnek veriyi yükle
-            ProcessBuilder pb = new ProcessBuilder(
-                "psql",
-                "-U", DB_USER,
-                "-d", DB_NAME,
-                "-f", sampleDataFile.getAbsolutePath()
-            );
-            
-            pb.environment().put("PGPASSWORD", DB_PASSWORD);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
+            Job job = jobService.submit(JOB_TYPE_SAMPLE_DATA, sampleDataFile.getName(), true,
+                    context -> runSampleDataLoad(context, sampleDataFile));
+            redirectAttributes.addFlashAttribute("success", 
+                "Örnek veri seti arka planda yükleniyor (iş #" + job.getId() + ").");
             
-            // İşlem çıktısını oku
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            StringBuilder output = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                redirectAttributes.addFlashAttribute("success", 
-                    "Örnek veri seti başarıyla yüklendi! Artık 15 restoran ve 50+ değerlendirme içeren bir sisteme sahipsiniz.");
-            } else {
-                // Çıktıda hata mesajlarını ara
-                if (output.toString().contains("error") || output.toString().contains("ERROR")) {
-                    redirectAttributes.addFlashAttribute("error", 
-                        "Örnek veri seti yüklenirken hata oluştu! Detaylar: " + output.toString());
-                } else {
-                    redirectAttributes.addFlashAttribute("warning", 
-                        "Örnek veri seti yüklendi ancak bazı uyarılar oluştu. Detaylar: " + output.toString());
-                }
-            }
-            
-        } catch (IOException e) {
-            redirectAttributes.addFlashAttribute("error", "Örnek veri seti yüklenirken I/O hatası: " + e.getMessage());
-            e.printStackTrace();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            redirectAttributes.addFlashAttribute("error", "Örnek veri seti yükleme işlemi kesintiye uğradı: " + e.getMessage());
-            e.printStackTrace();
+        } catch (JobRejectedException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Örnek veri seti yüklenirken beklenmeyen hata: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Örnek veri yükleme başlatılamadı", e);
         }
         
         return "redirect:/backup";
     }
 
+    /**
+     * Örnek veri dosyasını psql ile yükler (iş içinde çalışır)
+     */
+    private String runSampleDataLoad(JobContext context, File sampleDataFile) throws IOException, InterruptedException {
+        requireTool(context, "psql");
+        
+        // psql komutu ile örnek veriyi yükle
+        ProcessBuilder pb = new ProcessBuilder(
+            "psql",
+            "-U", DB_USER,
+            "-d", DB_NAME,
+            "-f", sampleDataFile.getAbsolutePath()
+        );
+        
+        context.setPhase("psql çalışıyor");
+        context.setCancellable(false);
+        StringBuilder output = new StringBuilder();
+        int exitCode = runProcess(context, pb, output);
+        publishRestored(context, sampleDataFile.getName());
+        
+        if (exitCode == 0) {
+            return "Örnek veri seti başarıyla yüklendi! Artık 15 restoran ve 50+ değerlendirme içeren bir sisteme sahipsiniz.";
+        }
+        // Çıktıda hata mesajlarını ara
+        if (output.toString().contains("error") || output.toString().contains("ERROR")) {
+            throw new IOException("Örnek veri seti yüklenirken hata oluştu! Ayrıntılar iş günlüğünde.");
+        }
+        return "Örnek veri seti yüklendi ancak bazı uyarılar oluştu. Ayrıntılar iş günlüğünde.";
+    }
+
+    /**
+     * Dış araçla yüklenen veri için restoran puan toplamlarını yeniden hesaplar ve
+     * önbellek ile indekslerin yenilenmesi için geri yükleme olayını yayınlar.
+     * Yükleme yarım kalmış olsa da veritabanı değiştiği için olay her durumda yayınlanır.
+     */
+    private void publishRestored(JobContext context, String source) {
+        try {
+            context.setPhase("Puanlar hesaplanıyor");
+            int restaurants = backupService.recomputeRatingAggregates();
+            context.log("Puan toplamları yeniden hesaplandı: " + restaurants + " restoran");
+        } finally {
+            eventPublisher.publishEvent(new DataRestoredEvent(source, 0));
+        }
+    }
+
+    /**
+     * PostgreSQL istemci aracının kurulu olduğunu kontrol eder
+     */
+    private static void requireTool(JobContext context, String tool) throws IOException, InterruptedException {
+        context.setPhase(tool + " kontrol ediliyor");
+        try {
+            Process check = new ProcessBuilder(tool, "--version").start();
+            if (check.waitFor() != 0) {
+                throw new IOException(tool + " komutu çalıştırılamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.");
+            }
+        } catch (IOException e) {
+            throw new IOException(tool + " bulunamadı. PostgreSQL istemci araçlarının yüklü olduğundan emin olun.", e);
+        }
+        context.checkCancelled();
+    }
+
+    /**
+     * Harici süreci çalıştırır; çıktısını satır satır iş günlüğüne yazar
+     *
+     * @return Sürecin çıkış kodu
+     */
+    private static int runProcess(JobContext context, ProcessBuilder pb, StringBuilder output)
+            throws IOException, InterruptedException {
+        pb.environment().put("PGPASSWORD", DB_PASSWORD);
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+        
+        // İşlem çıktısını oku
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append("\n");
+                context.log(line);
+            }
+        }
+        int exitCode = process.waitFor();
+        context.log("Çıkış kodu: " + exitCode);
+        return exitCode;
+    }
+
     /**
      * Mevcut yedekleri listele
      */
@@ -380,22 +385,20 @@ public class BackupController {
         List<Map<String, Object>> backups = new ArrayList<>();
         
         try {
-            File backupDir = new File(BACKUP_DIR);
+            File backupDir = new File(backupDirName);
             if (!backupDir.exists() || !backupDir.isDirectory()) {
                 return backups;
             }
             
             // Yedek dosyalarını bul
-            File[] backupFiles = backupDir.listFiles((dir, name) -> 
-                name.toLowerCase().endsWith(".backup") || 
-                name.toLowerCase().endsWith(".sql") || 
-                name.toLowerCase().endsWith(".dump")
-            );
+            File[] backupFiles = backupDir.listFiles((dir, name) -> isBackupFile(name));
             
             if (backupFiles == null || backupFiles.length == 0) {
                 return backups;
             }
             
+            Map<String, BackupArchiveInfo> archives = backupService.listArchives();
+            
             // Dosyaları tarihe göre sırala (en yenisi en üstte)
             Arrays.sort(backupFiles, (f1, f2) -> Long.compare(f2.lastModified(), f1.lastModified()));
             
@@ -407,6 +410,10 @@ public class BackupController {
                     Map<String, Object> backup = new HashMap<>();
                     backup.put("fileName", file.getName());
                     backup.put("size", file.length() / 1024); // KB cinsinden
+                    backup.put("format", BackupService.isArchive(file.getName()) ? "Arşiv" : "pg_dump");
+                    if (BackupService.isArchive(file.getName())) {
+                        putArchiveInfo(backup, archives.get(file.getName()));
+                    }
                     
                     try {
                         LocalDateTime dateTime = LocalDateTime.ofInstant(
@@ -423,14 +430,51 @@ public class BackupController {
                     backups.add(backup);
                 } catch (Exception e) {
                     // Herhangi bir dosya işleme hatası olursa bu dosyayı atla
-                    System.err.println("Dosya işlenirken hata: " + file.getName() + " - " + e.getMessage());
+                    LOGGER.warn("Dosya işlenirken hata: {} - {}", file.getName(), e.getMessage());
                 }
             }
         } catch (Exception e) {
             // Genel hata durumunda boş liste döndür
-            System.err.println("Yedekleri listelerken hata: " + e.getMessage());
+            LOGGER.warn("Yedekleri listelerken hata: {}", e.getMessage());
         }
         
         return backups;
     }
+
+    /**
+     * Arşivin satır sayılarını listeye ekler; yarım veya bozuk arşivler işaretlenir
+     */
+    private void putArchiveInfo(Map<String, Object> backup, BackupArchiveInfo info) {
+        if (info == null || info.getManifest() == null) {
+            backup.put("invalid", true);
+            if (info != null) {
+                LOGGER.warn("Yedek arşivi okunamadı: {} - {}", info.getFileName(), info.getError());
+            }
+            return;
+        }
+        BackupManifest manifest = info.getManifest();
+        backup.put("rows", manifest.totalRows());
+        backup.put("rowCounts", manifest.getRowCounts());
+        backup.put("type", switch (manifest.getType()) {
+            case BackupManifest.TYPE_INCREMENTAL -> "Artımlı";
+            case BackupManifest.TYPE_DIFFERENTIAL -> "Fark";
+            default -> "Tam";
+        });
+        if (manifest.getParent() != null) {
+            backup.put("parent", manifest.getParent());
+        }
+        // Zincirdeki sırası: tam yedek 1, ona bağlı her yedek bir fazlası
+        backup.put("chainLength", info.getChain().size());
+        if (info.getError() != null) {
+            backup.put("chainError", info.getError());
+        }
+    }
+
+    private static boolean isBackupFile(String name) {
+        String lowerCaseName = name.toLowerCase();
+        return BackupService.isArchive(lowerCaseName)
+                || lowerCaseName.endsWith(".backup")
+                || lowerCaseName.endsWith(".sql")
+                || lowerCaseName.endsWith(".dump");
+    }
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.model.Restaurant;
 import com.example.demo.model.Review;
+import com.example.demo.service.CursorPage;
 import com.example.demo.service.RestaurantService;
 import com.example.demo.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,9 @@ public class RestaurantController {
     public String listAllRestaurants(
             @RequestParam(required = false, name = "location") String location,
             @RequestParam(required = false, name = "minRating") String minRating,
+            @RequestParam(required = false, name = "after") String after,
+            @RequestParam(defaultValue = "30", name = "limit") int limit,
+            @RequestParam(defaultValue = "rating", name = "sort") String sort,
             Model model) {
         
         List<Restaurant> restaurants;
@@ -49,36 +53,18 @@ public class RestaurantController {
             double rating = Double.parseDouble(minRating);
             restaurants = restaurantService.getRestaurantsByMinimumRating(rating);
         } else {
-            // Filtre yok, tüm restoranları getir
-            restaurants = restaurantService.getAllRestaurantsByRating();
-        }
-        
-        // Her restoranın değerlendirme sayısını hesapla ve ekle
-        for (Restaurant restaurant : restaurants) {
-            // Değerlendirme sayısını kontrol et ve ekle
-            if (restaurant.getReviews() == null || restaurant.getReviews().isEmpty()) {
-                List<Review> reviews = reviewService.getReviewsByRestaurantName(restaurant.getName());
-                // Doğru puan için ortalamayı kontrol et
-                if (!reviews.isEmpty()) {
-                    double totalRating = 0;
-                    for (Review review : reviews) {
-                        totalRating += review.getRating();
-                    }
-                    double averageRating = totalRating / reviews.size();
-                    
-                    // Eğer hesaplanan ortalama, kaydedilen ortalamadan farklıysa güncelle
-                    if (Math.abs(averageRating - restaurant.getRating()) > 0.01) {
-                        restaurant.setRating(averageRating);
-                        restaurantService.saveRestaurant(restaurant);
-                        System.out.println("Restoran puanı güncellendi: " + restaurant.getName() + 
-                                 " - Yeni puan: " + averageRating + 
-                                 " - Değerlendirme sayısı: " + reviews.size());
-                    }
-                }
-            }
+            // Filtre yok, restoranları seçilen sıralamaya göre sayfa sayfa getir
+            String pageSort = "bayesian".equals(sort) ? sort : "rating";
+            CursorPage<Restaurant> page = restaurantService.getRestaurantPage(pageSort, after, limit);
+            restaurants = page.getItems();
+            model.addAttribute("nextCursor", page.getNextCursor());
+            model.addAttribute("sort", pageSort);
         }
         
+        // Değerlendirme sayısı ve ortalama puan restoran satırında tutulan toplamlardan gelir,
+        // bu yüzden liste tek sorguyla hazırlanır ve GET isteği veritabanına yazmaz
         model.addAttribute("restaurants", restaurants);
+        model.addAttribute("limit", CursorPage.clampLimit(limit));
         return "restaurants/list";
     }
 
@@ -93,27 +79,9 @@ public class RestaurantController {
                     model.addAttribute("restaurant", restaurant);
                     
                     // Değerlendirmeleri al
-                    List<Review> reviews = reviewService.getReviewsByRestaurantName(restaurant.getName());
+                    List<Review> reviews = reviewService.getReviewsByRestaurantId(restaurant.getId());
                     model.addAttribute("reviews", reviews);
                     
-                    // Değerlendirme varsa puanı yeniden hesapla ve güncelle
-                    if (!reviews.isEmpty()) {
-                        double totalRating = 0;
-                        for (Review review : reviews) {
-                            totalRating += review.getRating();
-                        }
-                        double averageRating = totalRating / reviews.size();
-                        
-                        // Eğer hesaplanan ortalama, kaydedilen ortalamadan farklıysa güncelle
-                        if (Math.abs(averageRating - restaurant.getRating()) > 0.01) {
-                            restaurant.setRating(averageRating);
-                            restaurantService.saveRestaurant(restaurant);
-                            System.out.println("Restoran puanı detay sayfasında güncellendi: " + restaurant.getName() + 
-                                     " - Yeni puan: " + averageRating + 
-                                     " - Değerlendirme sayısı: " + reviews.size());
-                        }
-                    }
-                    
                     return "restaurants/details";
                 })
                 .orElse("redirect:/restaurants");
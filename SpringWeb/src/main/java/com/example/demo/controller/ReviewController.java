@@ -2,9 +2,14 @@ package com.example.demo.controller;
 
 import com.example.demo.model.Restaurant;
 import com.example.demo.model.Review;
+import com.example.demo.service.CursorPage;
 import com.example.demo.service.RestaurantService;
+import com.example.demo.service.ReviewQueueFullException;
 import com.example.demo.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -28,12 +33,16 @@ public class ReviewController {
     }
 
     /**
-     * Tüm değerlendirmeleri listeler
+     * Değerlendirmeleri tarihe göre sayfa sayfa listeler
      */
     @GetMapping
-    public String listAllReviews(Model model) {
-        List<Review> reviews = reviewService.getAllReviewsByDate();
-        model.addAttribute("reviews", reviews);
+    public String listAllReviews(@RequestParam(required = false, name = "after") String after,
+                                 @RequestParam(defaultValue = "30", name = "limit") int limit,
+                                 Model model) {
+        CursorPage<Review> page = reviewService.getReviewPage("date", after, limit);
+        model.addAttribute("reviews", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("limit", CursorPage.clampLimit(limit));
         return "reviews/list";
     }
 
@@ -96,8 +105,10 @@ public class ReviewController {
                 restaurant.ifPresent(review::setRestaurant);
             }
             
-            reviewService.saveReview(review);
-            redirectAttributes.addFlashAttribute("successMessage", "Değerlendirme başarıyla eklendi.");
+            Review saved = reviewService.addReview(review);
+            redirectAttributes.addFlashAttribute("successMessage", saved != null
+                    ? "Değerlendirme başarıyla eklendi."
+                    : "Değerlendirmeniz alındı, kısa süre içinde yayınlanacak.");
             
             // Eğer restoran detay sayfasından geldiyse, o sayfaya geri dön
             if (review.getRestaurant() != null) {
@@ -105,6 +116,8 @@ public class ReviewController {
             }
             
             return "redirect:/reviews";
+        } catch (ReviewQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Değerlendirme eklenirken hata oluştu: " + e.getMessage());
             return "redirect:/reviews/new";
@@ -168,4 +181,14 @@ public class ReviewController {
             return "redirect:/reviews";
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Değerlendirme kuyruğu doluysa 429 ve Retry-After başlığı ile yanıt verir
+     */
+    @ExceptionHandler(ReviewQueueFullException.class)
+    public ResponseEntity<String> handleQueueFull(ReviewQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
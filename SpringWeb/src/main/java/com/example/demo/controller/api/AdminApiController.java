@@ -0,0 +1,207 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.service.AggregateReconciliationReport;
+import com.example.demo.service.ExecutorRegistry;
+import com.example.demo.service.RatingAggregateService;
+import com.example.demo.service.RestaurantCache;
+import com.example.demo.service.RestaurantRankingIndex;
+import com.example.demo.service.ReviewSearchIndex;
+import com.example.demo.service.ReviewWriteQueue;
+import com.example.demo.service.backup.AppDataService;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobRejectedException;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Bakım ve yönetim işlemleri için REST API kontrolcüsü
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminApiController {
+
+    private static final Logger LOGGER = AppLogger.getLogger(AdminApiController.class);
+    private final RatingAggregateService ratingAggregateService;
+    private final RestaurantCache restaurantCache;
+    private final RestaurantRankingIndex rankingIndex;
+    private final ReviewWriteQueue reviewWriteQueue;
+    private final AppDataService appDataService;
+    private final ExecutorRegistry executorRegistry;
+    private final ReviewSearchIndex reviewSearchIndex;
+
+    @Autowired
+    public AdminApiController(RatingAggregateService ratingAggregateService, RestaurantCache restaurantCache,
+                              RestaurantRankingIndex rankingIndex, ReviewWriteQueue reviewWriteQueue,
+                              AppDataService appDataService, ExecutorRegistry executorRegistry,
+                              ReviewSearchIndex reviewSearchIndex) {
+        this.ratingAggregateService = ratingAggregateService;
+        this.restaurantCache = restaurantCache;
+        this.rankingIndex = rankingIndex;
+        this.reviewWriteQueue = reviewWriteQueue;
+        this.appDataService = appDataService;
+        this.executorRegistry = executorRegistry;
+        this.reviewSearchIndex = reviewSearchIndex;
+        LOGGER.info("AdminApiController başlatıldı");
+    }
+
+    /**
+     * Restoran puan toplamlarını değerlendirmelerden yeniden hesaplar ve sapmaları raporlar
+     * 
+     * @return Uzlaştırma raporu
+     */
+    @PostMapping("/aggregates/reconcile")
+    public ResponseEntity<AggregateReconciliationReport> reconcileAggregates() {
+        LOGGER.info("API: Puan toplamları uzlaştırılıyor");
+        return ResponseEntity.ok(ratingAggregateService.reconcile());
+    }
+
+    /**
+     * Bellekteki sıralama indeksini veritabanından yeniden kurar
+     * 
+     * @return İndeksteki restoran sayısı
+     */
+    @PostMapping("/rankings/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRankings() {
+        LOGGER.info("API: Sıralama indeksi yeniden kuruluyor");
+        return ResponseEntity.ok(Map.of("restaurantCount", rankingIndex.rebuild()));
+    }
+
+    /**
+     * Yorum arama indeksinin boyutunu ve güncel olmayan kayıt sayılarını getirir
+     * 
+     * @return İndeks ölçümleri
+     */
+    @GetMapping("/search-index")
+    public ResponseEntity<Map<String, Object>> getSearchIndexStats() {
+        return ResponseEntity.ok(reviewSearchIndex.getStats());
+    }
+
+    /**
+     * Yorum arama indeksini veritabanından arka planda yeniden kurar; kurulum bitene kadar
+     * aramalar mevcut indeksten yanıtlanır. Kurulum sürüyorsa istek sıraya alınır ve kurulum bitince
+     * indeks bir kez daha kurulur.
+     * 
+     * @return 202 yanıtı
+     */
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        LOGGER.info("API: Yorum arama indeksi yeniden kuruluyor");
+        if (!reviewSearchIndex.rebuildAsync()) {
+            LOGGER.info("API: İndeks zaten kuruluyor, yeniden kurulum sıraya alındı");
+        }
+        return ResponseEntity.accepted().body(reviewSearchIndex.getStats());
+    }
+
+    /**
+     * Restoran önbelleğinin isabet, ıskalama ve çıkarma istatistiklerini getirir
+     * 
+     * @return Önbellek istatistikleri
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(restaurantCache.getStats());
+    }
+
+    /**
+     * Restoran önbelleğini temizler
+     * 
+     * @return 204 yanıtı
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        LOGGER.info("API: Restoran önbelleği temizleniyor");
+        restaurantCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Değerlendirme yazma kuyruğunun derinliğini, yazma gecikmesini ve sayaçlarını getirir
+     * 
+     * @return Kuyruk ölçümleri
+     */
+    @GetMapping("/review-queue")
+    public ResponseEntity<Map<String, Object>> getReviewQueueStats() {
+        return ResponseEntity.ok(reviewWriteQueue.getStats());
+    }
+
+    /**
+     * Thread havuzlarının boyutlarını, kuyruk derinliğini, ret sayılarını ve bekleme/çalışma sürelerini getirir
+     * 
+     * @return Havuz adına göre ölçümler
+     */
+    @GetMapping("/executors")
+    public ResponseEntity<Map<String, Object>> getExecutorStats() {
+        return ResponseEntity.ok(executorRegistry.getStats());
+    }
+
+    /**
+     * Bir thread havuzunu çalışırken yeniden boyutlandırır
+     * 
+     * @param name Havuz adı (io, compute, scheduled, jobs)
+     * @param coreThreads Yeni sürekli iş parçacığı sayısı
+     * @param maxThreads Yeni en fazla iş parçacığı sayısı (verilmezse değişmez)
+     * @return Havuzun yeni durumu; havuz yoksa 404, boyutlar geçersizse 400
+     */
+    @PutMapping("/executors/{name}")
+    public ResponseEntity<Map<String, Object>> resizeExecutor(@PathVariable String name,
+                                                              @RequestParam int coreThreads,
+                                                              @RequestParam(required = false) Integer maxThreads) {
+        LOGGER.info("API: {} havuzu yeniden boyutlandırılıyor: core={}, max={}", name, coreThreads, maxThreads);
+        try {
+            return ResponseEntity.ok(executorRegistry.resize(name, coreThreads, maxThreads));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * app.data biçimindeki dosyayı arka planda içe aktarır; hatalı satırlar "dosya.rejects" dosyasına yazılır
+     * 
+     * @param file Veri klasöründeki dosyanın adı
+     * @return 202 yanıtı ve iş ID'si; dosya geçersizse 400, veriyi değiştiren başka iş sürüyorsa 409
+     */
+    @PostMapping("/app-data/import")
+    public ResponseEntity<Map<String, Object>> importAppData(@RequestParam(value = "file", defaultValue = "app.data") String file) {
+        LOGGER.info("API: app.data içe aktarma isteği: {}", file);
+        try {
+            return accepted(appDataService.startImport(file));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (JobRejectedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Restoranları ve değerlendirmeleri arka planda app.data biçiminde dışa aktarır
+     * 
+     * @param file Veri klasöründe oluşturulacak dosyanın adı
+     * @return 202 yanıtı ve iş ID'si; dosya adı geçersizse 400, iş kuyruğu doluysa 409
+     */
+    @PostMapping("/app-data/export")
+    public ResponseEntity<Map<String, Object>> exportAppData(@RequestParam(value = "file", defaultValue = "export.data") String file) {
+        LOGGER.info("API: app.data dışa aktarma isteği: {}", file);
+        try {
+            return accepted(appDataService.startExport(file));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (JobRejectedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> accepted(Job job) {
+        return ResponseEntity.accepted().body(Map.of("jobId", job.getId(), "status", job.getStatus()));
+    }
+}
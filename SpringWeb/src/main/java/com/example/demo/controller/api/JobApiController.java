@@ -0,0 +1,114 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobService;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arka plan işleri (yedekleme, geri yükleme, örnek veri yükleme) için REST API kontrolcüsü.
+ * İşler ilgili sayfalardan başlatılır; burada durumları sorgulanır, iptal edilir ve günlükleri izlenir.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobApiController {
+
+    private static final Logger LOGGER = AppLogger.getLogger(JobApiController.class);
+    private final JobService jobService;
+
+    @Autowired
+    public JobApiController(JobService jobService) {
+        this.jobService = jobService;
+        LOGGER.info("JobApiController başlatıldı");
+    }
+
+    /**
+     * Son işleri yeniden eskiye doğru listeler
+     *
+     * @return İşler
+     */
+    @GetMapping
+    public ResponseEntity<List<Job>> getJobs() {
+        return ResponseEntity.ok(jobService.getJobs());
+    }
+
+    /**
+     * Tek bir işin durumunu getirir
+     *
+     * @param id İş ID'si
+     * @return İş, yoksa 404
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable("id") long id) {
+        return jobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * İşin iptalini ister
+     *
+     * @param id İş ID'si
+     * @return 202 yanıtı; iş bitmiş veya iptal edilemez aşamadaysa 409, yoksa 404
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable("id") long id) {
+        if (jobService.getJob(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!jobService.cancel(id)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("cancelled", false, "message", "İş bitmiş veya iptal edilemez bir aşamada"));
+        }
+        LOGGER.info("API: İş #{} için iptal istendi", id);
+        return ResponseEntity.accepted().body(Map.of("cancelled", true));
+    }
+
+    /**
+     * İş günlüğünün verilen sıra numarasından sonraki satırlarını getirir
+     *
+     * @param id İş ID'si
+     * @param after Son okunan satırın sıra numarası
+     * @return Günlük satırları, iş yoksa 404
+     */
+    @GetMapping("/{id}/logs")
+    public ResponseEntity<List<Job.LogLine>> getLogs(@PathVariable("id") long id,
+                                                     @RequestParam(value = "after", defaultValue = "0") long after) {
+        return jobService.getJob(id)
+                .map(job -> ResponseEntity.ok(job.getLogs(after)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * İş listesini SSE ile akış olarak gönderir ("jobs" olayı)
+     *
+     * @return Olay akışı
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobs() {
+        return jobService.subscribe();
+    }
+
+    /**
+     * İş günlüğünü SSE ile akış olarak gönderir ("log" olayları, iş bitince "end")
+     *
+     * @param id İş ID'si
+     * @return Olay akışı, iş yoksa 404
+     */
+    @GetMapping(value = "/{id}/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLogs(@PathVariable("id") long id) {
+        return jobService.subscribeLogs(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.demo.controller.api;
 
 import com.example.demo.model.Restaurant;
+import com.example.demo.service.CursorPage;
 import com.example.demo.service.RestaurantService;
+import com.example.demo.service.StatisticsSnapshot;
+import com.example.demo.service.StatisticsSnapshotService;
 import com.example.demo.util.AppLogger;
 
 import org.slf4j.Logger;
@@ -10,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -24,24 +28,40 @@ import java.util.concurrent.ExecutionException;
 public class RestaurantApiController {
 
     private static final Logger LOGGER = AppLogger.getLogger(RestaurantApiController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final RestaurantService restaurantService;
+    private final StatisticsSnapshotService statisticsSnapshotService;
 
     @Autowired
-    public RestaurantApiController(RestaurantService restaurantService) {
+    public RestaurantApiController(RestaurantService restaurantService,
+                                   StatisticsSnapshotService statisticsSnapshotService) {
         this.restaurantService = restaurantService;
+        this.statisticsSnapshotService = statisticsSnapshotService;
         LOGGER.info("RestaurantApiController başlatıldı");
     }
 
     /**
-     * Tüm restoranları getirir
+     * Restoranları imleç tabanlı sayfalama ile getirir.
+     * Sonraki sayfa varsa imleci X-Next-Cursor başlığında döner.
      * 
+     * @param sort Sıralama: "id", "rating" veya "bayesian" (güven ağırlıklı puan)
+     * @param after Önceki sayfanın imleci
+     * @param limit Sayfa boyutu (en fazla 500)
      * @return Restoranların listesi
      */
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        LOGGER.info("API: Tüm restoranlar getiriliyor");
-        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
-        return ResponseEntity.ok(restaurants);
+    public ResponseEntity<List<Restaurant>> getAllRestaurants(
+            @RequestParam(name = "sort", defaultValue = "id") String sort,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        LOGGER.info("API: Restoran sayfası getiriliyor (sıralama: {}, limit: {})", sort, limit);
+        try {
+            CursorPage<Restaurant> page = restaurantService.getRestaurantPage(sort, after, limit);
+            return pageResponse(page);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Geçersiz sayfalama isteği: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -118,26 +138,44 @@ public class RestaurantApiController {
     }
 
     /**
-     * Restoran istatistiklerini getirir
+     * Restoran istatistiklerini son hesaplanan anlık görüntüden getirir
      * 
-     * @return İstatistik bilgileri
+     * @param fresh true ise istatistikler yeniden hesaplanır
+     * @return İstatistik bilgileri ve anlık görüntünün yaşı
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getRestaurantStats() {
-        LOGGER.info("API: Restoran istatistikleri getiriliyor");
-        long count = restaurantService.count();
-        List<Restaurant> topRated = restaurantService.getAllRestaurantsByRating();
-        double avgRating = topRated.stream()
-                .mapToDouble(Restaurant::getRating)
-                .average()
-                .orElse(0.0);
+    public ResponseEntity<Map<String, Object>> getRestaurantStats(
+            @RequestParam(name = "fresh", defaultValue = "false") boolean fresh) {
+        LOGGER.info("API: Restoran istatistikleri getiriliyor (fresh: {})", fresh);
+        StatisticsSnapshot snapshot = statisticsSnapshotService.getSnapshot(fresh);
+        List<Restaurant> topRated = snapshot.getTopRatedRestaurants();
         
-        Map<String, Object> stats = Map.of(
-            "totalRestaurants", count,
-            "averageRating", avgRating,
-            "topRatedRestaurant", topRated.isEmpty() ? null : topRated.get(0)
-        );
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalRestaurants", snapshot.getRestaurantCount());
+        stats.put("averageRating", snapshot.getAverageRestaurantRating());
+        stats.put("topRatedRestaurant", topRated.isEmpty() ? null : topRated.get(0));
+        putSnapshotInfo(stats, snapshot, statisticsSnapshotService.isDirty());
         
         return ResponseEntity.ok(stats);
     }
-} 
\ No newline at end of file
+
+    /**
+     * İstatistik yanıtına anlık görüntünün zamanını, yaşını ve güncelliğini ekler
+     */
+    static void putSnapshotInfo(Map<String, Object> stats, StatisticsSnapshot snapshot, boolean stale) {
+        stats.put("computedAt", snapshot.getComputedAt());
+        stats.put("ageMillis", snapshot.getAgeMillis());
+        stats.put("stale", stale);
+    }
+
+    /**
+     * Sayfa içeriğini gövdede, sonraki sayfa imlecini başlıkta döner
+     */
+    static <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
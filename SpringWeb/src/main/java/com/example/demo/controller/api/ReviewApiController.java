@@ -1,44 +1,122 @@
 package com.example.demo.controller.api;
 
 import com.example.demo.model.Review;
+import com.example.demo.service.CursorPage;
+import com.example.demo.service.ReviewBatchItem;
+import com.example.demo.service.ReviewBatchResult;
+import com.example.demo.service.ReviewBatchService;
+import com.example.demo.service.ReviewExportService;
 import com.example.demo.service.ReviewService;
+import com.example.demo.service.StatisticsSnapshot;
+import com.example.demo.service.StatisticsSnapshotService;
 import com.example.demo.util.AppLogger;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Değerlendirmeler için REST API kontrolcüsü
- * Sadece okuma işlemlerini destekler (GET)
+ * Okuma işlemlerinin yanında sadece toplu değerlendirme eklemeyi destekler
  */
 @RestController
 @RequestMapping("/api/reviews")
 public class ReviewApiController {
 
     private static final Logger LOGGER = AppLogger.getLogger(ReviewApiController.class);
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
     private final ReviewService reviewService;
+    private final ReviewExportService reviewExportService;
+    private final StatisticsSnapshotService statisticsSnapshotService;
+    private final ReviewBatchService reviewBatchService;
 
     @Autowired
-    public ReviewApiController(ReviewService reviewService) {
+    public ReviewApiController(ReviewService reviewService, ReviewExportService reviewExportService,
+                               StatisticsSnapshotService statisticsSnapshotService,
+                               ReviewBatchService reviewBatchService) {
         this.reviewService = reviewService;
+        this.reviewExportService = reviewExportService;
+        this.statisticsSnapshotService = statisticsSnapshotService;
+        this.reviewBatchService = reviewBatchService;
         LOGGER.info("ReviewApiController başlatıldı");
     }
 
     /**
-     * Tüm değerlendirmeleri getirir
+     * Değerlendirmeleri imleç tabanlı sayfalama ile getirir.
+     * Sonraki sayfa varsa imleci X-Next-Cursor başlığında döner.
      * 
+     * @param sort Sıralama: "id", "rating" veya "date"
+     * @param after Önceki sayfanın imleci
+     * @param limit Sayfa boyutu (en fazla 500)
      * @return Değerlendirmelerin listesi
      */
     @GetMapping
-    public ResponseEntity<List<Review>> getAllReviews() {
-        LOGGER.info("API: Tüm değerlendirmeler getiriliyor");
-        List<Review> reviews = reviewService.getAllReviews();
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<List<Review>> getAllReviews(
+            @RequestParam(name = "sort", defaultValue = "id") String sort,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        LOGGER.info("API: Değerlendirme sayfası getiriliyor (sıralama: {}, limit: {})", sort, limit);
+        try {
+            CursorPage<Review> page = reviewService.getReviewPage(sort, after, limit);
+            return RestaurantApiController.pageResponse(page);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Geçersiz sayfalama isteği: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Değerlendirmeleri satır satır JSON (NDJSON) olarak akışla dışa aktarır.
+     * since verilirse sadece o zamandan sonra eklenen veya güncellenen kayıtlar
+     * güncellenme sırasıyla yazılır; son satırın updatedAt değeri bir sonraki
+     * artımlı dışa aktarımın başlangıcı olarak kullanılabilir.
+     * 
+     * @param since Başlangıç zamanı (ISO formatı, örn. 2024-01-01T00:00:00)
+     * @return NDJSON akışı
+     */
+    @GetMapping(value = "/export", produces = NDJSON_CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(name = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        LOGGER.info("API: Değerlendirmeler dışa aktarılıyor (since: {})", since);
+        StreamingResponseBody body = out -> reviewExportService.exportNdjson(since, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_CONTENT_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Değerlendirmeleri toplu olarak ekler.
+     * Geçersiz kayıtlar diğerlerinin eklenmesini engellemez; sıra numaraları ve
+     * hata mesajlarıyla birlikte yanıtın errors alanında döner.
+     * 
+     * @param items Eklenecek değerlendirmeler (restaurantId veya restaurantName, rating, comment, date)
+     * @return Eklenen kayıt sayısı ve kayıt bazında hatalar; liste boşsa 400, sınırı aşıyorsa 413
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ReviewBatchResult> insertReviewBatch(@RequestBody List<ReviewBatchItem> items) {
+        int size = items != null ? items.size() : 0;
+        LOGGER.info("API: Toplu değerlendirme ekleniyor ({} kayıt)", size);
+        if (size > reviewBatchService.getMaxBatchSize()) {
+            LOGGER.warn("Toplu değerlendirme sınırı aşıldı: {} > {}", size, reviewBatchService.getMaxBatchSize());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        try {
+            return ResponseEntity.ok(reviewBatchService.insertReviews(items));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Geçersiz toplu değerlendirme isteği: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -68,6 +146,37 @@ public class ReviewApiController {
         return ResponseEntity.ok(reviews);
     }
 
+    /**
+     * Yorum metninde tam metin arama yapar. Sorgudaki tüm sözcükleri içeren değerlendirmeler en yeniden
+     * eskiye döner; Türkçe karakterler katlandığından ve çekim ekleri kırpıldığından "sis" araması
+     * "Şiş" geçen, "garson" araması "garsonlar" geçen yorumları da bulur.
+     * Sonraki sayfa varsa imleci X-Next-Cursor başlığında döner.
+     * 
+     * @param query Arama metni
+     * @param after Önceki sayfanın imleci
+     * @param limit Sayfa boyutu (en fazla 500)
+     * @return Eşleşen değerlendirmeler; sorgu boşsa 400, arama indeksi henüz kurulmadıysa 503
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Review>> searchReviews(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        LOGGER.info("API: Yorumlarda aranıyor: {}", query);
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return RestaurantApiController.pageResponse(reviewService.searchReviews(query, after, limit));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Geçersiz arama isteği: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Yorum araması yapılamadı: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Minimum puana göre değerlendirmeleri filtreler
      * 
@@ -82,24 +191,22 @@ public class ReviewApiController {
     }
 
     /**
-     * Değerlendirme istatistiklerini getirir
+     * Değerlendirme istatistiklerini son hesaplanan anlık görüntüden getirir
      * 
-     * @return İstatistik bilgileri
+     * @param fresh true ise istatistikler yeniden hesaplanır
+     * @return İstatistik bilgileri ve anlık görüntünün yaşı
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getReviewStats() {
-        LOGGER.info("API: Değerlendirme istatistikleri getiriliyor");
-        List<Review> reviews = reviewService.getAllReviews();
-        long count = reviews.size();
-        double avgRating = reviews.stream()
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0);
+    public ResponseEntity<Map<String, Object>> getReviewStats(
+            @RequestParam(name = "fresh", defaultValue = "false") boolean fresh) {
+        LOGGER.info("API: Değerlendirme istatistikleri getiriliyor (fresh: {})", fresh);
+        StatisticsSnapshot snapshot = statisticsSnapshotService.getSnapshot(fresh);
         
-        Map<String, Object> stats = Map.of(
-            "totalReviews", count,
-            "averageRating", avgRating
-        );
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalReviews", snapshot.getReviewCount());
+        stats.put("averageRating", snapshot.getAverageRating());
+        stats.put("reviewsByRating", snapshot.getReviewsByRating());
+        RestaurantApiController.putSnapshotInfo(stats, snapshot, statisticsSnapshotService.isDirty());
         
         return ResponseEntity.ok(stats);
     }
@@ -1,8 +1,7 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.Max;
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.util.ArrayList;
@@ -14,7 +13,9 @@ import java.util.List;
  * ve bu özelliklerin işlenmesi için gerekli metodları içerir.
  */
 @Entity
-@Table(name = "restaurants", schema = "public")
+@Table(name = "restaurants", schema = "public", indexes = {
+    @Index(name = "idx_restaurants_rating_id", columnList = "rating DESC, id")
+})
 public class Restaurant {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,11 +32,26 @@ public class Restaurant {
     @Column(name = "location", nullable = false, length = 100)
     private String location;    // Restoran konumu
     
-    @Min(value = 0, message = "Puan 0'dan küçük olamaz")
-    @Max(value = 5, message = "Puan 5'ten büyük olamaz")
-    @Column(name = "rating", columnDefinition = "double precision default 0.0")
-    private double rating;      // Restoran puanı (1-5 arası)
+    // Değerlendirme toplamları ve ortalama puan yalnızca depodaki delta/yeniden hesaplama sorgularıyla yazılır;
+    // varlık kaydı (form, CLI, önbellek kopyası) bu sütunlara dokunmaz, böylece eşzamanlı güncellemeler ezilmez.
+    // Bu yüzden ayarlayıcıları bilerek yoktur: form bağlama veya elle atanan bir değer kaydedilmeden kaybolurdu
+    @Column(name = "rating", insertable = false, updatable = false,
+            columnDefinition = "double precision default 0.0")
+    private double rating;      // Ortalama puan (değerlendirmelerden hesaplanır, 0-5 arası)
     
+    @Column(name = "review_count", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long reviewCount;       // Değerlendirme sayısı
+    
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long ratingSum;         // Puanların toplamı
+    
+    @Column(name = "rating_sum_squares", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long ratingSumSquares;  // Puan karelerinin toplamı (varyans için)
+    
+    // API çıktısında her restoran için değerlendirmelerin yüklenmesini (ve döngüsel referansı) önler
+    @JsonIgnore
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<>();
 
@@ -48,15 +64,28 @@ public class Restaurant {
 
     /**
      * Restaurant sınıfının yapıcı metodu.
+     * Puan değerlendirmelerden hesaplandığı için yeni restoranın puanı 0'dır.
      * 
      * @param name Restoran adı
      * @param location Restoran konumu
-     * @param rating Restoran puanı (1-5 arası)
      */
-    public Restaurant(String name, String location, double rating) {
+    public Restaurant(String name, String location) {
         this.name = name;
         this.location = location;
-        setRating(rating);
+    }
+
+    /**
+     * Restoranın değerlendirme listesi olmadan, hesaplanmış puan ve toplamlarıyla birlikte
+     * bağımsız bir kopyasını oluşturur (önbellek için)
+     */
+    public Restaurant copyWithoutReviews() {
+        Restaurant copy = new Restaurant(name, location);
+        copy.id = id;
+        copy.rating = rating;
+        copy.reviewCount = reviewCount;
+        copy.ratingSum = ratingSum;
+        copy.ratingSumSquares = ratingSumSquares;
+        return copy;
     }
 
     // Getter ve Setter metodları
@@ -89,10 +118,31 @@ public class Restaurant {
     public double getRating() {
         return rating;
     }
+    
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getRatingSumSquares() {
+        return ratingSumSquares;
+    }
 
-    public void setRating(double rating) {
-        // Puanı 0-5 aralığında tut
-        this.rating = Math.max(0.0, Math.min(5.0, rating));
+    /**
+     * Değerlendirme puanlarının standart sapmasını toplamlardan hesaplar
+     * 
+     * @return Standart sapma, değerlendirme yoksa 0
+     */
+    public double getRatingStdDev() {
+        if (reviewCount == 0) {
+            return 0.0;
+        }
+        double mean = (double) ratingSum / reviewCount;
+        double variance = (double) ratingSumSquares / reviewCount - mean * mean;
+        return Math.sqrt(Math.max(0.0, variance));
     }
     
     public List<Review> getReviews() {
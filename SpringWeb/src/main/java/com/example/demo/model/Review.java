@@ -10,19 +10,28 @@ import java.time.format.DateTimeFormatter;
  * ve bu özelliklerin işlenmesi için gerekli metodları içerir.
  */
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_rating_id", columnList = "rating DESC, id"),
+    @Index(name = "idx_reviews_date_id", columnList = "date DESC, id DESC"),
+    @Index(name = "idx_reviews_updated_at_id", columnList = "updated_at, id"),
+    @Index(name = "idx_reviews_restaurant_date", columnList = "restaurant_id, date DESC"),
+    @Index(name = "idx_reviews_restaurant_rating", columnList = "restaurant_id, rating DESC")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE})
-    @JoinColumn(name = "restaurant_id", nullable = true, insertable = false, updatable = false)
+    @JoinColumn(name = "restaurant_id", nullable = true, insertable = false, updatable = false,
+                foreignKey = @ForeignKey(name = "fk_reviews_restaurant"))
     private Restaurant restaurant;
     
+    // Restoran ilişkisinin anahtarı; sorgular ve toplamlar bu kolon üzerinden yapılır
     @Column(name = "restaurant_id")
     private Long restaurantId;
     
+    // Sadece gösterim için tutulan kopya; restoran yeniden adlandırılınca güncellenir
     @Column(name = "restaurant_name")
     private String restaurantName;  // Değerlendirilen restoranın adı
     
@@ -96,6 +105,7 @@ public class Review {
     public void setRestaurant(Restaurant restaurant) {
         this.restaurant = restaurant;
         if (restaurant != null) {
+            this.restaurantId = restaurant.getId();
             this.restaurantName = restaurant.getName();
         }
     }
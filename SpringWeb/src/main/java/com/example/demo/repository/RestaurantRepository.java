@@ -1,8 +1,14 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,4 +54,212 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
      * @return Belirtilen konumdaki ve minimum puanın üzerindeki restoranların listesi
      */
     List<Restaurant> findByLocationAndRatingGreaterThanEqual(String location, double rating);
-} 
\ No newline at end of file
+    
+    /**
+     * Restoran adından sadece ID'yi getirir (entity yüklemeden)
+     * 
+     * @param name Restoran adı
+     * @return Restoran ID'si, yoksa Optional.empty()
+     */
+    @Query("SELECT r.id FROM Restaurant r WHERE r.name = :name")
+    Optional<Long> findIdByName(@Param("name") String name);
+    
+    /**
+     * Restoranın değerlendirme toplamlarına artımlı değişiklik uygular ve
+     * ortalama puanı aynı UPDATE içinde yeniden hesaplar.
+     * Satır kilidi veritabanında alındığından eşzamanlı yazmalarda değişiklik kaybolmaz.
+     * 
+     * @param id Restoran ID'si
+     * @param countDelta Değerlendirme sayısındaki değişim
+     * @param sumDelta Puan toplamındaki değişim
+     * @param sumSquaresDelta Puan kareleri toplamındaki değişim
+     * @return Güncellenen satır sayısı
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Restaurant r SET " +
+           "r.reviewCount = r.reviewCount + :countDelta, " +
+           "r.ratingSum = r.ratingSum + :sumDelta, " +
+           "r.ratingSumSquares = r.ratingSumSquares + :sumSquaresDelta, " +
+           "r.rating = CASE WHEN r.reviewCount + :countDelta > 0 " +
+           "THEN CAST(r.ratingSum + :sumDelta AS double) / (r.reviewCount + :countDelta) ELSE 0.0 END " +
+           "WHERE r.id = :id")
+    int applyRatingDelta(@Param("id") Long id,
+                         @Param("countDelta") long countDelta,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("sumSquaresDelta") long sumSquaresDelta);
+    
+    /**
+     * Restoranın değerlendirme toplamlarını verilen değerlerle değiştirir
+     * 
+     * @param id Restoran ID'si
+     * @param reviewCount Değerlendirme sayısı
+     * @param ratingSum Puan toplamı
+     * @param ratingSumSquares Puan kareleri toplamı
+     * @param rating Ortalama puan
+     * @return Güncellenen satır sayısı
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Restaurant r SET r.reviewCount = :reviewCount, r.ratingSum = :ratingSum, " +
+           "r.ratingSumSquares = :ratingSumSquares, r.rating = :rating WHERE r.id = :id")
+    int overwriteRatingAggregate(@Param("id") Long id,
+                                 @Param("reviewCount") long reviewCount,
+                                 @Param("ratingSum") long ratingSum,
+                                 @Param("ratingSumSquares") long ratingSumSquares,
+                                 @Param("rating") double rating);
+    
+    /**
+     * Her restoran için kayıtlı toplamları ve değerlendirmelerden hesaplanan
+     * gerçek toplamları tek bir gruplu sorguda getirir.
+     * Satır düzeni: [id, kayıtlı sayı, kayıtlı toplam, kayıtlı kare toplamı,
+     * gerçek sayı, gerçek toplam, gerçek kare toplamı]
+     * 
+     * @return Restoran başına toplam karşılaştırma satırları
+     */
+    @Query("SELECT rs.id, rs.reviewCount, rs.ratingSum, rs.ratingSumSquares, " +
+           "COUNT(rv.id), COALESCE(SUM(rv.rating), 0), COALESCE(SUM(rv.rating * rv.rating), 0) " +
+           "FROM Restaurant rs LEFT JOIN Review rv ON rv.restaurantId = rs.id " +
+           "GROUP BY rs.id, rs.reviewCount, rs.ratingSum, rs.ratingSumSquares")
+    List<Object[]> compareRatingAggregates();
+    
+    /**
+     * ID sırasına göre bir sayfa restoran getirir (keyset sayfalama)
+     * 
+     * @param afterId Önceki sayfanın son ID'si (ilk sayfa için 0)
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return ID'si afterId'den büyük restoranlar
+     */
+    @Query("SELECT r FROM Restaurant r WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<Restaurant> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Puana göre azalan sırada bir sayfa restoran getirir (keyset sayfalama).
+     * Eşit puanlı restoranlar ID sırasına göre ayrılır.
+     * 
+     * @param afterRating Önceki sayfanın son puanı
+     * @param afterId Önceki sayfanın son ID'si
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return İmleçten sonra gelen restoranlar
+     */
+    @Query("SELECT r FROM Restaurant r WHERE r.rating < :afterRating " +
+           "OR (r.rating = :afterRating AND r.id > :afterId) " +
+           "ORDER BY r.rating DESC, r.id ASC")
+    List<Restaurant> findPageOrderByRating(@Param("afterRating") double afterRating,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+    
+    /**
+     * Konum başına restoran ve değerlendirme sayılarını tek bir gruplu sorguda getirir.
+     * Değerlendirme sayısı restoran satırında tutulan toplamlardan okunur.
+     * 
+     * @return Konum başına sayılar
+     */
+    @Query("SELECT r.location AS location, COUNT(r) AS restaurantCount, SUM(r.reviewCount) AS reviewCount " +
+           "FROM Restaurant r WHERE r.location IS NOT NULL AND r.location <> '' GROUP BY r.location")
+    List<LocationSummary> summarizeByLocation();
+
+    /**
+     * Tüm restoranların ortalama puanını hesaplar
+     *
+     * @return Ortalama restoran puanı, restoran yoksa 0
+     */
+    @Query("SELECT COALESCE(AVG(r.rating), 0.0) FROM Restaurant r")
+    Double averageRestaurantRating();
+
+    /**
+     * Puanı verilen değerin üzerindeki en yüksek puanlı 5 restoranı getirir
+     *
+     * @param rating Alt sınır (hariç)
+     * @return Puana göre sıralanmış en fazla 5 restoran
+     */
+    List<Restaurant> findTop5ByRatingGreaterThanOrderByRatingDescIdAsc(double rating);
+
+    /**
+     * Değerlendirme sayısı verilen değerin üzerindeki en çok değerlendirilen 5 restoranı getirir
+     *
+     * @param reviewCount Alt sınır (hariç)
+     * @return Değerlendirme sayısına göre sıralanmış en fazla 5 restoran
+     */
+    List<Restaurant> findTop5ByReviewCountGreaterThanOrderByReviewCountDescIdAsc(long reviewCount);
+
+    /**
+     * En yüksek puanlı restoranları veritabanında sınırlayarak getirir
+     *
+     * @param pageable Getirilecek restoran sayısı
+     * @return Puana göre sıralanmış restoranlar
+     */
+    List<Restaurant> findAllByOrderByRatingDescIdAsc(Pageable pageable);
+
+    /**
+     * En çok değerlendirilen restoranları veritabanında sınırlayarak getirir
+     *
+     * @param pageable Getirilecek restoran sayısı
+     * @return Değerlendirme sayısına göre sıralanmış restoranlar
+     */
+    List<Restaurant> findAllByOrderByReviewCountDescIdAsc(Pageable pageable);
+
+    /**
+     * Sıralama indeksi için tüm restoranların toplamlarını getirir
+     *
+     * @return Restoran başına sıralama bilgileri
+     */
+    @Query("SELECT r.id AS id, r.reviewCount AS reviewCount, r.ratingSum AS ratingSum, r.rating AS rating " +
+           "FROM Restaurant r")
+    List<RankingRow> findAllRankingRows();
+
+    /**
+     * Sıralama indeksi için tek bir restoranın toplamlarını getirir
+     *
+     * @param id Restoran ID'si
+     * @return Sıralama bilgileri, restoran yoksa Optional.empty()
+     */
+    @Query("SELECT r.id AS id, r.reviewCount AS reviewCount, r.ratingSum AS ratingSum, r.rating AS rating " +
+           "FROM Restaurant r WHERE r.id = :id")
+    Optional<RankingRow> findRankingRowById(@Param("id") Long id);
+
+    /**
+     * Verilen ID'lere sahip restoranların ID ve adlarını getirir (entity yüklemeden)
+     *
+     * @param ids Restoran ID'leri
+     * @return Bulunan restoranların ID ve adları
+     */
+    @Query("SELECT r.id AS id, r.name AS name FROM Restaurant r WHERE r.id IN :ids")
+    List<RestaurantRef> findRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen adlara sahip restoranların ID ve adlarını getirir (entity yüklemeden)
+     *
+     * @param names Restoran adları
+     * @return Bulunan restoranların ID ve adları
+     */
+    @Query("SELECT r.id AS id, r.name AS name FROM Restaurant r WHERE r.name IN :names")
+    List<RestaurantRef> findRefsByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * Restoran ID ve adı projeksiyonu
+     */
+    interface RestaurantRef {
+        Long getId();
+        String getName();
+    }
+
+    /**
+     * Sıralama bilgisi projeksiyonu
+     */
+    interface RankingRow {
+        Long getId();
+        Long getReviewCount();
+        Long getRatingSum();
+        Double getRating();
+    }
+
+    /**
+     * Konum özeti projeksiyonu
+     */
+    interface LocationSummary {
+        String getLocation();
+        Long getRestaurantCount();
+        Long getReviewCount();
+    }
+}
@@ -1,30 +1,69 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     /**
-     * Restoran adına göre değerlendirmeleri bulur
+     * Restoran ID'sine göre değerlendirmeleri bulur
      * 
-     * @param restaurantName Restoran adı
+     * @param restaurantId Restoran ID'si
      * @return Restoran değerlendirmelerinin listesi
      */
-    List<Review> findByRestaurantName(String restaurantName);
+    List<Review> findByRestaurantId(Long restaurantId);
     
     /**
-     * Restoran ID'sine göre değerlendirmeleri bulur
+     * Restoran ID'sine göre değerlendirmeleri en yeni önce getirir.
+     * (restaurant_id, date) indeksi üzerinden okunur.
      * 
      * @param restaurantId Restoran ID'si
-     * @return Restoran değerlendirmelerinin listesi
+     * @return Tarihe göre sıralanmış restoran değerlendirmeleri
      */
-    List<Review> findByRestaurantId(Long restaurantId);
+    List<Review> findByRestaurantIdOrderByDateDesc(Long restaurantId);
+    
+    /**
+     * Bir restoranın tüm değerlendirmelerini tek sorguda siler
+     * 
+     * @param restaurantId Restoran ID'si
+     * @return Silinen değerlendirme sayısı
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.restaurantId = :restaurantId")
+    int deleteByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    /**
+     * Restoran yeniden adlandırıldığında değerlendirmelerdeki ad kopyasını günceller.
+     * Güncellenme zamanı da ilerletilir ki artımlı yedek ve dışa aktarım değişikliği alsın.
+     * 
+     * @param restaurantId Restoran ID'si
+     * @param restaurantName Yeni restoran adı
+     * @param updatedAt Yeni güncellenme zamanı
+     * @return Güncellenen değerlendirme sayısı
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Review r SET r.restaurantName = :restaurantName, r.updatedAt = :updatedAt " +
+           "WHERE r.restaurantId = :restaurantId " +
+           "AND (r.restaurantName IS NULL OR r.restaurantName <> :restaurantName)")
+    int updateRestaurantName(@Param("restaurantId") Long restaurantId,
+                             @Param("restaurantName") String restaurantName,
+                             @Param("updatedAt") LocalDateTime updatedAt);
     
     /**
      * Belirli bir puanın üzerindeki değerlendirmeleri bulur
@@ -37,11 +76,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
      * Bir restoranın ortalama puanını hesaplar
      * 
-     * @param restaurantName Restoran adı
+     * @param restaurantId Restoran ID'si
      * @return Ortalama puan
      */
-    @Query("SELECT COALESCE(AVG(CAST(r.rating AS double)), 0.0) FROM Review r WHERE r.restaurantName = :restaurantName")
-    Double calculateAverageRatingByRestaurantName(@Param("restaurantName") String restaurantName);
+    @Query("SELECT COALESCE(AVG(CAST(r.rating AS double)), 0.0) FROM Review r WHERE r.restaurantId = :restaurantId")
+    Double calculateAverageRatingByRestaurantId(@Param("restaurantId") Long restaurantId);
     
     /**
      * Değerlendirmeleri tarihe göre azalan sırada getirir
@@ -49,4 +88,157 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      * @return Tarihe göre sıralanmış değerlendirmelerin listesi
      */
     List<Review> findAllByOrderByDateDesc();
-} 
\ No newline at end of file
+    
+    /**
+     * Bir değerlendirmenin kayıtlı restoran ID'sini ve puanını getirir.
+     * Güncelleme sırasında eski puanın farkını hesaplamak için kullanılır.
+     * 
+     * @param id Değerlendirme ID'si
+     * @return Restoran ID'si ve puan, yoksa Optional.empty()
+     */
+    @Query("SELECT r.restaurantId AS restaurantId, r.rating AS rating FROM Review r WHERE r.id = :id")
+    Optional<RatingSnapshot> findRatingSnapshotById(@Param("id") Long id);
+    
+    /**
+     * Bir restoranın değerlendirme sayısını, puan toplamını ve kare toplamını tek sorguda hesaplar
+     * 
+     * @param restaurantId Restoran ID'si
+     * @return Tek satır: [sayı, toplam, kare toplamı]
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(r.rating), 0), COALESCE(SUM(r.rating * r.rating), 0) FROM Review r " +
+           "WHERE r.restaurantId = :restaurantId")
+    List<Object[]> sumRatingsForRestaurant(@Param("restaurantId") Long restaurantId);
+    
+    /**
+     * ID sırasına göre bir sayfa değerlendirme getirir (keyset sayfalama)
+     * 
+     * @param afterId Önceki sayfanın son ID'si (ilk sayfa için 0)
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return ID'si afterId'den büyük değerlendirmeler
+     */
+    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.restaurant WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<Review> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Puana göre azalan sırada bir sayfa değerlendirme getirir (keyset sayfalama)
+     * 
+     * @param afterRating Önceki sayfanın son puanı
+     * @param afterId Önceki sayfanın son ID'si
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return İmleçten sonra gelen değerlendirmeler
+     */
+    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.restaurant WHERE r.rating < :afterRating " +
+           "OR (r.rating = :afterRating AND r.id > :afterId) " +
+           "ORDER BY r.rating DESC, r.id ASC")
+    List<Review> findPageOrderByRating(@Param("afterRating") Integer afterRating,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    /**
+     * Tarihe göre azalan sırada (en yeni önce) bir sayfa değerlendirme getirir (keyset sayfalama).
+     * Tarihi boş olan değerlendirmeler bu sorguda yer almaz, {@link #findUndatedPage} ile sona eklenir.
+     * 
+     * @param afterDate Önceki sayfanın son tarihi
+     * @param afterId Önceki sayfanın son ID'si
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return İmleçten sonra gelen değerlendirmeler
+     */
+    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.restaurant WHERE r.date < :afterDate " +
+           "OR (r.date = :afterDate AND r.id < :afterId) " +
+           "ORDER BY r.date DESC, r.id DESC")
+    List<Review> findPageOrderByDate(@Param("afterDate") LocalDateTime afterDate,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    /**
+     * Tarihi boş olan değerlendirmeleri ID'ye göre azalan sırada getirir (tarih sıralamasının sonu)
+     * 
+     * @param beforeId Önceki sayfanın son ID'si
+     * @param pageable Sadece satır sınırı için kullanılır
+     * @return ID'si verilenden küçük tarihsiz değerlendirmeler
+     */
+    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.restaurant WHERE r.date IS NULL AND r.id < :beforeId " +
+           "ORDER BY r.id DESC")
+    List<Review> findUndatedPage(@Param("beforeId") Long beforeId, Pageable pageable);
+    
+    /**
+     * Tüm değerlendirmeleri dışa aktarım için ID sırasıyla akış olarak getirir.
+     * Entity yerine projeksiyon döndüğünden restoran birleştirmesi yapılmaz ve
+     * satırlar veritabanından sınırlı boyutlu parçalarla okunur.
+     * Akış bir işlem içinde tüketilmeli ve kapatılmalıdır.
+     * 
+     * @return Değerlendirme satırları akışı
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id AS id, r.restaurantId AS restaurantId, r.restaurantName AS restaurantName, " +
+           "r.rating AS rating, r.comment AS comment, r.date AS date, r.updatedAt AS updatedAt " +
+           "FROM Review r ORDER BY r.id")
+    Stream<ExportRow> streamAllForExport();
+    
+    /**
+     * Belirli bir zamandan sonra eklenen veya güncellenen değerlendirmeleri
+     * güncellenme sırasıyla akış olarak getirir (artımlı dışa aktarım).
+     * 
+     * @param since Bu zamandan (dahil) sonra değişen kayıtlar
+     * @return Değerlendirme satırları akışı
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id AS id, r.restaurantId AS restaurantId, r.restaurantName AS restaurantName, " +
+           "r.rating AS rating, r.comment AS comment, r.date AS date, r.updatedAt AS updatedAt " +
+           "FROM Review r WHERE r.updatedAt >= :since ORDER BY r.updatedAt, r.id")
+    Stream<ExportRow> streamForExportSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Dışa aktarılan değerlendirme satırı projeksiyonu
+     */
+    interface ExportRow {
+        Long getId();
+        Long getRestaurantId();
+        String getRestaurantName();
+        Integer getRating();
+        String getComment();
+        LocalDateTime getDate();
+        LocalDateTime getUpdatedAt();
+    }
+    
+    /**
+     * Toplam değerlendirme sayısını ve genel ortalama puanı tek sorguda hesaplar
+     * 
+     * @return Değerlendirme sayısı ve ortalama puan
+     */
+    @Query("SELECT COUNT(r) AS reviewCount, COALESCE(AVG(CAST(r.rating AS double)), 0.0) AS averageRating, " +
+           "COALESCE(MIN(r.rating), 0) AS minRating, COALESCE(MAX(r.rating), 0) AS maxRating FROM Review r")
+    RatingSummary summarizeRatings();
+    
+    /**
+     * Puan başına değerlendirme sayılarını getirir
+     * 
+     * @return Satırlar: [puan, sayı]
+     */
+    @Query("SELECT r.rating, COUNT(r) FROM Review r GROUP BY r.rating")
+    List<Object[]> countByRating();
+    
+    /**
+     * Genel değerlendirme özeti projeksiyonu
+     */
+    interface RatingSummary {
+        Long getReviewCount();
+        Double getAverageRating();
+        Integer getMinRating();
+        Integer getMaxRating();
+    }
+    
+    /**
+     * Değerlendirmenin puanla ilgili alanlarını taşıyan projeksiyon
+     */
+    interface RatingSnapshot {
+        Long getRestaurantId();
+        Integer getRating();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puan toplamı uzlaştırma işinin sonucunu taşıyan sınıf.
+ * Kontrol edilen restoran sayısını ve sapma bulunan restoranları içerir.
+ */
+public class AggregateReconciliationReport {
+
+    private final LocalDateTime runAt = LocalDateTime.now();
+    private final List<Drift> drifts = new ArrayList<>();
+    private long checkedCount;
+    private long durationMillis;
+
+    public LocalDateTime getRunAt() {
+        return runAt;
+    }
+
+    public List<Drift> getDrifts() {
+        return drifts;
+    }
+
+    public void addDrift(Drift drift) {
+        drifts.add(drift);
+    }
+
+    public long getCheckedCount() {
+        return checkedCount;
+    }
+
+    public void incrementChecked() {
+        checkedCount++;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Tek bir restoran için kayıtlı ve gerçek toplamlar arasındaki fark
+     */
+    public static class Drift {
+        private final Long restaurantId;
+        private final long storedCount;
+        private final long actualCount;
+        private final long storedSum;
+        private final long actualSum;
+
+        public Drift(Long restaurantId, long storedCount, long actualCount, long storedSum, long actualSum) {
+            this.restaurantId = restaurantId;
+            this.storedCount = storedCount;
+            this.actualCount = actualCount;
+            this.storedSum = storedSum;
+            this.actualSum = actualSum;
+        }
+
+        public Long getRestaurantId() {
+            return restaurantId;
+        }
+
+        public long getStoredCount() {
+            return storedCount;
+        }
+
+        public long getActualCount() {
+            return actualCount;
+        }
+
+        public long getStoredSum() {
+            return storedSum;
+        }
+
+        public long getActualSum() {
+            return actualSum;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Restaurant;
+import com.example.demo.util.AppLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caffeine tabanlı restoran önbelleği.
+ * Kayıtlar boyut ve yazma sonrası süre ile sınırlanır.
+ * İsimler doğrudan restoran yerine ID'ye eşlenir; böylece puan değişiklikleri
+ * sadece ID kaydını geçersiz kılar. Çağıranlar önbellekteki nesneyi değiştirip
+ * kaydedebildiği için saklanan ve döndürülen restoranlar kopyadır.
+ * İsabet, ıskalama ve çıkarma sayaçları Micrometer'a cache.* adlarıyla aktarılır.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.restaurants.enabled", havingValue = "true", matchIfMissing = true)
+public class CaffeineRestaurantCache implements RestaurantCache, MeterBinder {
+
+    private static final Logger LOGGER = AppLogger.getLogger(CaffeineRestaurantCache.class);
+    private static final String BY_RATING = "byRating";
+
+    private final Cache<Long, Restaurant> byId;
+    private final Cache<String, Long> idByName;
+    private final Cache<String, List<Restaurant>> sortedLists;
+    private final long maxSize;
+    private final long ttlSeconds;
+
+    public CaffeineRestaurantCache(@Value("${app.cache.restaurants.max-size:10000}") long maxSize,
+                                   @Value("${app.cache.restaurants.ttl-seconds:600}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlSeconds = ttlSeconds;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.idByName = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.sortedLists = Caffeine.newBuilder().maximumSize(4).expireAfterWrite(ttl).recordStats().build();
+        LOGGER.info("Restoran önbelleği etkin (en fazla {} kayıt, {} sn)", maxSize, ttlSeconds);
+    }
+
+    @Override
+    public Optional<Restaurant> getById(Long id, Function<Long, Optional<Restaurant>> loader) {
+        if (id == null) {
+            return loader.apply(id);
+        }
+        // Yükleyici boş dönerse Caffeine kayıt oluşturmaz, olmayan ID'ler saklanmaz
+        Restaurant cached = byId.get(id, key -> loader.apply(key).map(Restaurant::copyWithoutReviews).orElse(null));
+        return Optional.ofNullable(cached).map(Restaurant::copyWithoutReviews);
+    }
+
+    @Override
+    public Optional<Restaurant> getByName(String name, Function<String, Optional<Restaurant>> loader) {
+        if (name == null) {
+            return loader.apply(name);
+        }
+        Long id = idByName.getIfPresent(name);
+        if (id != null) {
+            Restaurant cached = byId.getIfPresent(id);
+            // Restoran yeniden adlandırıldıysa eski eşleşme kullanılmaz
+            if (cached != null && name.equals(cached.getName())) {
+                return Optional.of(cached.copyWithoutReviews());
+            }
+            idByName.invalidate(name);
+        }
+
+        Optional<Restaurant> loaded = loader.apply(name);
+        loaded.ifPresent(restaurant -> {
+            byId.put(restaurant.getId(), restaurant.copyWithoutReviews());
+            idByName.put(name, restaurant.getId());
+        });
+        return loaded;
+    }
+
+    @Override
+    public List<Restaurant> getAllByRating(Supplier<List<Restaurant>> loader) {
+        List<Restaurant> cached = sortedLists.get(BY_RATING, key -> loader.get().stream()
+                .map(Restaurant::copyWithoutReviews)
+                .toList());
+        return cached.stream()
+                .map(Restaurant::copyWithoutReviews)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public void evict(Long id) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        sortedLists.invalidateAll();
+    }
+
+    @Override
+    public void evictName(String name) {
+        if (name != null) {
+            idByName.invalidate(name);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        byId.invalidateAll();
+        idByName.invalidateAll();
+        sortedLists.invalidateAll();
+        LOGGER.info("Restoran önbelleği temizlendi");
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("byId", describe(byId));
+        stats.put("idByName", describe(idByName));
+        stats.put("sortedLists", describe(sortedLists));
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "restaurants.byId");
+        CaffeineCacheMetrics.monitor(registry, idByName, "restaurants.idByName");
+        CaffeineCacheMetrics.monitor(registry, sortedLists, "restaurants.sortedLists");
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", cacheStats.hitCount());
+        result.put("missCount", cacheStats.missCount());
+        result.put("hitRate", cacheStats.hitRate());
+        result.put("evictionCount", cacheStats.evictionCount());
+        result.put("averageLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import com.example.demo.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * İmleç tabanlı sayfalama sonucu.
+ * Sayfadaki kayıtları ve varsa bir sonraki sayfanın imlecini içerir.
+ *
+ * @param <T> Kayıt tipi
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Sayfa boyutundan bir fazla getirilmiş satırlardan sayfa oluşturur.
+     * Fazladan satır varsa sonraki sayfa vardır ve imleç son kayıttan üretilir.
+     *
+     * @param rows limit + 1 adede kadar satır
+     * @param limit Sayfa boyutu
+     * @param cursorOf Kayıttan imleç üreten fonksiyon
+     * @return Sayfa
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    /**
+     * Aynı imleçle, kayıtları dönüştürülmüş yeni bir sayfa oluşturur
+     *
+     * @param newItems Dönüştürülmüş kayıtlar
+     * @return Sayfa
+     */
+    public <R> CursorPage<R> withItems(List<R> newItems) {
+        return new CursorPage<>(newItems, nextCursor);
+    }
+
+    /**
+     * İstenen sayfa boyutunu izin verilen aralığa çeker
+     *
+     * @param limit İstenen sayfa boyutu
+     * @return 1 ile MAX_LIMIT arasında sayfa boyutu
+     */
+    public static int clampLimit(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
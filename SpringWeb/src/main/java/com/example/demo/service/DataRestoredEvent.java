@@ -0,0 +1,38 @@
+package com.example.demo.service;
+
+/**
+ * Veritabanı bir yedekten geri yüklendiğinde yayınlanan olay.
+ * Tablolar toptan değiştiği için bellekteki önbellek ve indeksler tamamen yeniden kurulmalıdır.
+ */
+public class DataRestoredEvent {
+
+    private final String source;
+    private final long rowCount;
+
+    public DataRestoredEvent(String source, long rowCount) {
+        this.source = source;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Geri yüklenen yedeğin adı
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Yüklenen toplam satır sayısı
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DataRestoredEvent{" +
+                "source='" + source + '\'' +
+                ", rowCount=" + rowCount +
+                '}';
+    }
+}
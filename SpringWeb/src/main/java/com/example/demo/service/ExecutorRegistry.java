@@ -0,0 +1,284 @@
+package com.example.demo.service;
+
+import com.example.demo.util.AppLogger;
+import com.example.demo.util.ConcurrencyManager;
+import com.example.demo.util.ExecutorMetrics;
+import com.example.demo.util.InstrumentedScheduledExecutor;
+import com.example.demo.util.InstrumentedThreadPoolExecutor;
+import com.example.demo.util.LatencyHistogram;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uygulamanın adlandırılmış thread havuzlarını tek yerde toplar.
+ * <ul>
+ *   <li>io: veritabanı ve dosya gibi bekleyen işler ({@link ConcurrencyManager} görevleri burada çalışır)</li>
+ *   <li>compute: işlemci yoğun hesaplamalar</li>
+ *   <li>scheduled: periyodik ve gecikmeli görevler</li>
+ * </ul>
+ * Boyutlar profil bazında app.executors.* özellikleriyle ayarlanır ve çalışırken değiştirilebilir.
+ * Her havuz kuyruk derinliği, aktif iş, ret sayısı ile bekleme ve çalışma süresi histogramlarını raporlar.
+ * Bu ölçümler Micrometer'a app.executor.* adlarıyla ve "pool" etiketiyle aktarılır; süreler yüzdelikleri
+ * son birkaç dakikaya göre hesaplayan zamanlayıcılara kaydedilir.
+ * Havuzlar Spring bağlamı kapanırken, önce yeni görevler reddedilip mevcut görevler beklenerek kapatılır.
+ */
+@Service
+public class ExecutorRegistry implements MeterBinder {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ExecutorRegistry.class);
+
+    public static final String IO = "io";
+    public static final String COMPUTE = "compute";
+    public static final String SCHEDULED = "scheduled";
+
+    private final Map<String, ThreadPoolExecutor> pools = new LinkedHashMap<>();
+    private final InstrumentedThreadPoolExecutor io;
+    private final InstrumentedThreadPoolExecutor compute;
+    private final InstrumentedScheduledExecutor scheduled;
+    private final long shutdownTimeoutSeconds;
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public ExecutorRegistry(@Value("${app.executors.io.core-threads:0}") int ioCoreThreads,
+                            @Value("${app.executors.io.max-threads:0}") int ioMaxThreads,
+                            @Value("${app.executors.io.queue-capacity:100}") int ioQueueCapacity,
+                            @Value("${app.executors.compute.threads:0}") int computeThreads,
+                            @Value("${app.executors.compute.queue-capacity:1000}") int computeQueueCapacity,
+                            @Value("${app.executors.scheduled.threads:2}") int scheduledThreads,
+                            @Value("${app.executors.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int ioCore = ioCoreThreads > 0 ? ioCoreThreads : processors;
+        int ioMax = Math.max(ioCore, ioMaxThreads > 0 ? ioMaxThreads : processors * 2);
+        int computeSize = computeThreads > 0 ? computeThreads : processors;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+
+        // io havuzu dolunca görevi gönderen çalıştırır (eski ConcurrencyManager davranışı)
+        this.io = createPool(IO, ioCore, ioMax, ioQueueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.compute = createPool(COMPUTE, computeSize, computeSize, computeQueueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduled = new InstrumentedScheduledExecutor(SCHEDULED, Math.max(1, scheduledThreads));
+        register(SCHEDULED, scheduled);
+        ConcurrencyManager.bindExecutor(io);
+        LOGGER.info("Thread havuzları hazır: io {}-{} (kuyruk {}), compute {} (kuyruk {}), scheduled {}",
+                ioCore, ioMax, ioQueueCapacity, computeSize, computeQueueCapacity, scheduled.getCorePoolSize());
+    }
+
+    /**
+     * Bekleyen (G/Ç) işler için havuz
+     */
+    public InstrumentedThreadPoolExecutor io() {
+        return io;
+    }
+
+    /**
+     * İşlemci yoğun işler için havuz; kuyruk doluysa görev reddedilir
+     */
+    public InstrumentedThreadPoolExecutor compute() {
+        return compute;
+    }
+
+    /**
+     * Periyodik ve gecikmeli görevler için zamanlayıcı
+     */
+    public ScheduledExecutorService scheduled() {
+        return scheduled;
+    }
+
+    /**
+     * Yeni bir adlandırılmış havuz oluşturup kaydeder. Havuzu kapatmak kayıt defterine aittir.
+     *
+     * @param name Havuz adı
+     * @param coreThreads Sürekli açık iş parçacığı sayısı
+     * @param maxThreads En fazla iş parçacığı sayısı
+     * @param queueCapacity Bekleyen görev kapasitesi
+     * @param rejectionPolicy Havuz doluyken uygulanacak politika
+     * @return Oluşturulan havuz
+     * @throws IllegalArgumentException ad zaten kullanılıyorsa veya boyutlar geçersizse
+     */
+    public synchronized InstrumentedThreadPoolExecutor createPool(String name, int coreThreads, int maxThreads,
+                                                                  int queueCapacity,
+                                                                  RejectedExecutionHandler rejectionPolicy) {
+        if (coreThreads < 1 || maxThreads < coreThreads || queueCapacity < 1) {
+            throw new IllegalArgumentException("Havuz boyutları geçersiz: " + name);
+        }
+        InstrumentedThreadPoolExecutor pool =
+                new InstrumentedThreadPoolExecutor(name, coreThreads, maxThreads, queueCapacity, rejectionPolicy);
+        register(name, pool);
+        return pool;
+    }
+
+    private synchronized void register(String name, ThreadPoolExecutor pool) {
+        if (pools.containsKey(name)) {
+            throw new IllegalArgumentException("Bu adla bir havuz zaten var: " + name);
+        }
+        pools.put(name, pool);
+        if (meterRegistry != null) {
+            bindPool(meterRegistry, name, pool);
+        }
+    }
+
+    /**
+     * Kayıtlı havuzların ölçümlerini Micrometer'a bağlar; sonradan oluşturulan havuzlar da kayıt sırasında bağlanır
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        pools.forEach((name, pool) -> bindPool(registry, name, pool));
+    }
+
+    private static void bindPool(MeterRegistry registry, String name, ThreadPoolExecutor pool) {
+        ExecutorMetrics metrics = metrics(pool);
+        Tags tags = Tags.of("pool", name);
+        Gauge.builder("app.executor.queue.depth", pool, p -> p.getQueue().size())
+                .tags(tags).description("Kuyrukta bekleyen görev sayısı").register(registry);
+        Gauge.builder("app.executor.active", pool, ThreadPoolExecutor::getActiveCount)
+                .tags(tags).description("Görev çalıştıran iş parçacığı sayısı").register(registry);
+        Gauge.builder("app.executor.pool.size", pool, ThreadPoolExecutor::getPoolSize)
+                .tags(tags).register(registry);
+        Gauge.builder("app.executor.pool.max", pool, ThreadPoolExecutor::getMaximumPoolSize)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("app.executor.completed", pool, ThreadPoolExecutor::getCompletedTaskCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("app.executor.rejected", metrics, ExecutorMetrics::getRejectedCount)
+                .tags(tags).description("Havuz dolu olduğu için reddedilen görev sayısı").register(registry);
+        bindHistogram(registry, "app.executor.wait", metrics.getWaitTime(), tags);
+        bindHistogram(registry, "app.executor.execution", metrics.getExecutionTime(), tags);
+    }
+
+    /**
+     * Histogramın birikimli yüzdelikleri güncel gecikmeyi göstermediğinden her kayıt ayrıca bir
+     * Micrometer zamanlayıcısına aktarılır; zamanlayıcının yüzdelik ve en büyük değerleri kayan
+     * bir zaman penceresinde hesaplanır
+     */
+    private static void bindHistogram(MeterRegistry registry, String name, LatencyHistogram histogram, Tags tags) {
+        Timer timer = Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        histogram.addListener(nanos -> timer.record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Havuzun boyutunu çalışırken değiştirir.
+     * Zamanlayıcı havuzunda en fazla iş parçacığı sayısı kullanılmaz.
+     *
+     * @param name Havuz adı
+     * @param coreThreads Yeni sürekli iş parçacığı sayısı
+     * @param maxThreads Yeni en fazla iş parçacığı sayısı (null ise değişmez)
+     * @return Havuzun yeni durumu
+     * @throws NoSuchElementException havuz yoksa
+     * @throws IllegalArgumentException boyutlar geçersizse
+     */
+    public synchronized Map<String, Object> resize(String name, int coreThreads, Integer maxThreads) {
+        ThreadPoolExecutor pool = pools.get(name);
+        if (pool == null) {
+            throw new NoSuchElementException("Havuz bulunamadı: " + name);
+        }
+        if (pool instanceof InstrumentedScheduledExecutor scheduledPool) {
+            scheduledPool.resize(coreThreads);
+        } else {
+            ((InstrumentedThreadPoolExecutor) pool).resize(coreThreads,
+                    maxThreads != null ? maxThreads : Math.max(coreThreads, pool.getMaximumPoolSize()));
+        }
+        LOGGER.info("Havuz yeniden boyutlandırıldı: {} core={}, max={}",
+                name, pool.getCorePoolSize(), pool.getMaximumPoolSize());
+        return stats(name, pool);
+    }
+
+    /**
+     * Tüm havuzların anlık durumu ve süre istatistikleri
+     *
+     * @return Havuz adına göre durum bilgisi
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        pools.forEach((name, pool) -> result.put(name, stats(name, pool)));
+        return result;
+    }
+
+    /**
+     * Kayıtlı havuzları ad ve ölçüm nesneleriyle döner (dışa aktarım için)
+     */
+    public synchronized Map<String, ExecutorMetrics> getMetrics() {
+        Map<String, ExecutorMetrics> result = new LinkedHashMap<>();
+        pools.forEach((name, pool) -> result.put(name, metrics(pool)));
+        return result;
+    }
+
+    /**
+     * Kayıtlı bir havuzu adıyla döner
+     *
+     * @throws NoSuchElementException havuz yoksa
+     */
+    public synchronized ThreadPoolExecutor get(String name) {
+        ThreadPoolExecutor pool = pools.get(name);
+        if (pool == null) {
+            throw new NoSuchElementException("Havuz bulunamadı: " + name);
+        }
+        return pool;
+    }
+
+    private static Map<String, Object> stats(String name, ThreadPoolExecutor pool) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("type", pool instanceof InstrumentedScheduledExecutor ? "scheduled" : "pool");
+        result.putAll(metrics(pool).snapshot(pool));
+        return result;
+    }
+
+    private static ExecutorMetrics metrics(ThreadPoolExecutor pool) {
+        return pool instanceof InstrumentedScheduledExecutor scheduledPool
+                ? scheduledPool.getMetrics()
+                : ((InstrumentedThreadPoolExecutor) pool).getMetrics();
+    }
+
+    /**
+     * Havuzları Spring bağlamı kapanırken kapatır: yeni görevler reddedilir, çalışan ve kuyruktaki görevlere
+     * süre tanınır, süre dolunca kalanlar kesilir. Bu bean'e bağımlı servisler daha önce kapatıldığından
+     * onların görevleri de bu sürede tamamlanabilir.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ConcurrencyManager.unbindExecutor(io);
+        Map<String, ThreadPoolExecutor> all;
+        synchronized (this) {
+            all = new LinkedHashMap<>(pools);
+        }
+        // Zamanlayıcıdaki periyodik görevler kapanışta tekrar çalıştırılmaz
+        scheduled.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        all.values().forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        try {
+            for (Map.Entry<String, ThreadPoolExecutor> entry : all.entrySet()) {
+                ThreadPoolExecutor pool = entry.getValue();
+                long remaining = deadline - System.nanoTime();
+                if (!pool.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                    LOGGER.warn("{} havuzundaki görevler zamanında bitmedi, {} görev durduruluyor",
+                            entry.getKey(), pool.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            all.values().forEach(ThreadPoolExecutor::shutdownNow);
+        }
+        LOGGER.info("Thread havuzları kapatıldı");
+    }
+}
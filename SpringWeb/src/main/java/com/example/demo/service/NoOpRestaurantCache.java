@@ -0,0 +1,55 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Restaurant;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Önbellek kapalıyken kullanılan uygulama; her çağrıda doğrudan yükleyiciye gider
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.restaurants.enabled", havingValue = "false")
+public class NoOpRestaurantCache implements RestaurantCache {
+
+    @Override
+    public Optional<Restaurant> getById(Long id, Function<Long, Optional<Restaurant>> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public Optional<Restaurant> getByName(String name, Function<String, Optional<Restaurant>> loader) {
+        return loader.apply(name);
+    }
+
+    @Override
+    public List<Restaurant> getAllByRating(Supplier<List<Restaurant>> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public void evict(Long id) {
+        // Önbellek yok
+    }
+
+    @Override
+    public void evictName(String name) {
+        // Önbellek yok
+    }
+
+    @Override
+    public void invalidateAll() {
+        // Önbellek yok
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("enabled", false);
+    }
+}
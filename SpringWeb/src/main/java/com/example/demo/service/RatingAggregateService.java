@@ -0,0 +1,186 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RestaurantRepository;
+import com.example.demo.repository.ReviewRepository;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Restoran puan toplamlarını (sayı, toplam, kare toplamı) yöneten servis.
+ * Değerlendirme yazma işlemleri tüm değerlendirmeleri yeniden okumak yerine
+ * bu servis üzerinden O(1) artımlı değişiklik uygular.
+ * Uzlaştırma işi toplamları değerlendirme tablosundan yeniden hesaplar ve sapmaları raporlar.
+ */
+@Service
+public class RatingAggregateService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(RatingAggregateService.class);
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public RatingAggregateService(RestaurantRepository restaurantRepository,
+                                  ReviewRepository reviewRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Yeni eklenen bir değerlendirmeyi restoran toplamlarına ekler
+     *
+     * @param restaurantId Restoran ID'si
+     * @param rating Değerlendirme puanı
+     */
+    @Transactional
+    public void reviewAdded(Long restaurantId, int rating) {
+        applyDelta(restaurantId, 1, rating, (long) rating * rating);
+    }
+
+    /**
+     * Silinen bir değerlendirmeyi restoran toplamlarından çıkarır
+     *
+     * @param restaurantId Restoran ID'si
+     * @param rating Silinen değerlendirmenin puanı
+     */
+    @Transactional
+    public void reviewRemoved(Long restaurantId, int rating) {
+        applyDelta(restaurantId, -1, -rating, -((long) rating * rating));
+    }
+
+    /**
+     * Puanı değişen bir değerlendirmenin farkını restoran toplamlarına uygular
+     *
+     * @param restaurantId Restoran ID'si
+     * @param oldRating Eski puan
+     * @param newRating Yeni puan
+     */
+    @Transactional
+    public void ratingChanged(Long restaurantId, int oldRating, int newRating) {
+        if (oldRating == newRating) {
+            return;
+        }
+        applyDelta(restaurantId, 0, newRating - oldRating,
+                (long) newRating * newRating - (long) oldRating * oldRating);
+    }
+
+    /**
+     * Toplu eklenen değerlendirmeleri restoran toplamlarına tek güncellemeyle ekler
+     *
+     * @param restaurantId Restoran ID'si
+     * @param count Eklenen değerlendirme sayısı
+     * @param sum Eklenen puanların toplamı
+     * @param sumSquares Eklenen puanların kareleri toplamı
+     */
+    @Transactional
+    public void reviewsAdded(Long restaurantId, long count, long sum, long sumSquares) {
+        if (count == 0) {
+            return;
+        }
+        applyDelta(restaurantId, count, sum, sumSquares);
+    }
+
+    private void applyDelta(Long restaurantId, long countDelta, long sumDelta, long sumSquaresDelta) {
+        if (restaurantId == null) {
+            LOGGER.warn("Restoran ID'si olmayan değerlendirme toplamlara yansıtılamadı");
+            return;
+        }
+        int updated = restaurantRepository.applyRatingDelta(restaurantId, countDelta, sumDelta, sumSquaresDelta);
+        if (updated == 0) {
+            LOGGER.warn("Toplamları güncellenecek restoran bulunamadı: {}", restaurantId);
+        } else {
+            LOGGER.debug("Restoran toplamları güncellendi: {} (sayı {}, toplam {})", restaurantId, countDelta, sumDelta);
+        }
+    }
+
+    /**
+     * Tek bir restoranın toplamlarını değerlendirme tablosundan yeniden hesaplar
+     *
+     * @param restaurantId Restoran ID'si
+     * @return Yeniden hesaplanan ortalama puan
+     */
+    @Transactional
+    public double rebuild(Long restaurantId) {
+        Object[] row = reviewRepository.sumRatingsForRestaurant(restaurantId).get(0);
+        long count = ((Number) row[0]).longValue();
+        long sum = ((Number) row[1]).longValue();
+        long sumSquares = ((Number) row[2]).longValue();
+        double rating = count > 0 ? (double) sum / count : 0.0;
+        restaurantRepository.overwriteRatingAggregate(restaurantId, count, sum, sumSquares, rating);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(RestaurantChangedEvent.Type.SAVED, restaurantId, null));
+        LOGGER.debug("Restoran toplamları yeniden hesaplandı: {} ({} değerlendirme, ortalama {})",
+                restaurantId, count, rating);
+        return rating;
+    }
+
+    /**
+     * Tüm restoranların toplamlarını değerlendirme tablosundan yeniden hesaplar.
+     * Kayıtlı değerlerden farklı olanlar düzeltilir ve rapora eklenir.
+     *
+     * @return Uzlaştırma raporu
+     */
+    @Transactional
+    public AggregateReconciliationReport reconcile() {
+        long startTime = System.currentTimeMillis();
+        List<Object[]> rows = restaurantRepository.compareRatingAggregates();
+        AggregateReconciliationReport report = new AggregateReconciliationReport();
+
+        for (Object[] row : rows) {
+            Long restaurantId = ((Number) row[0]).longValue();
+            long storedCount = ((Number) row[1]).longValue();
+            long storedSum = ((Number) row[2]).longValue();
+            long storedSumSquares = ((Number) row[3]).longValue();
+            long actualCount = ((Number) row[4]).longValue();
+            long actualSum = ((Number) row[5]).longValue();
+            long actualSumSquares = ((Number) row[6]).longValue();
+
+            report.incrementChecked();
+            if (storedCount == actualCount && storedSum == actualSum && storedSumSquares == actualSumSquares) {
+                continue;
+            }
+
+            double rating = actualCount > 0 ? (double) actualSum / actualCount : 0.0;
+            restaurantRepository.overwriteRatingAggregate(restaurantId, actualCount, actualSum, actualSumSquares, rating);
+            eventPublisher.publishEvent(new RestaurantChangedEvent(RestaurantChangedEvent.Type.SAVED, restaurantId, null));
+            report.addDrift(new AggregateReconciliationReport.Drift(
+                    restaurantId, storedCount, actualCount, storedSum, actualSum));
+        }
+
+        report.setDurationMillis(System.currentTimeMillis() - startTime);
+        if (report.getDrifts().isEmpty()) {
+            LOGGER.info("Puan toplamları uzlaştırıldı, sapma yok ({} restoran)", report.getCheckedCount());
+        } else {
+            LOGGER.warn("Puan toplamlarında {} restoran için sapma bulundu ve düzeltildi", report.getDrifts().size());
+        }
+        return report;
+    }
+
+    /**
+     * Uzlaştırma işini zamanlanmış olarak çalıştırır.
+     * Zamanlama app.aggregates.reconcile-cron ile ayarlanır, "-" değeri devre dışı bırakır.
+     */
+    @Scheduled(cron = "${app.aggregates.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        try {
+            // Kendi içinden çağrıldığında proxy devreye girmediği için işlem açıkça başlatılır
+            transactionTemplate.execute(status -> reconcile());
+        } catch (Exception e) {
+            LOGGER.error("Zamanlanmış puan uzlaştırması başarısız: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Restaurant;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Restoran okuma işlemleri için önbellek arayüzü.
+ * Kayıt önbellekte yoksa verilen yükleyici çağrılır ve sonuç saklanır (read-through).
+ * Uygulama app.cache.restaurants.enabled ayarına göre seçilir.
+ */
+public interface RestaurantCache {
+
+    /**
+     * ID'ye göre restoranı önbellekten veya yükleyiciden getirir
+     *
+     * @param id Restoran ID'si
+     * @param loader Önbellekte yoksa kullanılacak yükleyici
+     * @return Bulunan restoran, yoksa Optional.empty()
+     */
+    Optional<Restaurant> getById(Long id, Function<Long, Optional<Restaurant>> loader);
+
+    /**
+     * İsme göre restoranı önbellekten veya yükleyiciden getirir
+     *
+     * @param name Restoran adı
+     * @param loader Önbellekte yoksa kullanılacak yükleyici
+     * @return Bulunan restoran, yoksa Optional.empty()
+     */
+    Optional<Restaurant> getByName(String name, Function<String, Optional<Restaurant>> loader);
+
+    /**
+     * Puana göre sıralı restoran listesini önbellekten veya yükleyiciden getirir
+     *
+     * @param loader Önbellekte yoksa kullanılacak yükleyici
+     * @return Puana göre sıralanmış restoranlar
+     */
+    List<Restaurant> getAllByRating(Supplier<List<Restaurant>> loader);
+
+    /**
+     * Bir restoranın kaydını ve restoranı içeren sıralı listeleri geçersiz kılar
+     *
+     * @param id Restoran ID'si
+     */
+    void evict(Long id);
+
+    /**
+     * Bir restoran adının ID eşleşmesini geçersiz kılar
+     *
+     * @param name Restoran adı
+     */
+    void evictName(String name);
+
+    /**
+     * Tüm önbelleği temizler
+     */
+    void invalidateAll();
+
+    /**
+     * İsabet, ıskalama ve çıkarma sayılarını döner
+     *
+     * @return Önbellek başına istatistikler
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,48 @@
+package com.example.demo.service;
+
+/**
+ * Bir restoran eklendiğinde, güncellendiğinde veya silindiğinde yayınlanan olay.
+ */
+public class RestaurantChangedEvent {
+
+    /**
+     * Değişiklik tipi
+     */
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final Long restaurantId;
+    private final String previousName;
+
+    public RestaurantChangedEvent(Type type, Long restaurantId, String previousName) {
+        this.type = type;
+        this.restaurantId = restaurantId;
+        this.previousName = previousName;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    /**
+     * Değişiklikten önceki restoran adı (biliniyorsa), ada göre tutulan kayıtları temizlemek için
+     */
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    @Override
+    public String toString() {
+        return "RestaurantChangedEvent{" +
+                "type=" + type +
+                ", restaurantId=" + restaurantId +
+                ", previousName='" + previousName + '\'' +
+                '}';
+    }
+}
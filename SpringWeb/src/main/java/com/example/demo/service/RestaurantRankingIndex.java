@@ -0,0 +1,428 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RestaurantRepository;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Restoranları puana ve değerlendirme sayısına göre bellekte sıralı tutan indeks.
+ * Her ölçüt için sıralı bir küme tutulur; ilk K sorgusu O(K) sürer.
+ * Açılışta veritabanından kurulur, değerlendirme ve restoran yazmalarında
+ * ilgili restoranın satırı yeniden okunarak güncellenir. Satır okuma idempotent
+ * olduğu için olay sırası veya yeniden kurulumla çakışma toplamları bozmaz.
+ *
+ * Kümeler ve toplamlar değişmez bir görüntüde tutulur. Yeniden kurulum ve güncelleme
+ * yeni görüntüyü kilit altında hazırlayıp tek bir volatile atamayla yayınlar; okumalar
+ * kilitsizdir ve yarım kurulmuş kümeleri ya da bir anlığına eksik restoranı görmez.
+ * Güncelleme görüntüyü kopyaladığı için O(N) sürer, toplu eklemeler tek kopyayla uygulanır.
+ *
+ * Tüm restoranların toplam değerlendirme sayısı ve puanı da artımlı tutulur;
+ * bu toplamlar Bayes ortalamasının ön bilgisi (genel ortalama) olarak kullanılır.
+ */
+@Component
+public class RestaurantRankingIndex {
+
+    private static final Logger LOGGER = AppLogger.getLogger(RestaurantRankingIndex.class);
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+            .comparingDouble(Entry::getRating).reversed()
+            .thenComparing(Entry::getId);
+    private static final Comparator<Entry> BY_REVIEW_COUNT = Comparator
+            .comparingLong(Entry::getReviewCount).reversed()
+            .thenComparing(Entry::getId);
+
+    // Bayes sıralamasında en kötüden en iyiye (yığında ilk çıkarılacak olan en kötü)
+    private static final Comparator<Scored> WORST_FIRST = Comparator
+            .comparingDouble(Scored::getScore)
+            .thenComparing(Scored::getId, Comparator.reverseOrder());
+
+    private final RestaurantRepository restaurantRepository;
+    private final double priorWeight;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready;
+
+    @Autowired
+    public RestaurantRankingIndex(RestaurantRepository restaurantRepository,
+                                  @Value("${app.ranking.prior-weight:10}") double priorWeight) {
+        this.restaurantRepository = restaurantRepository;
+        this.priorWeight = priorWeight;
+    }
+
+    /**
+     * Uygulama hazır olduğunda indeksi veritabanından kurar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            LOGGER.error("Sıralama indeksi kurulamadı, sorgular veritabanından yanıtlanacak: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * İndeksi tüm restoranların toplamlarından yeniden kurar
+     *
+     * @return İndeksteki restoran sayısı
+     */
+    public synchronized int rebuild() {
+        long startTime = System.currentTimeMillis();
+        List<RestaurantRepository.RankingRow> rows = restaurantRepository.findAllRankingRows();
+
+        Snapshot.Builder builder = new Snapshot.Builder();
+        for (RestaurantRepository.RankingRow row : rows) {
+            builder.put(Entry.of(row));
+        }
+        snapshot = builder.build();
+        ready = true;
+
+        LOGGER.info("Sıralama indeksi kuruldu: {} restoran ({} ms)", rows.size(), System.currentTimeMillis() - startTime);
+        return rows.size();
+    }
+
+    /**
+     * Tek bir restoranın satırını veritabanından okuyup indeksi günceller.
+     * Restoran artık yoksa indeksten çıkarılır.
+     *
+     * @param restaurantId Restoran ID'si
+     */
+    public void refresh(Long restaurantId) {
+        refresh(Collections.singletonList(restaurantId));
+    }
+
+    /**
+     * Birden fazla restoranın satırını okuyup indeksi tek bir yeni görüntüyle günceller
+     *
+     * @param restaurantIds Restoran ID'leri (null değerler atlanır)
+     */
+    public synchronized void refresh(Collection<Long> restaurantIds) {
+        if (!ready) {
+            return;
+        }
+        Snapshot.Builder builder = null;
+        for (Long restaurantId : restaurantIds) {
+            if (restaurantId == null) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new Snapshot.Builder(snapshot);
+            }
+            Entry updated = restaurantRepository.findRankingRowById(restaurantId).map(Entry::of).orElse(null);
+            if (updated != null) {
+                builder.put(updated);
+            } else {
+                builder.remove(restaurantId);
+            }
+        }
+        if (builder != null) {
+            snapshot = builder.build();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getPreviousRestaurantId() != null
+                && !event.getPreviousRestaurantId().equals(event.getRestaurantId())) {
+            refresh(Arrays.asList(event.getRestaurantId(), event.getPreviousRestaurantId()));
+        } else {
+            refresh(event.getRestaurantId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        refresh(event.getRestaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewBatchInserted(ReviewBatchInsertedEvent event) {
+        refresh(event.getRestaurantIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataRestored(DataRestoredEvent event) {
+        rebuild();
+    }
+
+    /**
+     * İndeksin kurulup kullanıma hazır olup olmadığını belirtir
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * En yüksek puanlı restoranların ID'lerini döner (eşitlikte küçük ID önce)
+     *
+     * @param limit Getirilecek restoran sayısı
+     * @return Restoran ID'leri
+     */
+    public List<Long> topByRating(int limit) {
+        return firstIds(snapshot.byRating, limit);
+    }
+
+    /**
+     * En çok değerlendirilen restoranların ID'lerini döner (eşitlikte küçük ID önce)
+     *
+     * @param limit Getirilecek restoran sayısı
+     * @return Restoran ID'leri
+     */
+    public List<Long> topByReviewCount(int limit) {
+        return firstIds(snapshot.byReviewCount, limit);
+    }
+
+    /**
+     * Tüm değerlendirmelerin ortalaması (Bayes ortalamasının ön bilgisi)
+     */
+    public double getPriorMean() {
+        return snapshot.priorMean();
+    }
+
+    /**
+     * Bayes ortalaması: (C * m + toplam) / (C + n).
+     * Az değerlendirmesi olan restoranların puanı genel ortalamaya (m) doğru çekilir;
+     * C, ön bilginin kaç değerlendirme ağırlığında olduğunu belirtir.
+     *
+     * @param entry Restoran kaydı
+     * @param priorMean Genel ortalama
+     * @return Güven ağırlıklı puan
+     */
+    public double bayesianScore(Entry entry, double priorMean) {
+        double denominator = priorWeight + entry.getReviewCount();
+        if (denominator <= 0) {
+            return priorMean;
+        }
+        return (priorWeight * priorMean + entry.getRatingSum()) / denominator;
+    }
+
+    /**
+     * Restoranları Bayes ortalamasına göre (eşitlikte küçük ID önce) sıralayıp
+     * verilen imleçten sonraki ilk kayıtları döner. Tam sıralama yerine boyutu
+     * count ile sınırlı bir yığın kullanılır: O(N log K), veritabanına gidilmez.
+     *
+     * @param afterScore Önceki sayfanın son puanı (ilk sayfa için null)
+     * @param afterId Önceki sayfanın son ID'si (ilk sayfa için null)
+     * @param count Getirilecek kayıt sayısı
+     * @return Puanı ile birlikte sıralı kayıtlar
+     */
+    public List<Scored> pageByBayesianScore(Double afterScore, Long afterId, int count) {
+        if (!ready) {
+            rebuild();
+        }
+        Snapshot current = snapshot;
+        double priorMean = current.priorMean();
+        PriorityQueue<Scored> best = new PriorityQueue<>(Math.max(1, count + 1), WORST_FIRST);
+
+        for (Entry entry : current.byRating) {
+            double score = bayesianScore(entry, priorMean);
+            if (afterScore != null && !(score < afterScore
+                    || (score == afterScore && afterId != null && entry.getId() > afterId))) {
+                continue;
+            }
+            best.offer(new Scored(entry, score));
+            if (best.size() > count) {
+                best.poll();
+            }
+        }
+
+        List<Scored> page = new ArrayList<>(best);
+        page.sort(WORST_FIRST.reversed());
+        return page;
+    }
+
+    /**
+     * İndeksteki tüm kayıtların salt okunur görünümü
+     */
+    public Collection<Entry> entries() {
+        return snapshot.byRating;
+    }
+
+    /**
+     * Tüm restoranlardaki toplam değerlendirme sayısı
+     */
+    public long getTotalReviewCount() {
+        return snapshot.totalReviewCount;
+    }
+
+    /**
+     * Tüm restoranlardaki toplam puan
+     */
+    public long getTotalRatingSum() {
+        return snapshot.totalRatingSum;
+    }
+
+    /**
+     * İndeksteki restoran sayısı
+     */
+    public int size() {
+        return snapshot.byRating.size();
+    }
+
+    private static List<Long> firstIds(NavigableSet<Entry> ordered, int limit) {
+        List<Long> ids = new ArrayList<>(Math.max(0, limit));
+        Iterator<Entry> iterator = ordered.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Yayınlandıktan sonra değişmeyen sıralama kümeleri ve toplamlar
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Builder().build();
+
+        private final Map<Long, Entry> entries;
+        private final NavigableSet<Entry> byRating;
+        private final NavigableSet<Entry> byReviewCount;
+        private final long totalReviewCount;
+        private final long totalRatingSum;
+
+        private Snapshot(Builder builder) {
+            this.entries = builder.entries;
+            this.byRating = Collections.unmodifiableNavigableSet(builder.byRating);
+            this.byReviewCount = Collections.unmodifiableNavigableSet(builder.byReviewCount);
+            this.totalReviewCount = builder.totalReviewCount;
+            this.totalRatingSum = builder.totalRatingSum;
+        }
+
+        double priorMean() {
+            return totalReviewCount > 0 ? (double) totalRatingSum / totalReviewCount : 0.0;
+        }
+
+        /**
+         * Önceki görüntünün kopyası üzerinde değişiklikleri toplar
+         */
+        private static final class Builder {
+            private final Map<Long, Entry> entries;
+            private final TreeSet<Entry> byRating;
+            private final TreeSet<Entry> byReviewCount;
+            private long totalReviewCount;
+            private long totalRatingSum;
+
+            Builder() {
+                entries = new HashMap<>();
+                byRating = new TreeSet<>(BY_RATING);
+                byReviewCount = new TreeSet<>(BY_REVIEW_COUNT);
+            }
+
+            Builder(Snapshot base) {
+                // Sıralı kümeden kopyalama doğrusal sürede yapılır
+                entries = new HashMap<>(base.entries);
+                byRating = new TreeSet<>(base.byRating);
+                byReviewCount = new TreeSet<>(base.byReviewCount);
+                totalReviewCount = base.totalReviewCount;
+                totalRatingSum = base.totalRatingSum;
+            }
+
+            void put(Entry entry) {
+                remove(entry.getId());
+                entries.put(entry.getId(), entry);
+                byRating.add(entry);
+                byReviewCount.add(entry);
+                totalReviewCount += entry.getReviewCount();
+                totalRatingSum += entry.getRatingSum();
+            }
+
+            void remove(Long id) {
+                Entry previous = entries.remove(id);
+                if (previous != null) {
+                    byRating.remove(previous);
+                    byReviewCount.remove(previous);
+                    totalReviewCount -= previous.getReviewCount();
+                    totalRatingSum -= previous.getRatingSum();
+                }
+            }
+
+            Snapshot build() {
+                return new Snapshot(this);
+            }
+        }
+    }
+
+    /**
+     * Hesaplanmış puanıyla birlikte bir restoran kaydı
+     */
+    public static final class Scored {
+        private final Entry entry;
+        private final double score;
+
+        Scored(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        public Long getId() {
+            return entry.getId();
+        }
+
+        public Entry getEntry() {
+            return entry;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Bir restoranın sıralama için gereken değişmez bilgileri
+     */
+    public static final class Entry {
+        private final Long id;
+        private final long reviewCount;
+        private final long ratingSum;
+        private final double rating;
+
+        Entry(Long id, long reviewCount, long ratingSum, double rating) {
+            this.id = id;
+            this.reviewCount = reviewCount;
+            this.ratingSum = ratingSum;
+            this.rating = rating;
+        }
+
+        static Entry of(RestaurantRepository.RankingRow row) {
+            return new Entry(row.getId(),
+                    row.getReviewCount() != null ? row.getReviewCount() : 0L,
+                    row.getRatingSum() != null ? row.getRatingSum() : 0L,
+                    row.getRating() != null ? row.getRating() : 0.0);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public long getReviewCount() {
+            return reviewCount;
+        }
+
+        public long getRatingSum() {
+            return ratingSum;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+    }
+}
@@ -3,12 +3,20 @@ package com.example.demo.service;
 import com.example.demo.model.Restaurant;
 import com.example.demo.repository.RestaurantRepository;
 import com.example.demo.util.AppLogger;
+import com.example.demo.util.ConcurrencyManager;
+import com.example.demo.util.KeysetCursor;
 
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,11 +29,21 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     private static final Logger LOGGER = AppLogger.getLogger(RestaurantService.class);
     private final RestaurantRepository restaurantRepository;
     private final ReviewService reviewService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestaurantCache restaurantCache;
+    private final RestaurantRankingIndex rankingIndex;
+    private final EntityManager entityManager;
 
     @Autowired
-    public RestaurantService(RestaurantRepository restaurantRepository, ReviewService reviewService) {
+    public RestaurantService(RestaurantRepository restaurantRepository, ReviewService reviewService,
+                             ApplicationEventPublisher eventPublisher, RestaurantCache restaurantCache,
+                             RestaurantRankingIndex rankingIndex, EntityManager entityManager) {
         this.restaurantRepository = restaurantRepository;
         this.reviewService = reviewService;
+        this.eventPublisher = eventPublisher;
+        this.restaurantCache = restaurantCache;
+        this.rankingIndex = rankingIndex;
+        this.entityManager = entityManager;
         LOGGER.info("RestaurantService başlatıldı");
     }
 
@@ -48,17 +66,63 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     }
     
     /**
-     * Restoranları puana göre sıralı getirir
+     * Restoranları puana göre sıralı getirir (önbellekli)
      * 
      * @return Puana göre sıralanmış restoranların listesi
      */
     public List<Restaurant> getAllRestaurantsByRating() {
         LOGGER.debug("Restoranlar puana göre getiriliyor");
-        return restaurantRepository.findAllByOrderByRatingDesc();
+        return restaurantCache.getAllByRating(restaurantRepository::findAllByOrderByRatingDesc);
     }
 
     /**
-     * ID'ye göre restoran bulur
+     * Restoranları imleç tabanlı (keyset) sayfalama ile getirir.
+     * OFFSET kullanılmadığından derin sayfalar da ilk sayfa kadar ucuzdur.
+     * 
+     * "bayesian" sıralaması az değerlendirmeli restoranları genel ortalamaya çeken
+     * güven ağırlıklı puanı kullanır ve bellekteki sıralama indeksinden hesaplanır.
+     * 
+     * @param sort Sıralama: "id", "rating" veya "bayesian"
+     * @param after Önceki sayfanın imleci (ilk sayfa için null)
+     * @param limit Sayfa boyutu
+     * @return Restoran sayfası
+     * @throws IllegalArgumentException sıralama veya imleç geçersizse
+     */
+    public CursorPage<Restaurant> getRestaurantPage(String sort, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor cursor = after == null || after.isBlank() ? null : KeysetCursor.decode(after);
+        Pageable fetchLimit = PageRequest.of(0, pageSize + 1);
+        LOGGER.debug("Restoran sayfası getiriliyor: sıralama={}, limit={}", sort, pageSize);
+        
+        switch (sort == null ? "id" : sort) {
+            case "id":
+                return CursorPage.of(
+                        restaurantRepository.findPageOrderById(cursor == null ? 0L : cursor.getId(), fetchLimit),
+                        pageSize, r -> KeysetCursor.of(r.getId(), r.getId()));
+            case "rating":
+                return CursorPage.of(
+                        restaurantRepository.findPageOrderByRating(
+                                cursor == null ? Double.MAX_VALUE : cursor.getDoubleValue(),
+                                cursor == null ? 0L : cursor.getId(),
+                                fetchLimit),
+                        pageSize, r -> KeysetCursor.of(r.getRating(), r.getId()));
+            case "bayesian":
+                CursorPage<RestaurantRankingIndex.Scored> ranked = CursorPage.of(
+                        rankingIndex.pageByBayesianScore(
+                                cursor == null ? null : cursor.getDoubleValue(),
+                                cursor == null ? null : cursor.getId(),
+                                pageSize + 1),
+                        pageSize, s -> KeysetCursor.of(s.getScore(), s.getId()));
+                return ranked.withItems(resolveRanked(ranked.getItems().stream()
+                        .map(RestaurantRankingIndex.Scored::getId)
+                        .toList()));
+            default:
+                throw new IllegalArgumentException("Geçersiz sıralama: " + sort);
+        }
+    }
+
+    /**
+     * ID'ye göre restoran bulur (önbellekli)
      * 
      * @param id Restoran ID'si
      * @return Bulunan restoran, yoksa Optional.empty()
@@ -66,7 +130,7 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     @Override
     public Optional<Restaurant> findById(Long id) {
         LOGGER.debug("ID'ye göre restoran aranıyor: {}", id);
-        return restaurantRepository.findById(id);
+        return restaurantCache.getById(id, restaurantRepository::findById);
     }
 
     /**
@@ -77,21 +141,61 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     }
 
     /**
-     * İsme göre restoran bulur
+     * İsme göre restoran bulur (önbellekli)
      * 
      * @param name Restoran adı
      * @return Bulunan restoran, yoksa Optional.empty()
      */
     public Optional<Restaurant> getRestaurantByName(String name) {
         LOGGER.debug("İsme göre restoran aranıyor: {}", name);
-        return restaurantRepository.findByName(name);
+        return restaurantCache.getByName(name, restaurantRepository::findByName);
+    }
+
+    /**
+     * Restoran değiştiğinde önbellekteki kaydını ve eski ad eşleşmesini geçersiz kılar.
+     * İşlem tamamlandıktan sonra çalışır, böylece önbelleğe eski veri geri yüklenmez.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        restaurantCache.evict(event.getRestaurantId());
+        restaurantCache.evictName(event.getPreviousName());
+    }
+
+    /**
+     * Değerlendirme yazmaları restoran puanını değiştirdiği için ilgili restoranları geçersiz kılar
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        restaurantCache.evict(event.getRestaurantId());
+        if (event.getPreviousRestaurantId() != null
+                && !event.getPreviousRestaurantId().equals(event.getRestaurantId())) {
+            restaurantCache.evict(event.getPreviousRestaurantId());
+        }
+    }
+
+    /**
+     * Toplu aktarımda toplamları değişen restoranları geçersiz kılar
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewBatchInserted(ReviewBatchInsertedEvent event) {
+        for (Long restaurantId : event.getRestaurantIds()) {
+            restaurantCache.evict(restaurantId);
+        }
+    }
+
+    /**
+     * Yedekten geri yüklemede tüm tablolar değiştiği için önbellek tamamen temizlenir
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataRestored(DataRestoredEvent event) {
+        restaurantCache.invalidateAll();
     }
 
     /**
      * Yeni bir restoran ekler veya günceller
      * 
      * @param restaurant Eklenecek/güncellenecek restoran
-     * @return Eklenen/güncellenen restoran
+     * @return Veritabanından yeniden okunan restoran (puan ve toplamlar dahil)
      * @throws IllegalArgumentException geçersiz veri durumunda
      */
     @Transactional
@@ -140,9 +244,16 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
             // Kaydedilecek verileri logla
             LOGGER.info("Restoran kaydediliyor: {}", restaurant.getName());
             
-            // Kaydet
-            Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+            // Kaydet; puan ve toplamlar varlıkla yazılmadığından formdan gelen nesnenin değerleri yerine
+            // kaydedilen satır yeniden okunur
+            Restaurant savedRestaurant = restaurantRepository.saveAndFlush(restaurant);
+            entityManager.refresh(savedRestaurant);
             LOGGER.info("Restoran başarıyla kaydedildi: {}", savedRestaurant.getId());
+            if (isUpdate) {
+                reviewService.syncRestaurantName(savedRestaurant.getId(), savedRestaurant.getName());
+            }
+            eventPublisher.publishEvent(new RestaurantChangedEvent(
+                    RestaurantChangedEvent.Type.SAVED, savedRestaurant.getId(), null));
             return savedRestaurant;
         } catch (IllegalArgumentException e) {
             LOGGER.error("Restoran validasyon hatası: {}", e.getMessage());
@@ -166,11 +277,17 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
         LOGGER.info("Restoran güncelleniyor, ID: {}", id);
         return restaurantRepository.findById(id)
                 .map(restaurant -> {
+                    String previousName = restaurant.getName();
                     restaurant.setName(restaurantDetails.getName());
                     restaurant.setLocation(restaurantDetails.getLocation());
-                    restaurant.setRating(restaurantDetails.getRating());
                     LOGGER.debug("Restoran güncellendi: {}", restaurant.getName());
-                    return restaurantRepository.save(restaurant);
+                    Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+                    if (!savedRestaurant.getName().equals(previousName)) {
+                        reviewService.syncRestaurantName(savedRestaurant.getId(), savedRestaurant.getName());
+                    }
+                    eventPublisher.publishEvent(new RestaurantChangedEvent(
+                            RestaurantChangedEvent.Type.SAVED, savedRestaurant.getId(), previousName));
+                    return savedRestaurant;
                 });
     }
 
@@ -192,11 +309,13 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     public void delete(Long id) {
         LOGGER.info("Restoran siliniyor, ID: {}", id);
         restaurantRepository.findById(id).ifPresent(restaurant -> {
-            // Önce restorana ait tüm değerlendirmeleri sil
-            reviewService.deleteReviewsByRestaurantName(restaurant.getName());
+            // Önce restorana ait tüm değerlendirmeleri sil (yabancı anahtar restoranı referans alır)
+            reviewService.deleteReviewsByRestaurantId(restaurant.getId());
             // Sonra restoranı sil
             restaurantRepository.delete(restaurant);
             LOGGER.debug("Restoran silindi: {}", restaurant.getName());
+            eventPublisher.publishEvent(new RestaurantChangedEvent(
+                    RestaurantChangedEvent.Type.DELETED, restaurant.getId(), restaurant.getName()));
         });
     }
 
@@ -209,11 +328,12 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     }
 
     /**
-     * Eşzamanlı olarak restoranları getiren bir async metot
+     * Eşzamanlı olarak restoranları getiren bir async metot.
+     * Engelleyen JPA çağrısı ortak ForkJoinPool yerine uygulama havuzunda (veya sanal thread'de) çalışır.
      */
     public CompletableFuture<List<Restaurant>> getRestaurantsAsync() {
         LOGGER.debug("Restoranlar async olarak getiriliyor");
-        return CompletableFuture.supplyAsync(this::getAllRestaurants);
+        return ConcurrencyManager.submitTask(this::getAllRestaurants);
     }
 
     /**
@@ -281,7 +401,10 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     @Transactional
     public Restaurant save(Restaurant restaurant) {
         LOGGER.info("Restoran kaydediliyor: {}", restaurant.getName());
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(
+                RestaurantChangedEvent.Type.SAVED, savedRestaurant.getId(), null));
+        return savedRestaurant;
     }
 
     /**
@@ -290,16 +413,10 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
      * @return Şehir adı ve restoran sayısı eşleşmeleri
      */
     public Map<String, Long> getRestaurantCountsByLocation() {
-        List<Restaurant> restaurants = restaurantRepository.findAll();
         Map<String, Long> locationCounts = new HashMap<>();
-        
-        for (Restaurant restaurant : restaurants) {
-            String location = restaurant.getLocation();
-            if (location != null && !location.isEmpty()) {
-                locationCounts.put(location, locationCounts.getOrDefault(location, 0L) + 1);
-            }
+        for (RestaurantRepository.LocationSummary summary : restaurantRepository.summarizeByLocation()) {
+            locationCounts.put(summary.getLocation(), summary.getRestaurantCount());
         }
-        
         return locationCounts;
     }
 
@@ -346,33 +463,49 @@ public class RestaurantService implements GenericService<Restaurant, Long> {
     }
 
     /**
-     * En yüksek puanlı restoranları getirir
+     * En yüksek puanlı restoranları getirir.
+     * Sıralama bellekteki indeksten okunur; indeks hazır değilse veritabanında sınırlanır.
      * 
      * @param limit Getirilecek restoran sayısı
      * @return Puana göre sıralanmış restoranların listesi
      */
     public List<Restaurant> getTopRatedRestaurants(int limit) {
         LOGGER.debug("En yüksek puanlı {} restoran getiriliyor", limit);
-        return restaurantRepository.findAllByOrderByRatingDesc().stream()
-                .limit(limit)
-                .toList();
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (!rankingIndex.isReady()) {
+            return restaurantRepository.findAllByOrderByRatingDescIdAsc(PageRequest.of(0, limit));
+        }
+        return resolveRanked(rankingIndex.topByRating(limit));
     }
 
     /**
-     * En çok değerlendirilen restoranları getirir
+     * En çok değerlendirilen restoranları getirir.
+     * Sıralama bellekteki indeksten okunur; indeks hazır değilse veritabanında sınırlanır.
      * 
      * @param limit Getirilecek restoran sayısı
      * @return Değerlendirme sayısına göre sıralanmış restoranların listesi
      */
     public List<Restaurant> getMostReviewedRestaurants(int limit) {
         LOGGER.debug("En çok değerlendirilen {} restoran getiriliyor", limit);
-        return getAllRestaurants().stream()
-                .sorted((r1, r2) -> {
-                    long r1ReviewCount = reviewService.getReviewCountForRestaurant(r1.getId());
-                    long r2ReviewCount = reviewService.getReviewCountForRestaurant(r2.getId());
-                    return Long.compare(r2ReviewCount, r1ReviewCount);
-                })
-                .limit(limit)
-                .toList();
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (!rankingIndex.isReady()) {
+            return restaurantRepository.findAllByOrderByReviewCountDescIdAsc(PageRequest.of(0, limit));
+        }
+        return resolveRanked(rankingIndex.topByReviewCount(limit));
+    }
+
+    /**
+     * İndeksten gelen ID'leri sırayı koruyarak önbellek üzerinden restoranlara çevirir
+     */
+    private List<Restaurant> resolveRanked(List<Long> ids) {
+        List<Restaurant> restaurants = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(restaurants::add);
+        }
+        return restaurants;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Toplu aktarımla değerlendirmeler eklendiğinde yayınlanan olay.
+ * Her değerlendirme için ayrı olay yerine etkilenen restoranlar tek seferde bildirilir.
+ */
+public class ReviewBatchInsertedEvent {
+
+    private final List<Long> reviewIds;
+    private final Set<Long> restaurantIds;
+
+    public ReviewBatchInsertedEvent(List<Long> reviewIds, Set<Long> restaurantIds) {
+        this.reviewIds = List.copyOf(reviewIds);
+        this.restaurantIds = Set.copyOf(restaurantIds);
+    }
+
+    /**
+     * Eklenen değerlendirmelerin ID'leri (sürücü anahtar döndürmediyse boş)
+     */
+    public List<Long> getReviewIds() {
+        return reviewIds;
+    }
+
+    /**
+     * Toplamları değişen restoranların ID'leri
+     */
+    public Set<Long> getRestaurantIds() {
+        return restaurantIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewBatchInsertedEvent{" +
+                "reviewCount=" + reviewIds.size() +
+                ", restaurantIds=" + restaurantIds +
+                '}';
+    }
+}
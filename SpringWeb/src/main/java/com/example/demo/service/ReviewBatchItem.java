@@ -0,0 +1,68 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplu değerlendirme aktarımındaki tek bir kayıt.
+ * Restoran ID'si veya adı ile eşleştirilir; doğrulama sunucuda kayıt bazında yapılır,
+ * bu yüzden alanlar entity'deki gibi atama sırasında doğrulanmaz.
+ */
+public class ReviewBatchItem {
+
+    private Long restaurantId;
+    private String restaurantName;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime date;
+
+    public ReviewBatchItem() {
+    }
+
+    public ReviewBatchItem(Long restaurantId, String restaurantName, Integer rating, String comment, LocalDateTime date) {
+        this.restaurantId = restaurantId;
+        this.restaurantName = restaurantName;
+        this.rating = rating;
+        this.comment = comment;
+        this.date = date;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+
+    public void setRestaurantName(String restaurantName) {
+        this.restaurantName = restaurantName;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
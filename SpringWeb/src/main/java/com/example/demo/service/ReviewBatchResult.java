@@ -0,0 +1,93 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplu değerlendirme aktarımının sonucu.
+ * Geçersiz kayıtlar toplu işlemi durdurmaz; sıra numaralarıyla birlikte hata listesine eklenir.
+ */
+public class ReviewBatchResult {
+
+    private final int receivedCount;
+    private final List<ItemError> errors = new ArrayList<>();
+    private final List<Long> insertedIds = new ArrayList<>();
+    private int insertedCount;
+    private int restaurantCount;
+    private long durationMillis;
+
+    public ReviewBatchResult(int receivedCount) {
+        this.receivedCount = receivedCount;
+    }
+
+    public int getReceivedCount() {
+        return receivedCount;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public void setInsertedCount(int insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    /**
+     * Toplamları güncellenen restoran sayısı
+     */
+    public int getRestaurantCount() {
+        return restaurantCount;
+    }
+
+    public void setRestaurantCount(int restaurantCount) {
+        this.restaurantCount = restaurantCount;
+    }
+
+    /**
+     * Eklenen değerlendirmelerin ID'leri (geçerli kayıtların gönderim sırasıyla).
+     * Sürücü üretilen anahtarları döndürmezse boş kalır.
+     */
+    public List<Long> getInsertedIds() {
+        return insertedIds;
+    }
+
+    public List<ItemError> getErrors() {
+        return errors;
+    }
+
+    public void addError(int index, String message) {
+        errors.add(new ItemError(index, message));
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Reddedilen tek bir kayıt
+     */
+    public static class ItemError {
+        private final int index;
+        private final String message;
+
+        public ItemError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        /**
+         * Kaydın istekteki sıra numarası (0'dan başlar)
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RestaurantRepository;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Değerlendirmeleri toplu olarak ekleyen servis.
+ * Geçerli kayıtlar JDBC toplu ekleme ile tek işlemde yazılır, restoran toplamları
+ * değerlendirme başına değil restoran başına tek bir UPDATE ile güncellenir.
+ * Geçersiz kayıtlar toplu işlemi durdurmaz, sıra numaralarıyla raporlanır.
+ */
+@Service
+public class ReviewBatchService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ReviewBatchService.class);
+    private static final String INSERT_SQL = "INSERT INTO reviews (restaurant_id, restaurant_name, rating, comment, "
+            + "date, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_COMMENT_LENGTH = 1000;
+
+    private final RestaurantRepository restaurantRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final int jdbcBatchSize;
+
+    @Autowired
+    public ReviewBatchService(RestaurantRepository restaurantRepository,
+                              RatingAggregateService ratingAggregateService,
+                              JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.reviews.batch.max-size:5000}") int maxBatchSize,
+                              @Value("${app.reviews.batch.jdbc-batch-size:500}") int jdbcBatchSize) {
+        this.restaurantRepository = restaurantRepository;
+        this.ratingAggregateService = ratingAggregateService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+    }
+
+    /**
+     * Tek istekte kabul edilen en fazla kayıt sayısı
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Değerlendirmeleri toplu olarak ekler
+     *
+     * @param items Eklenecek kayıtlar
+     * @return Eklenen kayıt sayısı ve kayıt bazında hatalar
+     * @throws IllegalArgumentException kayıt listesi boşsa veya sınırı aşıyorsa
+     */
+    @Transactional
+    public ReviewBatchResult insertReviews(List<ReviewBatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Eklenecek değerlendirme yok");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Tek istekte en fazla " + maxBatchSize + " değerlendirme eklenebilir");
+        }
+
+        long startTime = System.currentTimeMillis();
+        ReviewBatchResult result = new ReviewBatchResult(items.size());
+        Map<Long, String> namesById = new HashMap<>();
+        Map<String, Long> idsByName = new HashMap<>();
+        resolveRestaurants(items, namesById, idsByName);
+
+        List<PendingReview> pending = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            PendingReview review = validate(items.get(i), namesById, idsByName);
+            if (review.error != null) {
+                result.addError(i, review.error);
+            } else {
+                pending.add(review);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            result.getInsertedIds().addAll(insert(pending));
+            result.setInsertedCount(pending.size());
+            Set<Long> restaurantIds = applyAggregates(pending);
+            result.setRestaurantCount(restaurantIds.size());
+            eventPublisher.publishEvent(new ReviewBatchInsertedEvent(result.getInsertedIds(), restaurantIds));
+        }
+
+        result.setDurationMillis(System.currentTimeMillis() - startTime);
+        LOGGER.info("Toplu değerlendirme aktarımı: {} kayıt alındı, {} eklendi, {} reddedildi ({} ms)",
+                result.getReceivedCount(), result.getInsertedCount(), result.getErrors().size(),
+                result.getDurationMillis());
+        return result;
+    }
+
+    /**
+     * Kayıtlarda geçen restoranları ID ve ada göre toplu sorgularla çözer
+     */
+    private void resolveRestaurants(List<ReviewBatchItem> items, Map<Long, String> namesById,
+                                    Map<String, Long> idsByName) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        for (ReviewBatchItem item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getRestaurantId() != null) {
+                ids.add(item.getRestaurantId());
+            } else if (item.getRestaurantName() != null && !item.getRestaurantName().trim().isEmpty()) {
+                names.add(item.getRestaurantName().trim());
+            }
+        }
+
+        for (List<Long> chunk : chunks(new ArrayList<>(ids))) {
+            for (RestaurantRepository.RestaurantRef ref : restaurantRepository.findRefsByIdIn(chunk)) {
+                namesById.put(ref.getId(), ref.getName());
+            }
+        }
+        for (List<String> chunk : chunks(new ArrayList<>(names))) {
+            for (RestaurantRepository.RestaurantRef ref : restaurantRepository.findRefsByNameIn(chunk)) {
+                idsByName.put(ref.getName(), ref.getId());
+                namesById.put(ref.getId(), ref.getName());
+            }
+        }
+    }
+
+    /**
+     * Tek bir kaydı doğrular ve eklenmeye hazır hale getirir
+     */
+    private PendingReview validate(ReviewBatchItem item, Map<Long, String> namesById, Map<String, Long> idsByName) {
+        if (item == null) {
+            return PendingReview.rejected("Kayıt boş olamaz");
+        }
+        if (item.getRating() == null || item.getRating() < 1 || item.getRating() > 5) {
+            return PendingReview.rejected("Puan 1-5 arasında olmalıdır");
+        }
+        if (item.getComment() != null && item.getComment().length() > MAX_COMMENT_LENGTH) {
+            return PendingReview.rejected("Yorum en fazla " + MAX_COMMENT_LENGTH + " karakter olabilir");
+        }
+
+        Long restaurantId = item.getRestaurantId();
+        if (restaurantId == null) {
+            String name = item.getRestaurantName() != null ? item.getRestaurantName().trim() : "";
+            if (name.isEmpty()) {
+                return PendingReview.rejected("Restoran ID'si veya adı belirtilmelidir");
+            }
+            restaurantId = idsByName.get(name);
+            if (restaurantId == null) {
+                return PendingReview.rejected("Restoran bulunamadı: " + name);
+            }
+        } else if (!namesById.containsKey(restaurantId)) {
+            return PendingReview.rejected("Restoran bulunamadı: " + restaurantId);
+        }
+
+        LocalDateTime date = item.getDate() != null ? item.getDate() : LocalDateTime.now();
+        return new PendingReview(restaurantId, namesById.get(restaurantId), item.getRating(), item.getComment(), date);
+    }
+
+    /**
+     * Geçerli kayıtları JDBC toplu ekleme ile yazar
+     *
+     * @return Veritabanının ürettiği ID'ler (sürücü döndürmezse boş)
+     */
+    private List<Long> insert(List<PendingReview> pending) {
+        List<Long> ids = new ArrayList<>(pending.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean keysAvailable = true;
+
+        for (List<PendingReview> chunk : chunks(pending, jdbcBatchSize)) {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingReview review = chunk.get(i);
+                            ps.setLong(1, review.restaurantId);
+                            ps.setString(2, review.restaurantName);
+                            ps.setInt(3, review.rating);
+                            ps.setString(4, review.comment);
+                            ps.setTimestamp(5, Timestamp.valueOf(review.date));
+                            ps.setTimestamp(6, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != chunk.size()) {
+                keysAvailable = false;
+            }
+            for (int i = 0; keysAvailable && i < keys.size(); i++) {
+                Long id = extractId(keys.get(i));
+                if (id == null) {
+                    keysAvailable = false;
+                } else {
+                    ids.add(id);
+                }
+            }
+        }
+
+        if (!keysAvailable) {
+            LOGGER.debug("Sürücü toplu eklemede üretilen anahtarları döndürmedi, ID listesi boş bırakıldı");
+            ids.clear();
+        }
+        return ids;
+    }
+
+    /**
+     * Üretilen anahtar satırından ID sütununu okur.
+     * Bazı sürücüler tüm sütunları, bazıları büyük harfli sütun adını döndürür.
+     */
+    private Long extractId(Map<String, Object> key) {
+        for (Map.Entry<String, Object> entry : key.entrySet()) {
+            if ("id".equalsIgnoreCase(entry.getKey()) && entry.getValue() instanceof Number) {
+                return ((Number) entry.getValue()).longValue();
+            }
+        }
+        Object first = key.isEmpty() ? null : key.values().iterator().next();
+        return first instanceof Number ? ((Number) first).longValue() : null;
+    }
+
+    /**
+     * Eklenen kayıtları restoran başına toplar ve her restoran için tek güncelleme uygular.
+     * Güncellemeler ID sırasıyla yapılır; eşzamanlı toplu işlemler satır kilitlerini aynı sırada alır.
+     *
+     * @return Toplamları güncellenen restoranların ID'leri
+     */
+    private Set<Long> applyAggregates(List<PendingReview> pending) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (PendingReview review : pending) {
+            long[] delta = deltas.computeIfAbsent(review.restaurantId, id -> new long[3]);
+            delta[0]++;
+            delta[1] += review.rating;
+            delta[2] += (long) review.rating * review.rating;
+        }
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            long[] delta = entry.getValue();
+            ratingAggregateService.reviewsAdded(entry.getKey(), delta[0], delta[1], delta[2]);
+        }
+        return deltas.keySet();
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list) {
+        return chunks(list, LOOKUP_CHUNK_SIZE);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int size) {
+        List<List<T>> result = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            result.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return result;
+    }
+
+    /**
+     * Doğrulanmış, eklenmeyi bekleyen değerlendirme
+     */
+    private static class PendingReview {
+        private final Long restaurantId;
+        private final String restaurantName;
+        private final int rating;
+        private final String comment;
+        private final LocalDateTime date;
+        private final String error;
+
+        PendingReview(Long restaurantId, String restaurantName, int rating, String comment, LocalDateTime date) {
+            this.restaurantId = restaurantId;
+            this.restaurantName = restaurantName;
+            this.rating = rating;
+            this.comment = comment;
+            this.date = date;
+            this.error = null;
+        }
+
+        private PendingReview(String error) {
+            this.restaurantId = null;
+            this.restaurantName = null;
+            this.rating = 0;
+            this.comment = null;
+            this.date = null;
+            this.error = error;
+        }
+
+        static PendingReview rejected(String error) {
+            return new PendingReview(error);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.service;
+
+/**
+ * Bir değerlendirme eklendiğinde, güncellendiğinde veya silindiğinde yayınlanan olay.
+ * Önbellekler, sıralama indeksleri ve istatistik anlık görüntüsü gibi
+ * türetilmiş yapılar bu olayı dinleyerek kendini günceller.
+ */
+public class ReviewChangedEvent {
+
+    /**
+     * Değişiklik tipi
+     */
+    public enum Type {
+        ADDED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long reviewId;
+    private final Long restaurantId;
+    private final Long previousRestaurantId;
+    private final Integer previousRating;
+    private final Integer rating;
+
+    public ReviewChangedEvent(Type type, Long reviewId, Long restaurantId, Long previousRestaurantId,
+                              Integer previousRating, Integer rating) {
+        this.type = type;
+        this.reviewId = reviewId;
+        this.restaurantId = restaurantId;
+        this.previousRestaurantId = previousRestaurantId;
+        this.previousRating = previousRating;
+        this.rating = rating;
+    }
+
+    public static ReviewChangedEvent added(Long reviewId, Long restaurantId, Integer rating) {
+        return new ReviewChangedEvent(Type.ADDED, reviewId, restaurantId, null, null, rating);
+    }
+
+    public static ReviewChangedEvent updated(Long reviewId, Long restaurantId, Long previousRestaurantId,
+                                             Integer previousRating, Integer rating) {
+        return new ReviewChangedEvent(Type.UPDATED, reviewId, restaurantId, previousRestaurantId, previousRating, rating);
+    }
+
+    public static ReviewChangedEvent deleted(Long reviewId, Long restaurantId, Integer previousRating) {
+        return new ReviewChangedEvent(Type.DELETED, reviewId, restaurantId, restaurantId, previousRating, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    /**
+     * Değerlendirmenin (silme sonrası: silinen değerlendirmenin) restoran ID'si
+     */
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    /**
+     * Değişiklikten önceki restoran ID'si (ekleme için null)
+     */
+    public Long getPreviousRestaurantId() {
+        return previousRestaurantId;
+    }
+
+    /**
+     * Değişiklikten önceki puan (ekleme için null)
+     */
+    public Integer getPreviousRating() {
+        return previousRating;
+    }
+
+    /**
+     * Değişiklikten sonraki puan (silme için null)
+     */
+    public Integer getRating() {
+        return rating;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewChangedEvent{" +
+                "type=" + type +
+                ", reviewId=" + reviewId +
+                ", restaurantId=" + restaurantId +
+                ", previousRating=" + previousRating +
+                ", rating=" + rating +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.ReviewRepository;
+import com.example.demo.util.AppLogger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Değerlendirmeleri satır satır JSON (NDJSON) olarak dışa aktaran servis.
+ * Kayıtlar veritabanından akış olarak okunup doğrudan çıktıya yazıldığından
+ * bellek kullanımı tablo boyutundan bağımsızdır.
+ */
+@Service
+public class ReviewExportService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ReviewExportService.class);
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final ReviewRepository reviewRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public ReviewExportService(ReviewRepository reviewRepository, ObjectMapper objectMapper) {
+        this.reviewRepository = reviewRepository;
+        this.objectMapper = objectMapper;
+        // Her satırdan sonra flush yapılmaz, belirli aralıklarla toplu yazılır
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Değerlendirmeleri NDJSON formatında verilen çıktıya yazar.
+     * Akışlı okuma için işlem açık tutulur; çıktı akışı kapatılmaz.
+     *
+     * @param since Sadece bu zamandan sonra değişen kayıtlar (null ise tümü)
+     * @param out Yazılacak çıktı akışı
+     * @return Yazılan satır sayısı
+     * @throws IOException yazma hatası durumunda
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(LocalDateTime since, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long written = 0;
+
+        try (Stream<ReviewRepository.ExportRow> rows = since == null
+                    ? reviewRepository.streamAllForExport()
+                    : reviewRepository.streamForExportSince(since);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            // Çıktı akışını servlet yönetir, burada kapatılmamalı
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<ReviewRepository.ExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        LOGGER.info("{} değerlendirme dışa aktarıldı ({} ms, since: {})",
+                written, System.currentTimeMillis() - startTime, since);
+        return written;
+    }
+}
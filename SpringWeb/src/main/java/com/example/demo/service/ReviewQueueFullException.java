@@ -0,0 +1,22 @@
+package com.example.demo.service;
+
+/**
+ * Gecikmeli yazma kuyruğu dolu olduğunda fırlatılan istisna.
+ * İstemcinin ne kadar sonra yeniden denemesi gerektiğini taşır.
+ */
+public class ReviewQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReviewQueueFullException(int capacity, long retryAfterSeconds) {
+        super("Değerlendirme kuyruğu dolu (" + capacity + " kayıt), " + retryAfterSeconds + " saniye sonra tekrar deneyin");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Yeniden deneme için önerilen bekleme süresi (saniye)
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,541 @@
+package com.example.demo.service;
+
+import com.example.demo.util.AppLogger;
+import com.example.demo.util.TurkishTextAnalyzer;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Değerlendirme yorumları için bellekte tutulan ters indeks (terim → yorum ID'leri).
+ * Yorumlar {@link TurkishTextAnalyzer} ile terimlere ayrılır; her terimin ID listesi artan sırada tutulan
+ * bir int dizisidir. Sorgudaki tüm terimleri içeren yorumlar en yeniden eskiye doğru, en kısa listeden
+ * başlayıp diğer listelerde ikili arama yapılarak bulunur; sayfa dolunca durulur. Bu yüzden sorgu süresi
+ * tablo boyutuyla değil, sayfa boyutu ve liste uzunluklarının logaritmasıyla büyür.
+ * <p>
+ * Açılışta ve veri geri yüklendiğinde veritabanından arka planda kurulur: yorumlar ID sırasıyla parça parça
+ * okunur, parçalar compute havuzunda paralel çözümlenip sırayla indekse eklenir. Kurulum sürerken sorgular
+ * önceki indeksten yanıtlanır. Değerlendirme yazmalarında ilgili satırlar yeniden okunarak indeks güncellenir:
+ * yeni yorumlar listelerin sonuna eklenir; güncellenen yorumun eski terimleri listelerde kaldığından yorumun
+ * güncel terimleri ayrıca tutulur ve eşleşmeler bunlarla doğrulanır, silinen yorumlar işaretlenir.
+ * Güncellenen ve silinen yorumlar belirli bir orana ulaşınca indeks yeniden kurularak sıkıştırılır.
+ */
+@Component
+public class ReviewSearchIndex {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ReviewSearchIndex.class);
+    private static final int[] EMPTY = new int[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorRegistry executors;
+    private final int chunkRows;
+    private final double compactRatio;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Kurulum sürerken gelen yazmalar; yeni indeks devreye girince yeniden uygulanır
+    private final Set<Long> changedDuringRebuild = new LinkedHashSet<>();
+    // Kurulum sürerken gelen yeniden kurulum isteği; kurulum bitince bir kez daha kurulur
+    private boolean rebuildPending;
+    private volatile Segment segment = new Segment();
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    @Autowired
+    public ReviewSearchIndex(JdbcTemplate jdbcTemplate, ExecutorRegistry executors,
+                             @Value("${app.search.chunk-rows:10000}") int chunkRows,
+                             @Value("${app.search.compact-ratio:0.1}") double compactRatio) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executors = executors;
+        this.chunkRows = Math.max(100, chunkRows);
+        this.compactRatio = compactRatio;
+    }
+
+    /**
+     * Uygulama hazır olduğunda indeksi arka planda kurar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuildAsync();
+    }
+
+    /**
+     * İndeksi arka planda yeniden kurar. Kurulum sürüyorsa istek bekletilir ve mevcut kurulum bitince
+     * indeks bir kez daha kurulur; böylece kurulumun okuduğu satırlardan sonra gelen değişiklikler
+     * (geri yükleme, anahtarları bilinmeyen toplu ekleme) kaybolmaz.
+     *
+     * @return Kurulum hemen başlatıldıysa true, bekletildiyse false
+     */
+    public boolean rebuildAsync() {
+        synchronized (this) {
+            if (rebuilding.get()) {
+                rebuildPending = true;
+                return false;
+            }
+            rebuilding.set(true);
+        }
+        CompletableFuture.runAsync(this::runRebuild, executors.io());
+        return true;
+    }
+
+    /**
+     * Sıkıştırma için kurulum başlatır; zaten kuruluyorsa yeni indeks sıkıştırılmış olacağından bekletilmez
+     */
+    private boolean compactAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        CompletableFuture.runAsync(this::runRebuild, executors.io());
+        return true;
+    }
+
+    private void runRebuild() {
+        long startTime = System.currentTimeMillis();
+        Segment built = null;
+        try {
+            built = build();
+        } catch (RuntimeException e) {
+            LOGGER.error("Yorum arama indeksi kurulamadı: {}", e.getMessage(), e);
+        }
+        boolean again;
+        synchronized (this) {
+            if (built != null) {
+                segment = built;
+                ready = true;
+                if (!changedDuringRebuild.isEmpty()) {
+                    apply(built, new ArrayList<>(changedDuringRebuild));
+                }
+            }
+            changedDuringRebuild.clear();
+            again = rebuildPending;
+            rebuildPending = false;
+            rebuilding.set(again);
+        }
+        if (built != null) {
+            lastBuildMillis = System.currentTimeMillis() - startTime;
+            LOGGER.info("Yorum arama indeksi kuruldu: {} yorum, {} terim ({} ms)",
+                    built.documentCount, built.postings.size(), lastBuildMillis);
+        }
+        if (again) {
+            LOGGER.info("Kurulum sırasında yeni kurulum istendi, yorum arama indeksi yeniden kuruluyor");
+            CompletableFuture.runAsync(this::runRebuild, executors.io());
+        }
+    }
+
+    /**
+     * Yorumları ID sırasıyla parça parça okur. Her parça compute havuzunda çözümlenir; parçalar okundukları
+     * sırayla eklendiğinden ID listeleri sıralama gerektirmeden artan kalır.
+     */
+    private Segment build() {
+        Segment built = new Segment();
+        int parallelism = Math.max(1, executors.compute().getMaximumPoolSize());
+        Deque<CompletableFuture<AnalyzedChunk>> inFlight = new ArrayDeque<>();
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, comment FROM reviews WHERE id > ? ORDER BY id LIMIT " + chunkRows,
+                    (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2)}, lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+            inFlight.addLast(CompletableFuture.supplyAsync(() -> AnalyzedChunk.of(rows), executors.compute()));
+            if (inFlight.size() >= parallelism * 2) {
+                inFlight.removeFirst().join().addTo(built);
+            }
+            if (rows.size() < chunkRows) {
+                break;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            inFlight.removeFirst().join().addTo(built);
+        }
+        built.trim();
+        return built;
+    }
+
+    /**
+     * Verilen yorumları veritabanından yeniden okuyup indeksi günceller; bulunamayanlar silinmiş sayılır
+     *
+     * @param reviewIds Değerlendirme ID'leri
+     */
+    public void refresh(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.addAll(reviewIds);
+            }
+            if (!ready) {
+                return;
+            }
+        }
+        Segment current = segment;
+        apply(current, reviewIds);
+        if (current.staleCount() > Math.max(1000, current.documentCount * compactRatio) && compactAsync()) {
+            LOGGER.info("Yorum arama indeksi sıkıştırılıyor ({} güncel olmayan kayıt)", current.staleCount());
+        }
+    }
+
+    private void apply(Segment target, Collection<Long> reviewIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(reviewIds));
+        for (int from = 0; from < ids.size(); from += chunkRows) {
+            List<Long> part = ids.subList(from, Math.min(ids.size(), from + chunkRows));
+            Map<Long, String> comments = new HashMap<>();
+            jdbcTemplate.query("SELECT id, comment FROM reviews WHERE id IN ("
+                            + String.join(",", Collections.nCopies(part.size(), "?")) + ")",
+                    rs -> {
+                        comments.put(rs.getLong(1), rs.getString(2));
+                    }, part.toArray());
+            for (Long id : part) {
+                if (comments.containsKey(id)) {
+                    target.index(docId(id), TurkishTextAnalyzer.terms(comments.get(id)));
+                } else {
+                    target.delete(docId(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Veritabanında artık bulunmayan yorumları indekste silinmiş olarak işaretler
+     * (örn. restoran silinirken birlikte silinen değerlendirmeler)
+     *
+     * @param reviewIds Değerlendirme ID'leri
+     */
+    public void remove(Collection<Long> reviewIds) {
+        synchronized (this) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.addAll(reviewIds);
+            }
+        }
+        Segment current = segment;
+        for (Long id : reviewIds) {
+            current.delete(docId(id));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getReviewId() != null) {
+            refresh(List.of(event.getReviewId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewBatchInserted(ReviewBatchInsertedEvent event) {
+        if (event.getReviewIds().isEmpty()) {
+            // Sürücü üretilen anahtarları döndürmediyse hangi yorumların eklendiği bilinmez
+            rebuildAsync();
+        } else {
+            refresh(event.getReviewIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataRestored(DataRestoredEvent event) {
+        rebuildAsync();
+    }
+
+    /**
+     * Sorgudaki tüm terimleri içeren yorumların ID'lerini en yeniden eskiye döner
+     *
+     * @param query Arama metni
+     * @param beforeId Yalnızca bu ID'den küçük yorumlar (ilk sayfa için null)
+     * @param limit En fazla sonuç sayısı
+     * @return Yorum ID'leri; sorgu yalnızca durak sözcüklerinden oluşuyorsa boş
+     * @throws IllegalStateException indeks henüz kurulmadıysa
+     */
+    public List<Long> search(String query, Long beforeId, int limit) {
+        if (!ready) {
+            throw new IllegalStateException("Yorum arama indeksi henüz hazır değil");
+        }
+        List<String> terms = TurkishTextAnalyzer.terms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int before = beforeId == null || beforeId > Integer.MAX_VALUE ? Integer.MAX_VALUE : beforeId.intValue();
+        return segment.search(terms, before, limit);
+    }
+
+    /**
+     * İndeksin kurulup kullanıma hazır olup olmadığını belirtir
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Yorum, terim, güncel olmayan kayıt sayıları ve tahmini bellek kullanımı
+     */
+    public Map<String, Object> getStats() {
+        Segment current = segment;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("rebuilding", rebuilding.get());
+        stats.put("documents", current.documentCount);
+        stats.put("terms", current.postings.size());
+        stats.put("postings", current.postingCount());
+        stats.put("updatedDocuments", current.overrideCount());
+        stats.put("deletedDocuments", current.deletedCount());
+        stats.put("estimatedMegabytes", current.estimatedBytes() / (1024 * 1024));
+        stats.put("lastBuildMillis", lastBuildMillis);
+        return stats;
+    }
+
+    /**
+     * ID'ler int dizilerde tutulduğundan int aralığını aşan ID'ler desteklenmez
+     */
+    private static int docId(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    /**
+     * Bir terimin içinde geçtiği yorumların artan sıralı ID listesi
+     */
+    static final class Postings {
+        private int[] ids = EMPTY;
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            ensureCapacity();
+            ids[size++] = id;
+        }
+
+        private void insert(int position, int id) {
+            ensureCapacity();
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+        }
+
+        boolean contains(int id, int toIndex) {
+            return Arrays.binarySearch(ids, 0, toIndex, id) >= 0;
+        }
+
+        void trim() {
+            if (ids.length != size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+    }
+
+    /**
+     * İndeksin kendisi. Okumalar ve yazmalar okuma/yazma kilidiyle korunur;
+     * yeniden kurulumda yenisi kilitsiz hazırlanıp referans değiştirilerek devreye alınır.
+     */
+    static final class Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final BitSet indexed = new BitSet();
+        private final BitSet deleted = new BitSet();
+        // Güncellenen yorumların güncel terimleri; listelerdeki eski terimler bunlarla doğrulanır
+        private final Map<Integer, Set<String>> overrides = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private int documentCount;
+
+        void index(int id, List<String> terms) {
+            lock.writeLock().lock();
+            try {
+                if (indexed.get(id)) {
+                    overrides.put(id, new HashSet<>(terms));
+                    deleted.clear(id);
+                } else {
+                    indexed.set(id);
+                    documentCount++;
+                }
+                for (String term : terms) {
+                    postings.computeIfAbsent(term, key -> new Postings()).add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void delete(int id) {
+            lock.writeLock().lock();
+            try {
+                if (indexed.get(id) && !deleted.get(id)) {
+                    deleted.set(id);
+                    overrides.remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(List<String> terms, int before, int limit) {
+            lock.readLock().lock();
+            try {
+                Postings[] lists = new Postings[terms.size()];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(terms.get(i));
+                    if (lists[i] == null) {
+                        return List.of();
+                    }
+                }
+                Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+                // En kısa listede geriye doğru yürünür; diğer listelerde arama aralığı her adımda daralır
+                Postings shortest = lists[0];
+                int[] bounds = new int[lists.length];
+                for (int i = 0; i < lists.length; i++) {
+                    bounds[i] = lists[i].size;
+                }
+                int start = Arrays.binarySearch(shortest.ids, 0, shortest.size, before);
+                start = start >= 0 ? start - 1 : -start - 2;
+
+                List<Long> result = new ArrayList<>(Math.min(limit, 1024));
+                for (int p = start; p >= 0 && result.size() < limit; p--) {
+                    int id = shortest.ids[p];
+                    if (deleted.get(id) || !inAll(lists, bounds, id)) {
+                        continue;
+                    }
+                    Set<String> current = overrides.get(id);
+                    if (current != null && !current.containsAll(terms)) {
+                        continue;
+                    }
+                    result.add((long) id);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static boolean inAll(Postings[] lists, int[] bounds, int id) {
+            for (int i = 1; i < lists.length; i++) {
+                int position = Arrays.binarySearch(lists[i].ids, 0, bounds[i], id);
+                if (position < 0) {
+                    // ID'ler azalarak gezildiğinden bu noktanın üstü bir daha aranmaz
+                    bounds[i] = -position - 1;
+                    return false;
+                }
+                bounds[i] = position;
+            }
+            return true;
+        }
+
+        void trim() {
+            postings.values().forEach(Postings::trim);
+        }
+
+        int staleCount() {
+            lock.readLock().lock();
+            try {
+                return overrides.size() + deleted.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long postingCount() {
+            lock.readLock().lock();
+            try {
+                return postings.values().stream().mapToLong(list -> list.size).sum();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int overrideCount() {
+            lock.readLock().lock();
+            try {
+                return overrides.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int deletedCount() {
+            lock.readLock().lock();
+            try {
+                return deleted.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Kaba bellek tahmini: ID dizileri ve terim başına sabit ek yük
+         */
+        long estimatedBytes() {
+            lock.readLock().lock();
+            try {
+                long bytes = (indexed.size() + deleted.size()) / 8;
+                for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                    bytes += 16L + entry.getValue().ids.length * 4L + 48 + entry.getKey().length() * 2L;
+                }
+                return bytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Bir parçadaki yorumların çözümlenmiş terimleri
+     */
+    private static final class AnalyzedChunk {
+        private final int[] ids;
+        private final List<List<String>> terms;
+
+        private AnalyzedChunk(int[] ids, List<List<String>> terms) {
+            this.ids = ids;
+            this.terms = terms;
+        }
+
+        static AnalyzedChunk of(List<Object[]> rows) {
+            int[] ids = new int[rows.size()];
+            List<List<String>> terms = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                ids[i] = docId((Long) rows.get(i)[0]);
+                terms.add(TurkishTextAnalyzer.terms((String) rows.get(i)[1]));
+            }
+            return new AnalyzedChunk(ids, terms);
+        }
+
+        void addTo(Segment segment) {
+            for (int i = 0; i < ids.length; i++) {
+                segment.index(ids[i], terms.get(i));
+            }
+        }
+    }
+}
@@ -4,28 +4,49 @@ import com.example.demo.model.Restaurant;
 import com.example.demo.model.Review;
 import com.example.demo.repository.RestaurantRepository;
 import com.example.demo.repository.ReviewRepository;
+import com.example.demo.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class ReviewService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReviewService.class);
+    
+    // Tarih sıralı ilk sayfa için tüm kayıtlardan sonra gelen bir üst sınır
+    private static final LocalDateTime FIRST_PAGE_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     private final ReviewRepository reviewRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewWriteQueue reviewWriteQueue;
+    private final ReviewSearchIndex reviewSearchIndex;
 
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository, RestaurantRepository restaurantRepository) {
+    public ReviewService(ReviewRepository reviewRepository, RestaurantRepository restaurantRepository,
+                         RatingAggregateService ratingAggregateService, ApplicationEventPublisher eventPublisher,
+                         ReviewWriteQueue reviewWriteQueue, ReviewSearchIndex reviewSearchIndex) {
         this.reviewRepository = reviewRepository;
         this.restaurantRepository = restaurantRepository;
+        this.ratingAggregateService = ratingAggregateService;
+        this.eventPublisher = eventPublisher;
+        this.reviewWriteQueue = reviewWriteQueue;
+        this.reviewSearchIndex = reviewSearchIndex;
     }
 
     /**
@@ -46,6 +67,105 @@ public class ReviewService {
         return reviewRepository.findAllByOrderByDateDesc();
     }
 
+    /**
+     * Değerlendirmeleri imleç tabanlı (keyset) sayfalama ile getirir.
+     * OFFSET kullanılmadığından derin sayfalar da ilk sayfa kadar ucuzdur.
+     * 
+     * @param sort Sıralama: "id", "rating" veya "date" (en yeni önce)
+     * @param after Önceki sayfanın imleci (ilk sayfa için null)
+     * @param limit Sayfa boyutu
+     * @return Değerlendirme sayfası
+     * @throws IllegalArgumentException sıralama veya imleç geçersizse
+     */
+    public CursorPage<Review> getReviewPage(String sort, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor cursor = after == null || after.isBlank() ? null : KeysetCursor.decode(after);
+        Pageable fetchLimit = PageRequest.of(0, pageSize + 1);
+        LOGGER.debug("Değerlendirme sayfası getiriliyor: sıralama={}, limit={}", sort, pageSize);
+        
+        switch (sort == null ? "id" : sort) {
+            case "id":
+                return CursorPage.of(
+                        reviewRepository.findPageOrderById(cursor == null ? 0L : cursor.getId(), fetchLimit),
+                        pageSize, r -> KeysetCursor.of(r.getId(), r.getId()));
+            case "rating":
+                return CursorPage.of(
+                        reviewRepository.findPageOrderByRating(
+                                cursor == null ? Integer.MAX_VALUE : cursor.getIntValue(),
+                                cursor == null ? 0L : cursor.getId(),
+                                fetchLimit),
+                        pageSize, r -> KeysetCursor.of(r.getRating(), r.getId()));
+            case "date":
+                return CursorPage.of(findPageOrderByDate(cursor, pageSize + 1),
+                        pageSize, r -> KeysetCursor.of(r.getDate(), r.getId()));
+            default:
+                throw new IllegalArgumentException("Geçersiz sıralama: " + sort);
+        }
+    }
+
+    /**
+     * Tarihli değerlendirmeleri en yeniden eskiye, ardından tarihi olmayanları ID'ye göre azalan
+     * sırada getirir (NULLS LAST). Tarihli kayıtlar bittiğinde sayfa tarihsiz kayıtlarla doldurulur;
+     * değeri boş imleç tarihsiz kısımda kalındığını belirtir.
+     */
+    private List<Review> findPageOrderByDate(KeysetCursor cursor, int count) {
+        if (cursor != null && !cursor.hasValue()) {
+            return reviewRepository.findUndatedPage(cursor.getId(), PageRequest.of(0, count));
+        }
+        List<Review> rows = new ArrayList<>(reviewRepository.findPageOrderByDate(
+                cursor == null ? FIRST_PAGE_DATE : cursor.getDateTimeValue(),
+                cursor == null ? Long.MAX_VALUE : cursor.getId(),
+                PageRequest.of(0, count)));
+        if (rows.size() < count) {
+            rows.addAll(reviewRepository.findUndatedPage(Long.MAX_VALUE, PageRequest.of(0, count - rows.size())));
+        }
+        return rows;
+    }
+
+    /**
+     * Yorum metninde arama yapar; sorgudaki tüm sözcükleri (çekimli biçimleri dahil) içeren
+     * değerlendirmeler en yeniden eskiye sayfa sayfa döner.
+     * İndeks veritabanının gerisinde kalıp artık bulunmayan ID'ler verdiyse bunlar indeksten
+     * çıkarılıp sayfa yeniden doldurulur.
+     * 
+     * @param query Arama metni
+     * @param after Önceki sayfanın imleci (ilk sayfa için null)
+     * @param limit Sayfa boyutu
+     * @return Değerlendirme sayfası
+     * @throws IllegalArgumentException imleç geçersizse
+     * @throws IllegalStateException arama indeksi henüz kurulmadıysa
+     */
+    public CursorPage<Review> searchReviews(String query, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Long beforeId = after == null || after.isBlank() ? null : KeysetCursor.decode(after).getId();
+        LOGGER.debug("Yorumlarda aranıyor: '{}', limit={}", query, pageSize);
+
+        List<Review> rows = new ArrayList<>(pageSize + 1);
+        while (rows.size() <= pageSize) {
+            List<Long> ids = reviewSearchIndex.search(query, beforeId, pageSize + 1 - rows.size());
+            if (ids.isEmpty()) {
+                break;
+            }
+            Map<Long, Review> found = new HashMap<>();
+            reviewRepository.findAllById(ids).forEach(review -> found.put(review.getId(), review));
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                Review review = found.get(id);
+                if (review != null) {
+                    rows.add(review);
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                break;
+            }
+            reviewSearchIndex.remove(missing);
+            beforeId = ids.get(ids.size() - 1);
+        }
+        return CursorPage.of(rows, pageSize, r -> KeysetCursor.of(r.getId(), r.getId()));
+    }
+
     /**
      * ID'ye göre değerlendirme bulur
      * 
@@ -58,30 +178,32 @@ public class ReviewService {
     }
 
     /**
-     * Restoran adına göre değerlendirmeleri bulur
+     * Restoran adına göre değerlendirmeleri bulur.
+     * Ad, benzersiz indeksli restoran tablosunda ID'ye çevrilir; değerlendirmeler ID ile okunur.
      * 
      * @param restaurantName Restoran adı
-     * @return Restoran değerlendirmelerinin listesi
+     * @return Restoran değerlendirmelerinin listesi (en yeni önce)
      */
     public List<Review> getReviewsByRestaurantName(String restaurantName) {
-        return reviewRepository.findByRestaurantName(restaurantName);
+        return restaurantRepository.findIdByName(restaurantName)
+            .map(reviewRepository::findByRestaurantIdOrderByDateDesc)
+            .orElse(List.of());
     }
 
     /**
      * Restoran ID'sine göre değerlendirmeleri bulur
      * 
      * @param restaurantId Restoran ID'si
-     * @return Restoran değerlendirmelerinin listesi
+     * @return Restoran değerlendirmelerinin listesi (en yeni önce)
      */
     public List<Review> getReviewsByRestaurantId(Long restaurantId) {
-        // Önce restoran varlığını kontrol et
-        return restaurantRepository.findById(restaurantId)
-            .map(restaurant -> reviewRepository.findByRestaurantName(restaurant.getName()))
-            .orElse(List.of());
+        return reviewRepository.findByRestaurantIdOrderByDateDesc(restaurantId);
     }
 
     /**
-     * Yeni bir değerlendirme ekler
+     * Yeni bir değerlendirme ekler veya ID'si olan bir değerlendirmeyi günceller.
+     * Restoran puanı tüm değerlendirmeler yeniden okunmadan, toplamlara
+     * artımlı değişiklik uygulanarak güncellenir.
      * 
      * @param review Eklenecek değerlendirme
      * @return Eklenen değerlendirme
@@ -101,51 +223,73 @@ public class ReviewService {
             }
         }
         
+        // Restoran ID'si eksikse ad üzerinden bul, toplamlar ID ile tutulur
+        if (review.getRestaurantId() == null) {
+            review.setRestaurantId(resolveRestaurantId(review));
+        }
+        
         // Tarih bilgisi eksikse şimdiki zamanı ayarla
         if (review.getCreatedAt() == null) {
             review.setCreatedAt(LocalDateTime.now());
         }
+        review.setUpdatedAt(LocalDateTime.now());
+        
+        // Var olan bir değerlendirme ise eski puanı al (fark uygulamak için)
+        Optional<ReviewRepository.RatingSnapshot> previous = review.getId() != null
+                ? reviewRepository.findRatingSnapshotById(review.getId())
+                : Optional.empty();
         
         // Değerlendirmeyi kaydet
         Review savedReview = reviewRepository.save(review);
         
-        // Restoranın ortalama puanını güncelle
-        if (review.getRestaurantId() != null) {
-            Optional<Restaurant> restaurantOpt = restaurantRepository.findById(review.getRestaurantId());
-            if (restaurantOpt.isPresent()) {
-                Restaurant restaurant = restaurantOpt.get();
-                
-                // Bu restoranın tüm değerlendirmelerini al
-                List<Review> allReviews = reviewRepository.findByRestaurantId(review.getRestaurantId());
-                
-                // Değerlendirmeleri manuel olarak hesapla
-                double totalRating = 0;
-                for (Review r : allReviews) {
-                    totalRating += r.getRating();
-                }
-                double newAverageRating = totalRating / allReviews.size();
-                
-                // Restoranın puanını güncelle
-                restaurant.setRating(newAverageRating);
-                restaurantRepository.save(restaurant);
+        // Restoranın toplamlarını güncelle
+        if (previous.isPresent()) {
+            // Restoran ID'si boş kayıtlar hiçbir restoranın toplamına dahil değildir
+            Long previousRestaurantId = previous.get().getRestaurantId();
+            if (previousRestaurantId == null) {
+                ratingAggregateService.reviewAdded(savedReview.getRestaurantId(), savedReview.getRating());
+            } else {
+                applyRatingChange(previousRestaurantId, previous.get().getRating(),
+                        savedReview.getRestaurantId(), savedReview.getRating());
             }
+            eventPublisher.publishEvent(ReviewChangedEvent.updated(savedReview.getId(),
+                    savedReview.getRestaurantId(), previousRestaurantId,
+                    previous.get().getRating(), savedReview.getRating()));
+        } else {
+            ratingAggregateService.reviewAdded(savedReview.getRestaurantId(), savedReview.getRating());
+            eventPublisher.publishEvent(ReviewChangedEvent.added(savedReview.getId(),
+                    savedReview.getRestaurantId(), savedReview.getRating()));
         }
         
         return savedReview;
     }
     
     /**
-     * Yeni bir değerlendirme ekler
+     * Yeni bir değerlendirme ekler.
+     * Gecikmeli yazma modu açıksa (app.reviews.write-behind.enabled) değerlendirme kuyruğa
+     * alınır ve arka planda toplu olarak yazılır; bu durumda null döner.
      * 
      * @param review Eklenecek değerlendirme
-     * @return Eklenen değerlendirme
+     * @return Eklenen değerlendirme, kuyruğa alındıysa null
+     * @throws ReviewQueueFullException kuyruk doluysa
      */
     @Transactional
     public Review addReview(Review review) {
-        // Mevcut metot ismi değişti
+        if (reviewWriteQueue.isEnabled() && review.getId() == null) {
+            reviewWriteQueue.submit(new ReviewBatchItem(review.getRestaurantId(), review.getRestaurantName(),
+                    review.getRating(), review.getComment(), review.getDate()));
+            return null;
+        }
         return saveReview(review);
     }
     
+    /**
+     * Yeni değerlendirmelerin kuyruğa alınıp arka planda yazılıp yazılmadığını belirtir
+     */
+    public boolean isWriteBehindEnabled() {
+        return reviewWriteQueue.isEnabled();
+    }
+    
     /**
      * Bir değerlendirmeyi günceller
      * 
@@ -161,6 +305,8 @@ public class ReviewService {
         }
         
         Review review = optionalReview.get();
+        int oldRating = review.getRating();
+        Long previousRestaurantId = review.getRestaurantId();
         
         // Değerlendirmeyi güncelle
         if (reviewDetails.getRating() >= 1 && reviewDetails.getRating() <= 5) {
@@ -173,12 +319,23 @@ public class ReviewService {
         
         // Tarihi güncelle
         review.setDate(LocalDateTime.now());
+        review.setUpdatedAt(review.getDate());
+        
+        if (review.getRestaurantId() == null) {
+            review.setRestaurantId(resolveRestaurantId(review));
+        }
         
         // Güncellenmiş değerlendirmeyi kaydet
         Review savedReview = reviewRepository.save(review);
         
-        // Restoran puanını güncelle
-        updateRestaurantRating(review.getRestaurantName());
+        // Restoran puanını güncelle; ID'si yeni bulunan kayıt toplamlara ilk kez eklenir
+        if (previousRestaurantId == null) {
+            ratingAggregateService.reviewAdded(savedReview.getRestaurantId(), savedReview.getRating());
+        } else {
+            ratingAggregateService.ratingChanged(savedReview.getRestaurantId(), oldRating, savedReview.getRating());
+        }
+        eventPublisher.publishEvent(ReviewChangedEvent.updated(savedReview.getId(), savedReview.getRestaurantId(),
+                previousRestaurantId, oldRating, savedReview.getRating()));
         
         return savedReview;
     }
@@ -191,62 +348,98 @@ public class ReviewService {
     @Transactional
     public void deleteReview(Long id) {
         reviewRepository.findById(id).ifPresent(review -> {
-            String restaurantName = review.getRestaurantName();
+            Long restaurantId = review.getRestaurantId();
+            int rating = review.getRating();
             reviewRepository.delete(review);
             
-            // Restoranın ortalama puanını güncelle
-            updateRestaurantRating(restaurantName);
+            // Restoranın ortalama puanını güncelle (ID'si olmayan kayıt toplamlarda yer almaz)
+            if (restaurantId != null) {
+                ratingAggregateService.reviewRemoved(restaurantId, rating);
+            }
+            eventPublisher.publishEvent(ReviewChangedEvent.deleted(id, restaurantId, rating));
         });
     }
 
     /**
-     * Restoran adına göre tüm değerlendirmeleri siler
+     * Bir restoranın tüm değerlendirmelerini tek sorguda siler.
+     * Restoran silinirken kullanılır; restoranın kendisi de silineceği için toplamlar güncellenmez.
      * 
-     * @param restaurantName Değerlendirmeleri silinecek restoran adı
+     * @param restaurantId Değerlendirmeleri silinecek restoranın ID'si
+     * @return Silinen değerlendirme sayısı
      */
     @Transactional
-    public void deleteReviewsByRestaurantName(String restaurantName) {
-        List<Review> reviews = reviewRepository.findByRestaurantName(restaurantName);
-        if (!reviews.isEmpty()) {
-            reviews.forEach(reviewRepository::delete);
+    public int deleteReviewsByRestaurantId(Long restaurantId) {
+        int deleted = reviewRepository.deleteByRestaurantId(restaurantId);
+        LOGGER.debug("Restorana ait {} değerlendirme silindi: {}", deleted, restaurantId);
+        return deleted;
+    }
+
+    /**
+     * Restoran yeniden adlandırıldığında değerlendirmelerde tutulan ad kopyasını günceller.
+     * İlişki restaurant_id üzerinden kurulduğu için yeniden adlandırma değerlendirmeleri koparmaz.
+     * 
+     * @param restaurantId Restoran ID'si
+     * @param restaurantName Yeni restoran adı
+     */
+    @Transactional
+    public void syncRestaurantName(Long restaurantId, String restaurantName) {
+        int updated = reviewRepository.updateRestaurantName(restaurantId, restaurantName, LocalDateTime.now());
+        if (updated > 0) {
+            LOGGER.debug("{} değerlendirmede restoran adı güncellendi: {}", updated, restaurantName);
         }
     }
 
     /**
-     * Bir restoranın ortalama puanını hesaplar ve günceller
+     * Bir restoranın puan toplamlarını değerlendirmelerden yeniden hesaplar ve günceller.
+     * Normal yazma işlemleri artımlı güncelleme kullanır; bu metot tek bir restoranı onarmak içindir.
+     * 
+     * @param restaurantId Restoran ID'si
+     */
+    @Transactional
+    public void updateRestaurantRating(Long restaurantId) {
+        double averageRating = ratingAggregateService.rebuild(restaurantId);
+        LOGGER.info("Restoran puanı yeniden hesaplandı: {} - Yeni puan: {}", restaurantId, averageRating);
+    }
+
+    /**
+     * Bir restoranın puan toplamlarını restoran adıyla yeniden hesaplar
      * 
      * @param restaurantName Restoran adı
      */
     @Transactional
     public void updateRestaurantRating(String restaurantName) {
-        System.out.println("Restoran puanı güncelleniyor: " + restaurantName);
-        
-        List<Review> reviews = reviewRepository.findByRestaurantName(restaurantName);
-        System.out.println("Bulunan değerlendirme sayısı: " + reviews.size());
-        
-        if (!reviews.isEmpty()) {
-            double totalRating = 0.0;
-            for (Review review : reviews) {
-                totalRating += review.getRating();
-            }
-            double averageRating = totalRating / reviews.size();
-            
-            System.out.println("Hesaplanan ortalama puan: " + averageRating);
-            
-            restaurantRepository.findByName(restaurantName).ifPresent(restaurant -> {
-                restaurant.setRating(averageRating);
-                restaurantRepository.save(restaurant);
-                System.out.println("Restoran puanı başarıyla güncellendi: " + restaurantName + " - Yeni puan: " + averageRating);
-            });
+        restaurantRepository.findIdByName(restaurantName).ifPresent(this::updateRestaurantRating);
+    }
+
+    /**
+     * Eski ve yeni değerlendirme bilgilerine göre toplamlara farkı uygular.
+     * Restoran değiştiyse eski restorandan çıkarılıp yenisine eklenir.
+     */
+    private void applyRatingChange(Long oldRestaurantId, int oldRating, Long newRestaurantId, int newRating) {
+        if (Objects.equals(oldRestaurantId, newRestaurantId)) {
+            ratingAggregateService.ratingChanged(newRestaurantId, oldRating, newRating);
         } else {
-            restaurantRepository.findByName(restaurantName).ifPresent(restaurant -> {
-                restaurant.setRating(0.0);
-                restaurantRepository.save(restaurant);
-                System.out.println("Değerlendirme bulunamadı, restoran puanı sıfırlandı: " + restaurantName);
-            });
+            ratingAggregateService.reviewRemoved(oldRestaurantId, oldRating);
+            ratingAggregateService.reviewAdded(newRestaurantId, newRating);
         }
     }
 
+    /**
+     * Değerlendirmenin ait olduğu restoranın ID'sini bulur
+     */
+    private Long resolveRestaurantId(Review review) {
+        if (review.getRestaurantId() != null) {
+            return review.getRestaurantId();
+        }
+        if (review.getRestaurant() != null && review.getRestaurant().getId() != null) {
+            return review.getRestaurant().getId();
+        }
+        if (review.getRestaurantName() != null) {
+            return restaurantRepository.findIdByName(review.getRestaurantName()).orElse(null);
+        }
+        return null;
+    }
+
     /**
      * Belirli bir puanın üzerindeki değerlendirmeleri bulur
      * 
@@ -272,17 +465,7 @@ public class ReviewService {
      * @return Ortalama puan
      */
     public double getAverageRating() {
-        List<Review> allReviews = reviewRepository.findAll();
-        if (allReviews.isEmpty()) {
-            return 0.0;
-        }
-        
-        double totalRating = 0.0;
-        for (Review review : allReviews) {
-            totalRating += review.getRating();
-        }
-        
-        return totalRating / allReviews.size();
+        return reviewRepository.summarizeRatings().getAverageRating();
     }
 
     /**
@@ -295,21 +478,15 @@ public class ReviewService {
     }
 
     /**
-     * Belirli bir restoran için değerlendirme sayısını getirir
+     * Belirli bir restoran için değerlendirme sayısını getirir.
+     * Sayı restoran satırında tutulan toplamlardan okunur.
      * 
      * @param restaurantId Restoran ID'si
      * @return Restoran için değerlendirme sayısı
      */
     public long getReviewCountForRestaurant(Long restaurantId) {
-        Optional<Restaurant> restaurantOpt = restaurantRepository.findById(restaurantId);
-        
-        if (restaurantOpt.isEmpty()) {
-            return 0;
-        }
-        
-        String restaurantName = restaurantOpt.get().getName();
-        List<Review> reviews = reviewRepository.findByRestaurantName(restaurantName);
-        
-        return reviews.size();
+        return restaurantRepository.findById(restaurantId)
+                .map(Restaurant::getReviewCount)
+                .orElse(0L);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,661 @@
+package com.example.demo.service;
+
+import com.example.demo.util.AppLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Değerlendirmeler için gecikmeli yazma (write-behind) kuyruğu.
+ * Etkinleştirildiğinde kabul edilen değerlendirmeler sınırlı bir bellek kuyruğuna alınır,
+ * arka plandaki yazıcı bunları toplu olarak ekler ve restoran toplamlarını restoran başına
+ * tek güncellemeyle uygular. Kuyruk doluysa yeni kayıt alınmaz (geri basınç).
+ * İsteğe bağlı günlük dosyası kabul edilen kayıtları diske ekleyerek yeniden başlatmada
+ * yazılmamış kayıtların kaybolmasını önler. Günlük her kontrol noktasında boşaltılır veya
+ * yazılmış kayıtlar bekleyenlerden fazla yer tutuyorsa yalnızca bekleyen kısım yeni dosyaya
+ * kopyalanarak sıkıştırılır; böylece sürekli yük altında da dosya sınırsız büyümez.
+ * Yazıcı, {@link ExecutorRegistry} üzerinde oluşturulan tek iş parçacıklı "review-writer" havuzunda
+ * çalışır; bu bean kayıt defterinden önce kapandığından kuyruk, havuzlar kapanmadan boşaltılır.
+ */
+@Service
+public class ReviewWriteQueue implements MeterBinder {
+
+    private static final Logger LOGGER = AppLogger.getLogger(ReviewWriteQueue.class);
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+    private static final int MAX_ATTEMPTS = 3;
+    // Günlük, yazılmış kayıtlar bu boyutu ve bekleyen kısmı aşınca sıkıştırılır
+    private static final long JOURNAL_COMPACT_MIN_BYTES = 1024 * 1024;
+    static final String WRITER_POOL = "review-writer";
+
+    private final ReviewBatchService reviewBatchService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long retryBackoffMillis;
+    private final long shutdownTimeoutMillis;
+    private final Path journalPath;
+    private final Path checkpointPath;
+    private final boolean journalFsync;
+    private final ThreadPoolExecutor writerPool;
+
+    private final BlockingQueue<QueuedReview> queue;
+    private final Object journalLock = new Object();
+    private final List<QueuedReview> inFlight = new ArrayList<>();
+    private FileChannel journal;
+    // Günlük dosyasının boyutu ve dosya başının sıkıştırmalar dahil toplam yazılan bayt içindeki konumu
+    private long journalSize;
+    private long journalBase;
+    private long lastSeq;
+    private volatile long lastCommittedSeq;
+    private volatile boolean running;
+    private Future<?> writer;
+    // Yazıcı iş parçacığına ait: art arda başarısız deneme sayısı ve geçerli toplu işlem sınırı
+    private int attempts;
+    private int batchLimit;
+
+    // Ölçümler
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedFullCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong invalidCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalDrainMillis = new AtomicLong();
+    private volatile long lastDrainMillis;
+    private volatile long maxDrainMillis;
+    private volatile long lastQueueLatencyMillis;
+    private volatile long maxQueueLatencyMillis;
+    private volatile double itemsPerSecond;
+    private volatile Timer drainTimer;
+    private volatile Timer queueLatencyTimer;
+
+    @Autowired
+    public ReviewWriteQueue(ReviewBatchService reviewBatchService,
+                            ObjectMapper objectMapper,
+                            ExecutorRegistry executors,
+                            @Value("${app.reviews.write-behind.enabled:false}") boolean enabled,
+                            @Value("${app.reviews.write-behind.capacity:10000}") int capacity,
+                            @Value("${app.reviews.write-behind.batch-size:500}") int batchSize,
+                            @Value("${app.reviews.write-behind.retry-backoff-ms:1000}") long retryBackoffMillis,
+                            @Value("${app.reviews.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                            @Value("${app.reviews.write-behind.journal-path:}") String journalPath,
+                            @Value("${app.reviews.write-behind.journal-fsync:false}") boolean journalFsync) {
+        this.reviewBatchService = reviewBatchService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, reviewBatchService.getMaxBatchSize()));
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.journalPath = journalPath == null || journalPath.isBlank() ? null : Paths.get(journalPath);
+        this.checkpointPath = this.journalPath == null ? null
+                : this.journalPath.resolveSibling(this.journalPath.getFileName() + ".checkpoint");
+        this.journalFsync = journalFsync;
+        this.batchLimit = this.batchSize;
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        // Havuz kayıt defterine aittir; ölçümleri diğer havuzlarla birlikte raporlanır ve kapanışta beklenir
+        this.writerPool = enabled
+                ? executors.createPool(WRITER_POOL, 1, 1, 1, new ThreadPoolExecutor.AbortPolicy())
+                : null;
+        if (enabled) {
+            openJournal();
+        }
+    }
+
+    /**
+     * Gecikmeli yazma modunun açık olup olmadığını belirtir (app.reviews.write-behind.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Değerlendirmeyi yazılmak üzere kuyruğa alır
+     *
+     * @param item Eklenecek değerlendirme
+     * @throws ReviewQueueFullException kuyruk doluysa
+     * @throws IllegalArgumentException kayıt eksik veya geçersizse
+     * @throws IllegalStateException gecikmeli yazma kapalıysa
+     */
+    public void submit(ReviewBatchItem item) {
+        if (!enabled) {
+            throw new IllegalStateException("Gecikmeli yazma modu kapalı");
+        }
+        if (item.getRestaurantId() == null
+                && (item.getRestaurantName() == null || item.getRestaurantName().isBlank())) {
+            throw new IllegalArgumentException("Restoran ID'si veya adı belirtilmelidir");
+        }
+        if (item.getRating() == null || item.getRating() < 1 || item.getRating() > 5) {
+            throw new IllegalArgumentException("Puan 1-5 arasında olmalıdır");
+        }
+
+        // Kuyruktan sadece yazıcı eleman aldığı için kilit altında kontrol edilen boş yer kaybolmaz;
+        // böylece günlüğe yazılan her kayıt kuyruğa da girer
+        synchronized (journalLock) {
+            if (queue.remainingCapacity() == 0) {
+                rejectedFullCount.incrementAndGet();
+                throw new ReviewQueueFullException(capacity, estimateRetryAfterSeconds());
+            }
+            QueuedReview queued = new QueuedReview(++lastSeq, item);
+            appendToJournal(queued);
+            queue.add(queued);
+        }
+        acceptedCount.incrementAndGet();
+    }
+
+    /**
+     * Kuyruğun mevcut yazma hızına göre yeniden deneme süresini tahmin eder
+     *
+     * @return Önerilen bekleme süresi (1-60 saniye)
+     */
+    public long estimateRetryAfterSeconds() {
+        double rate = itemsPerSecond;
+        if (rate <= 0) {
+            return 1;
+        }
+        long seconds = (long) Math.ceil(getDepth() / rate);
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+
+    /**
+     * Yazılmayı bekleyen kayıt sayısı (yeniden denenen toplu işlem dahil)
+     */
+    public int getDepth() {
+        synchronized (inFlight) {
+            return queue.size() + inFlight.size();
+        }
+    }
+
+    /**
+     * Kuyruk derinliği, yazma gecikmesi ve sayaçları döner
+     *
+     * @return Kuyruk ölçümleri
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("depth", getDepth());
+        stats.put("capacity", capacity);
+        stats.put("acceptedCount", acceptedCount.get());
+        stats.put("rejectedFullCount", rejectedFullCount.get());
+        stats.put("writtenCount", writtenCount.get());
+        stats.put("invalidCount", invalidCount.get());
+        stats.put("batchCount", batchCount.get());
+        stats.put("failedBatchCount", failedBatchCount.get());
+        stats.put("droppedCount", droppedCount.get());
+        long batches = batchCount.get();
+        stats.put("averageDrainMillis", batches > 0 ? (double) totalDrainMillis.get() / batches : 0.0);
+        stats.put("lastDrainMillis", lastDrainMillis);
+        stats.put("maxDrainMillis", maxDrainMillis);
+        stats.put("lastQueueLatencyMillis", lastQueueLatencyMillis);
+        stats.put("maxQueueLatencyMillis", maxQueueLatencyMillis);
+        stats.put("itemsPerSecond", itemsPerSecond);
+        stats.put("journal", journalPath != null ? journalPath.toString() : null);
+        stats.put("lastCommittedSeq", lastCommittedSeq);
+        stats.put("journalBytes", journalSize);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.review.queue.depth", this, ReviewWriteQueue::getDepth)
+                .description("Yazılmayı bekleyen değerlendirme sayısı").register(registry);
+        Gauge.builder("app.review.queue.journal.size", this, q -> q.journalSize)
+                .baseUnit("bytes").description("Değerlendirme günlüğü dosya boyutu").register(registry);
+        drainTimer = Timer.builder("app.review.queue.drain")
+                .description("Bir toplu işlemin veritabanına yazılma süresi")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        queueLatencyTimer = Timer.builder("app.review.queue.latency")
+                .description("Kabulden veritabanına yazılana kadar geçen süre")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Uygulama hazır olduğunda yazıcı iş parçacığını başlatır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = writerPool.submit(this::drainLoop);
+        LOGGER.info("Değerlendirme yazma kuyruğu başlatıldı (kapasite {}, toplu boyut {}, günlük {})",
+                capacity, batchSize, journalPath != null ? journalPath : "kapalı");
+    }
+
+    /**
+     * Yazıcıyı durdurur; kuyrukta kalan kayıtlar zaman aşımına kadar yazılmaya çalışılır.
+     * Yazılamayanlar günlük açıksa bir sonraki başlangıçta yeniden yüklenir.
+     */
+    @PreDestroy
+    public void stop() {
+        Future<?> task;
+        synchronized (this) {
+            running = false;
+            task = writer;
+            writer = null;
+        }
+        if (task != null) {
+            try {
+                task.get(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.warn("Değerlendirme kuyruğu zamanında boşaltılamadı, {} kayıt bekliyor", getDepth());
+                task.cancel(true);
+            } catch (ExecutionException e) {
+                LOGGER.error("Değerlendirme yazıcısı beklenmedik şekilde durdu: {}", e.getCause().getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                task.cancel(true);
+            }
+        }
+        synchronized (journalLock) {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Değerlendirme günlüğü kapatılamadı: {}", e.getMessage());
+                }
+                journal = null;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean hasWork;
+            synchronized (inFlight) {
+                hasWork = !inFlight.isEmpty() || !queue.isEmpty();
+            }
+            if (!running && !hasWork) {
+                break;
+            }
+            try {
+                if (!fillBatch()) {
+                    continue;
+                }
+                writeBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failedBatchCount.incrementAndGet();
+                LOGGER.error("Değerlendirme kuyruğu yazılamadı, {} ms sonra tekrar denenecek: {}",
+                        retryBackoffMillis, e.getMessage(), e);
+                handleFailure();
+                if (!running) {
+                    // Kapanırken başarısız toplu işlem bekletilmez; günlük açıksa kayıtlar korunur
+                    break;
+                }
+                try {
+                    Thread.sleep(retryBackoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        LOGGER.info("Değerlendirme yazma kuyruğu durdu");
+    }
+
+    /**
+     * Önceki başarısız toplu işlem yoksa kuyruktan yeni bir toplu işlem oluşturur
+     *
+     * @return Yazılacak kayıt varsa true
+     */
+    private boolean fillBatch() throws InterruptedException {
+        synchronized (inFlight) {
+            if (!inFlight.isEmpty()) {
+                return true;
+            }
+        }
+        QueuedReview first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        synchronized (inFlight) {
+            inFlight.add(first);
+            queue.drainTo(inFlight, batchSize - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Aynı toplu işlem art arda başarısız olursa kayıtlar tek tek denenir;
+     * tek başına da yazılamayan kayıt atlanır, böylece bozuk bir kayıt kuyruğu kilitlemez
+     */
+    private void handleFailure() {
+        if (++attempts < MAX_ATTEMPTS) {
+            return;
+        }
+        attempts = 0;
+        if (batchLimit > 1) {
+            batchLimit = 1;
+            LOGGER.warn("Değerlendirme toplu işlemi tekrar tekrar başarısız oldu, kayıtlar tek tek denenecek");
+            return;
+        }
+        QueuedReview dropped;
+        synchronized (inFlight) {
+            dropped = inFlight.isEmpty() ? null : inFlight.remove(0);
+        }
+        if (dropped != null) {
+            droppedCount.incrementAndGet();
+            LOGGER.error("Yazılamayan değerlendirme kuyruktan çıkarıldı (sıra {}, restoran {}, puan {})",
+                    dropped.seq, dropped.item.getRestaurantId() != null
+                            ? dropped.item.getRestaurantId() : dropped.item.getRestaurantName(),
+                    dropped.item.getRating());
+            if (isInFlightEmpty()) {
+                commit(dropped.seq);
+            }
+        }
+    }
+
+    private boolean isInFlightEmpty() {
+        synchronized (inFlight) {
+            return inFlight.isEmpty();
+        }
+    }
+
+    private void writeBatch() {
+        List<QueuedReview> batch;
+        synchronized (inFlight) {
+            batch = new ArrayList<>(inFlight.subList(0, Math.min(batchLimit, inFlight.size())));
+        }
+        List<ReviewBatchItem> items = new ArrayList<>(batch.size());
+        for (QueuedReview queued : batch) {
+            items.add(queued.item);
+        }
+
+        long startTime = System.currentTimeMillis();
+        ReviewBatchResult result = reviewBatchService.insertReviews(items);
+        long finishedAt = System.currentTimeMillis();
+
+        for (ReviewBatchResult.ItemError error : result.getErrors()) {
+            ReviewBatchItem item = items.get(error.getIndex());
+            LOGGER.warn("Kuyruktaki değerlendirme reddedildi (restoran {}): {}",
+                    item.getRestaurantId() != null ? item.getRestaurantId() : item.getRestaurantName(),
+                    error.getMessage());
+        }
+
+        long drainMillis = finishedAt - startTime;
+        long queueLatency = finishedAt - batch.get(0).enqueuedAt;
+        attempts = 0;
+        boolean drained;
+        synchronized (inFlight) {
+            inFlight.subList(0, batch.size()).clear();
+            drained = inFlight.isEmpty();
+        }
+        if (drained) {
+            // Kontrol noktası sadece önceki tüm kayıtlar yazıldığında ilerletilir
+            batchLimit = batchSize;
+            commit(batch.get(batch.size() - 1).seq);
+        }
+
+        writtenCount.addAndGet(result.getInsertedCount());
+        invalidCount.addAndGet(result.getErrors().size());
+        batchCount.incrementAndGet();
+        totalDrainMillis.addAndGet(drainMillis);
+        lastDrainMillis = drainMillis;
+        maxDrainMillis = Math.max(maxDrainMillis, drainMillis);
+        lastQueueLatencyMillis = queueLatency;
+        maxQueueLatencyMillis = Math.max(maxQueueLatencyMillis, queueLatency);
+        double rate = batch.size() * 1000.0 / Math.max(1, drainMillis);
+        itemsPerSecond = itemsPerSecond == 0 ? rate : itemsPerSecond * 0.8 + rate * 0.2;
+        Timer timer = drainTimer;
+        if (timer != null) {
+            timer.record(drainMillis, TimeUnit.MILLISECONDS);
+            queueLatencyTimer.record(queueLatency, TimeUnit.MILLISECONDS);
+        }
+        LOGGER.debug("Değerlendirme kuyruğundan {} kayıt yazıldı ({} ms, kuyrukta {} ms bekledi)",
+                batch.size(), drainMillis, queueLatency);
+    }
+
+    // ---- Günlük dosyası ----
+
+    /**
+     * Günlüğü açar ve son kontrol noktasından sonra kabul edilmiş kayıtları yeniden yükler.
+     * Günlük yalnızca yüklenen kayıtlarla yeniden yazılır; yazılmış ve okunamayan satırlar atılır.
+     */
+    private void openJournal() {
+        if (journalPath == null) {
+            return;
+        }
+        try {
+            if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+            long checkpoint = readCheckpoint();
+            lastCommittedSeq = checkpoint;
+            lastSeq = checkpoint;
+            List<QueuedReview> recovered = new ArrayList<>();
+            if (Files.exists(journalPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+                    String line;
+                    int lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            ObjectNode node = (ObjectNode) objectMapper.readTree(line);
+                            long seq = node.remove("seq").asLong();
+                            lastSeq = Math.max(lastSeq, seq);
+                            if (seq > checkpoint) {
+                                recovered.add(new QueuedReview(seq,
+                                        objectMapper.treeToValue(node, ReviewBatchItem.class)));
+                            }
+                        } catch (Exception e) {
+                            // Çökme sırasında yarım kalan son satır atlanır
+                            LOGGER.warn("Değerlendirme günlüğünde okunamayan satır atlandı: {}", lineNumber);
+                        }
+                    }
+                }
+            }
+            Path temp = compactPath();
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                // Kuyruğa sığmayan en eski kayıtlar ilk toplu işleme alınır; kayıtlar sırayla yazılır ve
+                // kontrol noktası kendisinden önceki bir kaydı atlamaz
+                int overflow = Math.max(0, recovered.size() - capacity);
+                for (int i = 0; i < recovered.size(); i++) {
+                    QueuedReview queued = recovered.get(i);
+                    queued.journalOffset = journalSize;
+                    journalSize += writeRecord(out, queued);
+                    if (i < overflow) {
+                        inFlight.add(queued);
+                    } else {
+                        queue.add(queued);
+                    }
+                }
+                out.force(true);
+            }
+            Files.move(temp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal = openAppend();
+            if (!recovered.isEmpty()) {
+                LOGGER.info("Değerlendirme günlüğünden {} yazılmamış kayıt yeniden yüklendi", recovered.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Değerlendirme günlüğü açılamadı: " + journalPath, e);
+        }
+    }
+
+    private void appendToJournal(QueuedReview queued) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            queued.journalOffset = journalBase + journalSize;
+            journalSize += writeRecord(journal, queued);
+            if (journalFsync) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Değerlendirme günlüğüne yazılamadı", e);
+        }
+    }
+
+    /**
+     * Kaydı tek satır JSON olarak yazar
+     *
+     * @return Yazılan bayt sayısı
+     */
+    private int writeRecord(FileChannel channel, QueuedReview queued) throws IOException {
+        ObjectNode node = objectMapper.valueToTree(queued.item);
+        node.put("seq", queued.seq);
+        byte[] line = (objectMapper.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return line.length;
+    }
+
+    private FileChannel openAppend() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path compactPath() {
+        return journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+    }
+
+    /**
+     * Yazılan son kaydın sıra numarasını kontrol noktasına kaydeder.
+     * Kuyruk tamamen boşaldığında günlük sıfırlanır; boşalmadıysa ve yazılmış kayıtlar hem
+     * {@link #JOURNAL_COMPACT_MIN_BYTES} değerini hem de bekleyen kısmı aşıyorsa günlük sıkıştırılır.
+     * Kontrol noktasından sonraki kayıtlar yalnızca yazıcı bu kilidi tutarken kuyruktan çıkar ve
+     * günlüğe kabul sırasıyla eklenir; bu yüzden bekleyen kayıtlar dosyanın sonunda bitişik durur.
+     */
+    private void commit(long seq) {
+        lastCommittedSeq = seq;
+        if (journalPath == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            try {
+                Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+                Files.writeString(temp, Long.toString(seq), StandardCharsets.UTF_8);
+                Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (journal != null) {
+                    QueuedReview firstPending = queue.peek();
+                    if (firstPending == null) {
+                        journal.truncate(0);
+                        journalBase += journalSize;
+                        journalSize = 0;
+                    } else {
+                        long written = firstPending.journalOffset - journalBase;
+                        if (written >= JOURNAL_COMPACT_MIN_BYTES && written >= journalSize - written) {
+                            compactJournal(written);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Kontrol noktası yazılamazsa kayıtlar yeniden başlatmada tekrar eklenebilir
+                LOGGER.error("Değerlendirme günlüğü kontrol noktası yazılamadı: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Günlüğün yazılmış baş kısmını atar: bekleyen kısım geçici dosyaya kopyalanıp diske zorlanır,
+     * ardından atomik olarak günlüğün yerine taşınır. Taşımadan önce çökülürse eski günlük ve
+     * kontrol noktası geçerlidir; sonra çökülürse yeni günlükte yalnızca bekleyen kayıtlar vardır.
+     *
+     * @param written Atılacak bayt sayısı
+     */
+    private void compactJournal(long written) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Path temp = compactPath();
+        try (FileChannel source = FileChannel.open(journalPath, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = written;
+            while (position < journalSize) {
+                position += source.transferTo(position, journalSize - position, out);
+            }
+            out.force(true);
+        }
+        journal.close();
+        try {
+            Files.move(temp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalBase += written;
+            journalSize -= written;
+        } finally {
+            journal = openAppend();
+        }
+        LOGGER.debug("Değerlendirme günlüğü sıkıştırıldı: {} bayt atıldı, {} bayt kaldı ({} ms)",
+                written, journalSize, System.currentTimeMillis() - startTime);
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        String value = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim();
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Geçersiz değerlendirme günlüğü kontrol noktası yok sayıldı: {}", value);
+            return 0;
+        }
+    }
+
+    /**
+     * Kuyruktaki kayıt ve kabul bilgileri
+     */
+    private static class QueuedReview {
+        private final long seq;
+        private final ReviewBatchItem item;
+        private final long enqueuedAt;
+        // Günlükteki başlangıç konumu (sıkıştırmalar dahil toplam yazılan bayt içinde)
+        private long journalOffset;
+
+        QueuedReview(long seq, ReviewBatchItem item) {
+            this.seq = seq;
+            this.item = item;
+            this.enqueuedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.demo.service;
 
-import com.example.demo.model.Restaurant;
-import com.example.demo.model.Review;
 import com.example.demo.repository.RestaurantRepository;
 import com.example.demo.repository.ReviewRepository;
 import org.slf4j.Logger;
@@ -9,13 +7,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeMap;
 
 /**
  * İstatistik hesaplamaları için servis sınıfı.
  * Bu sınıf, uygulamadaki istatistikleri hesaplar.
+ * Tüm toplamlar veritabanında gruplu sorgularla hesaplanır; entity yüklenmez,
+ * böylece maliyet tablo boyutuna değil sorgu sayısına bağlı kalır.
  */
 @Service
 public class StatisticsService {
@@ -42,62 +42,53 @@ public class StatisticsService {
         
         // Farklı istatistikleri hesapla
         Long restaurantCount = restaurantRepository.count();
-        Long reviewCount = reviewRepository.count();
-        Double averageRating = calculateAverageRating();
+        ReviewRepository.RatingSummary ratingSummary = reviewRepository.summarizeRatings();
         Map<String, Long> reviewsByLocation = getReviewCountByLocation();
+        Map<Integer, Long> reviewsByRating = getReviewCountByRating();
         
         Map<String, Object> result = new HashMap<>();
         result.put("restaurantCount", restaurantCount);
-        result.put("reviewCount", reviewCount);
-        result.put("averageRating", averageRating);
+        result.put("reviewCount", ratingSummary.getReviewCount());
+        result.put("averageRating", ratingSummary.getAverageRating());
+        result.put("minRating", ratingSummary.getMinRating());
+        result.put("maxRating", ratingSummary.getMaxRating());
         result.put("reviewsByLocation", reviewsByLocation);
+        result.put("reviewsByRating", reviewsByRating);
+        result.put("averageRestaurantRating", restaurantRepository.averageRestaurantRating());
+        result.put("topRatedRestaurants", restaurantRepository.findTop5ByRatingGreaterThanOrderByRatingDescIdAsc(0.0));
+        result.put("mostReviewedRestaurants",
+                restaurantRepository.findTop5ByReviewCountGreaterThanOrderByReviewCountDescIdAsc(0L));
         
         LOGGER.debug("İstatistik hesaplama tamamlandı");
         return result;
     }
     
     /**
-     * Ortalama puanı hesaplar.
+     * Konuma göre değerlendirme sayılarını hesaplar.
      * 
-     * @return Ortalama puan
+     * @return Konum başına değerlendirme sayısı
      */
-    private Double calculateAverageRating() {
-        List<Review> allReviews = reviewRepository.findAll();
-        if (allReviews.isEmpty()) {
-            return 0.0;
+    private Map<String, Long> getReviewCountByLocation() {
+        Map<String, Long> result = new HashMap<>();
+        for (RestaurantRepository.LocationSummary summary : restaurantRepository.summarizeByLocation()) {
+            result.put(summary.getLocation(), summary.getReviewCount() != null ? summary.getReviewCount() : 0L);
         }
-        
-        return allReviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return result;
     }
     
     /**
-     * Konuma göre değerlendirme sayılarını hesaplar.
+     * Puan başına değerlendirme sayılarını hesaplar (1-5 arası tüm puanlar dahil).
      * 
-     * @return Konum başına değerlendirme sayısı
+     * @return Puan başına değerlendirme sayısı
      */
-    private Map<String, Long> getReviewCountByLocation() {
-        List<Restaurant> restaurants = restaurantRepository.findAll();
-        Map<String, Long> result = new HashMap<>();
-        
-        for (Restaurant restaurant : restaurants) {
-            String location = restaurant.getLocation();
-            if (location == null || location.isEmpty()) {
-                continue;
-            }
-            
-            int count = reviewRepository.findByRestaurantId(restaurant.getId()).size();
-            Long countLong = Long.valueOf(count);
-            
-            if (result.containsKey(location)) {
-                result.put(location, result.get(location) + countLong);
-            } else {
-                result.put(location, countLong);
-            }
+    private Map<Integer, Long> getReviewCountByRating() {
+        Map<Integer, Long> result = new TreeMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            result.put(rating, 0L);
+        }
+        for (Object[] row : reviewRepository.countByRating()) {
+            result.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
         }
-        
         return result;
     }
-} 
\ No newline at end of file
+}
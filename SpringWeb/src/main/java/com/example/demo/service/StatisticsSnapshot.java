@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Restaurant;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Son hesaplanan istatistiklerin değiştirilemez kopyası.
+ * Okuyucular arasında kilitsiz paylaşılır; yenileme yeni bir nesne üretir.
+ */
+public class StatisticsSnapshot {
+
+    private final Map<String, Object> values;
+    private final long computedAtMillis;
+    private final long computeMillis;
+
+    public StatisticsSnapshot(Map<String, Object> statistics, long computedAtMillis, long computeMillis) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        statistics.forEach((key, value) -> copy.put(key, freeze(value)));
+        this.values = Collections.unmodifiableMap(copy);
+        this.computedAtMillis = computedAtMillis;
+        this.computeMillis = computeMillis;
+    }
+
+    /**
+     * İç koleksiyonları da salt okunur hale getirir (sıralama korunur)
+     */
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+        if (value instanceof List<?> list) {
+            return List.copyOf(list);
+        }
+        return value;
+    }
+
+    /**
+     * Tüm istatistik değerleri (salt okunur)
+     */
+    public Map<String, Object> getValues() {
+        return values;
+    }
+
+    public long getRestaurantCount() {
+        return asLong(values.get("restaurantCount"));
+    }
+
+    public long getReviewCount() {
+        return asLong(values.get("reviewCount"));
+    }
+
+    public double getAverageRating() {
+        return asDouble(values.get("averageRating"));
+    }
+
+    public Integer getMinRating() {
+        Object value = values.get("minRating");
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    public Integer getMaxRating() {
+        Object value = values.get("maxRating");
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    public double getAverageRestaurantRating() {
+        return asDouble(values.get("averageRestaurantRating"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> getReviewsByLocation() {
+        return (Map<String, Long>) values.getOrDefault("reviewsByLocation", Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<Integer, Long> getReviewsByRating() {
+        return (Map<Integer, Long>) values.getOrDefault("reviewsByRating", Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Restaurant> getTopRatedRestaurants() {
+        return (List<Restaurant>) values.getOrDefault("topRatedRestaurants", List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Restaurant> getMostReviewedRestaurants() {
+        return (List<Restaurant>) values.getOrDefault("mostReviewedRestaurants", List.of());
+    }
+
+    /**
+     * Anlık görüntünün hesaplandığı zaman
+     */
+    public LocalDateTime getComputedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(computedAtMillis), ZoneId.systemDefault());
+    }
+
+    long getComputedAtMillis() {
+        return computedAtMillis;
+    }
+
+    /**
+     * Anlık görüntünün yaşı (milisaniye)
+     */
+    public long getAgeMillis() {
+        return Math.max(0, System.currentTimeMillis() - computedAtMillis);
+    }
+
+    /**
+     * Hesaplamanın sürdüğü zaman (milisaniye)
+     */
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    private static long asLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static double asDouble(Object value) {
+        return value == null ? 0.0 : ((Number) value).doubleValue();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * İstatistiklerin son hesaplanan halini bellekte tutan servis.
+ * Okuyucular hesaplama yapmadan hazır anlık görüntüyü alır.
+ * Değerlendirme ve restoran yazmaları anlık görüntüyü kirli olarak işaretler;
+ * zamanlanmış görev kirli veya süresi dolmuş görüntüyü arka planda yeniler.
+ */
+@Service
+public class StatisticsSnapshotService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(StatisticsSnapshotService.class);
+
+    private final StatisticsService statisticsService;
+    private final long maxAgeMillis;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final Object refreshLock = new Object();
+    private volatile StatisticsSnapshot snapshot;
+
+    @Autowired
+    public StatisticsSnapshotService(StatisticsService statisticsService,
+                                     @Value("${app.statistics.max-age-ms:300000}") long maxAgeMillis) {
+        this.statisticsService = statisticsService;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Son anlık görüntüyü döner. Henüz hesaplanmamışsa bir kez hesaplanır.
+     *
+     * @param fresh true ise anlık görüntü beklemeden yeniden hesaplanır
+     * @return İstatistik anlık görüntüsü
+     */
+    public StatisticsSnapshot getSnapshot(boolean fresh) {
+        StatisticsSnapshot current = snapshot;
+        if (fresh) {
+            return refresh(System.currentTimeMillis());
+        }
+        return current != null ? current : refresh(0L);
+    }
+
+    /**
+     * Son anlık görüntüyü döner
+     *
+     * @return İstatistik anlık görüntüsü
+     */
+    public StatisticsSnapshot getSnapshot() {
+        return getSnapshot(false);
+    }
+
+    /**
+     * Anlık görüntünün son hesaplamadan sonra değişen verileri yansıtmadığını belirtir
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Anlık görüntüyü kirli olarak işaretler; bir sonraki zamanlanmış çalışmada yenilenir
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewBatchInserted(ReviewBatchInsertedEvent event) {
+        markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataRestored(DataRestoredEvent event) {
+        markDirty();
+    }
+
+    /**
+     * Kirli veya app.statistics.max-age-ms değerinden eski anlık görüntüyü yeniler.
+     * Kontrol aralığı app.statistics.refresh-interval-ms ile ayarlanır.
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.refresh-interval-ms:30000}",
+               initialDelayString = "${app.statistics.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        StatisticsSnapshot current = snapshot;
+        if (current != null && !dirty.get() && current.getAgeMillis() < maxAgeMillis) {
+            return;
+        }
+        try {
+            refresh(System.currentTimeMillis());
+        } catch (Exception e) {
+            LOGGER.error("Zamanlanmış istatistik yenilemesi başarısız: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Anlık görüntüyü yeniden hesaplar. Aynı anda tek hesaplama yapılır;
+     * beklerken başka bir iş parçacığı istekten sonra başlayan bir hesaplama
+     * tamamladıysa onun sonucu kullanılır.
+     *
+     * @param requestedAt Yenilemenin istendiği zaman (milisaniye)
+     */
+    private StatisticsSnapshot refresh(long requestedAt) {
+        synchronized (refreshLock) {
+            StatisticsSnapshot current = snapshot;
+            if (current != null && current.getComputedAtMillis() >= requestedAt) {
+                return current;
+            }
+            // Hesaplama sırasında gelen yazmalar bayrağı yeniden kaldırır
+            dirty.set(false);
+            long startTime = System.currentTimeMillis();
+            StatisticsSnapshot computed;
+            try {
+                computed = new StatisticsSnapshot(statisticsService.calculateStatistics(), startTime,
+                        System.currentTimeMillis() - startTime);
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                throw e;
+            }
+            snapshot = computed;
+            LOGGER.debug("İstatistik anlık görüntüsü yenilendi ({} ms)", computed.getComputeMillis());
+            return computed;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.demo.service.backup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * app.data satırlarını doğrudan bayt tamponundan ayrıştıran yardımcı.
+ * Satır '|' ile alanlara bölünür; sayısal alanlar ve tarihler String oluşturmadan okunur,
+ * metin alanları yeniden kullanılan bir tampon üzerinden tek kopyayla çözülür.
+ * Metinlerde '\|', '\\', '\n' ve '\r' kaçış dizileri desteklenir. Etiket, sayı ve tarih alanlarının başındaki
+ * ve sonundaki boşluklar yok sayılır; metin alanları olduğu gibi okunur ki dışa aktarılan yorumlar aynen geri yüklensin.
+ * Örnek iş parçacığı güvenli değildir; her içe aktarma kendi örneğini kullanır.
+ */
+final class AppDataParser {
+
+    static final byte[] RESTAURANT_TAG = "RESTORAN".getBytes(StandardCharsets.UTF_8);
+    static final byte[] REVIEW_TAG = "DEĞERLENDİRME".getBytes(StandardCharsets.UTF_8);
+    static final int MAX_FIELDS = 8;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L};
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final boolean[] escaped = new boolean[MAX_FIELDS];
+    private byte[] scratch = new byte[1024];
+    private ByteBuffer buffer;
+    private int fieldCount;
+
+    /**
+     * Satırı alanlara böler
+     *
+     * @param buffer Satırı içeren tampon
+     * @param lineStart Satırın ilk baytı
+     * @param lineEnd Satır sonu (satır sonu karakterleri hariç)
+     * @return Alan sayısı
+     * @throws IllegalArgumentException alan sayısı sınırı aşılırsa
+     */
+    int split(ByteBuffer buffer, int lineStart, int lineEnd) {
+        this.buffer = buffer;
+        fieldCount = 0;
+        int fieldStart = lineStart;
+        boolean fieldEscaped = false;
+        for (int i = lineStart; i < lineEnd; i++) {
+            byte b = buffer.get(i);
+            if (b == '\\') {
+                fieldEscaped = true;
+                i++;
+            } else if (b == '|') {
+                addField(fieldStart, i, fieldEscaped);
+                fieldStart = i + 1;
+                fieldEscaped = false;
+            }
+        }
+        addField(fieldStart, lineEnd, fieldEscaped);
+        return fieldCount;
+    }
+
+    private void addField(int start, int end, boolean fieldEscaped) {
+        if (fieldCount == MAX_FIELDS) {
+            throw new IllegalArgumentException("Alan sayısı en fazla " + MAX_FIELDS + " olabilir");
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = fieldEscaped;
+        fieldCount++;
+    }
+
+    /**
+     * Etiket, sayı ve tarih alanları için baştaki boşluklar atlanmış başlangıç
+     * (elle düzenlenen dosyalarda sık görülür)
+     */
+    private int trimmedStart(int field) {
+        int start = starts[field];
+        int end = ends[field];
+        while (start < end && isSpace(buffer.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Etiket, sayı ve tarih alanları için sondaki boşluklar atlanmış bitiş
+     * (yalnızca boşluktan oluşan alanda başlangıçla aynı olur)
+     */
+    private int trimmedEnd(int field) {
+        int start = trimmedStart(field);
+        int end = ends[field];
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Alanın verilen baytlarla birebir aynı olup olmadığını belirtir
+     */
+    boolean fieldEquals(int field, byte[] expected) {
+        int start = trimmedStart(field);
+        if (trimmedEnd(field) - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isEmpty(int field) {
+        return ends[field] == starts[field];
+    }
+
+    /**
+     * Alanın boş ya da yalnızca boşluktan oluşup oluşmadığını belirtir (NULL sayı ve tarih alanları)
+     */
+    boolean isBlank(int field) {
+        return trimmedStart(field) == ends[field];
+    }
+
+    long parseLong(int field, String name) {
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field);
+        if (start == end || end - start > 18) {
+            throw new IllegalArgumentException(name + " geçerli bir sayı değil");
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException(name + " geçerli bir sayı değil");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    int parseInt(int field, String name) {
+        long value = parseLong(field, name);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(name + " çok büyük");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Ondalık sayıyı okur ("4.7" gibi). Üslü gösterimde standart ayrıştırıcıya düşülür.
+     */
+    double parseDouble(int field, String name) {
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field);
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (b >= '0' && b <= '9' && digits < 15) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else {
+                try {
+                    return Double.parseDouble(string(field).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " geçerli bir sayı değil");
+                }
+            }
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException(name + " geçerli bir sayı değil");
+        }
+        // Tam sayıların ondalık kuvvetine bölünmesi doğru yuvarlanmış sonuç verir
+        return fractionDigits > 0 ? (double) mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" veya "yyyy-MM-dd HH:mm" biçimindeki tarihi okur ('T' ayracı da kabul edilir)
+     */
+    LocalDateTime parseDateTime(int field, String name) {
+        int start = trimmedStart(field);
+        int length = trimmedEnd(field) - start;
+        if ((length != 16 && length != 19)
+                || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-'
+                || (buffer.get(start + 10) != ' ' && buffer.get(start + 10) != 'T')
+                || buffer.get(start + 13) != ':' || (length == 19 && buffer.get(start + 16) != ':')) {
+            throw new IllegalArgumentException(name + " yyyy-MM-dd HH:mm:ss biçiminde olmalı");
+        }
+        try {
+            return LocalDateTime.of(
+                    digits(start, 4, name), digits(start + 5, 2, name), digits(start + 8, 2, name),
+                    digits(start + 11, 2, name), digits(start + 14, 2, name),
+                    length == 19 ? digits(start + 17, 2, name) : 0);
+        } catch (java.time.DateTimeException e) {
+            throw new IllegalArgumentException(name + " geçerli bir tarih değil");
+        }
+    }
+
+    private int digits(int offset, int count, String name) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException(name + " geçerli bir tarih değil");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Alanı UTF-8 metin olarak çözer, kaçış dizilerini açar
+     */
+    String string(int field) {
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!escaped[field]) {
+            buffer.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        int out = 0;
+        for (int i = start; i < start + length; i++) {
+            byte b = buffer.get(i);
+            if (b == '\\' && i + 1 < start + length) {
+                byte next = buffer.get(++i);
+                scratch[out++] = next == 'n' ? (byte) '\n' : next == 'r' ? (byte) '\r' : next;
+            } else {
+                scratch[out++] = b;
+            }
+        }
+        return new String(scratch, 0, out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Metni app.data alanı olarak yazılabilecek hale getirir
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder result = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '|' -> "\\|";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (replacement != null && result == null) {
+                result = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (result != null) {
+                if (replacement != null) {
+                    result.append(replacement);
+                } else {
+                    result.append(c);
+                }
+            }
+        }
+        return result != null ? result.toString() : value;
+    }
+}
@@ -0,0 +1,553 @@
+package com.example.demo.service.backup;
+
+import com.example.demo.service.DataRestoredEvent;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobContext;
+import com.example.demo.service.job.JobRejectedException;
+import com.example.demo.service.job.JobService;
+import com.example.demo.util.AppLogger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * app.data biçimindeki ('|' ile ayrılmış RESTORAN / DEĞERLENDİRME satırları) dosyaları
+ * içe ve dışa aktaran servis.
+ * İçe aktarmada dosya pencereler halinde belleğe eşlenir, satırlar bayt düzeyinde ayrıştırılıp
+ * doğrudan JDBC toplu yazma komutlarına bağlanır; böylece bellek kullanımı dosya boyutundan bağımsızdır.
+ * Hatalı satırlar satır numarası ve nedeniyle birlikte ret dosyasına yazılır, geri kalanı tek işlemde yüklenir.
+ */
+@Service
+public class AppDataService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(AppDataService.class);
+    public static final String JOB_TYPE_IMPORT = "APP_DATA_IMPORT";
+    public static final String JOB_TYPE_EXPORT = "APP_DATA_EXPORT";
+    public static final String REJECT_SUFFIX = ".rejects";
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_COMMENT_LENGTH = 1000;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobService jobService;
+    private final Path dataDir;
+    private final int batchSize;
+    private final int fetchSize;
+
+    @Autowired
+    public AppDataService(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher,
+                          JobService jobService,
+                          @Value("${app.data.dir:.}") String dataDir,
+                          @Value("${app.data.batch-size:1000}") int batchSize,
+                          @Value("${app.backup.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.eventPublisher = eventPublisher;
+        this.jobService = jobService;
+        this.dataDir = Paths.get(dataDir);
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Veri klasöründeki app.data dosyasını arka planda içe aktarmaya başlar.
+     * Satırlar ID'ye göre eklenir ya da güncellenir; hatalı satırlar "dosya.rejects" dosyasına yazılır.
+     *
+     * @param fileName Veri klasöründeki dosyanın adı
+     * @return Başlatılan iş
+     * @throws IOException dosya adı geçersizse veya dosya okunamıyorsa
+     * @throws JobRejectedException veriyi değiştiren başka bir iş sürüyorsa
+     */
+    public Job startImport(String fileName) throws IOException {
+        Path source = resolve(fileName);
+        if (!Files.isReadable(source)) {
+            throw new IOException("İçe aktarılacak dosya bulunamadı: " + fileName);
+        }
+        Job job = jobService.submit(JOB_TYPE_IMPORT, fileName, true, context -> runImport(context, source));
+        LOGGER.info("İçe aktarma işi kuyruğa alındı: #{} ({})", job.getId(), fileName);
+        return job;
+    }
+
+    /**
+     * Restoranları ve değerlendirmeleri arka planda app.data biçiminde dışa aktarmaya başlar
+     *
+     * @param fileName Veri klasöründe oluşturulacak dosyanın adı (varsa üzerine yazılır)
+     * @return Başlatılan iş
+     * @throws IOException dosya adı geçersizse
+     */
+    public Job startExport(String fileName) throws IOException {
+        Path target = resolve(fileName);
+        Job job = jobService.submit(JOB_TYPE_EXPORT, fileName, false, context -> runExport(context, target));
+        LOGGER.info("Dışa aktarma işi kuyruğa alındı: #{} ({})", job.getId(), fileName);
+        return job;
+    }
+
+    /**
+     * Dosya adını veri klasöründe çözer; klasör dışına çıkan adlar reddedilir
+     */
+    Path resolve(String fileName) throws IOException {
+        if (fileName == null || fileName.isBlank() || fileName.contains("..")
+                || fileName.contains("/") || fileName.contains("\\")) {
+            throw new IOException("Geçersiz dosya adı: " + fileName);
+        }
+        return dataDir.resolve(fileName);
+    }
+
+    // ---- İçe aktarma ----
+
+    private String runImport(JobContext job, Path source) throws IOException {
+        Path rejectFile = source.resolveSibling(source.getFileName() + REJECT_SUFFIX);
+        Files.deleteIfExists(rejectFile);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String product = BackupService.databaseProduct(jdbc);
+        long size = Files.size(source);
+        job.setTotal(size);
+
+        ImportState state = new ImportState(rejectFile);
+        jdbc.query("SELECT id, name FROM restaurants", (RowCallbackHandler) rs ->
+                state.registerRestaurant(rs.getLong(1), rs.getString(2)));
+
+        job.setPhase("Dosya okunuyor");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            // Tüm dosya tek işlemde yüklenir; yarıda kalan içe aktarma veri bırakmaz
+            transaction.executeWithoutResult(status -> jdbc.execute((ConnectionCallback<Void>) connection -> {
+                try (BatchWriter writer = new BatchWriter(connection, product, batchSize)) {
+                    readFile(source, size, job, state, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            state.closeRejects();
+        }
+
+        job.setCancellable(false);
+        job.setPhase("Puanlar hesaplanıyor");
+        BulkRestore.recomputeRatingAggregates(jdbc, product);
+        BackupService.resetIdentities(jdbc);
+        long rows = state.restaurants + state.reviews;
+        eventPublisher.publishEvent(new DataRestoredEvent(source.getFileName().toString(), rows));
+        if (state.rejected > 0) {
+            job.log(state.rejected + " hatalı satır ret dosyasına yazıldı: " + rejectFile.getFileName());
+        }
+        return "Veri içe aktarıldı: " + source.getFileName() + " (" + state.restaurants + " restoran, "
+                + state.reviews + " değerlendirme, " + state.rejected + " hatalı satır, "
+                + job.getThroughput() + " bayt/sn)";
+    }
+
+    /**
+     * Dosyayı pencereler halinde belleğe eşleyip satır satır işler.
+     * Pencere sonunda yarım kalan satır bir sonraki pencerenin başına alınır.
+     */
+    private void readFile(Path source, long size, JobContext job, ImportState state, BatchWriter writer)
+            throws IOException {
+        AppDataParser parser = new AppDataParser();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            long lineNumber = 0;
+            while (position < size) {
+                long windowSize = Math.min(WINDOW_BYTES, size - position);
+                boolean lastWindow = position + windowSize == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int limit = (int) windowSize;
+                int lineStart = position == 0 ? skipByteOrderMark(buffer) : 0;
+                while (lineStart < limit) {
+                    int newline = indexOf(buffer, (byte) '\n', lineStart, limit);
+                    if (newline < 0) {
+                        if (!lastWindow) {
+                            if (lineStart == 0) {
+                                throw new IOException((lineNumber + 1) + ". satır çok uzun");
+                            }
+                            break;
+                        }
+                        newline = limit;
+                    }
+                    lineNumber++;
+                    int lineEnd = newline > lineStart && buffer.get(newline - 1) == '\r' ? newline - 1 : newline;
+                    processLine(parser, buffer, lineStart, lineEnd, lineNumber, state, writer);
+                    lineStart = newline + 1;
+                }
+                long consumed = Math.min(lineStart, limit);
+                position += consumed;
+                job.addProgress("bytes", consumed);
+                job.setCounter("restaurants", state.restaurants);
+                job.setCounter("reviews", state.reviews);
+                job.setCounter("rejected", state.rejected);
+                job.checkCancelled();
+            }
+        }
+        writer.flush();
+    }
+
+    private static int skipByteOrderMark(ByteBuffer buffer) {
+        return buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void processLine(AppDataParser parser, ByteBuffer buffer, int lineStart, int lineEnd, long lineNumber,
+                             ImportState state, BatchWriter writer) throws IOException {
+        if (lineStart == lineEnd || buffer.get(lineStart) == '#') {
+            return;
+        }
+        try {
+            parser.split(buffer, lineStart, lineEnd);
+            if (parser.fieldEquals(0, AppDataParser.RESTAURANT_TAG)) {
+                importRestaurant(parser, state, writer);
+            } else if (parser.fieldEquals(0, AppDataParser.REVIEW_TAG)) {
+                importReview(parser, state, writer);
+            } else {
+                throw new IllegalArgumentException("Bilinmeyen kayıt türü");
+            }
+        } catch (IllegalArgumentException e) {
+            byte[] raw = new byte[lineEnd - lineStart];
+            buffer.get(lineStart, raw);
+            state.reject(lineNumber, e.getMessage(), new String(raw, StandardCharsets.UTF_8));
+        } catch (SQLException e) {
+            throw new IOException(lineNumber + ". satır yazılamadı: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * RESTORAN|id|ad|konum|puan
+     */
+    private static void importRestaurant(AppDataParser parser, ImportState state, BatchWriter writer)
+            throws SQLException {
+        requireFields(parser, 5);
+        long id = parser.parseLong(1, "Restoran ID");
+        String name = parser.string(2);
+        String location = parser.string(3);
+        double rating = parser.parseDouble(4, "Puan");
+        if (id <= 0) {
+            throw new IllegalArgumentException("Restoran ID pozitif olmalı");
+        }
+        requireLength(name, "Restoran adı");
+        requireLength(location, "Restoran konumu");
+        if (rating < 0 || rating > 5) {
+            throw new IllegalArgumentException("Puan 0-5 arasında olmalı");
+        }
+        Long owner = state.idsByName.get(name);
+        if (owner != null && owner != id) {
+            throw new IllegalArgumentException("Restoran adı başka bir restorana ait (ID " + owner + ")");
+        }
+        state.registerRestaurant(id, name);
+        writer.addRestaurant(id, name, location, rating);
+        state.restaurants++;
+    }
+
+    /**
+     * DEĞERLENDİRME|id|restoran_id|restoran_adı|puan|yorum|tarih
+     * <p>
+     * Boş restoran ID'si hiçbir restorana bağlı olmayan değerlendirmeyi belirtir; adı bilinen
+     * bir restoranla eşleşirse ona bağlanır, eşleşmezse ad kopyasıyla bağsız olarak yüklenir.
+     * Boş tarih, tarihi olmayan eski değerlendirmeyi belirtir.
+     */
+    static void importReview(AppDataParser parser, ImportState state, BatchWriter writer)
+            throws SQLException {
+        requireFields(parser, 7);
+        long id = parser.parseLong(1, "Değerlendirme ID");
+        Long restaurantId = parser.isBlank(2) ? null : parser.parseLong(2, "Restoran ID");
+        int rating = parser.parseInt(4, "Puan");
+        LocalDateTime date = parser.isBlank(6) ? null : parser.parseDateTime(6, "Tarih");
+        if (id <= 0) {
+            throw new IllegalArgumentException("Değerlendirme ID pozitif olmalı");
+        }
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Puan 1-5 arasında olmalı");
+        }
+        String restaurantName;
+        if (restaurantId != null) {
+            // Restoran adı kayıtlı addan alınır; dosyadaki alan her satırda yeni bir String oluşturmaz
+            restaurantName = state.namesById.get(restaurantId);
+            if (restaurantName == null) {
+                throw new IllegalArgumentException("Restoran bulunamadı: " + restaurantId);
+            }
+        } else {
+            restaurantName = parser.isEmpty(3) ? null : parser.string(3);
+            restaurantId = restaurantName != null ? state.idsByName.get(restaurantName) : null;
+        }
+        String comment = parser.isEmpty(5) ? null : parser.string(5);
+        if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("Yorum en fazla " + MAX_COMMENT_LENGTH + " karakter olabilir");
+        }
+        writer.addReview(id, restaurantId, restaurantName, rating, comment, date);
+        state.reviews++;
+    }
+
+    private static void requireFields(AppDataParser parser, int expected) {
+        if (parser.fieldCount() != expected) {
+            throw new IllegalArgumentException(expected + " alan bekleniyordu, " + parser.fieldCount() + " bulundu");
+        }
+    }
+
+    private static void requireLength(String value, String name) {
+        if (value.length() < 2 || value.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(name + " 2-" + MAX_NAME_LENGTH + " karakter arasında olmalı");
+        }
+    }
+
+    // ---- Dışa aktarma ----
+
+    private String runExport(JobContext job, Path target) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        long[] rows = new long[2];
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            transaction.executeWithoutResult(status -> {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                jdbc.setFetchSize(fetchSize);
+                Long restaurantCount = jdbc.queryForObject("SELECT COUNT(*) FROM restaurants", Long.class);
+                Long reviewCount = jdbc.queryForObject("SELECT COUNT(*) FROM reviews", Long.class);
+                job.setTotal((restaurantCount != null ? restaurantCount : 0) + (reviewCount != null ? reviewCount : 0));
+                StringBuilder line = new StringBuilder(256);
+                try {
+                    writer.write("# RESTORAN DEĞERLENDİRME SİSTEMİ VERİ DOSYASI (" + LocalDateTime.now().format(DATE_FORMAT) + ")\n");
+                    writer.write("# RESTORAN: id|ad|konum|puan\n");
+                    writer.write("# DEĞERLENDİRME: id|restoran_id|restoran_adı|puan|yorum|tarih\n");
+                    writer.write("# Boş restoran_id restorana bağlı olmayan, boş tarih tarihi olmayan değerlendirmedir\n\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                job.setPhase("Restoranlar yazılıyor");
+                jdbc.query("SELECT id, name, location, rating FROM restaurants ORDER BY id", (RowCallbackHandler) rs -> {
+                    line.setLength(0);
+                    line.append("RESTORAN|").append(rs.getLong(1))
+                            .append('|').append(AppDataParser.escape(rs.getString(2)))
+                            .append('|').append(AppDataParser.escape(rs.getString(3)))
+                            .append('|').append(rs.getDouble(4)).append('\n');
+                    writeLine(writer, line, job, "restaurants", ++rows[0]);
+                });
+                job.addProgress("restaurants", rows[0] % batchSize);
+                job.setPhase("Değerlendirmeler yazılıyor");
+                jdbc.query("SELECT id, restaurant_id, restaurant_name, rating, comment, date FROM reviews ORDER BY id",
+                        (RowCallbackHandler) rs -> {
+                            long restaurantId = rs.getLong(2);
+                            Long owner = rs.wasNull() ? null : restaurantId;
+                            Timestamp date = rs.getTimestamp(6);
+                            line.setLength(0);
+                            appendReview(line, rs.getLong(1), owner, rs.getString(3), rs.getInt(4), rs.getString(5),
+                                    date != null ? date.toLocalDateTime() : null);
+                            writeLine(writer, line, job, "reviews", ++rows[1]);
+                        });
+                job.addProgress("reviews", rows[1] % batchSize);
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(partial);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return "Veri dışa aktarıldı: " + target.getFileName() + " (" + rows[0] + " restoran, " + rows[1]
+                + " değerlendirme, " + (Files.size(target) / 1024) + " KB)";
+    }
+
+    /**
+     * Değerlendirmeyi içe aktarmanın okuyabileceği satır olarak ekler.
+     * Boş restoran ID'si ve tarih NULL değerleri belirtir.
+     */
+    static void appendReview(StringBuilder line, long id, Long restaurantId, String restaurantName, int rating,
+                             String comment, LocalDateTime date) {
+        line.append("DEĞERLENDİRME|").append(id)
+                .append('|').append(restaurantId != null ? restaurantId.toString() : "")
+                .append('|').append(AppDataParser.escape(restaurantName))
+                .append('|').append(rating)
+                .append('|').append(AppDataParser.escape(comment))
+                .append('|').append(date != null ? date.format(DATE_FORMAT) : "")
+                .append('\n');
+    }
+
+    private void writeLine(Writer writer, CharSequence line, JobContext job, String counter, long row) {
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (row % batchSize == 0) {
+            job.addProgress(counter, batchSize);
+            job.checkCancelled();
+        }
+    }
+
+    /**
+     * İçe aktarma boyunca bilinen restoranlar, sayaçlar ve ret dosyası
+     */
+    static final class ImportState {
+        private final Map<Long, String> namesById = new HashMap<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+        private final Path rejectFile;
+        private BufferedWriter rejects;
+        private long restaurants;
+        private long reviews;
+        private long rejected;
+
+        ImportState(Path rejectFile) {
+            this.rejectFile = rejectFile;
+        }
+
+        void registerRestaurant(long id, String name) {
+            String previous = namesById.put(id, name);
+            if (previous != null && !previous.equals(name)) {
+                idsByName.remove(previous);
+            }
+            idsByName.put(name, id);
+        }
+
+        /**
+         * Hatalı satırı "satır numarası, neden, satırın kendisi" olarak ret dosyasına yazar
+         */
+        void reject(long lineNumber, String reason, String line) throws IOException {
+            if (rejects == null) {
+                rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+                rejects.write("# satır\tneden\tsatır içeriği\n");
+            }
+            rejects.write(lineNumber + "\t" + reason + "\t" + line + "\n");
+            rejected++;
+        }
+
+        void closeRejects() throws IOException {
+            if (rejects != null) {
+                rejects.close();
+            }
+        }
+    }
+
+    /**
+     * Ayrıştırılan değerleri doğrudan hazırlanmış komutlara bağlayıp toplu olarak yazar.
+     * Değerlendirmelerden önce bekleyen restoranlar yazılır ki yabancı anahtar sağlansın.
+     */
+    static final class BatchWriter implements AutoCloseable {
+        private final PreparedStatement restaurantStatement;
+        private final PreparedStatement reviewStatement;
+        private final int batchSize;
+        private final Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now());
+        private int pendingRestaurants;
+        private int pendingReviews;
+
+        BatchWriter(Connection connection, String product, int batchSize) throws SQLException {
+            this.restaurantStatement = connection.prepareStatement(BackupTable.RESTAURANTS.upsertSql(product));
+            this.reviewStatement = connection.prepareStatement(BackupTable.REVIEWS.upsertSql(product));
+            this.batchSize = batchSize;
+        }
+
+        void addRestaurant(long id, String name, String location, double rating) throws SQLException {
+            restaurantStatement.setLong(1, id);
+            restaurantStatement.setString(2, name);
+            restaurantStatement.setString(3, location);
+            restaurantStatement.setDouble(4, rating);
+            // Toplamlar içe aktarmanın sonunda değerlendirmelerden yeniden hesaplanır
+            restaurantStatement.setLong(5, 0);
+            restaurantStatement.setLong(6, 0);
+            restaurantStatement.setLong(7, 0);
+            restaurantStatement.addBatch();
+            if (++pendingRestaurants >= batchSize) {
+                flushRestaurants();
+            }
+        }
+
+        void addReview(long id, Long restaurantId, String restaurantName, int rating, String comment,
+                       LocalDateTime date) throws SQLException {
+            if (pendingRestaurants > 0) {
+                flushRestaurants();
+            }
+            reviewStatement.setLong(1, id);
+            if (restaurantId != null) {
+                reviewStatement.setLong(2, restaurantId);
+            } else {
+                reviewStatement.setNull(2, Types.BIGINT);
+            }
+            reviewStatement.setString(3, restaurantName);
+            reviewStatement.setInt(4, rating);
+            reviewStatement.setString(5, comment);
+            reviewStatement.setTimestamp(6, date != null ? Timestamp.valueOf(date) : null);
+            // Artımlı yedeklerin içe aktarılan satırları görmesi için güncellenme zamanı içe aktarma anıdır
+            reviewStatement.setTimestamp(7, importedAt);
+            reviewStatement.addBatch();
+            if (++pendingReviews >= batchSize) {
+                reviewStatement.executeBatch();
+                pendingReviews = 0;
+            }
+        }
+
+        private void flushRestaurants() throws SQLException {
+            restaurantStatement.executeBatch();
+            pendingRestaurants = 0;
+        }
+
+        void flush() throws IOException {
+            try {
+                if (pendingRestaurants > 0) {
+                    flushRestaurants();
+                }
+                if (pendingReviews > 0) {
+                    reviewStatement.executeBatch();
+                    pendingReviews = 0;
+                }
+            } catch (SQLException e) {
+                throw new IOException("Kayıtlar yazılamadı: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                restaurantStatement.close();
+            } finally {
+                reviewStatement.close();
+            }
+        }
+    }
+}
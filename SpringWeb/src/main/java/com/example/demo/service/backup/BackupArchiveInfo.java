@@ -0,0 +1,55 @@
+package com.example.demo.service.backup;
+
+import java.util.List;
+
+/**
+ * Yedek klasöründeki bir arşivin bilgileri ve bağlı olduğu zincir.
+ * Artımlı ve fark yedekleri tek başına geri yüklenemez; zincirin başındaki
+ * tam yedekten itibaren sırayla uygulanır.
+ */
+public class BackupArchiveInfo {
+
+    private final String fileName;
+    private final BackupManifest manifest;
+    private final List<String> chain;
+    private final String error;
+
+    public BackupArchiveInfo(String fileName, BackupManifest manifest, List<String> chain, String error) {
+        this.fileName = fileName;
+        this.manifest = manifest;
+        this.chain = chain != null ? List.copyOf(chain) : List.of();
+        this.error = error;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Arşivin yedek bilgileri (arşiv okunamadıysa null)
+     */
+    public BackupManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * Tam yedekten bu arşive kadar uygulanacak dosyalar, sırasıyla
+     */
+    public List<String> getChain() {
+        return chain;
+    }
+
+    /**
+     * Arşiv veya zinciri kullanılamıyorsa nedeni
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Arşivin ve zincirindeki tüm dosyaların geri yüklenebilir olduğunu belirtir
+     */
+    public boolean isRestorable() {
+        return manifest != null && error == null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.service.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link BackupArchiveWriter} ile yazılmış yedek arşivlerini okur.
+ * Her parçanın sağlama toplamı açıldıktan sonra doğrulanır; bozuk veya yarım
+ * arşivler {@link IOException} ile reddedilir.
+ */
+public class BackupArchiveReader implements Closeable {
+
+    private final DataInputStream in;
+    private final ObjectMapper objectMapper;
+    private BackupManifest header;
+    private BackupManifest footer;
+
+    public BackupArchiveReader(InputStream in, ObjectMapper objectMapper) {
+        this.in = new DataInputStream(in);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Arşiv başlığını okur ve biçimi doğrular
+     *
+     * @return Başlıktaki yedek bilgileri
+     * @throws IOException arşiv geçersizse
+     */
+    public BackupManifest readHeader() throws IOException {
+        if (header != null) {
+            return header;
+        }
+        byte[] magic = new byte[BackupArchiveWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, BackupArchiveWriter.MAGIC)) {
+            throw new IOException("Geçersiz yedek arşivi (tanımlayıcı eşleşmiyor)");
+        }
+        int version = in.readUnsignedByte();
+        if (version > BackupArchiveWriter.FORMAT_VERSION) {
+            throw new IOException("Desteklenmeyen yedek arşivi sürümü: " + version);
+        }
+        header = readJson();
+        return header;
+    }
+
+    /**
+     * Parçaları açmadan atlayarak arşiv sonundaki tamamlanmış bilgileri okur
+     *
+     * @return Satır sayılarıyla tamamlanmış yedek bilgileri
+     * @throws IOException arşiv yarım veya geçersizse
+     */
+    public BackupManifest readManifest() throws IOException {
+        readHeader();
+        while (footer == null) {
+            ChunkHeader chunk = readChunkHeader();
+            if (chunk == null) {
+                break;
+            }
+            in.skipNBytes(chunk.compressedLength);
+        }
+        return footer;
+    }
+
+    /**
+     * Tüm parçaları sırayla açar, doğrular ve işleyiciye iletir
+     *
+     * @param handler Parça işleyicisi
+     * @return Satır sayılarıyla tamamlanmış yedek bilgileri
+     * @throws Exception okuma, doğrulama veya işleyici hatası durumunda
+     */
+    public BackupManifest readChunks(ChunkHandler handler) throws Exception {
+        readHeader();
+        while (footer == null) {
+            ChunkHeader chunk = readChunkHeader();
+            if (chunk == null) {
+                break;
+            }
+            handler.onChunk(chunk.table, decodeChunk(chunk));
+        }
+        return footer;
+    }
+
+    /**
+     * Sonraki parçanın başlığını okur; arşiv sonuna gelindiyse son bilgileri okuyup null döner
+     */
+    private ChunkHeader readChunkHeader() throws IOException {
+        int marker;
+        try {
+            marker = in.readUnsignedByte();
+        } catch (EOFException e) {
+            throw new IOException("Yedek arşivi yarım kalmış (son bilgiler eksik)", e);
+        }
+        if (marker == BackupArchiveWriter.END_MARKER) {
+            footer = readJson();
+            return null;
+        }
+        if (marker != BackupArchiveWriter.CHUNK_MARKER) {
+            throw new IOException("Geçersiz parça işareti: " + marker);
+        }
+        byte[] tableName = new byte[in.readUnsignedShort()];
+        in.readFully(tableName);
+        ChunkHeader chunk = new ChunkHeader();
+        chunk.table = BackupTable.fromTableName(new String(tableName, StandardCharsets.UTF_8));
+        chunk.rowCount = in.readInt();
+        chunk.rawLength = in.readInt();
+        chunk.compressedLength = in.readInt();
+        chunk.checksum = in.readInt();
+        return chunk;
+    }
+
+    private List<Object[]> decodeChunk(ChunkHeader chunk) throws IOException {
+        byte[] compressed = new byte[chunk.compressedLength];
+        in.readFully(compressed);
+        byte[] raw;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            raw = gzip.readAllBytes();
+        }
+        if (raw.length != chunk.rawLength) {
+            throw new IOException("Yedek parçası bozuk (" + chunk.table.getTableName() + "): uzunluk eşleşmiyor");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(raw);
+        if ((int) crc.getValue() != chunk.checksum) {
+            throw new IOException("Yedek parçası bozuk (" + chunk.table.getTableName() + "): sağlama toplamı eşleşmiyor");
+        }
+
+        DataInputStream rowIn = new DataInputStream(new ByteArrayInputStream(raw));
+        List<BackupTable.Column> columns = chunk.table.getColumns();
+        List<Object[]> rows = new ArrayList<>(chunk.rowCount);
+        for (int i = 0; i < chunk.rowCount; i++) {
+            Object[] row = new Object[columns.size()];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = readValue(rowIn, columns.get(c).getType());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Object readValue(DataInputStream rowIn, BackupTable.ColumnType type) throws IOException {
+        if (!rowIn.readBoolean()) {
+            return null;
+        }
+        return switch (type) {
+            case LONG -> rowIn.readLong();
+            case INT -> rowIn.readInt();
+            case DOUBLE -> rowIn.readDouble();
+            case STRING -> {
+                byte[] bytes = new byte[rowIn.readInt()];
+                rowIn.readFully(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case TIMESTAMP -> {
+                long seconds = rowIn.readLong();
+                int nanos = rowIn.readInt();
+                yield LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+            }
+        };
+    }
+
+    private BackupManifest readJson() throws IOException {
+        byte[] json = new byte[in.readInt()];
+        in.readFully(json);
+        return objectMapper.readValue(json, BackupManifest.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Açılmış parçaları işleyen geri çağırma
+     */
+    @FunctionalInterface
+    public interface ChunkHandler {
+        void onChunk(BackupTable table, List<Object[]> rows) throws Exception;
+    }
+
+    private static class ChunkHeader {
+        private BackupTable table;
+        private int rowCount;
+        private int rawLength;
+        private int compressedLength;
+        private int checksum;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.service.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Parçalı, sıkıştırılmış yedek arşivi yazıcısı.
+ * <p>
+ * Dosya düzeni:
+ * <pre>
+ * "RBAK" | sürüm (1 bayt) | başlık uzunluğu (int) | başlık JSON
+ * ('C' | tablo adı | satır sayısı | ham uzunluk | sıkıştırılmış uzunluk | CRC32C | gzip veri)*
+ * 'E' | son bilgi uzunluğu (int) | son bilgi JSON
+ * </pre>
+ * Her parça en fazla belirli sayıda satır içerir ve ayrı sıkıştırılır; bellek kullanımı
+ * tablo boyutundan bağımsızdır ve bozuk bir parça sağlama toplamıyla tespit edilir.
+ */
+public class BackupArchiveWriter implements Closeable {
+
+    static final byte[] MAGIC = {'R', 'B', 'A', 'K'};
+    static final int FORMAT_VERSION = 1;
+    static final byte CHUNK_MARKER = 'C';
+    static final byte END_MARKER = 'E';
+
+    private final DataOutputStream out;
+    private final ObjectMapper objectMapper;
+    private final int chunkRows;
+    private final ByteArrayOutputStream rawBuffer = new ByteArrayOutputStream(1 << 16);
+    private final DataOutputStream rowOut = new DataOutputStream(rawBuffer);
+    private final ByteArrayOutputStream compressedBuffer = new ByteArrayOutputStream(1 << 14);
+
+    private BackupTable currentTable;
+    private int rowsInChunk;
+    private long chunkCount;
+    private long bytesWritten;
+
+    public BackupArchiveWriter(OutputStream out, ObjectMapper objectMapper, int chunkRows) {
+        this.out = new DataOutputStream(out);
+        this.objectMapper = objectMapper;
+        this.chunkRows = Math.max(1, chunkRows);
+    }
+
+    /**
+     * Arşiv başlığını yazar
+     *
+     * @param manifest Yedek bilgileri
+     * @throws IOException yazma hatası durumunda
+     */
+    public void writeHeader(BackupManifest manifest) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        writeJson(manifest);
+        bytesWritten += MAGIC.length + 1;
+    }
+
+    /**
+     * Sonraki satırların ait olduğu tabloyu belirler; önceki tablonun yarım parçası yazılır
+     *
+     * @param table Tablo
+     * @throws IOException yazma hatası durumunda
+     */
+    public void beginTable(BackupTable table) throws IOException {
+        flushChunk();
+        currentTable = table;
+    }
+
+    /**
+     * Geçerli tabloya bir satır ekler; parça dolduğunda sıkıştırılıp yazılır
+     *
+     * @param values Sütun sırasıyla değerler
+     * @throws IOException yazma hatası durumunda
+     */
+    public void writeRow(Object[] values) throws IOException {
+        if (currentTable == null) {
+            throw new IllegalStateException("Satır yazmadan önce tablo belirtilmelidir");
+        }
+        int index = 0;
+        for (BackupTable.Column column : currentTable.getColumns()) {
+            writeValue(column.getType(), values[index++]);
+        }
+        if (++rowsInChunk >= chunkRows) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Son parçayı ve tamamlanmış yedek bilgilerini yazar
+     *
+     * @param manifest Satır sayılarıyla tamamlanmış yedek bilgileri
+     * @throws IOException yazma hatası durumunda
+     */
+    public void finish(BackupManifest manifest) throws IOException {
+        flushChunk();
+        manifest.setChunkCount(chunkCount);
+        out.writeByte(END_MARKER);
+        bytesWritten++;
+        writeJson(manifest);
+        out.flush();
+    }
+
+    /**
+     * Şu ana kadar yazılan bayt sayısı (sıkıştırılmış)
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeValue(BackupTable.ColumnType type, Object value) throws IOException {
+        if (value == null) {
+            rowOut.writeBoolean(false);
+            return;
+        }
+        rowOut.writeBoolean(true);
+        switch (type) {
+            case LONG -> rowOut.writeLong(((Number) value).longValue());
+            case INT -> rowOut.writeInt(((Number) value).intValue());
+            case DOUBLE -> rowOut.writeDouble(((Number) value).doubleValue());
+            case STRING -> {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                rowOut.writeInt(bytes.length);
+                rowOut.write(bytes);
+            }
+            case TIMESTAMP -> {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                rowOut.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                rowOut.writeInt(dateTime.getNano());
+            }
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        if (rowsInChunk == 0) {
+            return;
+        }
+        rowOut.flush();
+        CRC32C crc = new CRC32C();
+        crc.update(rawBuffer.toByteArray(), 0, rawBuffer.size());
+
+        compressedBuffer.reset();
+        try (GZIPOutputStream gzip = new FastGzipOutputStream(compressedBuffer)) {
+            rawBuffer.writeTo(gzip);
+        }
+
+        byte[] tableName = currentTable.getTableName().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(CHUNK_MARKER);
+        out.writeShort(tableName.length);
+        out.write(tableName);
+        out.writeInt(rowsInChunk);
+        out.writeInt(rawBuffer.size());
+        out.writeInt(compressedBuffer.size());
+        out.writeInt((int) crc.getValue());
+        compressedBuffer.writeTo(out);
+        bytesWritten += 1 + 2 + tableName.length + 16 + compressedBuffer.size();
+
+        chunkCount++;
+        rowsInChunk = 0;
+        rawBuffer.reset();
+    }
+
+    private void writeJson(BackupManifest manifest) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(manifest);
+        out.writeInt(json.length);
+        out.write(json);
+        bytesWritten += 4 + json.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Yedekleme hızı için en hızlı sıkıştırma seviyesini kullanan gzip akışı
+     */
+    private static class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 1 << 14);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
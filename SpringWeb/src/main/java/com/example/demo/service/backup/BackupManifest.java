@@ -0,0 +1,193 @@
+package com.example.demo.service.backup;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Yedek arşivinin tanım bilgileri.
+ * Başlıkta yedekleme başlarken bilinen alanlar, arşiv sonunda ise satır ve parça
+ * sayılarıyla tamamlanmış hali yazılır.
+ * Su seviyesi (en büyük değerlendirme ID'si ve güncellenme zamanı) bir sonraki
+ * artımlı yedeğin hangi satırları içereceğini belirler.
+ */
+public class BackupManifest {
+
+    private int formatVersion = BackupArchiveWriter.FORMAT_VERSION;
+    public static final String TYPE_FULL = "FULL";
+    public static final String TYPE_INCREMENTAL = "INCREMENTAL";
+    public static final String TYPE_DIFFERENTIAL = "DIFFERENTIAL";
+
+    private String type = TYPE_FULL;
+    private String parent;
+    private String base;
+    private long reviewMaxId;
+    private String reviewMaxUpdatedAt;
+    private String changedSince;
+    private String createdAt;
+    private String completedAt;
+    private String databaseProduct;
+    private String compression = "gzip";
+    private String checksum = "crc32c";
+    private Map<String, Long> rowCounts = new LinkedHashMap<>();
+    private long chunkCount;
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public void setFormatVersion(int formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+
+    /**
+     * Yedek türü (FULL, INCREMENTAL veya DIFFERENTIAL)
+     */
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Tam yedek olup olmadığını belirtir
+     */
+    @JsonIgnore
+    public boolean isFull() {
+        return TYPE_FULL.equals(type);
+    }
+
+    /**
+     * Artımlı/fark yedeğinin dayandığı önceki arşivin dosya adı (tam yedekte boş)
+     */
+    public String getParent() {
+        return parent;
+    }
+
+    public void setParent(String parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Zincirin başındaki tam yedeğin dosya adı
+     */
+    public String getBase() {
+        return base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
+
+    /**
+     * Yedek anındaki en büyük değerlendirme ID'si
+     */
+    public long getReviewMaxId() {
+        return reviewMaxId;
+    }
+
+    public void setReviewMaxId(long reviewMaxId) {
+        this.reviewMaxId = reviewMaxId;
+    }
+
+    /**
+     * Yedek anındaki en son değerlendirme güncellenme zamanı (ISO formatı)
+     */
+    public String getReviewMaxUpdatedAt() {
+        return reviewMaxUpdatedAt;
+    }
+
+    public void setReviewMaxUpdatedAt(String reviewMaxUpdatedAt) {
+        this.reviewMaxUpdatedAt = reviewMaxUpdatedAt;
+    }
+
+    /**
+     * Artımlı yedekte güncellenmiş satırlar için kullanılan alt sınır (ISO formatı)
+     */
+    public String getChangedSince() {
+        return changedSince;
+    }
+
+    public void setChangedSince(String changedSince) {
+        this.changedSince = changedSince;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Yedeğin alındığı veritabanı (PostgreSQL, H2)
+     */
+    public String getDatabaseProduct() {
+        return databaseProduct;
+    }
+
+    public void setDatabaseProduct(String databaseProduct) {
+        this.databaseProduct = databaseProduct;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    /**
+     * Tablo başına yazılan satır sayısı
+     */
+    public Map<String, Long> getRowCounts() {
+        return rowCounts;
+    }
+
+    public void setRowCounts(Map<String, Long> rowCounts) {
+        this.rowCounts = rowCounts;
+    }
+
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Tüm tablolardaki toplam satır sayısı
+     */
+    public long totalRows() {
+        long total = 0;
+        for (Map.Entry<String, Long> entry : rowCounts.entrySet()) {
+            // Canlı ID aralıkları gibi yardımcı bölümler satır sayısına dahil edilmez
+            if (BackupTable.fromTableName(entry.getKey()).isPhysical()) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,795 @@
+package com.example.demo.service.backup;
+
+import com.example.demo.service.DataRestoredEvent;
+import com.example.demo.service.ExecutorRegistry;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobContext;
+import com.example.demo.service.job.JobRejectedException;
+import com.example.demo.service.job.JobService;
+import com.example.demo.util.AppLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * Uygulama içinden çalışan yedekleme ve geri yükleme servisi.
+ * Tablolar JDBC imleciyle akış olarak okunur ve parçalı, sıkıştırılmış arşive yazılır;
+ * harici pg_dump/pg_restore araçlarına ihtiyaç duymaz ve hem PostgreSQL hem H2 ile çalışır.
+ * Tam yedekler {@link BulkRestore} ile paralel yüklenir, artımlı yedekler ardından tek işlemde uygulanır.
+ * İşler {@link JobService} üzerinden arka planda çalışır; ilerleme, günlük ve iptal oradan yönetilir.
+ */
+@Service
+public class BackupService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(BackupService.class);
+    public static final String ARCHIVE_EXTENSION = ".rbak";
+    public static final String JOB_TYPE_BACKUP = "BACKUP";
+    public static final String JOB_TYPE_RESTORE = "RESTORE";
+    private static final int BATCH_ROWS = 1000;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobService jobService;
+    private final Path backupDir;
+    private final int chunkRows;
+    private final int fetchSize;
+    private final long incrementalOverlapSeconds;
+    private final ThreadPoolExecutor restorePool;
+
+    @Autowired
+    public BackupService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher,
+                         JobService jobService,
+                         ExecutorRegistry executors,
+                         @Value("${app.backup.dir:yedekler}") String backupDir,
+                         @Value("${app.backup.chunk-rows:5000}") int chunkRows,
+                         @Value("${app.backup.fetch-size:1000}") int fetchSize,
+                         @Value("${app.backup.incremental-overlap-seconds:300}") long incrementalOverlapSeconds,
+                         @Value("${app.backup.restore-workers:4}") int restoreWorkers) {
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.jobService = jobService;
+        this.backupDir = Paths.get(backupDir);
+        this.chunkRows = chunkRows;
+        this.fetchSize = fetchSize;
+        this.incrementalOverlapSeconds = incrementalOverlapSeconds;
+        // Havuz kayıt defterine aittir; ölçümleri diğer havuzlarla birlikte raporlanır ve kapanışta beklenir
+        this.restorePool = BulkRestore.createPool(executors, "restore", restoreWorkers);
+    }
+
+    /**
+     * Yedeklerin saklandığı klasör
+     */
+    public Path getBackupDir() {
+        return backupDir;
+    }
+
+    /**
+     * Dosyanın bu servisin arşiv biçiminde olup olmadığını belirtir
+     */
+    public static boolean isArchive(String fileName) {
+        return fileName.toLowerCase().endsWith(ARCHIVE_EXTENSION);
+    }
+
+    /**
+     * Arka planda tam yedek almaya başlar
+     *
+     * @param backupName Yedek adı (dosya adına tarih ve saat eklenir)
+     * @return Başlatılan iş
+     * @throws IOException yedek klasörü oluşturulamazsa
+     */
+    public Job startBackup(String backupName) throws IOException {
+        return startBackup(backupName, Mode.FULL);
+    }
+
+    /**
+     * Arka planda verilen türde yedek almaya başlar.
+     * Artımlı ve fark yedeklerinde üst yedek iş çalışmaya başladığında seçilir;
+     * uygun bir üst yedek yoksa tam yedek alınır.
+     *
+     * @param backupName Yedek adı (dosya adına tarih ve saat eklenir)
+     * @param mode Yedek türü
+     * @return Başlatılan iş
+     * @throws IOException yedek klasörü oluşturulamazsa
+     * @throws JobRejectedException geri yükleme sürüyorsa veya iş kuyruğu doluysa
+     */
+    public Job startBackup(String backupName, Mode mode) throws IOException {
+        Files.createDirectories(backupDir);
+        Path target = uniqueTarget(backupName);
+        // Geri yükleme sürerken alınan yedek yarım yüklenmiş tabloları içerir
+        if (jobService.isDestructiveJobActive()) {
+            throw new JobRejectedException("Geri yükleme sürerken yedek alınamaz, lütfen bitmesini bekleyin");
+        }
+        Job job = jobService.submit(JOB_TYPE_BACKUP, target.getFileName().toString(), false,
+                context -> runBackup(context, target, mode));
+        LOGGER.info("Yedekleme işi kuyruğa alındı: #{} ({}, {})", job.getId(), target.getFileName(), mode);
+        return job;
+    }
+
+    /**
+     * Arka planda bir arşivi geri yüklemeye başlar. Mevcut veriler silinir.
+     * Artımlı veya fark yedeği seçilirse zincirin başındaki tam yedekten itibaren
+     * tüm arşivler sırayla uygulanır.
+     *
+     * @param fileName Yedek klasöründeki arşiv dosyasının adı
+     * @return Başlatılan iş
+     * @throws IOException arşiv okunamıyor, geçersizse ya da zinciri eksikse
+     * @throws JobRejectedException veriyi değiştiren başka bir iş sürüyorsa
+     */
+    public Job startRestore(String fileName) throws IOException {
+        if (fileName.contains("..") || fileName.contains("/") || fileName.contains("\\")) {
+            throw new IOException("Geçersiz dosya adı: " + fileName);
+        }
+        Path source = backupDir.resolve(fileName);
+        if (!isArchive(fileName) || !Files.isReadable(source)) {
+            throw new IOException("Geri yüklenecek arşiv bulunamadı: " + fileName);
+        }
+        BackupArchiveInfo info = listArchives().get(fileName);
+        if (info == null || !info.isRestorable()) {
+            throw new IOException(info != null ? info.getError() : "Arşiv okunamadı: " + fileName);
+        }
+        Job job = jobService.submit(JOB_TYPE_RESTORE, fileName, true,
+                context -> runRestore(context, info.getChain()));
+        LOGGER.info("Geri yükleme işi kuyruğa alındı: #{} ({}, zincir: {})", job.getId(), fileName, info.getChain());
+        return job;
+    }
+
+    /**
+     * Arşivin tamamlanmış yedek bilgilerini okur (parçalar açılmaz)
+     *
+     * @param archive Arşiv dosyası
+     * @return Yedek bilgileri
+     * @throws IOException arşiv yarım veya geçersizse
+     */
+    public BackupManifest readManifest(Path archive) throws IOException {
+        try (BackupArchiveReader reader = new BackupArchiveReader(
+                new BufferedInputStream(Files.newInputStream(archive), 1 << 16), objectMapper)) {
+            return reader.readManifest();
+        }
+    }
+
+    /**
+     * Restoranların değerlendirme sayısı, puan toplamı ve ortalamasını değerlendirme
+     * tablosundan yeniden hesaplar. Veriyi uygulama dışından (psql, pg_restore) yükleyen
+     * işler olay yayınlamadan önce çağırır.
+     *
+     * @return Güncellenen restoran sayısı
+     */
+    public int recomputeRatingAggregates() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        return BulkRestore.recomputeRatingAggregates(jdbc, databaseProduct(jdbc));
+    }
+
+    /**
+     * Yedek klasöründeki arşivleri zincir bilgileriyle birlikte listeler
+     *
+     * @return Dosya adına göre arşiv bilgileri
+     * @throws IOException klasör okunamazsa
+     */
+    public Map<String, BackupArchiveInfo> listArchives() throws IOException {
+        Map<String, BackupManifest> manifests = new LinkedHashMap<>();
+        Map<String, String> errors = new HashMap<>();
+        if (Files.isDirectory(backupDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(backupDir, "*" + ARCHIVE_EXTENSION)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    try {
+                        manifests.put(name, readManifest(file));
+                    } catch (IOException | RuntimeException e) {
+                        manifests.put(name, null);
+                        errors.put(name, "Arşiv okunamadı: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Map<String, BackupArchiveInfo> result = new LinkedHashMap<>();
+        for (Map.Entry<String, BackupManifest> entry : manifests.entrySet()) {
+            String name = entry.getKey();
+            if (entry.getValue() == null) {
+                result.put(name, new BackupArchiveInfo(name, null, null, errors.get(name)));
+                continue;
+            }
+            // Üst yedek bağlantıları izlenerek tam yedeğe kadar geri gidilir
+            LinkedList<String> chain = new LinkedList<>();
+            String error = null;
+            String current = name;
+            while (current != null) {
+                if (chain.contains(current)) {
+                    error = "Yedek zincirinde döngü var: " + current;
+                    break;
+                }
+                BackupManifest manifest = manifests.get(current);
+                if (manifest == null) {
+                    error = "Zincirdeki yedek eksik veya bozuk: " + current;
+                    break;
+                }
+                chain.addFirst(current);
+                current = manifest.isFull() ? null : manifest.getParent();
+            }
+            result.put(name, new BackupArchiveInfo(name, entry.getValue(), chain, error));
+        }
+        return result;
+    }
+
+    /**
+     * Verilen arşivi üst yedek olarak kullanan arşivlerin adlarını döner
+     *
+     * @param fileName Arşiv dosyasının adı
+     * @return Bu arşive bağlı arşivler
+     * @throws IOException klasör okunamazsa
+     */
+    public List<String> findDependents(String fileName) throws IOException {
+        List<String> dependents = new ArrayList<>();
+        for (BackupArchiveInfo info : listArchives().values()) {
+            if (info.getManifest() != null && fileName.equals(info.getManifest().getParent())) {
+                dependents.add(info.getFileName());
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Yeni yedeğin üst yedeğini seçer: artımlı yedek için en son geri yüklenebilir arşiv,
+     * fark yedeği için en son tam yedek
+     */
+    private Optional<BackupArchiveInfo> findParent(Mode mode) throws IOException {
+        return listArchives().values().stream()
+                .filter(BackupArchiveInfo::isRestorable)
+                .filter(info -> mode == Mode.INCREMENTAL || info.getManifest().isFull())
+                .max(Comparator.comparing((BackupArchiveInfo info) -> info.getManifest().getCreatedAt()));
+    }
+
+    // ---- Yedekleme ----
+
+    private String runBackup(JobContext job, Path target, Mode mode) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        BackupArchiveInfo parent = mode == Mode.FULL ? null : findParent(mode).orElse(null);
+        if (mode != Mode.FULL && parent == null) {
+            LOGGER.info("Üst yedek bulunamadı, {} yerine tam yedek alınıyor", mode);
+        }
+        // Tablolar arasında tutarlı bir görüntü için tek, tekrarlanabilir okumalı işlem kullanılır
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        try {
+            BackupManifest manifest = transaction.execute(status -> {
+                JdbcTemplate jdbc = streamingJdbcTemplate();
+                BackupManifest result = new BackupManifest();
+                result.setCreatedAt(LocalDateTime.now().toString());
+                result.setDatabaseProduct(databaseProduct(jdbc));
+                recordWatermark(jdbc, result);
+                ReviewFilter reviewFilter = ReviewFilter.ALL;
+                if (parent != null) {
+                    BackupManifest parentManifest = parent.getManifest();
+                    result.setType(mode == Mode.INCREMENTAL
+                            ? BackupManifest.TYPE_INCREMENTAL : BackupManifest.TYPE_DIFFERENTIAL);
+                    result.setParent(parent.getFileName());
+                    result.setBase(parent.getChain().get(0));
+                    reviewFilter = ReviewFilter.since(parentManifest, incrementalOverlapSeconds);
+                    result.setChangedSince(reviewFilter.changedSince != null
+                            ? reviewFilter.changedSince.toString() : null);
+                }
+
+                job.setTotal(countRows(jdbc, reviewFilter));
+
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 1 << 16);
+                     BackupArchiveWriter writer = new BackupArchiveWriter(out, objectMapper, chunkRows)) {
+                    writer.writeHeader(result);
+                    // Restoran tablosu küçük olduğundan her yedekte tamamı yazılır
+                    writer.beginTable(BackupTable.RESTAURANTS);
+                    result.getRowCounts().put(BackupTable.RESTAURANTS.getTableName(),
+                            streamTable(jdbc, BackupTable.RESTAURANTS, BackupTable.RESTAURANTS.selectSql(),
+                                    writer, job));
+
+                    writer.beginTable(BackupTable.REVIEWS);
+                    long reviewRows = 0;
+                    for (Map.Entry<String, Object[]> query : reviewFilter.queries().entrySet()) {
+                        reviewRows += streamTable(jdbc, BackupTable.REVIEWS, query.getKey(), writer, job,
+                                query.getValue());
+                    }
+                    result.getRowCounts().put(BackupTable.REVIEWS.getTableName(), reviewRows);
+
+                    if (parent != null) {
+                        writer.beginTable(BackupTable.REVIEW_ID_RANGES);
+                        result.getRowCounts().put(BackupTable.REVIEW_ID_RANGES.getTableName(),
+                                writeReviewIdRanges(jdbc, writer));
+                    }
+                    result.setCompletedAt(LocalDateTime.now().toString());
+                    writer.finish(result);
+                    job.setCounter("bytes", writer.getBytesWritten());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return result;
+            });
+
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            String kind = manifest.isFull() ? "Tam yedek" : manifest.getType().equals(BackupManifest.TYPE_INCREMENTAL)
+                    ? "Artımlı yedek" : "Fark yedeği";
+            return kind + " alındı: " + target.getFileName() + " (" + manifest.totalRows() + " satır, "
+                    + (Files.size(target) / 1024) + " KB"
+                    + (manifest.getParent() != null ? ", üst yedek: " + manifest.getParent() : "") + ")";
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(partial);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+    }
+
+    /**
+     * Sonraki artımlı yedeklerin başlangıç noktası olarak en büyük değerlendirme ID'sini
+     * ve son güncellenme zamanını yedek bilgilerine yazar
+     */
+    private static void recordWatermark(JdbcTemplate jdbc, BackupManifest manifest) {
+        jdbc.query("SELECT COALESCE(MAX(id), 0), MAX(updated_at) FROM reviews", (RowCallbackHandler) rs -> {
+            manifest.setReviewMaxId(rs.getLong(1));
+            Timestamp maxUpdatedAt = rs.getTimestamp(2);
+            manifest.setReviewMaxUpdatedAt(maxUpdatedAt != null ? maxUpdatedAt.toLocalDateTime().toString() : null);
+        });
+    }
+
+    private static long countRows(JdbcTemplate jdbc, ReviewFilter reviewFilter) {
+        Long restaurants = jdbc.queryForObject("SELECT COUNT(*) FROM restaurants", Long.class);
+        long total = restaurants != null ? restaurants : 0;
+        for (Map.Entry<String, Object[]> query : reviewFilter.countQueries().entrySet()) {
+            Long reviews = jdbc.queryForObject(query.getKey(), Long.class, query.getValue());
+            total += reviews != null ? reviews : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Yedek anında var olan değerlendirme ID'lerini ardışık aralıklar olarak yazar.
+     * Geri yüklemede bu aralıkların dışında kalan değerlendirmeler silinir;
+     * böylece silinen kayıtlar için ayrı bir iz tablosu gerekmez.
+     *
+     * @return Yazılan aralık sayısı
+     */
+    private long writeReviewIdRanges(JdbcTemplate jdbc, BackupArchiveWriter writer) {
+        long[] state = {-1, -1, 0}; // aralık başı, önceki ID, aralık sayısı
+        jdbc.query("SELECT id FROM reviews ORDER BY id", (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            if (state[0] < 0) {
+                state[0] = id;
+            } else if (id != state[1] + 1) {
+                writeRange(writer, state[0], state[1]);
+                state[2]++;
+                state[0] = id;
+            }
+            state[1] = id;
+        });
+        if (state[0] >= 0) {
+            writeRange(writer, state[0], state[1]);
+            state[2]++;
+        }
+        return state[2];
+    }
+
+    private static void writeRange(BackupArchiveWriter writer, long start, long end) {
+        try {
+            writer.writeRow(new Object[]{start, end});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Bir tabloyu imleçle okuyup arşive yazar
+     *
+     * @return Yazılan satır sayısı
+     */
+    private long streamTable(JdbcTemplate jdbc, BackupTable table, String sql, BackupArchiveWriter writer,
+                             JobContext job, Object... args) {
+        long[] rows = {0};
+        List<BackupTable.Column> columns = table.getColumns();
+        jdbc.query(sql, (RowCallbackHandler) rs -> {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(rs, i + 1, columns.get(i).getType());
+            }
+            try {
+                writer.writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (++rows[0] % chunkRows == 0) {
+                job.addProgress(table.getTableName(), chunkRows);
+                job.setCounter("bytes", writer.getBytesWritten());
+                job.checkCancelled();
+            }
+        }, args);
+        job.addProgress(table.getTableName(), rows[0] % chunkRows);
+        LOGGER.debug("Tablo yedeklendi: {} ({} satır)", table.getTableName(), rows[0]);
+        return rows[0];
+    }
+
+    private static Object readValue(ResultSet rs, int index, BackupTable.ColumnType type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(index);
+            case INT -> rs.getInt(index);
+            case DOUBLE -> rs.getDouble(index);
+            case STRING -> rs.getString(index);
+            case TIMESTAMP -> {
+                Timestamp timestamp = rs.getTimestamp(index);
+                yield timestamp != null ? timestamp.toLocalDateTime() : null;
+            }
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    // ---- Geri yükleme ----
+
+    private String runRestore(JobContext job, List<String> chain) throws Exception {
+        List<Path> archives = new ArrayList<>();
+        long totalRows = 0;
+        for (String fileName : chain) {
+            Path archive = backupDir.resolve(fileName);
+            archives.add(archive);
+            totalRows += readManifest(archive).totalRows();
+        }
+        job.setTotal(totalRows);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String product = databaseProduct(jdbc);
+        BulkRestore bulk = new BulkRestore(dataSource, objectMapper, product, restorePool);
+
+        // Tablolar paralel bağlantılarla yüklendiğinden geri yükleme tek bir işlem değildir;
+        // bu yüzden mevcut veriye dokunmadan önce zincirdeki tüm parçaların sağlama toplamları doğrulanır
+        job.setPhase("Arşivler doğrulanıyor");
+        for (Path archive : archives) {
+            verifyArchive(archive, job);
+        }
+
+        // Bu noktadan sonra mevcut veriler silinir; iptal edilen iş boş veya yarım tablolar bırakırdı
+        job.setCancellable(false);
+        job.setPhase("Tablolar boşaltılıyor");
+        bulk.clearTables(jdbc);
+        List<String> deferred = bulk.dropSecondaryIndexes(jdbc);
+        try {
+            job.setPhase("Tam yedek yükleniyor");
+            bulk.load(archives.get(0), job);
+        } finally {
+            // Yükleme yarıda kalsa bile indeksler ve kısıtlar geri kurulur
+            job.setPhase("İndeksler oluşturuluyor");
+            bulk.recreate(jdbc, deferred);
+        }
+
+        if (archives.size() > 1) {
+            job.setPhase("Artımlı yedekler uygulanıyor");
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                for (Path archive : archives.subList(1, archives.size())) {
+                    try {
+                        applyIncrement(jdbc, product, archive, job);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Yedek arşivi okunamadı: " + archive.getFileName()
+                                + ": " + e.getMessage(), e);
+                    }
+                    LOGGER.debug("Arşiv uygulandı: {}", archive.getFileName());
+                }
+            });
+        }
+
+        job.setPhase("Puanlar hesaplanıyor");
+        int restaurants = BulkRestore.recomputeRatingAggregates(jdbc, product);
+        resetIdentities(jdbc);
+        long bytes = 0;
+        for (Path archive : archives) {
+            bytes += Files.size(archive);
+        }
+        job.setCounter("bytes", bytes);
+        Path source = archives.get(archives.size() - 1);
+        eventPublisher.publishEvent(new DataRestoredEvent(source.getFileName().toString(), totalRows));
+        return "Yedek geri yüklendi: " + source.getFileName() + " (" + totalRows + " satır, "
+                + restaurants + " restoran, " + job.getThroughput() + " satır/sn"
+                + (archives.size() > 1 ? ", " + archives.size() + " arşivlik zincir" : "") + ")";
+    }
+
+    /**
+     * Arşivin tüm parçalarını okuyup uzunluk ve sağlama toplamlarını kontrol eder
+     */
+    private void verifyArchive(Path archive, JobContext job) throws Exception {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archive), 1 << 16);
+             BackupArchiveReader reader = new BackupArchiveReader(in, objectMapper)) {
+            reader.readChunks((table, rows) -> job.checkCancelled());
+        }
+        job.log("Arşiv doğrulandı: " + archive.getFileName());
+    }
+
+    /**
+     * Artımlı veya fark yedeğini mevcut verinin üzerine uygular: değişen satırlar
+     * ID'ye göre eklenir ya da güncellenir, yedek anında bulunmayan satırlar silinir.
+     */
+    private void applyIncrement(JdbcTemplate jdbc, String product, Path archive, JobContext job) throws Exception {
+        // Restoranlar küçük bir tablo olduğundan önce bellekte toplanır; silinen restoranlar
+        // yenileri eklenmeden kaldırılır ki aynı adla yeniden açılan restoran benzersizlik kısıtına takılmasın
+        List<Object[]> restaurantRows = new ArrayList<>();
+        boolean[] restaurantsApplied = {false};
+        List<long[]> reviewRanges = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archive), 1 << 16);
+             BackupArchiveReader reader = new BackupArchiveReader(in, objectMapper)) {
+            reader.readChunks((table, rows) -> {
+                if (table == BackupTable.RESTAURANTS) {
+                    restaurantRows.addAll(rows);
+                    return;
+                }
+                if (!restaurantsApplied[0]) {
+                    applyRestaurants(jdbc, product, restaurantRows, job);
+                    restaurantsApplied[0] = true;
+                }
+                if (table == BackupTable.REVIEWS) {
+                    upsertRows(jdbc, product, table, rows);
+                    job.addProgress(table.getTableName(), rows.size());
+                } else if (table == BackupTable.REVIEW_ID_RANGES) {
+                    rows.forEach(row -> reviewRanges.add(new long[]{(Long) row[0], (Long) row[1]}));
+                }
+            });
+        }
+        if (!restaurantsApplied[0]) {
+            applyRestaurants(jdbc, product, restaurantRows, job);
+        }
+
+        // Aralıkların arasında ve sonrasında kalan değerlendirmeler yedek anında silinmişti
+        long previousEnd = 0;
+        for (long[] range : reviewRanges) {
+            if (range[0] > previousEnd + 1) {
+                jdbc.update("DELETE FROM reviews WHERE id > ? AND id < ?", previousEnd, range[0]);
+            }
+            previousEnd = range[1];
+        }
+        jdbc.update("DELETE FROM reviews WHERE id > ?", previousEnd);
+    }
+
+    /**
+     * Yedekte bulunmayan restoranları değerlendirmeleriyle birlikte siler, kalanları ekler ya da günceller
+     */
+    private static void applyRestaurants(JdbcTemplate jdbc, String product, List<Object[]> rows, JobContext job) {
+        Set<Long> keptIds = new HashSet<>();
+        rows.forEach(row -> keptIds.add((Long) row[0]));
+        List<Object[]> removed = new ArrayList<>();
+        for (Long id : jdbc.queryForList("SELECT id FROM restaurants", Long.class)) {
+            if (!keptIds.contains(id)) {
+                removed.add(new Object[]{id});
+            }
+        }
+        if (!removed.isEmpty()) {
+            jdbc.batchUpdate("DELETE FROM reviews WHERE restaurant_id = ?", removed);
+            jdbc.batchUpdate("DELETE FROM restaurants WHERE id = ?", removed);
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_ROWS) {
+            upsertRows(jdbc, product, BackupTable.RESTAURANTS,
+                    rows.subList(from, Math.min(rows.size(), from + BATCH_ROWS)));
+        }
+        job.addProgress(BackupTable.RESTAURANTS.getTableName(), rows.size());
+    }
+
+    /**
+     * Bir parçanın satırlarını ID'ye göre ekler ya da günceller
+     */
+    static void upsertRows(JdbcTemplate jdbc, String databaseProduct, BackupTable table, List<Object[]> rows) {
+        List<BackupTable.Column> columns = table.getColumns();
+        jdbc.batchUpdate(table.upsertSql(databaseProduct), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Object[] row = rows.get(i);
+                for (int c = 0; c < row.length; c++) {
+                    bindValue(ps, c + 1, columns.get(c).getType(), row[c]);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    static void bindValue(PreparedStatement ps, int index, BackupTable.ColumnType type, Object value)
+            throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType(type));
+            return;
+        }
+        switch (type) {
+            case LONG -> ps.setLong(index, (Long) value);
+            case INT -> ps.setInt(index, (Integer) value);
+            case DOUBLE -> ps.setDouble(index, (Double) value);
+            case STRING -> ps.setString(index, (String) value);
+            case TIMESTAMP -> ps.setTimestamp(index, Timestamp.valueOf((LocalDateTime) value));
+        }
+    }
+
+    private static int sqlType(BackupTable.ColumnType type) {
+        return switch (type) {
+            case LONG -> Types.BIGINT;
+            case INT -> Types.INTEGER;
+            case DOUBLE -> Types.DOUBLE;
+            case STRING -> Types.VARCHAR;
+            case TIMESTAMP -> Types.TIMESTAMP;
+        };
+    }
+
+    /**
+     * ID'leri açıkça yazılan tabloların otomatik artan sayaçlarını en büyük ID'nin ötesine taşır
+     */
+    static void resetIdentities(JdbcTemplate jdbc) {
+        String product = databaseProduct(jdbc);
+        for (BackupTable table : BackupTable.dataTables()) {
+            String name = table.getTableName();
+            Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + name, Long.class);
+            long next = (maxId != null ? maxId : 0) + 1;
+            if (product.startsWith("PostgreSQL")) {
+                jdbc.queryForObject("SELECT setval(pg_get_serial_sequence('" + name + "', 'id'), ?, false)",
+                        Long.class, next);
+            } else if (product.startsWith("H2")) {
+                jdbc.execute("ALTER TABLE " + name + " ALTER COLUMN id RESTART WITH " + next);
+            } else {
+                LOGGER.warn("{} için ID sayacı sıfırlanamadı, desteklenmeyen veritabanı: {}", name, product);
+            }
+        }
+    }
+
+    // ---- Yardımcılar ----
+
+    private JdbcTemplate streamingJdbcTemplate() {
+        // PostgreSQL sürücüsü işlem içinde fetch size verildiğinde sonuçları imleçle parça parça getirir
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setFetchSize(fetchSize);
+        return jdbc;
+    }
+
+    static String databaseProduct(JdbcTemplate jdbc) {
+        String product = jdbc.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null ? product : "";
+    }
+
+    private Path uniqueTarget(String backupName) {
+        String safeName = backupName.replaceAll("[^a-zA-Z0-9_\\-\\.]", "_");
+        String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP);
+        Path target = backupDir.resolve(safeName + "_" + timestamp + ARCHIVE_EXTENSION);
+        int counter = 1;
+        while (Files.exists(target)) {
+            target = backupDir.resolve(safeName + "_" + timestamp + "_" + counter + ARCHIVE_EXTENSION);
+            counter++;
+        }
+        return target;
+    }
+
+    /**
+     * Yedek türleri
+     */
+    public enum Mode {
+        /** Tüm tablolar */
+        FULL,
+        /** En son yedekten (tam veya artımlı) bu yana değişenler */
+        INCREMENTAL,
+        /** En son tam yedekten bu yana değişenler */
+        DIFFERENTIAL;
+
+        /**
+         * Form değerinden yedek türünü bulur, bilinmeyen değerlerde tam yedek döner
+         */
+        public static Mode fromString(String value) {
+            if (value != null) {
+                for (Mode mode : values()) {
+                    if (mode.name().equalsIgnoreCase(value.trim())) {
+                        return mode;
+                    }
+                }
+            }
+            return FULL;
+        }
+    }
+
+    /**
+     * Yedeğe alınacak değerlendirmeleri seçen sorgular.
+     * Artımlı yedekte üst yedekten sonra eklenen ID'ler ve üst yedekten sonra güncellenen
+     * eski kayıtlar alınır; güncelleme zamanı, yedek sırasında henüz işlenmemiş yazmaları
+     * kaçırmamak için bir güvenlik payı kadar geriye çekilir.
+     */
+    private static final class ReviewFilter {
+
+        static final ReviewFilter ALL = new ReviewFilter(false, 0, null);
+
+        final boolean incremental;
+        final long afterId;
+        final LocalDateTime changedSince;
+
+        private ReviewFilter(boolean incremental, long afterId, LocalDateTime changedSince) {
+            this.incremental = incremental;
+            this.afterId = afterId;
+            this.changedSince = changedSince;
+        }
+
+        static ReviewFilter since(BackupManifest parent, long overlapSeconds) {
+            LocalDateTime changedSince = parent.getReviewMaxUpdatedAt() != null
+                    ? LocalDateTime.parse(parent.getReviewMaxUpdatedAt()).minusSeconds(overlapSeconds)
+                    : null;
+            return new ReviewFilter(true, parent.getReviewMaxId(), changedSince);
+        }
+
+        /**
+         * Satırları okuyan sorgular ve parametreleri, yazılma sırasıyla
+         */
+        Map<String, Object[]> queries() {
+            return build(BackupTable.REVIEWS::selectSql);
+        }
+
+        /**
+         * {@link #queries()} ile aynı satırları sayan sorgular
+         */
+        Map<String, Object[]> countQueries() {
+            return build(where -> "SELECT COUNT(*) FROM reviews" + (where != null ? " WHERE " + where : ""));
+        }
+
+        private Map<String, Object[]> build(Function<String, String> sql) {
+            Map<String, Object[]> result = new LinkedHashMap<>();
+            if (!incremental) {
+                result.put(sql.apply(null), new Object[0]);
+                return result;
+            }
+            result.put(sql.apply("id > ?"), new Object[]{afterId});
+            if (changedSince != null) {
+                result.put(sql.apply("id <= ? AND updated_at > ?"),
+                        new Object[]{afterId, Timestamp.valueOf(changedSince)});
+            }
+            return result;
+        }
+    }
+}
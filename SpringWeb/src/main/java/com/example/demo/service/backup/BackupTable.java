@@ -0,0 +1,175 @@
+package com.example.demo.service.backup;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Yedeklenen tablolar ve sütunları.
+ * Sütun sırası arşivdeki satır düzenini belirler; sütun eklenirse arşiv sürümü artırılmalıdır.
+ * Tablolar yabancı anahtar sırasına göre listelenir (önce restoranlar).
+ * Veritabanında karşılığı olmayan bölümler (örn. artımlı yedekteki canlı ID aralıkları)
+ * arşivde tablo gibi saklanır ancak doğrudan yüklenmez.
+ */
+public enum BackupTable {
+
+    RESTAURANTS("restaurants", List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("name", ColumnType.STRING),
+            new Column("location", ColumnType.STRING),
+            new Column("rating", ColumnType.DOUBLE),
+            new Column("review_count", ColumnType.LONG),
+            new Column("rating_sum", ColumnType.LONG),
+            new Column("rating_sum_squares", ColumnType.LONG))),
+
+    REVIEWS("reviews", List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("restaurant_id", ColumnType.LONG),
+            new Column("restaurant_name", ColumnType.STRING),
+            new Column("rating", ColumnType.INT),
+            new Column("comment", ColumnType.STRING),
+            new Column("date", ColumnType.TIMESTAMP),
+            new Column("updated_at", ColumnType.TIMESTAMP))),
+
+    /**
+     * Artımlı yedek anındaki değerlendirme ID'lerinin ardışık aralıkları.
+     * Geri yüklemede aralıklar dışında kalan değerlendirmeler silinmiş kabul edilir.
+     */
+    REVIEW_ID_RANGES("review_id_ranges", false, List.of(
+            new Column("start_id", ColumnType.LONG),
+            new Column("end_id", ColumnType.LONG)));
+
+    private final String tableName;
+    private final boolean physical;
+    private final List<Column> columns;
+
+    BackupTable(String tableName, List<Column> columns) {
+        this(tableName, true, columns);
+    }
+
+    BackupTable(String tableName, boolean physical, List<Column> columns) {
+        this.tableName = tableName;
+        this.physical = physical;
+        this.columns = columns;
+    }
+
+    /**
+     * Veritabanındaki tablolar, yabancı anahtar sırasıyla
+     */
+    public static List<BackupTable> dataTables() {
+        return List.of(RESTAURANTS, REVIEWS);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Bölümün veritabanında bir tabloya karşılık gelip gelmediğini belirtir
+     */
+    public boolean isPhysical() {
+        return physical;
+    }
+
+    /**
+     * Tüm satırları ID sırasıyla okuyan sorgu
+     */
+    public String selectSql() {
+        return selectSql(null);
+    }
+
+    /**
+     * Koşula uyan satırları ID sırasıyla okuyan sorgu
+     *
+     * @param where WHERE koşulu (null ise tüm satırlar)
+     * @return Sorgu
+     */
+    public String selectSql(String where) {
+        return "SELECT " + columnList() + " FROM " + tableName
+                + (where != null ? " WHERE " + where : "") + " ORDER BY id";
+    }
+
+    /**
+     * Tek satır ekleyen parametreli sorgu (ID dahil)
+     */
+    public String insertSql() {
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + tableName + " (" + columnList() + ") VALUES (" + placeholders + ")";
+    }
+
+    /**
+     * PostgreSQL COPY ile CSV biçiminde toplu yükleme komutu
+     */
+    public String copySql() {
+        return "COPY " + tableName + " (" + columnList() + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    /**
+     * Satırı ID'ye göre ekleyen ya da güncelleyen sorgu (artımlı geri yükleme için)
+     *
+     * @param databaseProduct Veritabanı adı (PostgreSQL veya H2)
+     * @return Veritabanına uygun upsert sorgusu
+     */
+    public String upsertSql(String databaseProduct) {
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        if (databaseProduct.startsWith("H2")) {
+            return "MERGE INTO " + tableName + " (" + columnList() + ") KEY (id) VALUES (" + placeholders + ")";
+        }
+        String updates = columns.stream()
+                .filter(c -> !c.getName().equals("id"))
+                .map(c -> c.getName() + " = EXCLUDED." + c.getName())
+                .collect(Collectors.joining(", "));
+        return insertSql() + " ON CONFLICT (id) DO UPDATE SET " + updates;
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::getName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Arşivdeki tablo adından tabloyu bulur
+     *
+     * @param tableName Tablo adı
+     * @return Tablo
+     * @throws IllegalArgumentException bilinmeyen tablo adında
+     */
+    public static BackupTable fromTableName(String tableName) {
+        for (BackupTable table : values()) {
+            if (table.tableName.equals(tableName)) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("Bilinmeyen yedek tablosu: " + tableName);
+    }
+
+    /**
+     * Sütun değer türleri
+     */
+    public enum ColumnType {
+        LONG, INT, DOUBLE, STRING, TIMESTAMP
+    }
+
+    /**
+     * Tablo sütunu
+     */
+    public static class Column {
+        private final String name;
+        private final ColumnType type;
+
+        Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.demo.service.backup;
+
+import com.example.demo.service.ExecutorRegistry;
+import com.example.demo.service.job.JobContext;
+import com.example.demo.util.AppLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Tam yedeğin boş tablolara hızlı yüklenmesi.
+ * Arşiv parçaları birden fazla iş parçacığında, her biri kendi bağlantısı ve işlemiyle yazılır:
+ * PostgreSQL'de COPY, diğer veritabanlarında JDBC toplu ekleme kullanılır.
+ * PostgreSQL'de ikincil indeksler ve yabancı anahtarlar yüklemeden önce kaldırılıp sonra
+ * tek seferde yeniden oluşturulur; satır başına indeks bakımı yapılmaz.
+ * Parçalar, çağıran servisin {@link ExecutorRegistry} üzerinde oluşturduğu havuzda yazılır;
+ * havuzun boyutu ve kapatılması kayıt defterine aittir.
+ */
+class BulkRestore {
+
+    private static final Logger LOGGER = AppLogger.getLogger(BulkRestore.class);
+    private static final String RESTORED_TABLES = "'restaurants', 'reviews'";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String databaseProduct;
+    private final ThreadPoolExecutor pool;
+
+    BulkRestore(DataSource dataSource, ObjectMapper objectMapper, String databaseProduct, ThreadPoolExecutor pool) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.databaseProduct = databaseProduct;
+        this.pool = pool;
+    }
+
+    /**
+     * Yükleme için kayıt defterinde adlandırılmış bir havuz oluşturur.
+     * Yükleme yokken boşta beklememeleri için çekirdek iş parçacıkları da bir süre sonra kapanır;
+     * havuz doluysa parçayı okuyan iş parçacığı kendisi yazar.
+     *
+     * @param executors Havuz kayıt defteri
+     * @param name Havuz adı
+     * @param workers Paralel yazan iş parçacığı sayısı
+     * @return Oluşturulan havuz
+     */
+    static ThreadPoolExecutor createPool(ExecutorRegistry executors, String name, int workers) {
+        int threads = Math.max(1, workers);
+        ThreadPoolExecutor pool = executors.createPool(name, threads, threads, threads * 2,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private boolean isPostgres() {
+        return databaseProduct.startsWith("PostgreSQL");
+    }
+
+    /**
+     * Geri yüklenen tabloları boşaltır
+     */
+    void clearTables(JdbcTemplate jdbc) {
+        if (isPostgres()) {
+            jdbc.execute("TRUNCATE TABLE reviews, restaurants");
+        } else {
+            // Yabancı anahtar nedeniyle değerlendirmeler restoranlardan önce silinir
+            jdbc.update("DELETE FROM reviews");
+            jdbc.update("DELETE FROM restaurants");
+        }
+    }
+
+    /**
+     * Birincil anahtar ve benzersizlik kısıtları dışındaki indeksleri ve yabancı anahtarları kaldırır.
+     * Uygulama yükleme sırasında kapanırsa indeksler bir sonraki açılışta şema güncellemesiyle,
+     * yabancı anahtar schema.sql ile yeniden oluşturulur.
+     *
+     * @return Kaldırılan nesneleri yeniden oluşturan komutlar, sırasıyla
+     */
+    List<String> dropSecondaryIndexes(JdbcTemplate jdbc) {
+        List<String> recreate = new ArrayList<>();
+        if (!isPostgres()) {
+            LOGGER.debug("{} için indeks erteleme desteklenmiyor, indeksler yükleme sırasında korunur", databaseProduct);
+            return recreate;
+        }
+        List<String> drop = new ArrayList<>();
+        jdbc.query("SELECT ic.relname, pg_get_indexdef(ix.indexrelid) FROM pg_index ix "
+                + "JOIN pg_class ic ON ic.oid = ix.indexrelid "
+                + "JOIN pg_class t ON t.oid = ix.indrelid "
+                + "JOIN pg_namespace n ON n.oid = t.relnamespace "
+                + "WHERE n.nspname = current_schema() AND t.relname IN (" + RESTORED_TABLES + ") "
+                + "AND NOT ix.indisprimary "
+                + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = ix.indexrelid)",
+                (RowCallbackHandler) rs -> {
+                    drop.add("DROP INDEX IF EXISTS " + quote(rs.getString(1)));
+                    recreate.add(rs.getString(2));
+                });
+        // Yabancı anahtarlar indekslerden sonra eklenir; doğrulama restaurant_id indekslerini kullanır
+        List<String> foreignKeys = new ArrayList<>();
+        jdbc.query("SELECT c.conname, t.relname, pg_get_constraintdef(c.oid) FROM pg_constraint c "
+                + "JOIN pg_class t ON t.oid = c.conrelid "
+                + "JOIN pg_namespace n ON n.oid = t.relnamespace "
+                + "WHERE c.contype = 'f' AND n.nspname = current_schema() AND t.relname IN (" + RESTORED_TABLES + ")",
+                (RowCallbackHandler) rs -> {
+                    String table = quote(rs.getString(2));
+                    String name = quote(rs.getString(1));
+                    drop.add(0, "ALTER TABLE " + table + " DROP CONSTRAINT IF EXISTS " + name);
+                    foreignKeys.add("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + rs.getString(3));
+                });
+        recreate.addAll(foreignKeys);
+
+        LOGGER.info("Yükleme süresince {} indeks/kısıt kaldırılıyor: {}", recreate.size(), recreate);
+        for (String statement : drop) {
+            jdbc.execute(statement);
+        }
+        return recreate;
+    }
+
+    /**
+     * {@link #dropSecondaryIndexes} ile kaldırılan nesneleri yeniden oluşturur
+     */
+    void recreate(JdbcTemplate jdbc, List<String> statements) {
+        for (String statement : statements) {
+            long startTime = System.currentTimeMillis();
+            jdbc.execute(statement);
+            LOGGER.debug("Yeniden oluşturuldu ({} ms): {}", System.currentTimeMillis() - startTime, statement);
+        }
+    }
+
+    /**
+     * Arşivdeki tabloları paralel olarak yükler.
+     * Bir tablonun tüm parçaları bitmeden sonraki tabloya geçilmez; böylece yabancı anahtarın
+     * korunduğu veritabanlarında değerlendirmeler restoranlarından önce yazılmaz.
+     * Bellekte bekleyen parça sayısı havuzun en fazla iş parçacığı sayısının iki katıyla sınırlıdır.
+     *
+     * @param archive Tam yedek arşivi
+     * @param job İlerlemenin yazılacağı iş
+     * @throws Exception arşiv okunamazsa veya bir parça yazılamazsa
+     */
+    void load(Path archive, JobContext job) throws Exception {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archive), 1 << 16);
+             BackupArchiveReader reader = new BackupArchiveReader(in, objectMapper)) {
+            load(reader::readChunks, job);
+        }
+    }
+
+    /**
+     * Parça kaynağının ürettiği satırları paralel olarak yükler (arşiv veya üretilen veri)
+     *
+     * @param source Parçaları tablo sırasıyla üreten kaynak
+     * @param job İlerlemenin yazılacağı iş
+     * @throws Exception kaynak okunamazsa veya bir parça yazılamazsa
+     */
+    void load(ChunkSource source, JobContext job) throws Exception {
+        Semaphore inFlight = new Semaphore(pool.getMaximumPoolSize() * 2);
+        List<Future<?>> pending = new ArrayList<>();
+        BackupTable[] currentTable = {null};
+
+        try {
+            source.readChunks((table, rows) -> {
+                if (!table.isPhysical()) {
+                    return;
+                }
+                if (table != currentTable[0]) {
+                    awaitAll(pending);
+                    currentTable[0] = table;
+                }
+                checkCompleted(pending);
+                inFlight.acquire();
+                boolean submitted = false;
+                try {
+                    pending.add(pool.submit(() -> {
+                        try {
+                            writeChunk(table, rows);
+                            job.addProgress(table.getTableName(), rows.size());
+                        } finally {
+                            inFlight.release();
+                        }
+                        return null;
+                    }));
+                    submitted = true;
+                } finally {
+                    if (!submitted) {
+                        inFlight.release();
+                    }
+                }
+            });
+            awaitAll(pending);
+        } finally {
+            // Hata durumunda kalan parçalar iptal edilir; havuz diğer yüklemeler için açık kalır
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Satırları tablo sırasıyla parçalar halinde veren kaynak
+     */
+    @FunctionalInterface
+    interface ChunkSource {
+        void readChunks(BackupArchiveReader.ChunkHandler handler) throws Exception;
+    }
+
+    /**
+     * Biten parçaların sonucunu kontrol eder; hata varsa okuma erkenden durdurulur
+     */
+    private static void checkCompleted(List<Future<?>> pending) throws Exception {
+        Iterator<Future<?>> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Future<?> future = iterator.next();
+            if (future.isDone()) {
+                result(future);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> pending) throws Exception {
+        for (Future<?> future : pending) {
+            result(future);
+        }
+        pending.clear();
+    }
+
+    private static void result(Future<?> future) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
+    private void writeChunk(BackupTable table, List<Object[]> rows) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                if (isPostgres()) {
+                    copyRows(connection, table, rows);
+                } else {
+                    batchInsert(connection, table, rows);
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static void copyRows(Connection connection, BackupTable table, List<Object[]> rows)
+            throws SQLException, IOException {
+        connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn(table.copySql(), new StringReader(toCsv(table, rows)));
+    }
+
+    private static void batchInsert(Connection connection, BackupTable table, List<Object[]> rows)
+            throws SQLException {
+        List<BackupTable.Column> columns = table.getColumns();
+        try (PreparedStatement ps = connection.prepareStatement(table.insertSql())) {
+            for (Object[] row : rows) {
+                for (int c = 0; c < row.length; c++) {
+                    BackupService.bindValue(ps, c + 1, columns.get(c).getType(), row[c]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Satırları COPY için CSV metnine çevirir.
+     * Metinler her zaman tırnak içinde yazılır; tırnaksız boş alan NULL olarak okunur.
+     */
+    static String toCsv(BackupTable table, List<Object[]> rows) {
+        List<BackupTable.Column> columns = table.getColumns();
+        StringBuilder csv = new StringBuilder(rows.size() * 96);
+        for (Object[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) {
+                    csv.append(',');
+                }
+                Object value = row[c];
+                if (value == null) {
+                    continue;
+                }
+                if (columns.get(c).getType() == BackupTable.ColumnType.STRING) {
+                    csv.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+                } else {
+                    csv.append(value);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Tüm restoranların değerlendirme toplamlarını ve ortalama puanını
+     * değerlendirme tablosundan tek bir gruplu sorguyla yeniden hesaplar
+     *
+     * @return Güncellenen restoran sayısı
+     */
+    static int recomputeRatingAggregates(JdbcTemplate jdbc, String databaseProduct) {
+        String aggregates = "SELECT rs.id AS id, COUNT(v.id) AS cnt, COALESCE(SUM(v.rating), 0) AS total, "
+                + "COALESCE(SUM(v.rating * v.rating), 0) AS squares "
+                + "FROM restaurants rs LEFT JOIN reviews v ON v.restaurant_id = rs.id GROUP BY rs.id";
+        String assignments = "review_count = a.cnt, rating_sum = a.total, rating_sum_squares = a.squares, "
+                + "rating = CASE WHEN a.cnt > 0 THEN CAST(a.total AS DOUBLE PRECISION) / a.cnt ELSE 0 END";
+        if (databaseProduct.startsWith("PostgreSQL")) {
+            return jdbc.update("UPDATE restaurants r SET " + assignments + " FROM (" + aggregates + ") a WHERE r.id = a.id");
+        }
+        return jdbc.update("MERGE INTO restaurants r USING (" + aggregates + ") a ON (r.id = a.id) "
+                + "WHEN MATCHED THEN UPDATE SET " + assignments);
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.demo.service.backup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Yük ve ölçüm testleri için tekrarlanabilir sentetik veri üreticisi.
+ * Aynı tohum ve parametrelerle her zaman aynı restoranları ve değerlendirmeleri üretir.
+ * <ul>
+ *   <li>Restoranlar konumlara eşit dağılır; her restoranın puanları kendi kalite düzeyi etrafında toplanır</li>
+ *   <li>Değerlendirmeler restoranlara Zipf dağılımıyla atanır: az sayıda restoran değerlendirmelerin çoğunu alır</li>
+ *   <li>Yorumlar Türkçe cümlelerden kurulur; uzunlukları kısa yorumların çok, uzun yorumların az olduğu bir dağılım izler</li>
+ *   <li>Tarihler iki yıllık döneme ID sırasıyla yayılır</li>
+ * </ul>
+ * Satırlar BackupTable sütun sırasıyla parçalar halinde üretilir; böylece {@link BulkRestore} ile doğrudan
+ * yüklenebilir veya app.data biçiminde yazılabilir. Bellek kullanımı değerlendirme sayısından bağımsızdır.
+ *
+ * Komut satırından app.data üretmek için (bkz. Gradle generateData görevi):
+ * java ... SyntheticDataGenerator --reviews=10000000 --restaurants=50000 --locations=81 --seed=42 --output=app.data
+ */
+public final class SyntheticDataGenerator {
+
+    public static final int MAX_COMMENT_LENGTH = 1000;
+    private static final LocalDateTime PERIOD_START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final long PERIOD_SECONDS = 2L * 365 * 24 * 3600;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] CITIES = {
+        "Adana", "Adıyaman", "Afyonkarahisar", "Ağrı", "Amasya", "Ankara", "Antalya", "Artvin", "Aydın",
+        "Balıkesir", "Bilecik", "Bingöl", "Bitlis", "Bolu", "Burdur", "Bursa", "Çanakkale", "Çankırı", "Çorum",
+        "Denizli", "Diyarbakır", "Edirne", "Elazığ", "Erzincan", "Erzurum", "Eskişehir", "Gaziantep", "Giresun",
+        "Gümüşhane", "Hakkari", "Hatay", "Isparta", "Mersin", "İstanbul", "İzmir", "Kars", "Kastamonu", "Kayseri",
+        "Kırklareli", "Kırşehir", "Kocaeli", "Konya", "Kütahya", "Malatya", "Manisa", "Kahramanmaraş", "Mardin",
+        "Muğla", "Muş", "Nevşehir", "Niğde", "Ordu", "Rize", "Sakarya", "Samsun", "Siirt", "Sinop", "Sivas",
+        "Tekirdağ", "Tokat", "Trabzon", "Tunceli", "Şanlıurfa", "Uşak", "Van", "Yozgat", "Zonguldak", "Aksaray",
+        "Bayburt", "Karaman", "Kırıkkale", "Batman", "Şırnak", "Bartın", "Ardahan", "Iğdır", "Yalova", "Karabük",
+        "Kilis", "Osmaniye", "Düzce"};
+    private static final String[] NAME_PREFIXES = {
+        "Lezzet", "Sofra", "Anadolu", "Köşk", "Çınaraltı", "Bahçe", "Deniz", "Liman", "Saray", "Konak", "Yıldız",
+        "Güneş", "Asma", "Han", "Meydan", "Çarşı", "Köy", "Dağ", "Nehir", "Sahil", "Eski", "Yeni", "Usta", "Hasır",
+        "Tandır", "Ocak", "Mangal", "Fırın", "Bakır", "Çini", "Zeytin", "Nar", "İncir", "Lale", "Sümbül", "Defne"};
+    private static final String[] NAME_SUFFIXES = {
+        "Lokantası", "Restoran", "Kebapçısı", "Ocakbaşı", "Balık Evi", "Pide Salonu", "Meyhanesi", "Sofrası",
+        "Mutfağı", "Kahvaltı Evi", "Döner", "Köftecisi", "Mantı Evi", "Ev Yemekleri", "Çorba Salonu", "Bistro",
+        "Pastanesi", "Lahmacun", "Kokoreç", "Grill", "Cafe", "Et Lokantası", "Hünkar", "Aile Restoranı"};
+    private static final String[] OPENINGS = {
+        "Akşam yemeği için gittik.", "Arkadaşlarla öğle arasında uğradık.", "Ailece hafta sonu ziyaret ettik.",
+        "İlk kez denedim.", "Uzun zamandır gitmek istiyordum.", "Tavsiye üzerine gittik.",
+        "İş yemeği için tercih ettik.", "Paket servis sipariş ettim.", "Yürüyüş sonrası karnımızı doyurduk.",
+        "Doğum günü kutlaması için rezervasyon yaptık."};
+    private static final String[][] SENTENCES = {
+        // 1-2 puan
+        {"Yemekler soğuk geldi.", "Servis çok yavaştı, siparişimiz bir saat sonra geldi.", "Fiyatlar porsiyonlara göre çok yüksek.",
+            "Masalar temiz değildi.", "Et fazla pişmişti ve kuruydu.", "Garsonlar ilgisizdi.", "Hesapta yanlışlık vardı.",
+            "Salata bayattı.", "Mekan çok gürültülüydü.", "Bir daha gitmeyi düşünmüyorum."},
+        // 3 puan
+        {"Yemekler fena değildi ama beklediğim kadar iyi de değildi.", "Servis ortalamaydı.", "Fiyatlar biraz yüksek.",
+            "Porsiyonlar yeterliydi.", "Tatlılar güzeldi ama ana yemek vasattı.", "Mekan sade ve temizdi.",
+            "Kalabalık olduğu için biraz bekledik.", "Çorbası lezzetliydi.", "Otopark bulmak zor.",
+            "Belki tekrar denerim."},
+        // 4-5 puan
+        {"Yemekler çok lezzetliydi.", "Servis hızlı ve güler yüzlüydü.", "Fiyat performans açısından çok iyi.",
+            "Kebapları gerçekten efsane.", "Tatlıları mutlaka denemelisiniz.", "Mekan ferah ve çok temiz.",
+            "Porsiyonlar doyurucu.", "Çalışanlar çok ilgiliydi.", "Manzarası harika.", "Kesinlikle tekrar geleceğiz.",
+            "Ekmekleri taze ve sıcaktı.", "Mezeler çok çeşitliydi."}};
+
+    private final long seed;
+    private final int restaurantCount;
+    private final int locationCount;
+    private final long reviewCount;
+    private final double zipfExponent;
+
+    /**
+     * @param seed Rastgele sayı tohumu
+     * @param restaurantCount Restoran sayısı
+     * @param locationCount Konum sayısı
+     * @param reviewCount Değerlendirme sayısı
+     * @param zipfExponent Zipf üssü (0 = eşit dağılım, 1 = klasik Zipf; büyüdükçe yoğunlaşma artar)
+     * @throws IllegalArgumentException parametreler geçersizse
+     */
+    public SyntheticDataGenerator(long seed, int restaurantCount, int locationCount, long reviewCount,
+                                  double zipfExponent) {
+        if (restaurantCount < 1 || locationCount < 1 || reviewCount < 0 || zipfExponent < 0) {
+            throw new IllegalArgumentException("Geçersiz üretim parametreleri: restoran=" + restaurantCount
+                    + ", konum=" + locationCount + ", değerlendirme=" + reviewCount + ", zipf=" + zipfExponent);
+        }
+        this.seed = seed;
+        this.restaurantCount = restaurantCount;
+        this.locationCount = locationCount;
+        this.reviewCount = reviewCount;
+        this.zipfExponent = zipfExponent;
+    }
+
+    public int getRestaurantCount() {
+        return restaurantCount;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    /**
+     * Önce tüm restoranları, ardından değerlendirmeleri parçalar halinde üretir.
+     * Restoranların puan toplamları sıfır yazılır; yükleme sonrası değerlendirmelerden hesaplanmalıdır.
+     *
+     * @param chunkSize Parça başına satır sayısı
+     * @param handler Parçaları alan geri çağırma
+     * @throws Exception geri çağırma hata verirse
+     */
+    public void generate(int chunkSize, BackupArchiveReader.ChunkHandler handler) throws Exception {
+        Restaurants restaurants = new Restaurants();
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        for (int id = 1; id <= restaurantCount; id++) {
+            chunk.add(new Object[] {(long) id, restaurants.names[id], restaurants.locations[id], 0.0, 0L, 0L, 0L});
+            if (chunk.size() == chunkSize) {
+                handler.onChunk(BackupTable.RESTAURANTS, chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.onChunk(BackupTable.RESTAURANTS, chunk);
+            chunk = new ArrayList<>(chunkSize);
+        }
+
+        Reviews reviews = new Reviews(restaurants);
+        for (long id = 1; id <= reviewCount; id++) {
+            reviews.next(id);
+            LocalDateTime date = reviews.date;
+            chunk.add(new Object[] {id, (long) reviews.restaurantId, restaurants.names[reviews.restaurantId],
+                    reviews.rating, reviews.comment, date, date});
+            if (chunk.size() == chunkSize) {
+                handler.onChunk(BackupTable.REVIEWS, chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.onChunk(BackupTable.REVIEWS, chunk);
+        }
+    }
+
+    /**
+     * Verileri app.data biçiminde yazar
+     *
+     * @param writer Hedef
+     * @param progress Her 100.000 satırda yazılan satır sayısıyla çağrılır (null olabilir)
+     * @throws IOException yazılamazsa
+     */
+    public void writeAppData(Writer writer, LongConsumer progress) throws IOException {
+        writer.write("# RESTORAN DEĞERLENDİRME SİSTEMİ SENTETİK VERİ DOSYASI (tohum " + seed + ", zipf "
+                + zipfExponent + ")\n");
+        writer.write("# RESTORAN: id|ad|konum|puan\n");
+        writer.write("# DEĞERLENDİRME: id|restoran_id|restoran_adı|puan|yorum|tarih\n\n");
+        Restaurants restaurants = new Restaurants();
+        StringBuilder line = new StringBuilder(256);
+        long rows = 0;
+        for (int id = 1; id <= restaurantCount; id++) {
+            line.setLength(0);
+            line.append("RESTORAN|").append(id)
+                    .append('|').append(AppDataParser.escape(restaurants.names[id]))
+                    .append('|').append(AppDataParser.escape(restaurants.locations[id]))
+                    .append('|').append(Math.round(restaurants.quality[id] * 10) / 10.0).append('\n');
+            writer.append(line);
+            rows = reportProgress(progress, rows);
+        }
+        Reviews reviews = new Reviews(restaurants);
+        for (long id = 1; id <= reviewCount; id++) {
+            reviews.next(id);
+            line.setLength(0);
+            line.append("DEĞERLENDİRME|").append(id)
+                    .append('|').append(reviews.restaurantId)
+                    .append('|').append(AppDataParser.escape(restaurants.names[reviews.restaurantId]))
+                    .append('|').append(reviews.rating)
+                    .append('|').append(AppDataParser.escape(reviews.comment))
+                    .append('|').append(reviews.date.format(DATE_FORMAT)).append('\n');
+            writer.append(line);
+            rows = reportProgress(progress, rows);
+        }
+    }
+
+    private static long reportProgress(LongConsumer progress, long rows) {
+        long next = rows + 1;
+        if (progress != null && next % 100_000 == 0) {
+            progress.accept(next);
+        }
+        return next;
+    }
+
+    /**
+     * Restoran adları, konumları ve kalite düzeyleri (1 tabanlı dizilerde)
+     */
+    private final class Restaurants {
+        private final String[] names = new String[restaurantCount + 1];
+        private final String[] locations = new String[restaurantCount + 1];
+        private final double[] quality = new double[restaurantCount + 1];
+
+        Restaurants() {
+            SplittableRandom random = new SplittableRandom(seed);
+            String[] locationNames = new String[locationCount];
+            for (int i = 0; i < locationCount; i++) {
+                String city = CITIES[i % CITIES.length];
+                locationNames[i] = i < CITIES.length ? city : city + " " + (i / CITIES.length + 1) + ". Bölge";
+            }
+            // Ad kombinasyonları sabit bir adımla dolaşılır; tükendiğinde sıra numarası eklenerek benzersiz kalır
+            int combinations = NAME_PREFIXES.length * NAME_SUFFIXES.length;
+            int stride = coprimeStride(combinations);
+            for (int id = 1; id <= restaurantCount; id++) {
+                int index = (int) (((long) (id - 1) * stride) % combinations);
+                String base = NAME_PREFIXES[index / NAME_SUFFIXES.length] + " " + NAME_SUFFIXES[index % NAME_SUFFIXES.length];
+                names[id] = id <= combinations ? base : base + " " + ((id - 1) / combinations + 1);
+                locations[id] = locationNames[random.nextInt(locationCount)];
+                // Kalite 1,5-4,8 arasında, ortası daha yoğun
+                quality[id] = 1.5 + 3.3 * (random.nextDouble() + random.nextDouble()) / 2;
+            }
+        }
+
+        private int coprimeStride(int n) {
+            int stride = 7;
+            while (gcd(stride, n) != 1) {
+                stride++;
+            }
+            return stride;
+        }
+
+        private int gcd(int a, int b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+
+    /**
+     * Değerlendirme akışı; her çağrıda bir sonraki değerlendirmenin alanlarını hesaplar
+     */
+    private final class Reviews {
+        private final Restaurants restaurants;
+        private final SplittableRandom random = new SplittableRandom(seed * 31 + 17);
+        private final double[] cumulative;
+        private final int[] restaurantByRank;
+        private final StringBuilder text = new StringBuilder(MAX_COMMENT_LENGTH + 64);
+        private int restaurantId;
+        private int rating;
+        private String comment;
+        private LocalDateTime date;
+
+        Reviews(Restaurants restaurants) {
+            this.restaurants = restaurants;
+            // Sıra -> restoran eşlemesi karıştırılır ki popüler restoranlar düşük ID'lerde toplanmasın
+            restaurantByRank = new int[restaurantCount];
+            for (int i = 0; i < restaurantCount; i++) {
+                restaurantByRank[i] = i + 1;
+            }
+            SplittableRandom shuffle = new SplittableRandom(seed ^ 0x5DEECE66DL);
+            for (int i = restaurantCount - 1; i > 0; i--) {
+                int j = shuffle.nextInt(i + 1);
+                int tmp = restaurantByRank[i];
+                restaurantByRank[i] = restaurantByRank[j];
+                restaurantByRank[j] = tmp;
+            }
+            // Zipf: k. sıradaki restoranın ağırlığı 1 / k^s; örnekleme birikimli dağılımda ikili aramayla yapılır
+            cumulative = new double[restaurantCount];
+            double total = 0;
+            for (int k = 0; k < restaurantCount; k++) {
+                total += 1.0 / Math.pow(k + 1, zipfExponent);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < restaurantCount; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        void next(long id) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            rank = rank >= 0 ? rank : Math.min(-rank - 1, restaurantCount - 1);
+            restaurantId = restaurantByRank[rank];
+            rating = (int) Math.max(1, Math.min(5, Math.round(restaurants.quality[restaurantId] + random.nextGaussian() * 0.9)));
+            comment = comment(rating);
+            long offset = reviewCount > 0 ? (long) ((double) PERIOD_SECONDS * (id - 1) / reviewCount) : 0;
+            date = PERIOD_START.plusSeconds(offset + random.nextInt(3600));
+        }
+
+        /**
+         * Puana uygun cümlelerden yorum kurar. Cümle sayısı geometrik dağılır: çoğu yorum 1-3 cümle,
+         * az sayıda yorum sınıra kadar uzar.
+         */
+        private String comment(int rating) {
+            String[] pool = SENTENCES[rating <= 2 ? 0 : rating == 3 ? 1 : 2];
+            text.setLength(0);
+            if (random.nextInt(3) == 0) {
+                text.append(OPENINGS[random.nextInt(OPENINGS.length)]);
+            }
+            int sentences = 1;
+            while (sentences < 40 && random.nextDouble() < 0.55) {
+                sentences++;
+            }
+            int previous = -1;
+            for (int i = 0; i < sentences; i++) {
+                // Aynı cümle art arda gelmesin
+                int pick = random.nextInt(pool.length - 1);
+                pick = pick >= previous && previous >= 0 ? pick + 1 : pick;
+                previous = pick;
+                String sentence = pool[pick];
+                if (text.length() + sentence.length() + 1 > MAX_COMMENT_LENGTH) {
+                    break;
+                }
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(sentence);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Komut satırından app.data dosyası üretir.
+     * Parametreler: --restaurants, --locations, --reviews, --seed, --zipf, --output
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Parametreler --ad=değer biçiminde olmalı: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("restaurants", "1000")),
+                Integer.parseInt(options.getOrDefault("locations", "81")),
+                Long.parseLong(options.getOrDefault("reviews", "100000")),
+                Double.parseDouble(options.getOrDefault("zipf", "1.0")));
+        Path target = Paths.get(options.getOrDefault("output", "app.data")).toAbsolutePath();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        long startTime = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            generator.writeAppData(writer, rows -> {
+                if (rows % 1_000_000 == 0) {
+                    System.out.println("  " + rows + " satır yazıldı");
+                }
+            });
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%s oluşturuldu: %d restoran, %d değerlendirme, %.1f sn (%d MB)%n", target,
+                generator.restaurantCount, generator.reviewCount, seconds, Files.size(target) >> 20);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.service.backup;
+
+import com.example.demo.service.DataRestoredEvent;
+import com.example.demo.service.ExecutorRegistry;
+import com.example.demo.service.job.Job;
+import com.example.demo.service.job.JobContext;
+import com.example.demo.service.job.JobRejectedException;
+import com.example.demo.service.job.JobService;
+import com.example.demo.util.AppLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Sentetik veriyi arka plan işi olarak veritabanına yükler veya app.data dosyasına yazar.
+ * Yükleme tam yedek geri yüklemesiyle aynı yolu izler: tablolar boşaltılır, ikincil indeksler ertelenir,
+ * parçalar paralel bağlantılarla (PostgreSQL'de COPY ile) yazılır ve puan toplamları sonunda tek sorguyla hesaplanır.
+ */
+@Service
+public class SyntheticDataService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(SyntheticDataService.class);
+    public static final String JOB_TYPE_LOAD = "SYNTHETIC_LOAD";
+    public static final String JOB_TYPE_EXPORT = "SYNTHETIC_EXPORT";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobService jobService;
+    private final AppDataService appDataService;
+    private final int chunkRows;
+    private final ThreadPoolExecutor loadPool;
+
+    @Autowired
+    public SyntheticDataService(DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                JobService jobService,
+                                AppDataService appDataService,
+                                ExecutorRegistry executors,
+                                @Value("${app.backup.chunk-rows:5000}") int chunkRows,
+                                @Value("${app.backup.restore-workers:4}") int workers) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.jobService = jobService;
+        this.appDataService = appDataService;
+        this.chunkRows = chunkRows;
+        // Havuz kayıt defterine aittir; ölçümleri diğer havuzlarla birlikte raporlanır ve kapanışta beklenir
+        this.loadPool = BulkRestore.createPool(executors, "synthetic-load", workers);
+    }
+
+    /**
+     * Mevcut restoran ve değerlendirmeleri silip yerine sentetik veriyi yüklemeye başlar
+     *
+     * @param generator Üretilecek verinin tanımı
+     * @return Başlatılan iş
+     * @throws JobRejectedException veriyi değiştiren başka bir iş sürüyorsa
+     */
+    public Job startLoad(SyntheticDataGenerator generator) {
+        Job job = jobService.submit(JOB_TYPE_LOAD, describe(generator), true, context -> runLoad(context, generator));
+        LOGGER.info("Sentetik veri yükleme işi kuyruğa alındı: #{} ({})", job.getId(), job.getLabel());
+        return job;
+    }
+
+    /**
+     * Sentetik veriyi veri klasöründe app.data biçiminde bir dosyaya yazmaya başlar
+     *
+     * @param generator Üretilecek verinin tanımı
+     * @param fileName Oluşturulacak dosyanın adı (varsa üzerine yazılır)
+     * @return Başlatılan iş
+     * @throws IOException dosya adı geçersizse
+     */
+    public Job startExport(SyntheticDataGenerator generator, String fileName) throws IOException {
+        Path target = appDataService.resolve(fileName);
+        Job job = jobService.submit(JOB_TYPE_EXPORT, fileName + " (" + describe(generator) + ")", false,
+                context -> runExport(context, generator, target));
+        LOGGER.info("Sentetik veri dosyası işi kuyruğa alındı: #{} ({})", job.getId(), fileName);
+        return job;
+    }
+
+    private static String describe(SyntheticDataGenerator generator) {
+        return generator.getRestaurantCount() + " restoran, " + generator.getReviewCount() + " değerlendirme";
+    }
+
+    private String runLoad(JobContext job, SyntheticDataGenerator generator) throws Exception {
+        job.setTotal(generator.getRestaurantCount() + generator.getReviewCount());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String product = BackupService.databaseProduct(jdbc);
+        BulkRestore bulk = new BulkRestore(dataSource, objectMapper, product, loadPool);
+
+        // Bu noktadan sonra mevcut veriler silinir; iptal edilen iş yarım tablolar bırakırdı
+        job.setCancellable(false);
+        job.setPhase("Tablolar boşaltılıyor");
+        bulk.clearTables(jdbc);
+        List<String> deferred = bulk.dropSecondaryIndexes(jdbc);
+        try {
+            job.setPhase("Veri üretiliyor ve yükleniyor");
+            bulk.load(handler -> generator.generate(chunkRows, handler), job);
+        } finally {
+            job.setPhase("İndeksler oluşturuluyor");
+            bulk.recreate(jdbc, deferred);
+        }
+
+        job.setPhase("Puanlar hesaplanıyor");
+        BulkRestore.recomputeRatingAggregates(jdbc, product);
+        BackupService.resetIdentities(jdbc);
+        long rows = generator.getRestaurantCount() + generator.getReviewCount();
+        eventPublisher.publishEvent(new DataRestoredEvent("sentetik veri", rows));
+        return "Sentetik veri yüklendi: " + describe(generator) + " (" + job.getThroughput() + " satır/sn)";
+    }
+
+    private String runExport(JobContext job, SyntheticDataGenerator generator, Path target) throws IOException {
+        long total = generator.getRestaurantCount() + generator.getReviewCount();
+        job.setTotal(total);
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long[] written = {0};
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            generator.writeAppData(writer, rows -> {
+                job.checkCancelled();
+                job.addProgress("rows", rows - written[0]);
+                written[0] = rows;
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        job.addProgress("rows", total - written[0]);
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        return "Sentetik veri yazıldı: " + target.getFileName() + " (" + describe(generator) + ", "
+                + Files.size(target) / (1024 * 1024) + " MB)";
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.demo.service.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * Arka planda çalışan uzun süreli bir işin durumu, ilerlemesi ve günlüğü.
+ * Alanlar işi çalıştıran iş parçacığı tarafından güncellenir, istek iş parçacıkları sadece okur.
+ */
+public class Job {
+
+    private static final int MAX_LOG_LINES = 500;
+
+    /**
+     * İş durumu
+     */
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final long id;
+    private final String type;
+    private final String label;
+    private final boolean destructive;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private final Deque<LogLine> logs = new ArrayDeque<>();
+    private long logSequence;
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long total;
+    private volatile long processed;
+    private volatile String phase;
+    private volatile String message;
+    private volatile boolean cancellable = true;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    Job(long id, String type, String label, boolean destructive) {
+        this.id = id;
+        this.type = type;
+        this.label = label;
+        this.destructive = destructive;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * İş türü (örn. BACKUP, RESTORE, SAMPLE_DATA)
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * İşin konusu (örn. yedek dosyasının adı)
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * İşin mevcut verileri silip silmediğini belirtir; bu işlerden aynı anda yalnızca biri çalışır
+     */
+    public boolean isDestructive() {
+        return destructive;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * İşlenecek toplam birim sayısı (satır, komut vb.; bilinmiyorsa 0)
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * İşe özgü sayaçlar (örn. tablo başına satır, bayt)
+     */
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * İşin o anki aşaması
+     */
+    public String getPhase() {
+        return phase;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * İşin şu anda iptal edilip edilemeyeceğini belirtir
+     */
+    public boolean isCancellable() {
+        return cancellable && !isFinished();
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * Tamamlanma yüzdesi (0-100)
+     */
+    public int getPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        long totalUnits = total;
+        return totalUnits > 0 ? (int) Math.min(99, processed * 100 / totalUnits) : 0;
+    }
+
+    /**
+     * Başlangıçtan bu yana saniyede işlenen ortalama birim sayısı
+     */
+    public long getThroughput() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? processed * 1000 / elapsed : 0;
+    }
+
+    /**
+     * İşin çalışma süresi (milisaniye)
+     */
+    public long getElapsedMillis() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Duration.between(start, end).toMillis();
+    }
+
+    /**
+     * İşin bitip bitmediğini belirtir
+     */
+    public boolean isFinished() {
+        Status current = status;
+        return current == Status.COMPLETED || current == Status.FAILED || current == Status.CANCELLED;
+    }
+
+    /**
+     * Son günlük satırının sıra numarası
+     */
+    public synchronized long getLastLogSequence() {
+        return logSequence;
+    }
+
+    /**
+     * Verilen sıra numarasından sonraki günlük satırlarını getirir.
+     * Sadece son satırlar saklanır; eski satırlar listeden düşer.
+     *
+     * @param afterSequence Son okunan satırın sıra numarası (baştan okumak için 0)
+     * @return Yeni günlük satırları
+     */
+    public synchronized List<LogLine> getLogs(long afterSequence) {
+        List<LogLine> result = new ArrayList<>();
+        for (LogLine line : logs) {
+            if (line.getSequence() > afterSequence) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    // ---- İşi çalıştıran taraf için ----
+
+    synchronized void log(String text) {
+        logs.addLast(new LogLine(++logSequence, LocalDateTime.now(), text));
+        if (logs.size() > MAX_LOG_LINES) {
+            logs.removeFirst();
+        }
+    }
+
+    void setTotal(long total) {
+        this.total = total;
+    }
+
+    synchronized void addProgress(String counter, long units) {
+        if (counter != null) {
+            counters.merge(counter, units, Long::sum);
+        }
+        processed += units;
+    }
+
+    void setCounter(String counter, long value) {
+        counters.put(counter, value);
+    }
+
+    void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    void setCancellable(boolean cancellable) {
+        this.cancellable = cancellable;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    @JsonIgnore
+    Future<?> getFuture() {
+        return future;
+    }
+
+    /**
+     * Bekleyen işi çalışır duruma geçirir; iş bu arada iptal edildiyse false döner
+     */
+    synchronized boolean tryStart() {
+        if (status != Status.PENDING) {
+            return false;
+        }
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+        return true;
+    }
+
+    /**
+     * İptal isteğini kaydeder. Bekleyen iş hemen iptal edilir; çalışan iş isteği
+     * bir sonraki kontrol noktasında görür.
+     *
+     * @return İptal isteği kabul edildiyse true
+     */
+    synchronized boolean requestCancel() {
+        if (!isCancellable()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status == Status.PENDING) {
+            finish(Status.CANCELLED, "Başlamadan iptal edildi");
+        }
+        return true;
+    }
+
+    synchronized void finish(Status finalStatus, String message) {
+        if (isFinished()) {
+            return;
+        }
+        this.message = message;
+        this.phase = null;
+        this.finishedAt = LocalDateTime.now();
+        this.status = finalStatus;
+    }
+
+    /**
+     * Tek bir günlük satırı
+     */
+    public static class LogLine {
+        private final long sequence;
+        private final LocalDateTime time;
+        private final String text;
+
+        LogLine(long sequence, LocalDateTime time, String text) {
+            this.sequence = sequence;
+            this.time = time;
+            this.text = text;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
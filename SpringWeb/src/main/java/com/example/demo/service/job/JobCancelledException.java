@@ -0,0 +1,11 @@
+package com.example.demo.service.job;
+
+/**
+ * Çalışan iş iptal edildiğinde işin içinden fırlatılır
+ */
+public class JobCancelledException extends RuntimeException {
+
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
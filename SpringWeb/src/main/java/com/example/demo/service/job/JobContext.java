@@ -0,0 +1,86 @@
+package com.example.demo.service.job;
+
+/**
+ * Çalışan işin ilerlemesini, aşamasını ve günlüğünü güncellemek için işe verilen nesne
+ */
+public class JobContext {
+
+    private final Job job;
+
+    JobContext(Job job) {
+        this.job = job;
+    }
+
+    public long getJobId() {
+        return job.getId();
+    }
+
+    /**
+     * İşlenecek toplam birim sayısını belirler
+     */
+    public void setTotal(long total) {
+        job.setTotal(total);
+    }
+
+    /**
+     * İşlenen birimleri ekler
+     *
+     * @param counter Ayrıca artırılacak sayaç adı (örn. tablo adı; null olabilir)
+     * @param units İşlenen birim sayısı
+     */
+    public void addProgress(String counter, long units) {
+        job.addProgress(counter, units);
+    }
+
+    /**
+     * İşe özgü bir sayacı verilen değere ayarlar (örn. arşiv boyutu)
+     */
+    public void setCounter(String counter, long value) {
+        job.setCounter(counter, value);
+    }
+
+    /**
+     * İşin aşamasını değiştirir ve günlüğe yazar
+     */
+    public void setPhase(String phase) {
+        job.setPhase(phase);
+        if (phase != null) {
+            job.log(phase);
+        }
+    }
+
+    /**
+     * İş günlüğüne bir satır ekler
+     */
+    public void log(String text) {
+        job.log(text);
+    }
+
+    /**
+     * Saniyede işlenen ortalama birim sayısı
+     */
+    public long getThroughput() {
+        return job.getThroughput();
+    }
+
+    /**
+     * İşin bundan sonra iptal edilip edilemeyeceğini belirler.
+     * Geri alınamaz adımlara geçmeden önce false yapılmalıdır.
+     */
+    public void setCancellable(boolean cancellable) {
+        job.setCancellable(cancellable);
+    }
+
+    public boolean isCancelled() {
+        return job.isCancelRequested();
+    }
+
+    /**
+     * İptal istendiyse {@link JobCancelledException} fırlatır
+     */
+    public void checkCancelled() {
+        if (job.isCancelRequested()) {
+            throw new JobCancelledException("İş iptal edildi");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.service.job;
+
+/**
+ * İş kabul edilemediğinde fırlatılır: kuyruk dolu veya veri değiştiren başka bir iş sürüyor
+ */
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.demo.service.job;
+
+import com.example.demo.service.ExecutorRegistry;
+import com.example.demo.util.AppLogger;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uzun süren işleri (yedekleme, geri yükleme, örnek veri yükleme) HTTP isteğinden bağımsız,
+ * sınırlı bir iş parçacığı havuzunda çalıştırır.
+ * İşler gönderilir, durumları sorgulanır, iptal edilebilir ve günlükleri SSE ile izlenebilir.
+ * Veriyi silen işlerden aynı anda yalnızca biri kabul edilir.
+ */
+@Service
+public class JobService {
+
+    private static final Logger LOGGER = AppLogger.getLogger(JobService.class);
+    private static final int MAX_KEPT_JOBS = 100;
+    private static final long SSE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledFuture<?> broadcaster;
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Map<Long, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicReference<Job> destructiveJob = new AtomicReference<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final List<SseEmitter> statusEmitters = new CopyOnWriteArrayList<>();
+    private final Map<SseEmitter, LogSubscription> logEmitters = new ConcurrentHashMap<>();
+    private long broadcastedChanges = -1;
+
+    @Autowired
+    public JobService(ExecutorRegistry executors,
+                      @Value("${app.jobs.threads:2}") int threads,
+                      @Value("${app.jobs.queue-capacity:20}") int queueCapacity,
+                      @Value("${app.jobs.sse-interval-ms:1000}") long sseIntervalMs) {
+        // Havuz kayıt defterine aittir; ölçümleri diğer havuzlarla birlikte raporlanır ve kapanışta beklenir
+        this.executor = executors.createPool("jobs", threads, threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.broadcaster = executors.scheduled()
+                .scheduleWithFixedDelay(this::broadcast, sseIntervalMs, sseIntervalMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("İş servisi başlatıldı: {} iş parçacığı, kuyruk kapasitesi {}", threads, queueCapacity);
+    }
+
+    /**
+     * Yeni bir işi kuyruğa alır
+     *
+     * @param type İş türü
+     * @param label İşin konusu (örn. dosya adı)
+     * @param destructive İş mevcut verileri siliyorsa true
+     * @param task Çalıştırılacak iş
+     * @return Kuyruğa alınan iş
+     * @throws JobRejectedException kuyruk doluysa veya veriyi silen başka bir iş sürüyorsa
+     */
+    public Job submit(String type, String label, boolean destructive, JobTask task) {
+        Job job = new Job(jobIds.incrementAndGet(), type, label, destructive);
+        if (destructive && !destructiveJob.compareAndSet(null, job)) {
+            Job running = destructiveJob.get();
+            throw new JobRejectedException("Veriyi değiştiren başka bir iş sürüyor"
+                    + (running != null ? " (iş #" + running.getId() + ")" : "") + ", lütfen bitmesini bekleyin");
+        }
+        register(job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, task)));
+        } catch (RejectedExecutionException e) {
+            job.finish(Job.Status.FAILED, "İş kuyruğu dolu");
+            releaseDestructive(job);
+            changes.incrementAndGet();
+            throw new JobRejectedException("İş kuyruğu dolu, lütfen daha sonra tekrar deneyin");
+        }
+        job.log("İş kuyruğa alındı");
+        changes.incrementAndGet();
+        LOGGER.info("İş kuyruğa alındı: #{} {} ({})", job.getId(), type, label);
+        return job;
+    }
+
+    /**
+     * ID'ye göre işi getirir
+     */
+    public Optional<Job> getJob(long id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Son işleri yeniden eskiye doğru döner
+     */
+    public List<Job> getJobs() {
+        List<Job> result;
+        synchronized (jobs) {
+            result = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Veriyi silen bir işin kuyrukta veya çalışır durumda olup olmadığını belirtir
+     */
+    public boolean isDestructiveJobActive() {
+        return destructiveJob.get() != null;
+    }
+
+    /**
+     * İşin iptalini ister. Bekleyen iş hiç çalışmaz; çalışan iş bir sonraki kontrol noktasında durur.
+     *
+     * @param id İş ID'si
+     * @return İptal isteği kabul edildiyse true, iş bitmiş veya iptal edilemez durumdaysa false
+     */
+    public boolean cancel(long id) {
+        Job job = jobs.get(id);
+        if (job == null || !job.requestCancel()) {
+            return false;
+        }
+        if (job.getStatus() == Job.Status.CANCELLED && job.getFuture() != null) {
+            job.getFuture().cancel(false);
+            releaseDestructive(job);
+        }
+        changes.incrementAndGet();
+        LOGGER.info("İş iptali istendi: #{}", id);
+        return true;
+    }
+
+    /**
+     * İş durumlarını SSE ile izlemek için abone olur.
+     * Bağlantı açılır açılmaz güncel liste, sonra her değişiklikte yeni liste gönderilir.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        statusEmitters.add(emitter);
+        emitter.onCompletion(() -> statusEmitters.remove(emitter));
+        emitter.onTimeout(() -> statusEmitters.remove(emitter));
+        emitter.onError(error -> statusEmitters.remove(emitter));
+        if (!send(emitter, "jobs", getJobs())) {
+            statusEmitters.remove(emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * Bir işin günlüğünü SSE ile izlemek için abone olur; iş bitince akış kapanır
+     *
+     * @param id İş ID'si
+     * @return Akış, iş yoksa Optional.empty()
+     */
+    public Optional<SseEmitter> subscribeLogs(long id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        LogSubscription subscription = new LogSubscription(job);
+        logEmitters.put(emitter, subscription);
+        emitter.onCompletion(() -> logEmitters.remove(emitter));
+        emitter.onTimeout(() -> logEmitters.remove(emitter));
+        emitter.onError(error -> logEmitters.remove(emitter));
+        pushLogs(emitter, subscription);
+        return Optional.of(emitter);
+    }
+
+    private void run(Job job, JobTask task) {
+        if (!job.tryStart()) {
+            releaseDestructive(job);
+            return;
+        }
+        changes.incrementAndGet();
+        job.log("İş başladı");
+        try {
+            String message = task.run(new JobContext(job));
+            job.log(message != null ? message : "İş tamamlandı");
+            job.finish(Job.Status.COMPLETED, message);
+            LOGGER.info("İş #{} {} tamamlandı ({} ms): {}", job.getId(), job.getType(),
+                    job.getElapsedMillis(), message);
+        } catch (JobCancelledException e) {
+            job.log(e.getMessage());
+            job.finish(Job.Status.CANCELLED, e.getMessage());
+            LOGGER.info("İş #{} {} iptal edildi", job.getId(), job.getType());
+        } catch (Exception e) {
+            if (job.isCancelRequested()) {
+                job.log("İş iptal edildi: " + e.getMessage());
+                job.finish(Job.Status.CANCELLED, "İş iptal edildi");
+            } else {
+                job.log("Hata: " + e.getMessage());
+                job.finish(Job.Status.FAILED, e.getMessage());
+            }
+            LOGGER.error("İş #{} {} başarısız: {}", job.getId(), job.getType(), e.getMessage(), e);
+        } finally {
+            releaseDestructive(job);
+            changes.incrementAndGet();
+        }
+    }
+
+    private void releaseDestructive(Job job) {
+        destructiveJob.compareAndSet(job, null);
+    }
+
+    private void register(Job job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            // Sadece son işler saklanır; bitmemiş işler listeden çıkarılmaz
+            jobs.values().removeIf(old -> jobs.size() > MAX_KEPT_JOBS && old.isFinished());
+        }
+    }
+
+    /**
+     * Abonelere değişen iş listesini ve yeni günlük satırlarını gönderir.
+     * Çalışan iş varken ilerleme sürekli değiştiğinden liste her turda gönderilir.
+     */
+    private void broadcast() {
+        try {
+            long current = changes.get();
+            boolean running = getJobs().stream().anyMatch(job -> !job.isFinished());
+            if ((running || current != broadcastedChanges) && !statusEmitters.isEmpty()) {
+                List<Job> snapshot = getJobs();
+                for (SseEmitter emitter : statusEmitters) {
+                    if (!send(emitter, "jobs", snapshot)) {
+                        statusEmitters.remove(emitter);
+                    }
+                }
+            }
+            broadcastedChanges = current;
+            logEmitters.forEach(this::pushLogs);
+        } catch (RuntimeException e) {
+            // Zamanlanmış görev istisna fırlatırsa bir daha çalışmaz
+            LOGGER.warn("İş durumu gönderilemedi: {}", e.getMessage());
+        }
+    }
+
+    private void pushLogs(SseEmitter emitter, LogSubscription subscription) {
+        // Abone olan istek ve zamanlanmış gönderim aynı anda çalışabilir; satırlar iki kez gönderilmez
+        synchronized (subscription) {
+            if (subscription.closed) {
+                return;
+            }
+            // Bitiş kontrolü satırlar okunmadan önce yapılır ki son satırlar kaçmasın
+            boolean finished = subscription.job.isFinished();
+            List<Job.LogLine> lines = subscription.job.getLogs(subscription.lastSequence);
+            if (!lines.isEmpty()) {
+                if (!send(emitter, "log", lines)) {
+                    subscription.closed = true;
+                    logEmitters.remove(emitter);
+                    return;
+                }
+                subscription.lastSequence = lines.get(lines.size() - 1).getSequence();
+            }
+            if (finished) {
+                send(emitter, "end", subscription.job);
+                subscription.closed = true;
+                logEmitters.remove(emitter);
+                emitter.complete();
+            }
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Çalışan işlere iptal isteği gönderir ve akışları kapatır.
+     * İş havuzunun kapatılıp işlerin beklenmesi ExecutorRegistry kapanışında yapılır.
+     */
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.cancel(false);
+        statusEmitters.forEach(SseEmitter::complete);
+        logEmitters.keySet().forEach(SseEmitter::complete);
+        for (Job job : getJobs()) {
+            job.requestCancel();
+        }
+    }
+
+    /**
+     * Bir günlük akışının okunduğu son satır
+     */
+    private static class LogSubscription {
+        private final Job job;
+        private long lastSequence;
+        private boolean closed;
+
+        LogSubscription(Job job) {
+            this.job = job;
+        }
+    }
+}
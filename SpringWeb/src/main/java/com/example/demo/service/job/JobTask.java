@@ -0,0 +1,17 @@
+package com.example.demo.service.job;
+
+/**
+ * Arka planda çalıştırılacak iş
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * İşi çalıştırır
+     *
+     * @param context İlerleme, günlük ve iptal bilgisi
+     * @return İş bittiğinde gösterilecek mesaj
+     * @throws Exception iş başarısız olursa
+     */
+    String run(JobContext context) throws Exception;
+}
@@ -1,22 +1,29 @@
 package com.example.demo.util;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 
 /**
- * Uygulama genelinde eşzamanlı işlemleri yönetmek için kullanılan sınıf
+ * Uygulama genelinde eşzamanlı işlemleri yönetmek için kullanılan sınıf.
+ * Spring uygulamasında görevler ExecutorRegistry'nin "io" havuzunda çalışır ({@link #bindExecutor});
+ * Spring dışında (örn. masaüstü arayüzü) sabit boyutlu yedek havuz kullanılır. JDK 21 ve üzerinde
+ * {@link #enableVirtualThreads(ExecutorService, int, long)} ile her görev için sanal thread açan moda geçilebilir;
+ * sanal thread havuzunun yaşam döngüsü onu oluşturan Spring bileşenine aittir.
+ * Sanal thread modunda havuz boyutu sınır olmaktan çıktığından aynı anda çalışan görev sayısı
+ * bağlantı havuzu boyutuna göre bir semafor ile sınırlandırılır.
  */
 public class ConcurrencyManager {
     private static final Logger LOGGER = AppLogger.getLogger(ConcurrencyManager.class);
     
-    // Uygulama genelinde ortak bir thread havuzu
+    // Spring dışı kullanım için yedek thread havuzu
     private static final int CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors();
     private static final int MAX_POOL_SIZE = CORE_POOL_SIZE * 2;
     private static final long KEEP_ALIVE_TIME = 60L;
     
-    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+    private static final ThreadPoolExecutor FALLBACK_EXECUTOR = new ThreadPoolExecutor(
         CORE_POOL_SIZE,
         MAX_POOL_SIZE,
         KEEP_ALIVE_TIME, TimeUnit.SECONDS,
@@ -25,8 +32,20 @@ public class ConcurrencyManager {
         new ThreadPoolExecutor.CallerRunsPolicy()
     );
     
+    // Görevlerin gönderildiği havuz; kayıtlı havuz bağlanınca veya sanal thread moduna geçilince değiştirilir
+    private static volatile ExecutorService executor = FALLBACK_EXECUTOR;
+    
+    // ExecutorRegistry'nin bağladığı platform havuzu (yaşam döngüsü kayıt defterine aittir)
+    private static volatile ThreadPoolExecutor boundPool;
+    private static volatile boolean virtualThreads;
+    
+    // Sanal thread modunda aynı anda çalışabilecek görev sayısı (platform modunda havuz boyutu sınırdır)
+    private static volatile Semaphore taskPermits;
+    private static volatile int maxConcurrentTasks;
+    private static volatile long acquireTimeoutMillis;
+    
     // Özel Thread Factory, iş parçacıklarına anlamlı isimler vermek için
-    private static class CustomThreadFactory implements ThreadFactory {
+    static class CustomThreadFactory implements ThreadFactory {
         private final String prefix;
         private final AtomicInteger threadNumber = new AtomicInteger(1);
         
@@ -54,7 +73,7 @@ public class ConcurrencyManager {
      * @return Görevin gelecekteki sonucu
      */
     public static <T> CompletableFuture<T> submitTask(Supplier<T> task) {
-        return CompletableFuture.supplyAsync(task, EXECUTOR)
+        return CompletableFuture.supplyAsync(limited(task), executor)
             .exceptionally(throwable -> {
                 LOGGER.error("Task execution failed: " + throwable.getMessage(), throwable);
                 throw new CompletionException(throwable);
@@ -68,13 +87,138 @@ public class ConcurrencyManager {
      * @return Görevin gelecekteki sonucu
      */
     public static CompletableFuture<Void> submitTask(Runnable task) {
-        return CompletableFuture.runAsync(task, EXECUTOR)
+        Supplier<Void> limitedTask = limited(() -> {
+            task.run();
+            return null;
+        });
+        return CompletableFuture.runAsync(limitedTask::get, executor)
             .exceptionally(throwable -> {
                 LOGGER.error("Task execution failed: " + throwable.getMessage(), throwable);
                 throw new CompletionException(throwable);
             });
     }
     
+    /**
+     * Sanal thread modunda görevi eşzamanlılık sınırının arkasına alır.
+     * Sınır dolu kaldığı sürece görev bekler; süre aşılırsa reddedilir ki
+     * bağlantı havuzunda sırası gelmeyecek görevler birikmesin.
+     */
+    private static <T> Supplier<T> limited(Supplier<T> task) {
+        Semaphore permits = taskPermits;
+        if (permits == null) {
+            return task;
+        }
+        long timeout = acquireTimeoutMillis;
+        return () -> {
+            try {
+                if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Eşzamanlı görev sınırı dolu (" + maxConcurrentTasks + ")");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Görev beklerken kesildi", e);
+            }
+            try {
+                return task.get();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+    
+    /**
+     * Görevleri her biri için yeni sanal thread açan havuza yönlendirir (JDK 21+).
+     * Eski platform havuzundaki görevler tamamlanmaya devam eder.
+     * 
+     * @param virtualExecutor {@link #newVirtualThreadExecutor()} ile oluşturulan havuz (kapatmak çağırana aittir)
+     * @param maxConcurrent Aynı anda çalışabilecek en fazla görev (genellikle bağlantı havuzu boyutu)
+     * @param acquireTimeoutMs Sınır doluyken görevin bekleyebileceği en uzun süre
+     */
+    public static synchronized void enableVirtualThreads(ExecutorService virtualExecutor, int maxConcurrent,
+                                                         long acquireTimeoutMs) {
+        maxConcurrentTasks = maxConcurrent;
+        acquireTimeoutMillis = acquireTimeoutMs;
+        taskPermits = new Semaphore(maxConcurrent, true);
+        executor = virtualExecutor;
+        virtualThreads = true;
+        LOGGER.info("Görevler sanal thread'lerde çalışacak (en fazla {} eşzamanlı görev)", maxConcurrent);
+    }
+    
+    /**
+     * Görevleri yeniden platform havuzuna yönlendirir ve sanal thread havuzunu, çalışan görevleri
+     * bekleyerek kapatır. Spring bağlamı kapanırken çağrılır.
+     * 
+     * @param virtualExecutor {@link #enableVirtualThreads} ile bağlanan havuz
+     */
+    public static void disableVirtualThreads(ExecutorService virtualExecutor) {
+        synchronized (ConcurrencyManager.class) {
+            if (executor == virtualExecutor) {
+                executor = boundPool != null ? boundPool : FALLBACK_EXECUTOR;
+                virtualThreads = false;
+                taskPermits = null;
+            }
+        }
+        shutdown(virtualExecutor);
+    }
+    
+    /**
+     * Görevlerin sanal thread'lerde çalışıp çalışmadığını belirtir
+     */
+    public static boolean isVirtualThreadMode() {
+        return virtualThreads;
+    }
+    
+    /**
+     * Görevleri yaşam döngüsü Spring tarafından yönetilen bir havuza yönlendirir.
+     * Sanal thread modunda havuz yalnızca durum raporunda kullanılır.
+     * 
+     * @param pool Görevlerin çalışacağı havuz (kapatmak bağlayana aittir)
+     */
+    public static synchronized void bindExecutor(ThreadPoolExecutor pool) {
+        boundPool = pool;
+        if (!virtualThreads) {
+            executor = pool;
+        }
+    }
+    
+    /**
+     * Bağlı havuz kapatılmadan önce görevleri yeniden yedek havuza yönlendirir
+     */
+    public static synchronized void unbindExecutor(ThreadPoolExecutor pool) {
+        if (boundPool != pool) {
+            return;
+        }
+        boundPool = null;
+        if (!virtualThreads) {
+            executor = FALLBACK_EXECUTOR;
+        }
+    }
+    
+    /**
+     * Çalışan JDK'nın sanal thread'leri destekleyip desteklemediğini belirtir
+     */
+    public static boolean isVirtualThreadSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+    
+    /**
+     * Proje Java 17 ile derlendiğinden sanal thread havuzu yansıma ile oluşturulur
+     * 
+     * @return Sanal thread havuzu, desteklenmiyorsa null
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (!isVirtualThreadSupported()) {
+            return null;
+        }
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Sanal thread havuzu oluşturulamadı: {}", e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Bir görev listesini paralel olarak çalıştırır ve tüm sonuçları bekler
      * 
@@ -96,61 +240,48 @@ public class ConcurrencyManager {
      * @return Thread havuzunun durum bilgisi
      */
     public static String getPoolStatus() {
+        Semaphore permits = taskPermits;
+        if (isVirtualThreadMode() && permits != null) {
+            return String.format(
+                "ThreadPool Status: [Mode: virtual, Running: %d, Limit: %d, Waiting: %d]",
+                maxConcurrentTasks - permits.availablePermits(),
+                maxConcurrentTasks,
+                permits.getQueueLength()
+            );
+        }
+        ThreadPoolExecutor pool = boundPool != null ? boundPool : FALLBACK_EXECUTOR;
         return String.format(
             "ThreadPool Status: [Active: %d, Completed: %d, Task Count: %d, Queue Size: %d]",
-            EXECUTOR.getActiveCount(),
-            EXECUTOR.getCompletedTaskCount(),
-            EXECUTOR.getTaskCount(),
-            EXECUTOR.getQueue().size()
+            pool.getActiveCount(),
+            pool.getCompletedTaskCount(),
+            pool.getTaskCount(),
+            pool.getQueue().size()
         );
     }
     
     /**
-     * Uygulama sonlandırılmadan önce çağrılarak, tüm işlemlerin tamamlanmasını bekler
+     * Uygulama sonlandırılmadan önce çağrılarak, tüm işlemlerin tamamlanmasını bekler.
+     * Bağlı havuz ve sanal thread havuzu burada kapatılmaz; onları oluşturan Spring bileşenleri
+     * bağlam kapanırken kapatır.
      */
     public static void shutdown() {
         LOGGER.info("Shutting down thread pool...");
-        EXECUTOR.shutdown();
+        shutdown(FALLBACK_EXECUTOR);
+        LOGGER.info("Thread pool has been shut down");
+    }
+    
+    private static void shutdown(ExecutorService pool) {
+        pool.shutdown();
         try {
-            if (!EXECUTOR.awaitTermination(60, TimeUnit.SECONDS)) {
-                EXECUTOR.shutdownNow();
-                if (!EXECUTOR.awaitTermination(60, TimeUnit.SECONDS)) {
+            if (!pool.awaitTermination(60, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+                if (!pool.awaitTermination(60, TimeUnit.SECONDS)) {
                     LOGGER.error("Thread pool did not terminate properly");
                 }
             }
         } catch (InterruptedException ie) {
-            EXECUTOR.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-        LOGGER.info("Thread pool has been shut down");
-    }
-    
-    /**
-     * Uygulamanın süresiz olarak beklemesini sağlar.
-     * Otomatik/demo modlarında, uygulamanın kapanmaması için kullanılır.
-     * Bu metot, main thread'i bloklar ama diğer thread'lerin çalışmasına engel olmaz.
-     */
-    public static void waitIndefinitely() {
-        LOGGER.info("Application is running in background mode");
-        
-        // CountDownLatch kullanarak ana thread'i süresiz beklet
-        final CountDownLatch latch = new CountDownLatch(1);
-        
-        // Kapatma kancası ekle, ctrl+c ile sonlandırılabilmesi için
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            LOGGER.info("Shutdown requested, cleaning up resources...");
-            shutdown();
-            latch.countDown();
-        }));
-        
-        try {
-            // Sonsuz bekle (ya da shutdown hook tetiklenene kadar)
-            latch.await();
-        } catch (InterruptedException e) {
-            LOGGER.info("Wait interrupted");
+            pool.shutdownNow();
             Thread.currentThread().interrupt();
         }
-        
-        LOGGER.info("Application is shutting down");
     }
 } 
\ No newline at end of file
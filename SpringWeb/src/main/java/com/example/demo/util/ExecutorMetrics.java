@@ -0,0 +1,77 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bir thread havuzunun kuyrukta bekleme ve çalışma süresi histogramları ile ret sayacı
+ */
+public class ExecutorMetrics {
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Görevi, kuyrukta beklediği ve çalıştığı süreyi kaydedecek şekilde sarar
+     */
+    Runnable timed(Runnable task) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTime.record(startedAt - submittedAt);
+            try {
+                task.run();
+            } finally {
+                executionTime.record(System.nanoTime() - startedAt);
+            }
+        };
+    }
+
+    /**
+     * Reddedilen görevleri sayıp asıl ret politikasına devreder
+     */
+    RejectedExecutionHandler countingRejections(RejectedExecutionHandler delegate) {
+        return (task, pool) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Havuzun anlık durumu ve süre istatistikleri
+     *
+     * @param pool Ölçülen havuz
+     * @return Boyut, kuyruk derinliği, aktif iş, tamamlanan ve reddedilen görev sayıları ile süre histogramları
+     */
+    public Map<String, Object> snapshot(ThreadPoolExecutor pool) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("coreThreads", pool.getCorePoolSize());
+        result.put("maxThreads", pool.getMaximumPoolSize());
+        result.put("poolSize", pool.getPoolSize());
+        result.put("activeCount", pool.getActiveCount());
+        result.put("queueDepth", pool.getQueue().size());
+        result.put("queueRemainingCapacity", pool.getQueue().remainingCapacity());
+        result.put("completedTasks", pool.getCompletedTaskCount());
+        result.put("rejectedTasks", getRejectedCount());
+        result.put("waitTime", waitTime.snapshot());
+        result.put("executionTime", executionTime.snapshot());
+        result.put("shutdown", pool.isShutdown());
+        return result;
+    }
+}
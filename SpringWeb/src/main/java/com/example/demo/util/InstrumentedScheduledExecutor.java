@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zamanlanmış görevlerin gecikmesini ve çalışma süresini ölçen zamanlayıcı havuzu.
+ * Zamanlanmış görevlerde bekleme süresi, görevin planlanan zamandan ne kadar geç başladığıdır.
+ */
+public class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final String name;
+    private final ExecutorMetrics metrics;
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    public InstrumentedScheduledExecutor(String name, int threads) {
+        this(name, threads, new ExecutorMetrics());
+    }
+
+    private InstrumentedScheduledExecutor(String name, int threads, ExecutorMetrics metrics) {
+        super(threads, daemonFactory(name), metrics.countingRejections(new ThreadPoolExecutor.AbortPolicy()));
+        this.name = name;
+        this.metrics = metrics;
+        // İptal edilen periyodik görevler kuyrukta birikmez
+        setRemoveOnCancelPolicy(true);
+    }
+
+    private static java.util.concurrent.ThreadFactory daemonFactory(String name) {
+        ConcurrencyManager.CustomThreadFactory factory = new ConcurrencyManager.CustomThreadFactory(name + "-");
+        return runnable -> {
+            Thread thread = factory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        super.beforeExecute(thread, task);
+        if (task instanceof Delayed delayed) {
+            metrics.getWaitTime().record(-delayed.getDelay(TimeUnit.NANOSECONDS));
+        }
+        startedAt.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable error) {
+        Long start = startedAt.get();
+        if (start != null) {
+            metrics.getExecutionTime().record(System.nanoTime() - start);
+            startedAt.remove();
+        }
+        super.afterExecute(task, error);
+    }
+
+    /**
+     * Zamanlayıcı iş parçacığı sayısını çalışırken değiştirir
+     *
+     * @param threads Yeni iş parçacığı sayısı
+     * @throws IllegalArgumentException sayı geçersizse
+     */
+    public synchronized void resize(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("İş parçacığı sayısı geçersiz: " + threads);
+        }
+        setCorePoolSize(threads);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+}
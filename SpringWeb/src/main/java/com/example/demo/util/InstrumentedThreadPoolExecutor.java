@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kuyrukta bekleme ve çalışma sürelerini, reddedilen görevleri ölçen ve
+ * çalışırken yeniden boyutlandırılabilen thread havuzu
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final String name;
+    private final ExecutorMetrics metrics;
+
+    /**
+     * @param name Havuz adı (iş parçacığı adlarının öneki)
+     * @param coreThreads Sürekli açık tutulan iş parçacığı sayısı
+     * @param maxThreads Kuyruk dolunca açılabilecek en fazla iş parçacığı
+     * @param queueCapacity Bekleyen görev kapasitesi
+     * @param rejectionPolicy Kuyruk ve havuz doluyken uygulanacak politika
+     */
+    public InstrumentedThreadPoolExecutor(String name, int coreThreads, int maxThreads, int queueCapacity,
+                                          RejectedExecutionHandler rejectionPolicy) {
+        this(name, coreThreads, maxThreads, queue(queueCapacity), rejectionPolicy, new ExecutorMetrics());
+    }
+
+    private InstrumentedThreadPoolExecutor(String name, int coreThreads, int maxThreads, BlockingQueue<Runnable> queue,
+                                           RejectedExecutionHandler rejectionPolicy, ExecutorMetrics metrics) {
+        super(coreThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue,
+                new ConcurrencyManager.CustomThreadFactory(name + "-"), metrics.countingRejections(rejectionPolicy));
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    private static BlockingQueue<Runnable> queue(int capacity) {
+        // Küçük kuyruklar önceden ayrılmış dizide, büyükler bağlı listede tutulur
+        return capacity <= 1024 ? new ArrayBlockingQueue<>(Math.max(1, capacity)) : new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(metrics.timed(command));
+    }
+
+    /**
+     * Havuzun boyutunu çalışırken değiştirir. Küçültmede fazla iş parçacıkları ellerindeki görevi bitirince kapanır.
+     *
+     * @param coreThreads Yeni sürekli iş parçacığı sayısı
+     * @param maxThreads Yeni en fazla iş parçacığı sayısı
+     * @throws IllegalArgumentException sayılar geçersizse
+     */
+    public synchronized void resize(int coreThreads, int maxThreads) {
+        if (coreThreads < 1 || maxThreads < coreThreads) {
+            throw new IllegalArgumentException("İş parçacığı sayıları geçersiz: core=" + coreThreads + ", max=" + maxThreads);
+        }
+        // Ara adımda core > max olmaması için sıra büyüme ve küçülmede farklıdır
+        if (maxThreads >= getMaximumPoolSize()) {
+            setMaximumPoolSize(maxThreads);
+            setCorePoolSize(coreThreads);
+        } else {
+            setCorePoolSize(coreThreads);
+            setMaximumPoolSize(maxThreads);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Anahtar kümesi (keyset) sayfalaması için imleç.
+ * Son satırın sıralama değerini ve ID'sini taşır; bir sonraki sayfa
+ * OFFSET kullanmadan bu değerlerden sonrası için sorgulanır.
+ * İstemciye URL güvenli Base64 metni olarak verilir.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String sortValue;
+    private final long id;
+
+    private KeysetCursor(String sortValue, long id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * Sıralama değeri ve ID'den imleç oluşturur
+     *
+     * @param sortValue Son satırın sıralama değeri (NULL değerli satırlar için null)
+     * @param id Son satırın ID'si
+     * @return İmleç
+     */
+    public static KeysetCursor of(Object sortValue, long id) {
+        return new KeysetCursor(sortValue != null ? String.valueOf(sortValue) : "", id);
+    }
+
+    /**
+     * İstemciden gelen imleç metnini çözer
+     *
+     * @param token İmleç metni
+     * @return İmleç
+     * @throws IllegalArgumentException imleç geçersizse
+     */
+    public static KeysetCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci: " + token, e);
+        }
+        int separatorIndex = raw.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci: " + token);
+        }
+        try {
+            return new KeysetCursor(raw.substring(0, separatorIndex), Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci: " + token, e);
+        }
+    }
+
+    /**
+     * İmleci istemciye verilecek metne dönüştürür
+     *
+     * @return URL güvenli imleç metni
+     */
+    public String encode() {
+        String raw = sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Son satırın sıralama değerinin dolu olup olmadığını belirtir (NULLS LAST sıralamalar için)
+     */
+    public boolean hasValue() {
+        return !sortValue.isEmpty();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public double getDoubleValue() {
+        try {
+            return Double.parseDouble(sortValue);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci değeri: " + sortValue, e);
+        }
+    }
+
+    public int getIntValue() {
+        try {
+            return Integer.parseInt(sortValue);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci değeri: " + sortValue, e);
+        }
+    }
+
+    public LocalDateTime getDateTimeValue() {
+        try {
+            return LocalDateTime.parse(sortValue);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci değeri: " + sortValue, e);
+        }
+    }
+}
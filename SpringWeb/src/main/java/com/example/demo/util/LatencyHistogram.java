@@ -0,0 +1,129 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Süreleri kilitsiz olarak kaydeden, sabit boyutlu histogram.
+ * Her ikinin kuvveti aralığı 8 alt kovaya bölünür; yüzdelikler en fazla %12,5 hatayla hesaplanır
+ * ve bellek kullanımı kayıt sayısından bağımsızdır. Değerler açılıştan beri birikir; güncel gecikme
+ * için kayıtlar {@link #addListener} ile zaman pencereli bir ölçüme (örn. Micrometer Timer) aktarılır.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Bir süreyi kaydeder
+     *
+     * @param nanos Nanosaniye cinsinden süre (negatifse sıfır sayılır)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+        for (LongConsumer listener : listeners) {
+            listener.accept(value);
+        }
+    }
+
+    /**
+     * Bundan sonra kaydedilen her süreyi (nanosaniye) verilen alıcıya da iletir
+     *
+     * @param listener Süre alıcısı
+     */
+    public void addListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Verilen yüzdeliğe denk gelen süre (milisaniye, kova üst sınırı)
+     *
+     * @param percentile 0-100 arası yüzdelik
+     */
+    public double percentileMillis(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(upperBound(i), maxNanos.get()) / 1e6;
+            }
+        }
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Kayıt sayısı, ortalama, p50/p95/p99 ve en büyük değer (milisaniye)
+     */
+    public Map<String, Object> snapshot() {
+        long samples = count.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", samples);
+        result.put("meanMs", samples > 0 ? round(totalNanos.sum() / (samples * 1e6)) : 0.0);
+        result.put("p50Ms", round(percentileMillis(50)));
+        result.put("p95Ms", round(percentileMillis(95)));
+        result.put("p99Ms", round(percentileMillis(99)));
+        result.put("maxMs", round(maxNanos.get() / 1e6));
+        return result;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Türkçe metni arama terimlerine ayıran çözümleyici.
+ * <ol>
+ *   <li>Küçük harfe çevirme Türkçe kurallarıyla yapılır (I → ı, İ → i)</li>
+ *   <li>Türkçe karakterler ASCII karşılıklarına katlanır (ı → i, ş → s, ğ → g, ç → c, ö → o, ü → u);
+ *       böylece "şiş", "sis" ve "ŞİŞ" aynı terime düşer</li>
+ *   <li>Harf ve rakam dışındaki karakterler sözcükleri ayırır; tek harfli sözcükler ve bağlaç, edat gibi
+ *       durak sözcükleri atılır</li>
+ *   <li>Hafif kök bulma: çoğul, hal, iyelik ve sık kullanılan kip ekleri sondan en fazla iki kez kırpılır,
+ *       kökte en az üç harf bırakılır ve sondaki yumuşama geri alınır (yemeğ → yemek)</li>
+ * </ol>
+ * Kök bulma dilbilgisel olarak tam değildir; amaç aynı sözcüğün çekimli biçimlerini aynı terime indirmektir.
+ * Anlamı tersine çeviren ekler (-sız, -siz, olumsuzluk -me/-ma) kırpılmaz ki "lezzetsiz" araması "lezzetli"
+ * yorumları getirmesin. Aynı çözümleyici hem indekslemede hem sorguda kullanıldığından tutarlıdır.
+ */
+public final class TurkishTextAnalyzer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final int MAX_STRIP_PASSES = 2;
+
+    // Katlanmış (ASCII) biçimde durak sözcükleri
+    private static final Set<String> STOP_WORDS = Set.of(
+            "ve", "ile", "bir", "bu", "su", "o", "da", "de", "ki", "mi", "mu", "ama", "fakat", "ancak", "icin",
+            "gibi", "cok", "daha", "en", "ne", "her", "hic", "ya", "veya", "hem", "ise", "olarak", "diye", "kadar",
+            "sonra", "once", "bile", "biz", "ben", "sen", "siz", "onlar", "bizim", "benim", "sey", "tum", "butun",
+            "gayet", "oldukca", "biraz", "zaten", "yine", "artik", "hep", "pek", "olan", "oldu",
+            "idi", "the", "and");
+
+    // Uzundan kısaya sıralı ekler; ilk eşleşen kırpılır
+    private static final String[] SUFFIXES = {
+            "lerinden", "larindan", "lerinde", "larinda", "lerine", "larina", "lerini", "larini",
+            "ndaki", "ndeki", "lerin", "larin", "imiz", "umuz", "iniz", "unuz", "ymis", "ymus",
+            "ndan", "nden", "daki", "deki", "taki", "teki", "iyor", "uyor", "leri", "lari",
+            "ydi", "ydu", "dan", "den", "tan", "ten", "nda", "nde", "nin", "nun", "yor",
+            "dik", "duk", "tik", "tuk", "dim", "dum", "tim", "tum", "din", "dun", "tin", "tun",
+            "mis", "mus", "miz", "muz", "niz", "nuz", "ler", "lar",
+            "da", "de", "ta", "te", "in", "un", "di", "du", "ti", "tu", "im", "um", "si", "su", "yi", "yu",
+            "i", "u"
+    };
+
+    // Son harfe göre gruplanmış ekler; her sözcükte yalnızca son harfi uyan ekler denenir
+    private static final String[][] SUFFIXES_BY_LAST_CHAR = new String[128][];
+
+    // Sözcük → terim önbelleği. Yorumlardaki sözcük dağarcığı küçük olduğundan kurulumun çoğu buradan
+    // yanıtlanır; kullanıcı metni sınırsız farklı sözcük içerebildiğinden boyutu sınırlıdır
+    private static final int MAX_CACHED_WORDS = 200_000;
+    private static final Map<String, String> TERM_CACHE = new ConcurrentHashMap<>();
+    private static final String NO_TERM = "";
+
+    static {
+        Map<Character, List<String>> grouped = new HashMap<>();
+        for (String suffix : SUFFIXES) {
+            grouped.computeIfAbsent(suffix.charAt(suffix.length() - 1), key -> new ArrayList<>()).add(suffix);
+        }
+        grouped.forEach((last, suffixes) -> SUFFIXES_BY_LAST_CHAR[last] = suffixes.toArray(new String[0]));
+    }
+
+    private TurkishTextAnalyzer() {
+    }
+
+    /**
+     * Metni tekrar etmeyen terimlere ayırır (ilk geçiş sırasıyla)
+     *
+     * @param text Çözümlenecek metin (null olabilir)
+     * @return Terimler
+     */
+    public static List<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return new ArrayList<>(terms);
+        }
+        StringBuilder token = new StringBuilder(16);
+        boolean apostrophe = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if ((c == '\'' || c == '’') && token.length() > 0) {
+                // Özel isimlere kesme işaretiyle eklenen ek atılır (İstanbul'daki → istanbul)
+                apostrophe = true;
+                continue;
+            }
+            if (c == '\u0307') {
+                // İ'nin NFD biçimindeki birleşik nokta sözcüğü bölmez (I + U+0307 + stanbul → istanbul)
+                continue;
+            }
+            char folded = fold(c);
+            if (folded != 0) {
+                if (!apostrophe) {
+                    token.append(folded);
+                }
+                continue;
+            }
+            if (token.length() > 0) {
+                addTerm(terms, token.toString());
+                token.setLength(0);
+            }
+            apostrophe = false;
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Tek bir sözcüğü katlanmış ve kökü bulunmuş terime çevirir
+     *
+     * @param word Sözcük
+     * @return Terim; sözcük durak sözcüğü veya çok kısaysa null
+     */
+    public static String term(String word) {
+        List<String> terms = terms(word);
+        return terms.isEmpty() ? null : terms.get(0);
+    }
+
+    private static void addTerm(Set<String> terms, String token) {
+        if (token.length() < MIN_TOKEN_LENGTH) {
+            return;
+        }
+        String term = TERM_CACHE.get(token);
+        if (term == null) {
+            term = STOP_WORDS.contains(token) ? NO_TERM : stem(token);
+            if (TERM_CACHE.size() < MAX_CACHED_WORDS) {
+                TERM_CACHE.put(token, term);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term);
+        }
+    }
+
+    /**
+     * Karakteri küçük harfe çevirip ASCII karşılığına katlar; sözcük ayırıcılar için 0 döner.
+     * Birleşik nokta (İ'nin NFD biçimindeki U+0307) burada değil {@link #terms} içinde atlanır.
+     */
+    static char fold(char c) {
+        switch (c) {
+            case 'I': case 'ı': case 'İ': case 'î': case 'Î': return 'i';
+            case 'ş': case 'Ş': return 's';
+            case 'ğ': case 'Ğ': return 'g';
+            case 'ç': case 'Ç': return 'c';
+            case 'ö': case 'Ö': return 'o';
+            case 'ü': case 'Ü': case 'û': case 'Û': return 'u';
+            case 'â': case 'Â': return 'a';
+            default:
+                if (c < 128) {
+                    if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                        return c;
+                    }
+                    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : 0;
+                }
+                return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+        }
+    }
+
+    static String stem(String token) {
+        if (isNumber(token)) {
+            return token;
+        }
+        String stem = token;
+        for (int pass = 0; pass < MAX_STRIP_PASSES; pass++) {
+            String stripped = stripSuffix(stem);
+            if (stripped == null) {
+                break;
+            }
+            stem = stripped;
+        }
+        return stem == token ? stem : soften(stem);
+    }
+
+    private static boolean isNumber(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripSuffix(String word) {
+        char last = word.charAt(word.length() - 1);
+        String[] candidates = last < SUFFIXES_BY_LAST_CHAR.length ? SUFFIXES_BY_LAST_CHAR[last] : null;
+        if (candidates == null) {
+            return null;
+        }
+        for (String suffix : candidates) {
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ek alırken yumuşayan son ünsüzü geri sertleştirir (kitab → kitap, yemeg → yemek, tad → tat)
+     */
+    private static String soften(String stem) {
+        char last = stem.charAt(stem.length() - 1);
+        char hard = last == 'b' ? 'p' : last == 'g' ? 'k' : last == 'd' ? 't' : last;
+        return hard == last ? stem : stem.substring(0, stem.length() - 1) + hard;
+    }
+}
@@ -115,10 +115,17 @@ INSERT INTO reviews (restaurant_id, restaurant_name, rating, comment, date) VALU
 (15, 'Mantı Evi', 5, 'Mantılar çok inceydi, yoğurt ve sos mükemmeldi.', '2023-06-15 13:45:00'),
 (15, 'Mantı Evi', 4, 'Mantı çeşitleri lezzetli ama servis biraz yavaş.', '2023-07-10 14:30:00');
 
--- Restoranların puan ortalamasını güncelle
+-- Restoranların değerlendirme sayısı, puan toplamları ve ortalamasını güncelle
 UPDATE restaurants r
-SET rating = (
-    SELECT COALESCE(AVG(CAST(rev.rating AS double precision)), 0.0) 
-    FROM reviews rev 
-    WHERE rev.restaurant_id = r.id
-); 
\ No newline at end of file
+SET review_count = a.cnt,
+    rating_sum = a.total,
+    rating_sum_squares = a.squares,
+    rating = CASE WHEN a.cnt > 0 THEN CAST(a.total AS double precision) / a.cnt ELSE 0.0 END
+FROM (
+    SELECT rs.id AS id, COUNT(rev.id) AS cnt, COALESCE(SUM(rev.rating), 0) AS total,
+           COALESCE(SUM(rev.rating * rev.rating), 0) AS squares
+    FROM restaurants rs
+    LEFT JOIN reviews rev ON rev.restaurant_id = rs.id
+    GROUP BY rs.id
+) a
+WHERE r.id = a.id; 
\ No newline at end of file
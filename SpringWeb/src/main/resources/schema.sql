@@ -16,6 +16,31 @@ CREATE TABLE IF NOT EXISTS restaurants (
     rating DOUBLE PRECISION DEFAULT 0.0
 ) WITH (OIDS=FALSE);
 
+-- Tek seferlik veri taşımalarının kaydı; schema.sql her açılışta çalıştığından
+-- tabloları tarayan güncellemeler yalnızca burada kaydı yoksa uygulanır
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    version VARCHAR(64) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Değerlendirme toplamı kolonları (artımlı puan hesaplaması için)
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS review_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS rating_sum_squares BIGINT NOT NULL DEFAULT 0;
+
+-- Keyset sayfalama sorguları için sıralama indeksleri
+CREATE INDEX IF NOT EXISTS idx_restaurants_rating_id ON restaurants (rating DESC, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_rating_id ON reviews (rating DESC, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_date_id ON reviews (date DESC, id DESC);
+
+-- Artımlı dışa aktarım updated_at üzerinden yapılır; eski kayıtlarda oluşturulma tarihi kullanılır
+ALTER TABLE reviews ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+UPDATE reviews SET updated_at = date
+WHERE updated_at IS NULL
+  AND NOT EXISTS (SELECT 1 FROM schema_migrations WHERE version = 'reviews_updated_at_backfill');
+INSERT INTO schema_migrations (version) VALUES ('reviews_updated_at_backfill') ON CONFLICT DO NOTHING;
+CREATE INDEX IF NOT EXISTS idx_reviews_updated_at_id ON reviews (updated_at, id);
+
 -- Karakter kodlamasını ayarla (PostgreSQL'in desteklediği karşılaştırma kullanılıyor)
 -- Türkçe karakter desteği için UTF-8 kullanılıyor
 ALTER TABLE restaurants ALTER COLUMN name TYPE VARCHAR(255);
@@ -23,10 +48,57 @@ ALTER TABLE restaurants ALTER COLUMN location TYPE VARCHAR(255);
 ALTER TABLE reviews ALTER COLUMN comment TYPE TEXT;
 ALTER TABLE reviews ALTER COLUMN restaurant_name TYPE VARCHAR(255);
 
--- Restoran puanlarını değerlendirmelere göre güncelle
+-- Değerlendirme-restoran ilişkisi restaurant_id üzerinden kurulur.
+-- Eski kayıtların boş restoran ID'leri ada göre doldurulur; var olmayan restorana
+-- işaret eden ID'ler boşaltılır (kayıt silinmez, sadece hiçbir restorana bağlanmaz).
+-- Değişen kayıtların updated_at değeri ilerletilir ki sonraki artımlı yedeğe girsin.
+-- Bu taşıma bir kez çalışır; sonrasında ilişkiyi yabancı anahtar korur.
+UPDATE reviews AS rv
+SET restaurant_id = rs.id, updated_at = CURRENT_TIMESTAMP
+FROM restaurants rs
+WHERE rv.restaurant_id IS NULL AND rv.restaurant_name = rs.name
+  AND NOT EXISTS (SELECT 1 FROM schema_migrations WHERE version = 'reviews_restaurant_id_backfill');
+
+UPDATE reviews AS rv
+SET restaurant_id = NULL, updated_at = CURRENT_TIMESTAMP
+WHERE rv.restaurant_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM restaurants rs WHERE rs.id = rv.restaurant_id)
+  AND NOT EXISTS (SELECT 1 FROM schema_migrations WHERE version = 'reviews_restaurant_id_backfill');
+INSERT INTO schema_migrations (version) VALUES ('reviews_restaurant_id_backfill') ON CONFLICT DO NOTHING;
+
+-- Restorana göre tarih ve puan erişimleri için bileşik indeksler
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_date ON reviews (restaurant_id, date DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_rating ON reviews (restaurant_id, rating DESC);
+
+-- Yabancı anahtar yalnızca eksikse eklenir (Hibernate'in oluşturamadığı eski veritabanları
+-- veya yükleme sırasında kapanmış bir geri yükleme); var olan kısıt her açılışta yeniden doğrulanmaz.
+-- Gövde tek tırnak içinde yazılır, çünkü betik ayırıcı dolar tırnaklarını tanımaz.
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = ''fk_reviews_restaurant'' AND conrelid = ''reviews''::regclass) THEN
+        ALTER TABLE reviews ADD CONSTRAINT fk_reviews_restaurant
+            FOREIGN KEY (restaurant_id) REFERENCES restaurants (id);
+    END IF;
+END';
+
+-- Restoran puanlarını ve toplamlarını değerlendirmelere göre bir kez doldur; sonrasında
+-- toplamlar artımlı güncellenir, toplu yüklemeler kendi hesaplamasını yapar ve sapmalar
+-- zamanlanmış uzlaştırma ile düzeltilir
 UPDATE restaurants AS r
-SET rating = (
-    SELECT COALESCE(AVG(rv.rating), 0.0)
-    FROM reviews rv
-    WHERE rv.restaurant_name = r.name
-); 
\ No newline at end of file
+SET rating = agg.avg_rating,
+    review_count = agg.cnt,
+    rating_sum = agg.total,
+    rating_sum_squares = agg.total_sq
+FROM (
+    SELECT rs.id,
+           COALESCE(AVG(rv.rating), 0.0) AS avg_rating,
+           COUNT(rv.id) AS cnt,
+           COALESCE(SUM(rv.rating), 0) AS total,
+           COALESCE(SUM(rv.rating * rv.rating), 0) AS total_sq
+    FROM restaurants rs
+    LEFT JOIN reviews rv ON rv.restaurant_id = rs.id
+    GROUP BY rs.id
+) AS agg
+WHERE agg.id = r.id
+  AND NOT EXISTS (SELECT 1 FROM schema_migrations WHERE version = 'restaurant_rating_aggregates');
+INSERT INTO schema_migrations (version) VALUES ('restaurant_rating_aggregates') ON CONFLICT DO NOTHING;
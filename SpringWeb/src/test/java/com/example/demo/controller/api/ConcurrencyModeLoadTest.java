@@ -0,0 +1,168 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.util.ConcurrencyManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Platform ve sanal thread modlarında web katmanının eşzamanlı istemci sayısına göre
+ * verimini ölçen yük testi. Her istemci kapalı döngüde çalışır: yanıt gelince yeni istek gönderir.
+ * İstek /api/restaurants/async uç noktasına gider; böylece hem Tomcat hem ConcurrencyManager ölçülür.
+ * Mod, -Dbenchmark.virtual ile seçilir (sanal mod JDK 21 gerektirir); iki çalıştırmanın çıktısı karşılaştırılır.
+ * Çok sayıda bağlantı açıldığından dosya tanımlayıcı sınırı (ulimit -n) istemci sayısının iki katından büyük olmalıdır.
+ *
+ * Çalıştırmak için:
+ * ./gradlew test --tests '*ConcurrencyModeLoadTest' -Dbenchmark=true -Dbenchmark.virtual=true
+ *     [-Dbenchmark.clients=1000,2500,5000,10000]
+ */
+@SpringBootTest(classes = DemoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:concurrencybench;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "app.aggregates.reconcile-cron=-",
+    "app.cache.restaurants.enabled=false",
+    "spring.threads.virtual.enabled=${benchmark.virtual:false}",
+    // Bağlantı sınırı iki modda da aynı tutulur ki fark yalnızca thread modelinden gelsin
+    "server.tomcat.max-connections=20000",
+    "server.tomcat.accept-count=2000"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConcurrencyModeLoadTest {
+
+    private static final int RESTAURANT_COUNT = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void measureThroughputByConcurrentClients() throws InterruptedException {
+        seed();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/restaurants/async"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        run(client, request, 100, WARMUP);
+        List<String> lines = new ArrayList<>();
+        long totalCompleted = 0;
+        for (String value : System.getProperty("benchmark.clients", "1000,2500,5000,10000").split(",")) {
+            int clients = Integer.parseInt(value.trim());
+            Stats stats = run(client, request, clients, MEASUREMENT);
+            totalCompleted += stats.completed.sum();
+            lines.add(String.format("%8d | %10.0f | %9.1f | %9.1f | %6d",
+                    clients, stats.throughput(MEASUREMENT), stats.meanMillis(), stats.maxNanos.get() / 1e6,
+                    stats.errors.sum()));
+        }
+
+        System.out.println("\n=== Eşzamanlılık ölçümü (" + (ConcurrencyManager.isVirtualThreadMode() ? "sanal" : "platform")
+                + " thread modu, Java " + Runtime.version().feature() + ", " + MEASUREMENT.toSeconds() + " sn) ===");
+        System.out.println("İstemci  | İstek/sn   | Ort. ms   | En çok ms | Hata");
+        lines.forEach(System.out::println);
+        System.out.println(ConcurrencyManager.getPoolStatus() + "\n");
+        assertTrue(totalCompleted > 0, "Hiç istek tamamlanmadı");
+    }
+
+    /**
+     * Verilen sayıda istemciyi süre boyunca kapalı döngüde çalıştırır
+     */
+    private Stats run(HttpClient client, HttpRequest request, int clients, Duration duration)
+            throws InterruptedException {
+        Stats stats = new Stats(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            send(client, request, deadline, stats);
+        }
+        if (!stats.finished.await(duration.toSeconds() + 120, TimeUnit.SECONDS)) {
+            System.out.println("Uyarı: " + stats.finished.getCount() + " istemci zamanında bitmedi");
+        }
+        return stats;
+    }
+
+    private void send(HttpClient client, HttpRequest request, long deadline, Stats stats) {
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            if (error == null && response.statusCode() == 200) {
+                stats.completed.increment();
+                stats.totalNanos.add(now - start);
+                stats.maxNanos.accumulate(now - start);
+            } else {
+                stats.errors.increment();
+            }
+            if (now < deadline) {
+                send(client, request, deadline, stats);
+            } else {
+                stats.finished.countDown();
+            }
+        });
+    }
+
+    private void seed() {
+        List<Object[]> restaurants = new ArrayList<>(RESTAURANT_COUNT);
+        for (int id = 1; id <= RESTAURANT_COUNT; id++) {
+            restaurants.add(new Object[] {(long) id, "Restoran " + id, "Şehir " + (id % 20), 0.0, 0L, 0L, 0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO restaurants (id, name, location, rating, review_count, "
+                + "rating_sum, rating_sum_squares) VALUES (?, ?, ?, ?, ?, ?, ?)", restaurants);
+    }
+
+    /**
+     * Bir eşzamanlılık düzeyinin sayaçları
+     */
+    private static class Stats {
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final CountDownLatch finished;
+
+        Stats(int clients) {
+            this.finished = new CountDownLatch(clients);
+        }
+
+        double throughput(Duration duration) {
+            return completed.sum() / (double) duration.toSeconds();
+        }
+
+        double meanMillis() {
+            long count = completed.sum();
+            return count > 0 ? totalNanos.sum() / (count * 1e6) : 0;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bellek içi sıralama indeksinin sayfalama ve eşitlik kuralları için testler
+ */
+class RestaurantRankingIndexTest {
+
+    private final Map<Long, RestaurantRepository.RankingRow> rows = new TreeMap<>();
+    private final RestaurantRankingIndex index = new RestaurantRankingIndex(repository(rows), 10);
+
+    RestaurantRankingIndexTest() {
+        // 1, 2 ve 5 her ölçütte eşit; eşitlikte küçük ID önce gelmeli
+        put(1, 2, 10, 5.0);
+        put(2, 2, 10, 5.0);
+        put(3, 100, 450, 4.5);
+        put(4, 0, 0, 0.0);
+        put(5, 2, 10, 5.0);
+        put(6, 50, 150, 3.0);
+    }
+
+    @Test
+    void ordersByRatingAndReviewCountWithSmallerIdFirstOnTies() {
+        assertEquals(6, index.rebuild());
+
+        assertEquals(List.of(1L, 2L, 5L, 3L), index.topByRating(4));
+        assertEquals(List.of(3L, 6L, 1L, 2L, 5L, 4L), index.topByReviewCount(10));
+        assertTrue(index.topByRating(0).isEmpty());
+    }
+
+    @Test
+    void pagesByBayesianScoreWithoutGapsOrDuplicates() {
+        index.rebuild();
+        assertEquals(630.0 / 156, index.getPriorMean(), 1e-12);
+
+        List<List<Long>> pages = new ArrayList<>();
+        Double afterScore = null;
+        Long afterId = null;
+        while (true) {
+            List<RestaurantRankingIndex.Scored> page = index.pageByBayesianScore(afterScore, afterId, 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            pages.add(page.stream().map(RestaurantRankingIndex.Scored::getId).toList());
+            RestaurantRankingIndex.Scored last = page.get(page.size() - 1);
+            afterScore = last.getScore();
+            afterId = last.getId();
+        }
+
+        // Sayfa sınırı eşit puanlı 1, 2, 5 grubunun ortasına düşer
+        assertEquals(List.of(List.of(3L, 1L), List.of(2L, 5L), List.of(4L, 6L)), pages);
+    }
+
+    @Test
+    void pullsFewReviewsTowardsPriorMean() {
+        index.rebuild();
+        double priorMean = index.getPriorMean();
+        RestaurantRankingIndex.Entry unrated = new RestaurantRankingIndex.Entry(7L, 0, 0, 0.0);
+        RestaurantRankingIndex.Entry fewPerfect = new RestaurantRankingIndex.Entry(8L, 2, 10, 5.0);
+
+        assertEquals(priorMean, index.bayesianScore(unrated, priorMean), 1e-12);
+        assertEquals((10 * priorMean + 10) / 12, index.bayesianScore(fewPerfect, priorMean), 1e-12);
+        assertEquals(5.0, new RestaurantRankingIndex(repository(rows), 0).bayesianScore(fewPerfect, priorMean), 1e-12);
+    }
+
+    @Test
+    void refreshMovesChangedAndDropsDeletedRestaurants() {
+        index.refresh(4L);
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        put(4, 10, 50, 5.0);
+        index.refresh(4L);
+        assertEquals(List.of(1L, 2L, 4L, 5L), index.topByRating(4));
+        assertEquals(166, index.getTotalReviewCount());
+        assertEquals(680, index.getTotalRatingSum());
+
+        rows.remove(6L);
+        index.refresh(6L);
+        assertEquals(5, index.size());
+        assertEquals(List.of(3L, 4L, 1L, 2L, 5L), index.topByReviewCount(10));
+        assertEquals(116, index.getTotalReviewCount());
+        assertEquals(530, index.getTotalRatingSum());
+    }
+
+    @Test
+    void publishedViewIsNotChangedByLaterRebuildOrRefresh() {
+        index.rebuild();
+        Collection<RestaurantRankingIndex.Entry> before = index.entries();
+
+        rows.clear();
+        put(9, 1, 5, 5.0);
+        index.rebuild();
+        assertEquals(6, before.size());
+        assertEquals(List.of(9L), index.topByRating(10));
+
+        put(10, 3, 12, 4.0);
+        put(9, 4, 8, 2.0);
+        Collection<RestaurantRankingIndex.Entry> single = index.entries();
+        index.refresh(List.of(9L, 10L));
+        assertEquals(1, single.size());
+        assertEquals(List.of(10L, 9L), index.topByRating(10));
+        assertEquals(7, index.getTotalReviewCount());
+        assertEquals(20, index.getTotalRatingSum());
+    }
+
+    private void put(long id, long reviewCount, long ratingSum, double rating) {
+        rows.put(id, new RestaurantRepository.RankingRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getReviewCount() {
+                return reviewCount;
+            }
+
+            public Long getRatingSum() {
+                return ratingSum;
+            }
+
+            public Double getRating() {
+                return rating;
+            }
+        });
+    }
+
+    /**
+     * Yalnızca sıralama sorgularını verilen satırlardan yanıtlayan depo
+     */
+    private static RestaurantRepository repository(Map<Long, RestaurantRepository.RankingRow> rows) {
+        return (RestaurantRepository) Proxy.newProxyInstance(RestaurantRepository.class.getClassLoader(),
+                new Class<?>[] {RestaurantRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllRankingRows" -> new ArrayList<>(rows.values());
+                    case "findRankingRowById" -> Optional.ofNullable(rows.get((Long) args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gecikmeli yazma kuyruğunun günlükten yeniden yükleme, sıkıştırma, geri basınç ve
+ * yeniden deneme davranışları için testler. Veritabanı yerine çağrıları kaydeden bir
+ * toplu ekleme servisi kullanılır.
+ */
+class ReviewWriteQueueTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ExecutorRegistry> registries = new ArrayList<>();
+    private final List<ReviewWriteQueue> queues = new ArrayList<>();
+    private final Path dir;
+
+    ReviewWriteQueueTest() throws IOException {
+        dir = Files.createTempDirectory("review-queue");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        queues.forEach(ReviewWriteQueue::stop);
+        registries.forEach(ExecutorRegistry::shutdown);
+        try (var files = Files.walk(dir)) {
+            for (Path path : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void replayInsertsEachUncheckpointedRecordOnce() throws Exception {
+        Path journal = dir.resolve("reviews.journal");
+        // Dört kayıt günlüğe alınıp yazılmadan kapanır; ilk ikisinin yazıldığı kontrol noktasına işlenir
+        ReviewWriteQueue crashed = queue(new RecordingBatchService(), 10, 10, journal);
+        for (int i = 1; i <= 4; i++) {
+            crashed.submit(item(i, "Yorum " + i));
+        }
+        crashed.stop();
+        Files.writeString(checkpoint(journal), "2", StandardCharsets.UTF_8);
+
+        RecordingBatchService service = new RecordingBatchService();
+        ReviewWriteQueue restarted = queue(service, 10, 10, journal);
+        assertEquals(2, restarted.getDepth());
+        restarted.start();
+        restarted.stop();
+
+        assertEquals(List.of("Yorum 3", "Yorum 4"), service.comments());
+        assertEquals("4", Files.readString(checkpoint(journal), StandardCharsets.UTF_8));
+        assertEquals(0, Files.size(journal));
+
+        // Tekrar başlatmada yazılmış kayıtlar yeniden eklenmez, sıra numaraları devam eder
+        RecordingBatchService again = new RecordingBatchService();
+        ReviewWriteQueue third = queue(again, 10, 10, journal);
+        assertEquals(0, third.getDepth());
+        third.submit(item(5, "Yorum 5"));
+        third.start();
+        third.stop();
+        assertEquals(List.of("Yorum 5"), again.comments());
+        assertEquals("5", Files.readString(checkpoint(journal), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void compactionKeepsPendingRecords() throws Exception {
+        Path journal = dir.resolve("reviews.journal");
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        RecordingBatchService service = new RecordingBatchService(call -> {
+            if (call == 1) {
+                firstStarted.countDown();
+                await(releaseFirst);
+            } else if (call == 2) {
+                secondStarted.countDown();
+                await(releaseSecond);
+            }
+            return null;
+        });
+        ReviewWriteQueue queue = queue(service, 2000, 2000, journal);
+
+        // İlk toplu işlem yazılırken gelen kayıtlar, yazılmış büyük baş kısım atılınca günlükte kalmalı
+        String longComment = "x".repeat(1000);
+        for (int i = 1; i <= 1100; i++) {
+            queue.submit(item(1, longComment));
+        }
+        queue.start();
+        assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            queue.submit(item(2, "Bekleyen " + i));
+        }
+        releaseFirst.countDown();
+        assertTrue(secondStarted.await(10, TimeUnit.SECONDS));
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertEquals(10, lines.size());
+        assertTrue(lines.get(0).contains("\"seq\":1101"), lines.get(0));
+        assertTrue(lines.get(9).contains("\"seq\":1110"), lines.get(9));
+        assertEquals("1100", Files.readString(checkpoint(journal), StandardCharsets.UTF_8));
+
+        // Bu anda çökülmüş gibi günlük başka bir kuyrukta açılınca yalnızca bekleyen kayıtlar yüklenir
+        Path copy = dir.resolve("copy.journal");
+        Files.copy(journal, copy, StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(checkpoint(journal), checkpoint(copy), StandardCopyOption.REPLACE_EXISTING);
+        RecordingBatchService recovered = new RecordingBatchService();
+        ReviewWriteQueue replay = queue(recovered, 2000, 2000, copy);
+        replay.start();
+        replay.stop();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            expected.add("Bekleyen " + i);
+        }
+        assertEquals(expected, recovered.comments());
+
+        releaseSecond.countDown();
+        queue.stop();
+        assertEquals(1110, service.comments().size());
+        assertEquals(expected, service.comments().subList(1100, 1110));
+        assertEquals(0, Files.size(journal));
+    }
+
+    @Test
+    void fullQueueRejectsNewReviews() {
+        ReviewWriteQueue queue = queue(new RecordingBatchService(), 2, 10, null);
+        queue.submit(item(1, "Bir"));
+        queue.submit(item(1, "İki"));
+
+        ReviewQueueFullException e = assertThrows(ReviewQueueFullException.class, () -> queue.submit(item(1, "Üç")));
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(2, queue.getDepth());
+        assertEquals(1L, queue.getStats().get("rejectedFullCount"));
+        assertEquals(2L, queue.getStats().get("acceptedCount"));
+    }
+
+    @Test
+    void failedBatchIsRetriedNotDropped() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        RecordingBatchService service = new RecordingBatchService(call -> {
+            if (call == 1) {
+                throw new IllegalStateException("Bağlantı koptu");
+            }
+            written.countDown();
+            return null;
+        });
+        ReviewWriteQueue queue = queue(service, 10, 10, null);
+        queue.submit(item(1, "Bir"));
+        queue.submit(item(2, "İki"));
+        queue.submit(item(3, "Üç"));
+
+        queue.start();
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        queue.stop();
+
+        assertEquals(List.of("Bir", "İki", "Üç", "Bir", "İki", "Üç"), service.comments());
+        assertEquals(1L, queue.getStats().get("failedBatchCount"));
+        assertEquals(0L, queue.getStats().get("droppedCount"));
+        assertEquals(3L, queue.getStats().get("writtenCount"));
+        assertEquals(0, queue.getDepth());
+    }
+
+    @Test
+    void writerRunsInRegisteredPool() {
+        ExecutorRegistry executors = registry();
+        RecordingBatchService service = new RecordingBatchService();
+        ReviewWriteQueue queue = new ReviewWriteQueue(service, objectMapper, executors,
+                true, 10, 10, 1, 10_000, "", false);
+        queues.add(queue);
+        queue.submit(item(1, "Bir"));
+        queue.start();
+        queue.stop();
+
+        assertTrue(executors.getStats().containsKey(ReviewWriteQueue.WRITER_POOL));
+        assertTrue(service.threadName.startsWith(ReviewWriteQueue.WRITER_POOL + "-"), service.threadName);
+    }
+
+    private ReviewWriteQueue queue(ReviewBatchService service, int capacity, int batchSize, Path journal) {
+        ReviewWriteQueue queue = new ReviewWriteQueue(service, objectMapper, registry(), true, capacity, batchSize,
+                1, 10_000, journal != null ? journal.toString() : "", false);
+        queues.add(queue);
+        return queue;
+    }
+
+    private ExecutorRegistry registry() {
+        ExecutorRegistry registry = new ExecutorRegistry(1, 1, 10, 1, 10, 1, 1);
+        registries.add(registry);
+        return registry;
+    }
+
+    private static Path checkpoint(Path journal) {
+        return journal.resolveSibling(journal.getFileName() + ".checkpoint");
+    }
+
+    private static ReviewBatchItem item(long restaurantId, String comment) {
+        return new ReviewBatchItem(restaurantId, null, 4, comment, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gelen kayıtları sırayla saklayan toplu ekleme servisi; her çağrıdan önce verilen
+     * davranış çalıştırılır (bekletme veya hata fırlatma)
+     */
+    private static class RecordingBatchService extends ReviewBatchService {
+
+        private final Function<Integer, Void> beforeInsert;
+        private final List<String> comments = new ArrayList<>();
+        private int calls;
+        private volatile String threadName;
+
+        RecordingBatchService() {
+            this(call -> null);
+        }
+
+        RecordingBatchService(Function<Integer, Void> beforeInsert) {
+            super(null, null, null, null, 5000, 500);
+            this.beforeInsert = beforeInsert;
+        }
+
+        @Override
+        public ReviewBatchResult insertReviews(List<ReviewBatchItem> items) {
+            int call;
+            synchronized (this) {
+                call = ++calls;
+                threadName = Thread.currentThread().getName();
+                items.forEach(item -> comments.add(item.getComment()));
+            }
+            beforeInsert.apply(call);
+            ReviewBatchResult result = new ReviewBatchResult(items.size());
+            result.setInsertedCount(items.size());
+            return result;
+        }
+
+        synchronized List<String> comments() {
+            return new ArrayList<>(comments);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.demo.service;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Restaurant;
+import com.example.demo.model.Review;
+import com.example.demo.repository.RestaurantRepository;
+import com.example.demo.repository.ReviewRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * StatisticsService için eski (entity yükleyen) ve yeni (SQL tarafında toplayan)
+ * hesaplama yollarını karşılaştıran ölçüm testi.
+ * Varsayılan olarak 1.000.000 değerlendirme ile gömülü H2 üzerinde çalışır.
+ *
+ * Çalıştırmak için:
+ * ./gradlew test --tests '*StatisticsServiceBenchmarkTest' -Dbenchmark=true [-Dbenchmark.reviews=1000000]
+ */
+@SpringBootTest(classes = DemoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:statsbench;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "app.aggregates.reconcile-cron=-",
+    "app.statistics.refresh-interval-ms=3600000"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatisticsServiceBenchmarkTest {
+
+    private static final int RESTAURANT_COUNT = 1000;
+    private static final int LOCATION_COUNT = 50;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareLegacyAndSqlAggregation() {
+        int reviewCount = Integer.getInteger("benchmark.reviews", 1_000_000);
+        seed(reviewCount);
+
+        Map<String, Object> legacy = legacyStatistics();
+        Map<String, Object> current = statisticsService.calculateStatistics();
+        assertEquals(legacy.get("reviewCount"), current.get("reviewCount"));
+        assertEquals((Double) legacy.get("averageRating"), (Double) current.get("averageRating"), 1e-9);
+        assertEquals(legacy.get("reviewsByLocation"), current.get("reviewsByLocation"));
+
+        double legacyMillis = measure(this::legacyStatistics);
+        double sqlMillis = measure(statisticsService::calculateStatistics);
+
+        System.out.println("\n=== İstatistik ölçümü (" + reviewCount + " değerlendirme, "
+                + RESTAURANT_COUNT + " restoran) ===");
+        System.out.printf("Eski yol (entity yükleme): %.1f ms%n", legacyMillis);
+        System.out.printf("Yeni yol (SQL toplama)   : %.1f ms%n", sqlMillis);
+        System.out.printf("Hızlanma                 : %.1fx%n%n", legacyMillis / sqlMillis);
+    }
+
+    /**
+     * Ortalama süreyi milisaniye olarak ölçer
+     */
+    private double measure(Supplier<Map<String, Object>> task) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            task.get();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            task.get();
+            total += System.nanoTime() - start;
+        }
+        return total / (MEASURED_RUNS * 1_000_000.0);
+    }
+
+    /**
+     * İyileştirme öncesi hesaplama yolu: tüm değerlendirmeleri yükler ve
+     * her restoran için değerlendirmelerini ayrı sorguyla sayar
+     */
+    private Map<String, Object> legacyStatistics() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("restaurantCount", restaurantRepository.count());
+        result.put("reviewCount", reviewRepository.count());
+
+        List<Review> allReviews = reviewRepository.findAll();
+        result.put("averageRating", allReviews.stream().mapToInt(Review::getRating).average().orElse(0.0));
+
+        Map<String, Long> byLocation = new HashMap<>();
+        for (Restaurant restaurant : restaurantRepository.findAll()) {
+            long count = reviewRepository.findByRestaurantId(restaurant.getId()).size();
+            byLocation.merge(restaurant.getLocation(), count, Long::sum);
+        }
+        result.put("reviewsByLocation", byLocation);
+        return result;
+    }
+
+    /**
+     * Restoranları ve değerlendirmeleri JDBC toplu ekleme ile oluşturur.
+     * Restoran toplamları değerlendirmelerle tutarlı olacak şekilde yazılır;
+     * yabancı anahtar nedeniyle restoranlar değerlendirmelerden önce eklenir.
+     */
+    private void seed(int reviewCount) {
+        Random random = new Random(42);
+        int[] restaurantIds = new int[reviewCount];
+        int[] ratings = new int[reviewCount];
+        long[] counts = new long[RESTAURANT_COUNT + 1];
+        long[] sums = new long[RESTAURANT_COUNT + 1];
+        long[] sumSquares = new long[RESTAURANT_COUNT + 1];
+        for (int i = 0; i < reviewCount; i++) {
+            int restaurantId = 1 + random.nextInt(RESTAURANT_COUNT);
+            int rating = 1 + random.nextInt(5);
+            restaurantIds[i] = restaurantId;
+            ratings[i] = rating;
+            counts[restaurantId]++;
+            sums[restaurantId] += rating;
+            sumSquares[restaurantId] += (long) rating * rating;
+        }
+
+        List<Object[]> restaurants = new ArrayList<>(RESTAURANT_COUNT);
+        for (int id = 1; id <= RESTAURANT_COUNT; id++) {
+            double rating = counts[id] > 0 ? (double) sums[id] / counts[id] : 0.0;
+            restaurants.add(new Object[] {(long) id, "Restoran " + id, "Şehir " + (id % LOCATION_COUNT),
+                    rating, counts[id], sums[id], sumSquares[id]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO restaurants (id, name, location, rating, review_count, "
+                + "rating_sum, rating_sum_squares) VALUES (?, ?, ?, ?, ?, ?, ?)", restaurants);
+
+        LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < reviewCount; i++) {
+            long id = i + 1L;
+            Timestamp date = Timestamp.valueOf(baseDate.plusMinutes(id));
+            batch.add(new Object[] {id, (long) restaurantIds[i], "Restoran " + restaurantIds[i],
+                    ratings[i], "Ölçüm yorumu " + id, date, date});
+            if (batch.size() == BATCH_SIZE) {
+                insertReviews(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertReviews(batch);
+        }
+    }
+
+    private void insertReviews(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO reviews (id, restaurant_id, restaurant_name, rating, comment, "
+                + "date, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.service.backup;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * app.data satır ayrıştırıcısı ve ret dosyası için uç durum testleri
+ */
+class AppDataParserTest {
+
+    private final AppDataParser parser = new AppDataParser();
+
+    private int split(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return parser.split(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    @Test
+    void escapedSeparatorsAndNewlinesRoundTrip() {
+        String comment = "Tatlı | güzel\\ama\npahalı\r";
+        String line = "DEĞERLENDİRME|1|" + AppDataParser.escape("Ali") + "|" + AppDataParser.escape(comment) + "|5";
+
+        assertEquals(5, split(line));
+        assertEquals("Ali", parser.string(2));
+        assertEquals(comment, parser.string(3));
+        assertEquals(5, parser.parseInt(4, "Puan"));
+        assertEquals("", AppDataParser.escape(null));
+    }
+
+    @Test
+    void trailingBackslashIsKeptLiterally() {
+        assertEquals(2, split("RESTORAN|yarım\\"));
+        assertEquals("yarım\\", parser.string(1));
+    }
+
+    @Test
+    void trimsTagNumberAndDateButKeepsTextAsWritten() {
+        assertEquals(5, split(" RESTORAN |  42 | Köşe Lokantası |\t4.5 | 2024-03-01 12:30 "));
+
+        assertTrue(parser.fieldEquals(0, AppDataParser.RESTAURANT_TAG));
+        assertFalse(parser.fieldEquals(0, AppDataParser.REVIEW_TAG));
+        assertEquals(42L, parser.parseLong(1, "Kimlik"));
+        assertEquals(" Köşe Lokantası ", parser.string(2));
+        assertEquals(4.5, parser.parseDouble(3, "Puan"));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 30), parser.parseDateTime(4, "Tarih"));
+    }
+
+    @Test
+    void truncatedRecordReportsFewerFields() {
+        assertEquals(3, split("RESTORAN|1|Ad"));
+        assertEquals(1, split(""));
+        assertTrue(parser.isEmpty(0));
+
+        assertEquals(2, split("DEĞERLENDİRME|2024-03-0"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parser.parseDateTime(1, "Tarih"));
+        assertEquals("Tarih yyyy-MM-dd HH:mm:ss biçiminde olmalı", e.getMessage());
+    }
+
+    @Test
+    void rejectsTooManyFields() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> split("a|b|c|d|e|f|g|h|i"));
+        assertEquals("Alan sayısı en fazla " + AppDataParser.MAX_FIELDS + " olabilir", e.getMessage());
+    }
+
+    @Test
+    void rejectsInvalidNumbersAndDates() {
+        assertEquals(6, split("x|12a|   |1.2.3|2024-02-30 10:00|9999999999999999999"));
+
+        assertEquals("Kimlik geçerli bir sayı değil",
+                assertThrows(IllegalArgumentException.class, () -> parser.parseLong(1, "Kimlik")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parseLong(2, "Kimlik"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseDouble(3, "Puan"));
+        assertEquals("Tarih geçerli bir tarih değil",
+                assertThrows(IllegalArgumentException.class, () -> parser.parseDateTime(4, "Tarih")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parseLong(5, "Kimlik"));
+    }
+
+    @Test
+    void rejectFileListsLineNumberReasonAndContent() throws Exception {
+        Path rejectFile = Files.createTempFile("app", ".data" + AppDataService.REJECT_SUFFIX);
+        try {
+            AppDataService.ImportState state = new AppDataService.ImportState(rejectFile);
+            state.reject(3, "5 alan bekleniyordu, 3 bulundu", "RESTORAN|1|Ad");
+            state.reject(7, "Puan geçerli bir sayı değil", "DEĞERLENDİRME|1|Ali|Güzel|x");
+            state.closeRejects();
+
+            assertEquals(List.of(
+                    "# satır\tneden\tsatır içeriği",
+                    "3\t5 alan bekleniyordu, 3 bulundu\tRESTORAN|1|Ad",
+                    "7\tPuan geçerli bir sayı değil\tDEĞERLENDİRME|1|Ali|Güzel|x"),
+                    Files.readAllLines(rejectFile, StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(rejectFile);
+        }
+    }
+}
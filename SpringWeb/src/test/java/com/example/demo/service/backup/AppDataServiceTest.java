@@ -0,0 +1,103 @@
+package com.example.demo.service.backup;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Dışa aktarılan değerlendirme satırlarının içe aktarmada aynı değerlere dönüştüğünü doğrular
+ */
+class AppDataServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+    private final List<Object[]> reviewRows = new ArrayList<>();
+    private final AppDataService.ImportState state = new AppDataService.ImportState(Path.of("app.data.rejects"));
+    private final AppDataParser parser = new AppDataParser();
+
+    AppDataServiceTest() {
+        state.registerRestaurant(1, "Köşe Lokantası");
+    }
+
+    @Test
+    void linkedReviewRoundTrips() throws Exception {
+        roundTrip(10, 1L, "Köşe Lokantası", 5, "Çok güzel | tavsiye\nederim", DATE);
+
+        assertArrayEquals(new Object[] {10L, 1L, "Köşe Lokantası", 5, "Çok güzel | tavsiye\nederim",
+                Timestamp.valueOf(DATE)}, reviewRows.get(0));
+    }
+
+    @Test
+    void reviewWithoutRestaurantOrDateRoundTrips() throws Exception {
+        roundTrip(11, null, "Kapanmış Lokanta", 3, null, null);
+        roundTrip(12, null, null, 4, "Adsız", DATE);
+
+        assertArrayEquals(new Object[] {11L, null, "Kapanmış Lokanta", 3, null, null}, reviewRows.get(0));
+        assertArrayEquals(new Object[] {12L, null, null, 4, "Adsız", Timestamp.valueOf(DATE)}, reviewRows.get(1));
+    }
+
+    @Test
+    void unlinkedReviewIsLinkedByKnownName() throws Exception {
+        roundTrip(13, null, "Köşe Lokantası", 4, null, DATE);
+
+        assertEquals(1L, reviewRows.get(0)[1]);
+    }
+
+    @Test
+    void unknownRestaurantIdIsStillRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> roundTrip(14, 99L, "Başka", 4, null, DATE));
+        assertEquals("Restoran bulunamadı: 99", e.getMessage());
+    }
+
+    private void roundTrip(long id, Long restaurantId, String restaurantName, int rating, String comment,
+                           LocalDateTime date) throws Exception {
+        StringBuilder line = new StringBuilder();
+        AppDataService.appendReview(line, id, restaurantId, restaurantName, rating, comment, date);
+        assertEquals('\n', line.charAt(line.length() - 1));
+
+        byte[] bytes = line.substring(0, line.length() - 1).getBytes(StandardCharsets.UTF_8);
+        parser.split(ByteBuffer.wrap(bytes), 0, bytes.length);
+        try (AppDataService.BatchWriter writer = new AppDataService.BatchWriter(recordingConnection(), "H2", 100)) {
+            AppDataService.importReview(parser, state, writer);
+        }
+    }
+
+    /**
+     * Değerlendirme komutuna bağlanan ilk altı değeri (güncellenme zamanı hariç) kaydeden bağlantı
+     */
+    private Connection recordingConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (connection, method, args) -> {
+                    if (!method.getName().equals("prepareStatement")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    boolean reviews = ((String) args[0]).contains("reviews");
+                    Object[] values = new Object[6];
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                            (statement, call, params) -> {
+                                String name = call.getName();
+                                if (name.startsWith("set") && (int) params[0] <= values.length) {
+                                    values[(int) params[0] - 1] = name.equals("setNull") ? null : params[1];
+                                } else if (name.equals("addBatch") && reviews) {
+                                    reviewRows.add(Arrays.copyOf(values, values.length));
+                                }
+                                return name.equals("executeBatch") ? new int[0] : null;
+                            });
+                });
+    }
+}
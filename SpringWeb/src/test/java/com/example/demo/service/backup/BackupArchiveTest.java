@@ -0,0 +1,143 @@
+package com.example.demo.service.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * .rbak yedek arşivinin yazılıp aynen geri okunması ve bozuk arşivlerin reddi için testler
+ */
+class BackupArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Object[][] RESTAURANTS = {
+            {1L, "Köşe Lokantası", "İstanbul", 4.5, 2L, 9L, 41L},
+            {2L, "Çınaraltı", null, 0.0, 0L, 0L, 0L},
+            {3L, "", "İzmir", 3.25, 4L, 13L, 47L},
+    };
+
+    private static final Object[] REVIEW = {
+            10L, 1L, "Köşe Lokantası", 5, "Çok güzel|\n\"tavsiye\"",
+            LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789), null,
+    };
+
+    @Test
+    void writtenRowsAreReadBackInOrder() throws Exception {
+        byte[] archive = write(2);
+
+        List<BackupTable> tables = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        BackupManifest footer;
+        try (BackupArchiveReader reader = new BackupArchiveReader(new ByteArrayInputStream(archive), objectMapper)) {
+            assertEquals("test", reader.readHeader().getDatabaseProduct());
+            assertEquals(0, reader.readHeader().getChunkCount());
+            footer = reader.readChunks((table, chunk) -> {
+                for (Object[] row : chunk) {
+                    tables.add(table);
+                    rows.add(row);
+                }
+            });
+        }
+
+        assertEquals(List.of(BackupTable.RESTAURANTS, BackupTable.RESTAURANTS, BackupTable.RESTAURANTS,
+                BackupTable.REVIEWS), tables);
+        for (int i = 0; i < RESTAURANTS.length; i++) {
+            assertArrayEquals(RESTAURANTS[i], rows.get(i));
+        }
+        assertArrayEquals(REVIEW, rows.get(3));
+        assertEquals(3, footer.getChunkCount());
+        assertEquals(Map.of("restaurants", 3L, "reviews", 1L), footer.getRowCounts());
+        assertEquals(4, footer.totalRows());
+    }
+
+    @Test
+    void manifestCanBeReadWithoutDecodingChunks() throws Exception {
+        try (BackupArchiveReader reader = new BackupArchiveReader(new ByteArrayInputStream(write(1)), objectMapper)) {
+            BackupManifest footer = reader.readManifest();
+            assertEquals(4, footer.getChunkCount());
+            assertEquals("2024-03-01T13:00:00", footer.getCompletedAt());
+            assertNull(footer.getParent());
+        }
+    }
+
+    @Test
+    void rejectsCorruptedChunk() throws Exception {
+        byte[] archive = write(10);
+        // Son parçanın sıkıştırılmış verisindeki bir baytı boz
+        archive[footerOffset(archive) - 12] ^= 0x5A;
+
+        assertThrows(IOException.class, () -> readAll(archive));
+    }
+
+    @Test
+    void rejectsTruncatedArchive() throws Exception {
+        byte[] archive = write(2);
+        byte[] truncated = Arrays.copyOf(archive, footerOffset(archive));
+
+        IOException e = assertThrows(IOException.class,
+                () -> new BackupArchiveReader(new ByteArrayInputStream(truncated), objectMapper).readManifest());
+        assertEquals("Yedek arşivi yarım kalmış (son bilgiler eksik)", e.getMessage());
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        byte[] notAnArchive = "PK\u0003\u0004 zip dosyası".getBytes();
+        IOException e = assertThrows(IOException.class,
+                () -> new BackupArchiveReader(new ByteArrayInputStream(notAnArchive), objectMapper).readHeader());
+        assertEquals("Geçersiz yedek arşivi (tanımlayıcı eşleşmiyor)", e.getMessage());
+    }
+
+    private byte[] write(int chunkRows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BackupManifest manifest = new BackupManifest();
+        manifest.setDatabaseProduct("test");
+        manifest.setCreatedAt("2024-03-01T12:59:00");
+        try (BackupArchiveWriter writer = new BackupArchiveWriter(bytes, objectMapper, chunkRows)) {
+            writer.writeHeader(manifest);
+            writer.beginTable(BackupTable.RESTAURANTS);
+            for (Object[] row : RESTAURANTS) {
+                writer.writeRow(row);
+            }
+            writer.beginTable(BackupTable.REVIEWS);
+            writer.writeRow(REVIEW);
+            manifest.getRowCounts().put("restaurants", (long) RESTAURANTS.length);
+            manifest.getRowCounts().put("reviews", 1L);
+            manifest.setCompletedAt("2024-03-01T13:00:00");
+            writer.finish(manifest);
+            assertEquals(bytes.size(), writer.getBytesWritten());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void readAll(byte[] archive) throws Exception {
+        try (BackupArchiveReader reader = new BackupArchiveReader(new ByteArrayInputStream(archive), objectMapper)) {
+            reader.readChunks((table, rows) -> { });
+        }
+    }
+
+    /**
+     * Son bilgi bölümünün başlangıcını ('E' işareti, uzunluk ve JSON başlangıcı) bulur
+     */
+    private static int footerOffset(byte[] archive) {
+        for (int i = archive.length - 6; i >= 0; i--) {
+            if (archive[i] == BackupArchiveWriter.END_MARKER && archive[i + 5] == '{') {
+                return i;
+            }
+        }
+        throw new AssertionError("Son bilgi bölümü bulunamadı");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sayfalama imlecinin kodlanıp çözülmesi ve bozuk imleçlerin reddi için testler
+ */
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsSortValueAndId() {
+        KeysetCursor rating = KeysetCursor.decode(KeysetCursor.of(4.25, 17).encode());
+        assertEquals(4.25, rating.getDoubleValue());
+        assertEquals(17, rating.getId());
+
+        KeysetCursor stars = KeysetCursor.decode(KeysetCursor.of(5, Long.MAX_VALUE).encode());
+        assertEquals(5, stars.getIntValue());
+        assertEquals(Long.MAX_VALUE, stars.getId());
+
+        LocalDateTime date = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 500_000_000);
+        assertEquals(date, KeysetCursor.decode(KeysetCursor.of(date, 3).encode()).getDateTimeValue());
+    }
+
+    @Test
+    void marksNullSortValue() {
+        KeysetCursor undated = KeysetCursor.decode(KeysetCursor.of(null, 12).encode());
+
+        assertFalse(undated.hasValue());
+        assertEquals(12, undated.getId());
+        assertThrows(IllegalArgumentException.class, undated::getDateTimeValue);
+        assertTrue(KeysetCursor.decode(KeysetCursor.of(0, 12).encode()).hasValue());
+    }
+
+    @Test
+    void encodesAsUrlSafeTextWithoutPadding() {
+        String token = KeysetCursor.of("İstanbul|Kadıköy?/+", 42).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        assertFalse(token.endsWith("="));
+        assertEquals(42, KeysetCursor.decode(token).getId());
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode("abc$%def"));
+        assertEquals("Geçersiz sayfa imleci: abc$%def", e.getMessage());
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("4.5")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("4.5|")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("4.5|12abc")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("4.5|99999999999999999999")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("4.5|1 OR 1=1")));
+    }
+
+    @Test
+    void rejectsSortValueOfWrongType() {
+        KeysetCursor cursor = KeysetCursor.decode(encode("DROP TABLE reviews|7"));
+
+        assertEquals(7, cursor.getId());
+        assertThrows(IllegalArgumentException.class, cursor::getDoubleValue);
+        assertThrows(IllegalArgumentException.class, cursor::getIntValue);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, cursor::getDateTimeValue);
+        assertEquals("Geçersiz sayfa imleci değeri: DROP TABLE reviews", e.getMessage());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
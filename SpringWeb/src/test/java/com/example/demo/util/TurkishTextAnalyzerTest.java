@@ -0,0 +1,61 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Arama indeksinin kullandığı Türkçe katlama ve kök bulma kuralları için testler
+ */
+class TurkishTextAnalyzerTest {
+
+    @Test
+    void foldsTurkishLettersToAscii() {
+        assertEquals('i', TurkishTextAnalyzer.fold('İ'));
+        assertEquals('i', TurkishTextAnalyzer.fold('I'));
+        assertEquals('i', TurkishTextAnalyzer.fold('ı'));
+        assertEquals('s', TurkishTextAnalyzer.fold('Ş'));
+        assertEquals('g', TurkishTextAnalyzer.fold('ğ'));
+        assertEquals('c', TurkishTextAnalyzer.fold('Ç'));
+        assertEquals('o', TurkishTextAnalyzer.fold('ö'));
+        assertEquals('u', TurkishTextAnalyzer.fold('Ü'));
+        assertEquals(0, TurkishTextAnalyzer.fold(' '));
+        assertEquals(0, TurkishTextAnalyzer.fold('.'));
+    }
+
+    @Test
+    void matchesDottedCapitalIRegardlessOfCaseAndNormalization() {
+        String decomposed = Normalizer.normalize("İstanbul", Normalizer.Form.NFD);
+        assertEquals(9, decomposed.length());
+
+        assertEquals(List.of("istanbul"), TurkishTextAnalyzer.terms("İstanbul"));
+        assertEquals(List.of("istanbul"), TurkishTextAnalyzer.terms(decomposed));
+        assertEquals(List.of("istanbul"), TurkishTextAnalyzer.terms("ISTANBUL istanbul"));
+    }
+
+    @Test
+    void dropsSuffixAfterApostrophe() {
+        assertEquals(List.of("istanbul", "restoran"), TurkishTextAnalyzer.terms("İstanbul'daki restoranlar"));
+        assertEquals(List.of("istanbul"), TurkishTextAnalyzer.terms("İstanbul’da"));
+    }
+
+    @Test
+    void stemsInflectedFormsToSameTerm() {
+        assertEquals(List.of("garson", "ilgil"), TurkishTextAnalyzer.terms("garsonlar çok ilgiliydi"));
+        assertEquals(TurkishTextAnalyzer.term("kebapçı"), TurkishTextAnalyzer.term("kebapçılar"));
+        assertEquals(TurkishTextAnalyzer.term("çiğköfte"), TurkishTextAnalyzer.term("ÇİĞKÖFTE"));
+    }
+
+    @Test
+    void keepsNumbersAndSkipsStopWords() {
+        assertEquals(List.of("2024", "yil"), TurkishTextAnalyzer.terms("2024 yılında"));
+        assertTrue(TurkishTextAnalyzer.terms("a ve bu").isEmpty());
+        assertNull(TurkishTextAnalyzer.term("ve"));
+        assertTrue(TurkishTextAnalyzer.terms(null).isEmpty());
+    }
+}
@@ -1,17 +1,44 @@
 package gui_testleri;
 
 import java.io.*;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import org.hibernate.Session;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.bind.annotation.XmlRootElement;
-import javax.xml.bind.annotation.XmlElement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 
+/**
+ * Veritabanını XML dosyasına aktaran ve XML dosyasından geri yükleyen sınıf.
+ * Kayıtlar StAX ile akış halinde yazılıp okunur; dışa aktarmada tablolar imleçle gezilir,
+ * içe aktarmada kayıtlar StatelessSession üzerinden toplu olarak eklenir.
+ * Böylece bellek kullanımı kayıt sayısından bağımsızdır.
+ * Dosya biçimi önceki JAXB çıktısıyla aynıdır; eski yedekler de içe aktarılabilir.
+ */
 public class DatabaseManager {
+    private static final int FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_REVIEW =
+        "INSERT INTO reviews (restaurant_id, restaurant_name, comment, rating, date) VALUES (?, ?, ?, ?, ?)";
+
+    private final AppLogger logger = AppLogger.getInstance();
+    private final LocalDateTimeAdapter dateAdapter = new LocalDateTimeAdapter();
     private RestaurantManager restaurantManager;
     private ReviewManager reviewManager;
 
@@ -20,71 +47,263 @@ public class DatabaseManager {
         this.reviewManager = reviewManager;
     }
 
+    /**
+     * Restoranları ve değerlendirmeleri XML dosyasına akış halinde yazar.
+     * Dosya önce geçici adla yazılır, tamamlanınca yerine taşınır.
+     *
+     * @param fileName Hedef dosya
+     * @throws IOException dosya yazılamazsa veya veritabanı okunamazsa
+     */
     public void exportToFile(String fileName) throws IOException {
-        try {
-            DatabaseData data = new DatabaseData();
-            data.setRestaurants(restaurantManager.getAllRestaurants());
-            data.setReviews(reviewManager.getAllReviews());
-
-            JAXBContext context = JAXBContext.newInstance(DatabaseData.class);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(data, new File(fileName));
-        } catch (JAXBException e) {
+        Path target = Paths.get(fileName);
+        Path partial = Paths.get(fileName + ".part");
+        StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+        // PostgreSQL sürücüsü imleci yalnızca işlem içinde parça parça getirir
+        Transaction transaction = session.beginTransaction();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 1 << 16)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("database");
+            long restaurants = writeRestaurants(session, xml);
+            long reviews = writeReviews(session, xml);
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+            transaction.commit();
+            logger.info("Veritabanı dışa aktarıldı: " + fileName + " (" + restaurants + " restoran, "
+                + reviews + " değerlendirme)");
+        } catch (XMLStreamException | RuntimeException e) {
+            rollback(transaction);
+            Files.deleteIfExists(partial);
             throw new IOException("XML dışa aktarma hatası: " + e.getMessage(), e);
+        } finally {
+            session.close();
         }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
     }
 
-    public void importFromFile(String fileName) throws IOException {
+    private long writeRestaurants(StatelessSession session, XMLStreamWriter xml) throws XMLStreamException {
+        ScrollableResults rows = session
+            .createQuery("SELECT r.name, r.location, r.rating FROM Restaurant r ORDER BY r.id")
+            .setFetchSize(FETCH_SIZE)
+            .setReadOnly(true)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        long count = 0;
+        try {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                xml.writeCharacters("\n    ");
+                xml.writeStartElement("restaurants");
+                writeElement(xml, "location", (String) row[1]);
+                writeElement(xml, "name", (String) row[0]);
+                writeElement(xml, "rating", String.valueOf(row[2]));
+                xml.writeCharacters("\n    ");
+                xml.writeEndElement();
+                count++;
+            }
+        } finally {
+            rows.close();
+        }
+        return count;
+    }
+
+    private long writeReviews(StatelessSession session, XMLStreamWriter xml) throws XMLStreamException {
+        // Varlık yerine alanlar seçilir; aksi halde her değerlendirme için restoranı da yüklenirdi
+        ScrollableResults rows = session
+            .createQuery("SELECT r.restaurantName, r.comment, r.rating, r.date FROM Review r ORDER BY r.id")
+            .setFetchSize(FETCH_SIZE)
+            .setReadOnly(true)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        long count = 0;
         try {
-            JAXBContext context = JAXBContext.newInstance(DatabaseData.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            DatabaseData data = (DatabaseData) unmarshaller.unmarshal(new File(fileName));
-            
-            Session session = HibernateUtil.getSessionFactory().openSession();
-            session.beginTransaction();
-            
+            while (rows.next()) {
+                Object[] row = rows.get();
+                xml.writeCharacters("\n    ");
+                xml.writeStartElement("reviews");
+                writeElement(xml, "comment", (String) row[1]);
+                writeElement(xml, "date", dateAdapter.marshal((LocalDateTime) row[3]));
+                writeElement(xml, "rating", String.valueOf(row[2]));
+                writeElement(xml, "restaurantName", (String) row[0]);
+                xml.writeCharacters("\n    ");
+                xml.writeEndElement();
+                count++;
+            }
+        } finally {
+            rows.close();
+        }
+        return count;
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        // JAXB gibi boş alanlar hiç yazılmaz
+        if (value == null) {
+            return;
+        }
+        xml.writeCharacters("\n        ");
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    /**
+     * XML dosyasındaki kayıtlarla mevcut verileri değiştirir.
+     * Dosya akış halinde okunur; restoranlar tek tek, değerlendirmeler toplu olarak aynı işlemde eklenir.
+     *
+     * @param fileName Kaynak dosya
+     * @throws IOException dosya okunamazsa, geçersizse veya veritabanına yazılamazsa
+     */
+    public void importFromFile(String fileName) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Dış varlık ve DTD çözümlemesi kapatılır (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+        Transaction transaction = session.beginTransaction();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(fileName)), 1 << 16)) {
+            XMLStreamReader xml = factory.createXMLStreamReader(in);
+
             // Mevcut verileri temizle
             session.createQuery("DELETE FROM Review").executeUpdate();
             session.createQuery("DELETE FROM Restaurant").executeUpdate();
-            
-            // Yeni verileri ekle
-            for (Restaurant restaurant : data.getRestaurants()) {
-                session.save(restaurant);
-            }
-            
-            for (Review review : data.getReviews()) {
-                session.save(review);
+
+            // Değerlendirmeler restorana adıyla bağlanır; bellekte yalnızca restoran adları tutulur
+            Map<String, Long> restaurantIds = new HashMap<>();
+            List<Object[]> pendingReviews = new ArrayList<>(BATCH_SIZE);
+            Map<String, String> fields = new HashMap<>();
+            long restaurants = 0;
+            long reviews = 0;
+            long skipped = 0;
+
+            while (xml.hasNext()) {
+                if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String element = xml.getLocalName();
+                if (element.equals("restaurants")) {
+                    readFields(xml, fields);
+                    Restaurant restaurant = new Restaurant(fields.get("name"), fields.get("location"),
+                        parseDouble(fields.get("rating")));
+                    Long id = (Long) session.insert(restaurant);
+                    restaurantIds.put(restaurant.getName(), id);
+                    restaurants++;
+                } else if (element.equals("reviews")) {
+                    readFields(xml, fields);
+                    Object[] row = toReviewRow(fields, restaurantIds);
+                    if (row == null) {
+                        skipped++;
+                        continue;
+                    }
+                    pendingReviews.add(row);
+                    if (pendingReviews.size() == BATCH_SIZE) {
+                        insertReviews(session, pendingReviews);
+                    }
+                    reviews++;
+                }
             }
-            
-            session.getTransaction().commit();
-            session.close();
-        } catch (JAXBException e) {
+            insertReviews(session, pendingReviews);
+            xml.close();
+            transaction.commit();
+            logger.info("Veritabanı içe aktarıldı: " + fileName + " (" + restaurants + " restoran, "
+                + reviews + " değerlendirme" + (skipped > 0 ? ", " + skipped + " geçersiz değerlendirme atlandı" : "")
+                + ")");
+        } catch (XMLStreamException e) {
+            rollback(transaction);
             throw new IOException("XML içe aktarma hatası: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            rollback(transaction);
+            throw new IOException("Veritabanına yazılamadı: " + e.getMessage(), e);
+        } finally {
+            session.close();
         }
-    }
 
-    @XmlRootElement(name = "database")
-    private static class DatabaseData {
-        private List<Restaurant> restaurants = new ArrayList<>();
-        private List<Review> reviews = new ArrayList<>();
+        // Ekranda gösterilen restoran listesini yeni verilerle yenile
+        restaurantManager.loadRestaurants();
+    }
 
-        @XmlElement(name = "restaurants")
-        public List<Restaurant> getRestaurants() {
-            return restaurants;
+    /**
+     * Geçerli elemanın alt elemanlarını ad-değer çiftleri olarak okur
+     */
+    private static void readFields(XMLStreamReader xml, Map<String, String> fields) throws XMLStreamException {
+        fields.clear();
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 1) {
+                    fields.put(xml.getLocalName(), xml.getElementText());
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
         }
+    }
 
-        public void setRestaurants(List<Restaurant> restaurants) {
-            this.restaurants = restaurants;
+    private Object[] toReviewRow(Map<String, String> fields, Map<String, Long> restaurantIds) {
+        String restaurantName = fields.get("restaurantName");
+        try {
+            int rating = Integer.parseInt(fields.get("rating").trim());
+            if (rating < 1 || rating > 5 || restaurantName == null) {
+                throw new IllegalArgumentException("puan 1-5 arasında ve restoran adı dolu olmalı");
+            }
+            String date = fields.get("date");
+            return new Object[] {
+                restaurantIds.get(restaurantName.trim()),
+                restaurantName.trim(),
+                fields.get("comment"),
+                rating,
+                date != null ? Timestamp.valueOf(dateAdapter.unmarshal(date.trim())) : null
+            };
+        } catch (RuntimeException e) {
+            logger.warning("Geçersiz değerlendirme atlandı (" + restaurantName + "): " + e.getMessage());
+            return null;
         }
+    }
 
-        @XmlElement(name = "reviews")
-        public List<Review> getReviews() {
-            return reviews;
+    /**
+     * Bekleyen değerlendirmeleri tek JDBC toplu komutuyla ekler.
+     * IDENTITY anahtarlı varlıklarda Hibernate toplu eklemeyi kapattığından
+     * ekleme oturumun kendi bağlantısı ve işlemi üzerinden yapılır.
+     */
+    private static void insertReviews(StatelessSession session, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
         }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_REVIEW)) {
+                for (Object[] row : rows) {
+                    if (row[0] != null) {
+                        statement.setLong(1, (Long) row[0]);
+                    } else {
+                        statement.setNull(1, Types.BIGINT);
+                    }
+                    statement.setString(2, (String) row[1]);
+                    statement.setString(3, (String) row[2]);
+                    statement.setInt(4, (Integer) row[3]);
+                    statement.setTimestamp(5, (Timestamp) row[4]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+        rows.clear();
+    }
 
-        public void setReviews(List<Review> reviews) {
-            this.reviews = reviews;
+    private static double parseDouble(String value) {
+        return value != null ? Double.parseDouble(value.trim()) : 0.0;
+    }
+
+    private void rollback(Transaction transaction) {
+        try {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (RuntimeException e) {
+            logger.error("İşlem geri alınamadı: " + e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+}